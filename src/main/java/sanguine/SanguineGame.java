@@ -10,9 +10,13 @@ import sanguine.model.SanguineModelImpl;
 import sanguine.player.HumanPlayer;
 import sanguine.player.MachinePlayer;
 import sanguine.player.Player;
+import sanguine.strategy.AlphaBetaStrategy;
+import sanguine.strategy.ExpectimaxStrategy;
 import sanguine.strategy.FillFirstStrategy;
 import sanguine.strategy.MaximizeRowScoreStrategy;
+import sanguine.strategy.MctsStrategy;
 import sanguine.strategy.MinimizeOpponentScoreStrategy;
+import sanguine.strategy.PortfolioStrategy;
 import sanguine.view.SanguineGameView;
 
 /**
@@ -20,6 +24,13 @@ import sanguine.view.SanguineGameView;
  * Creates a model and view for visual gameplay.
  */
 public final class SanguineGame {
+
+  private static final long SEARCH_MILLIS = 1000;
+  private static final long MOVE_DEADLINE_MILLIS = 3 * SEARCH_MILLIS;
+  private static final int SAMPLES = 64;
+  private static final int SAMPLE_DEPTH = 3;
+  private static final int TREE_NODES = 1 << 20;
+
   /**
    * Main method to launch the game.
    *
@@ -28,14 +39,15 @@ public final class SanguineGame {
    *      [1] number of columns
    *      [2] path to Red's deck file
    *      [3] path to Blue's deck file
-   *      [4] Red player type (human/strategy1/strategy2/strategy3)
-   *      [5] Blue player type (human/strategy1/strategy2/strategy3)
+   *      [4] Red player type (human/strategy1/.../strategy7)
+   *      [5] Blue player type (human/strategy1/.../strategy7)
    */
   public static void main(String[] args) {
     if (args.length != 6) {
       System.err.println("Usage: java -jar sanguine.jar <rows> <cols> "
           + "<redDeck> <blueDeck> <redPlayer> <bluePlayer>");
-      System.err.println("Player types: human, strategy1, strategy2, strategy3");
+      System.err.println("Player types: human, strategy1, strategy2, strategy3, strategy4, "
+          + "strategy5, strategy6, strategy7");
       System.exit(1);
     }
     try {
@@ -57,8 +69,9 @@ public final class SanguineGame {
       viewRed.setLocation(100, 100);
       viewBlue.setLocation(800, 100);
 
-      Player playerRed = createPlayer(redPlayerType, PlayerColor.RED, model);
-      Player playerBlue = createPlayer(bluePlayerType, PlayerColor.BLUE, model);
+      Player playerRed = createPlayer(redPlayerType, PlayerColor.RED, model, redDeck, blueDeck);
+      Player playerBlue = createPlayer(bluePlayerType, PlayerColor.BLUE, model, redDeck,
+          blueDeck);
 
 
       SanguineController controllerRed = new SanguineController(
@@ -86,7 +99,8 @@ public final class SanguineGame {
   }
 
   private static Player createPlayer(String playerType, PlayerColor color,
-                                     SanguineModelImpl model) {
+                                     SanguineModelImpl model, List<Card> redDeck,
+                                     List<Card> blueDeck) {
     Player player;
 
     switch (playerType.toLowerCase()) {
@@ -94,13 +108,34 @@ public final class SanguineGame {
         player = new HumanPlayer(color);
         break;
       case "strategy1":
-        player = new MachinePlayer(color, new FillFirstStrategy(), model);
+        player = new MachinePlayer(color, new FillFirstStrategy(), model,
+            MOVE_DEADLINE_MILLIS);
         break;
       case "strategy2":
-        player = new MachinePlayer(color, new MaximizeRowScoreStrategy(), model);
+        player = new MachinePlayer(color, new MaximizeRowScoreStrategy(), model,
+            MOVE_DEADLINE_MILLIS);
         break;
       case "strategy3":
-        player = new MachinePlayer(color, new MinimizeOpponentScoreStrategy(), model);
+        player = new MachinePlayer(color, new MinimizeOpponentScoreStrategy(), model,
+            MOVE_DEADLINE_MILLIS);
+        break;
+      case "strategy4":
+        player = new MachinePlayer(color, new AlphaBetaStrategy(SEARCH_MILLIS), model,
+            MOVE_DEADLINE_MILLIS);
+        break;
+      case "strategy5":
+        player = new MachinePlayer(color, new ExpectimaxStrategy(redDeck, blueDeck, SAMPLES,
+            SAMPLE_DEPTH, SEARCH_MILLIS, System.nanoTime()), model, MOVE_DEADLINE_MILLIS);
+        break;
+      case "strategy6":
+        player = new MachinePlayer(color, new PortfolioStrategy(List.of(
+            new AlphaBetaStrategy(SEARCH_MILLIS), new MaximizeRowScoreStrategy(),
+            new MinimizeOpponentScoreStrategy(), new FillFirstStrategy()), SEARCH_MILLIS), model,
+            MOVE_DEADLINE_MILLIS);
+        break;
+      case "strategy7":
+        player = new MachinePlayer(color, new MctsStrategy(SEARCH_MILLIS, TREE_NODES,
+            System.nanoTime()), model, MOVE_DEADLINE_MILLIS);
         break;
       default:
         System.err.println("Unknown player type: " + playerType + ". Defaulting to human");
@@ -0,0 +1,555 @@
+package sanguine.engine;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+
+/**
+ * Plays many Sanguine games side by side, one ply at a time, for bulk simulation.
+ * Instead of an object graph per game, every piece of state lives in one primitive array
+ * indexed by game: cells, row scores, hands, decks, turn and pass flags. A
+ * {@link BatchPolicy} fills in one move per game from those arrays, and {@link #step} then
+ * applies all of them. Games that have ended are skipped until the batch is dealt again.
+ *
+ * <p>Cells hold the owner's pawn count, positive for red and negative for blue, or plus or
+ * minus {@code CARD} for a card. A move is {@code slot * cellsPerGame + cell} for a
+ * placement, with {@code cell = row * cols + col}, or {@link #PASS}.</p>
+ */
+public final class BatchEngine {
+
+  /**
+   * Move value meaning the player passes.
+   */
+  public static final int PASS = -1;
+
+  static final byte CARD = 4;
+  private static final int RED_PASSED = 1;
+  private static final int BLUE_PASSED = 2;
+  private static final int OVER = 4;
+
+  private final int games;
+  private final int rows;
+  private final int cols;
+  private final int cellsPerGame;
+  private final int maxHand;
+  private final int deckCapacity;
+  private final CardTable table;
+  private final int[] costs;
+  private final int[] values;
+  private final int[][] influenceRows;
+  private final int[][] influenceCols;
+  // INVARIANT: influenceRows[2 * id + color][k], influenceCols[2 * id + color][k] is the k-th
+  // cell offset that card influences for that color
+
+  final byte[] cells;
+  final int[] rowScores;
+  final short[] hands;
+  final int[] handSizes;
+  final short[] decks;
+  final int[] deckSizes;
+  final int[] deckTops;
+  final byte[] sides;
+  final byte[] flags;
+  private final int[] moves;
+  private int active;
+
+  /**
+   * Creates storage for a batch of games. Call {@link #deal} before stepping.
+   *
+   * @param games number of games played side by side
+   * @param rows number of rows on each board
+   * @param cols number of columns on each board
+   * @param table the cards that may appear in the games
+   * @param deckCapacity the largest deck any game will be dealt
+   */
+  public BatchEngine(int games, int rows, int cols, CardTable table, int deckCapacity) {
+    if (games <= 0) {
+      throw new IllegalArgumentException("Batch must hold at least one game");
+    }
+    if (rows <= 0 || cols <= 1 || cols % 2 == 0) {
+      throw new IllegalArgumentException("Invalid board dimensions");
+    }
+    this.games = games;
+    this.rows = rows;
+    this.cols = cols;
+    this.cellsPerGame = rows * cols;
+    this.deckCapacity = deckCapacity;
+    this.maxHand = deckCapacity;
+    this.table = table;
+    this.costs = new int[table.size()];
+    this.values = new int[table.size()];
+    this.influenceRows = new int[2 * table.size()][];
+    this.influenceCols = new int[2 * table.size()][];
+    for (int id = 0; id < table.size(); id++) {
+      costs[id] = table.cost(id);
+      values[id] = table.value(id);
+      for (PlayerColor color : PlayerColor.values()) {
+        int count = Integer.bitCount(table.influenceBits(id, color));
+        int[] dr = new int[count];
+        int[] dc = new int[count];
+        int k = 0;
+        for (int r = -2; r <= 2; r++) {
+          for (int c = -2; c <= 2; c++) {
+            if (table.influences(id, color, r, c)) {
+              dr[k] = r;
+              dc[k] = c;
+              k++;
+            }
+          }
+        }
+        influenceRows[2 * id + color.ordinal()] = dr;
+        influenceCols[2 * id + color.ordinal()] = dc;
+      }
+    }
+    this.cells = new byte[games * cellsPerGame];
+    this.rowScores = new int[games * 2 * rows];
+    this.hands = new short[games * 2 * maxHand];
+    this.handSizes = new int[games * 2];
+    this.decks = new short[games * 2 * deckCapacity];
+    this.deckSizes = new int[games * 2];
+    this.deckTops = new int[games * 2];
+    this.sides = new byte[games];
+    this.flags = new byte[games];
+    this.moves = new int[games];
+  }
+
+  /**
+   * Starts every game in the batch from the opening position.
+   * With a random source, each game gets its own shuffle of both decks; without one, every
+   * game uses the decks in the given order.
+   *
+   * @param redDeck red's deck
+   * @param blueDeck blue's deck
+   * @param handSize starting hand size for each player
+   * @param random source for shuffling, or null to keep deck order
+   * @throws IllegalArgumentException if a deck is larger than the batch's capacity or too
+   *                                  small for the hand size
+   */
+  public void deal(List<Card> redDeck, List<Card> blueDeck, int handSize,
+                   SplittableRandom random) {
+    if (redDeck.size() > deckCapacity || blueDeck.size() > deckCapacity) {
+      throw new IllegalArgumentException("Deck larger than batch capacity");
+    }
+    if (handSize > redDeck.size() || handSize > blueDeck.size()) {
+      throw new IllegalArgumentException("Hand size too large for deck");
+    }
+    short[] red = toIds(redDeck);
+    short[] blue = toIds(blueDeck);
+    Arrays.fill(cells, (byte) 0);
+    Arrays.fill(rowScores, 0);
+    for (int game = 0; game < games; game++) {
+      int base = game * cellsPerGame;
+      for (int row = 0; row < rows; row++) {
+        cells[base + row * cols] = 1;
+        cells[base + row * cols + cols - 1] = -1;
+      }
+      dealDeck(game, 0, red, handSize, random);
+      dealDeck(game, 1, blue, handSize, random);
+      sides[game] = 0;
+      flags[game] = 0;
+    }
+    active = games;
+  }
+
+  /**
+   * Asks a policy for one move in every unfinished game, then applies them all.
+   *
+   * @param policy chooses moves for both players
+   * @return the number of games still in progress
+   */
+  public int step(BatchPolicy policy) {
+    return step(policy, policy);
+  }
+
+  /**
+   * Asks each player's policy for moves in the unfinished games where that player is to move,
+   * then applies them all.
+   *
+   * @param redPolicy chooses red's moves
+   * @param bluePolicy chooses blue's moves
+   * @return the number of games still in progress
+   * @throws IllegalStateException if a policy chose an illegal placement
+   */
+  public int step(BatchPolicy redPolicy, BatchPolicy bluePolicy) {
+    Arrays.fill(moves, PASS);
+    redPolicy.choose(this, PlayerColor.RED, moves);
+    bluePolicy.choose(this, PlayerColor.BLUE, moves);
+    for (int game = 0; game < games; game++) {
+      if ((flags[game] & OVER) != 0) {
+        continue;
+      }
+      int move = moves[game];
+      if (move == PASS) {
+        pass(game);
+      } else {
+        place(game, move / cellsPerGame, move % cellsPerGame);
+      }
+      if ((flags[game] & OVER) != 0) {
+        active--;
+      }
+    }
+    return active;
+  }
+
+  /**
+   * Steps until every game has ended.
+   *
+   * @param redPolicy chooses red's moves
+   * @param bluePolicy chooses blue's moves
+   */
+  public void playOut(BatchPolicy redPolicy, BatchPolicy bluePolicy) {
+    while (active > 0) {
+      step(redPolicy, bluePolicy);
+    }
+  }
+
+  /**
+   * Steps until every game has ended or has a decided winner, ending each game as soon as its
+   * winner is certain. The winners are the same as when playing out, but final scores and
+   * margins may be smaller.
+   *
+   * @param redPolicy chooses red's moves
+   * @param bluePolicy chooses blue's moves
+   */
+  public void playOutUntilDecided(BatchPolicy redPolicy, BatchPolicy bluePolicy) {
+    OutcomeBounds bounds = new OutcomeBounds(rows);
+    endDecided(bounds);
+    while (active > 0) {
+      step(redPolicy, bluePolicy);
+      endDecided(bounds);
+    }
+  }
+
+  /**
+   * Ends every unfinished game whose winner is already decided.
+   *
+   * @param bounds storage for working out the bounds
+   * @return the number of games still in progress
+   */
+  public int endDecided(OutcomeBounds bounds) {
+    for (int game = 0; game < games; game++) {
+      if ((flags[game] & OVER) == 0 && bounds.compute(this, game).getDecidedWinner() != null) {
+        flags[game] |= OVER;
+        active--;
+      }
+    }
+    return active;
+  }
+
+  // ===== Queries used by policies and callers =====
+
+  /**
+   * Returns the number of games in the batch.
+   *
+   * @return the batch size
+   */
+  public int getGames() {
+    return games;
+  }
+
+  /**
+   * Returns the number of rows on each board.
+   *
+   * @return number of rows
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Returns the number of columns on each board.
+   *
+   * @return number of columns
+   */
+  public int getCols() {
+    return cols;
+  }
+
+  /**
+   * Returns the number of cells on each board.
+   *
+   * @return rows times columns
+   */
+  public int getCellsPerGame() {
+    return cellsPerGame;
+  }
+
+  /**
+   * Returns the card table.
+   *
+   * @return the table
+   */
+  public CardTable getCardTable() {
+    return table;
+  }
+
+  /**
+   * Returns the number of games still in progress.
+   *
+   * @return unfinished games
+   */
+  public int getActiveGames() {
+    return active;
+  }
+
+  /**
+   * Returns whether a game has ended.
+   *
+   * @param game the game index
+   * @return true if it is over
+   */
+  public boolean isGameOver(int game) {
+    return (flags[game] & OVER) != 0;
+  }
+
+  /**
+   * Returns the player to move in a game.
+   *
+   * @param game the game index
+   * @return the current player
+   */
+  public PlayerColor getCurrentPlayer(int game) {
+    return sides[game] == 0 ? PlayerColor.RED : PlayerColor.BLUE;
+  }
+
+  /**
+   * Returns the number of cards in a player's hand.
+   *
+   * @param game the game index
+   * @param color the player
+   * @return the hand size
+   */
+  public int getHandSize(int game, PlayerColor color) {
+    return handSizes[2 * game + color.ordinal()];
+  }
+
+  /**
+   * Returns the id of a card in a player's hand.
+   *
+   * @param game the game index
+   * @param color the player
+   * @param slot index in the hand
+   * @return the card id
+   */
+  public int getHandCard(int game, PlayerColor color, int slot) {
+    return hands[(2 * game + color.ordinal()) * maxHand + slot];
+  }
+
+  /**
+   * Returns how many cards a player has left to draw in a game.
+   *
+   * @param game the game
+   * @param color the player
+   * @return the number of cards left in their deck
+   */
+  public int getDeckSize(int game, PlayerColor color) {
+    int player = 2 * game + color.ordinal();
+    return deckSizes[player] - deckTops[player];
+  }
+
+  /**
+   * Returns the id of a card a player has still to draw in a game.
+   *
+   * @param game the game
+   * @param color the player
+   * @param index how many cards will be drawn before it
+   * @return the card id
+   */
+  public int getDeckCard(int game, PlayerColor color, int index) {
+    int player = 2 * game + color.ordinal();
+    return decks[player * deckCapacity + deckTops[player] + index];
+  }
+
+  /**
+   * Returns a cell: the owner's pawn count, positive for red and negative for blue, or plus or
+   * minus {@code 4} for a card.
+   *
+   * @param game the game index
+   * @param cell the cell index, {@code row * cols + col}
+   * @return the encoded cell
+   */
+  public int getCell(int game, int cell) {
+    return cells[game * cellsPerGame + cell];
+  }
+
+  /**
+   * Returns a player's score in a row.
+   *
+   * @param game the game index
+   * @param row the row
+   * @param color the player
+   * @return the row score
+   */
+  public int getRowScore(int game, int row, PlayerColor color) {
+    return rowScores[(2 * game + color.ordinal()) * rows + row];
+  }
+
+  /**
+   * Returns a player's total score: the sum of their row scores over the rows they win.
+   *
+   * @param game the game index
+   * @param color the player
+   * @return the total score
+   */
+  public int getTotalScore(int game, PlayerColor color) {
+    int mine = (2 * game + color.ordinal()) * rows;
+    int theirs = (2 * game + 1 - color.ordinal()) * rows;
+    int total = 0;
+    for (int row = 0; row < rows; row++) {
+      int score = rowScores[mine + row];
+      total += score > rowScores[theirs + row] ? score : 0;
+    }
+    return total;
+  }
+
+  /**
+   * Returns the winner of a finished game, or null for a tie or an unfinished game.
+   *
+   * @param game the game index
+   * @return the winner
+   */
+  public PlayerColor getWinner(int game) {
+    if (!isGameOver(game)) {
+      return null;
+    }
+    int red = getTotalScore(game, PlayerColor.RED);
+    int blue = getTotalScore(game, PlayerColor.BLUE);
+    if (red == blue) {
+      return null;
+    }
+    return red > blue ? PlayerColor.RED : PlayerColor.BLUE;
+  }
+
+  /**
+   * Returns whether the current player of a game could place a hand card on a cell.
+   *
+   * @param game the game index
+   * @param slot index in the current player's hand
+   * @param cell the cell index
+   * @return true if the placement is legal
+   */
+  public boolean isLegal(int game, int slot, int cell) {
+    int side = sides[game];
+    if ((flags[game] & OVER) != 0 || slot < 0 || slot >= handSizes[2 * game + side]) {
+      return false;
+    }
+    int pawns = side == 0 ? cells[game * cellsPerGame + cell]
+        : -cells[game * cellsPerGame + cell];
+    int card = hands[(2 * game + side) * maxHand + slot];
+    return pawns < CARD && pawns >= costs[card];
+  }
+
+  int cost(int card) {
+    return costs[card];
+  }
+
+  int value(int card) {
+    return values[card];
+  }
+
+  int handBase(int game, int side) {
+    return (2 * game + side) * maxHand;
+  }
+
+  // ===== Move application =====
+
+  private void place(int game, int slot, int cell) {
+    if (!isLegal(game, slot, cell)) {
+      throw new IllegalStateException("Policy chose an illegal placement");
+    }
+    int side = sides[game];
+    int sign = side == 0 ? 1 : -1;
+    int handBase = handBase(game, side);
+    final int card = hands[handBase + slot];
+    int size = handSizes[2 * game + side];
+    System.arraycopy(hands, handBase + slot + 1, hands, handBase + slot, size - slot - 1);
+    handSizes[2 * game + side] = size - 1;
+
+    int base = game * cellsPerGame;
+    int row = cell / cols;
+    int col = cell % cols;
+    cells[base + cell] = (byte) (sign * CARD);
+    rowScores[(2 * game + side) * rows + row] += values[card];
+
+    int[] dr = influenceRows[2 * card + side];
+    int[] dc = influenceCols[2 * card + side];
+    for (int k = 0; k < dr.length; k++) {
+      int r = row + dr[k];
+      int c = col + dc[k];
+      if (r < 0 || r >= rows || c < 0 || c >= cols) {
+        continue;
+      }
+      int index = base + r * cols + c;
+      int owned = sign * cells[index];
+      if (owned == CARD || owned == -CARD) {
+        continue;
+      }
+      if (owned == 0) {
+        cells[index] = (byte) sign;
+      } else if (owned > 0) {
+        cells[index] = (byte) (sign * Math.min(3, owned + 1));
+      } else {
+        cells[index] = (byte) -cells[index];
+      }
+    }
+    flags[game] &= (byte) ~(side == 0 ? RED_PASSED : BLUE_PASSED);
+    finishTurn(game, side);
+  }
+
+  private void pass(int game) {
+    int side = sides[game];
+    flags[game] |= (byte) (side == 0 ? RED_PASSED : BLUE_PASSED);
+    if ((flags[game] & (RED_PASSED | BLUE_PASSED)) == (RED_PASSED | BLUE_PASSED)) {
+      flags[game] |= OVER;
+      return;
+    }
+    finishTurn(game, side);
+  }
+
+  private void finishTurn(int game, int side) {
+    int player = 2 * game + side;
+    if (deckTops[player] < deckSizes[player]) {
+      hands[handBase(game, side) + handSizes[player]] =
+          decks[player * deckCapacity + deckTops[player]];
+      handSizes[player]++;
+      deckTops[player]++;
+    }
+    boolean redOut = handSizes[2 * game] == 0 && deckTops[2 * game] == deckSizes[2 * game];
+    boolean blueOut = handSizes[2 * game + 1] == 0
+        && deckTops[2 * game + 1] == deckSizes[2 * game + 1];
+    if (redOut || blueOut) {
+      flags[game] |= OVER;
+    } else {
+      sides[game] = (byte) (1 - side);
+    }
+  }
+
+  private void dealDeck(int game, int side, short[] deck, int handSize,
+                        SplittableRandom random) {
+    int player = 2 * game + side;
+    int deckBase = player * deckCapacity;
+    System.arraycopy(deck, 0, decks, deckBase, deck.length);
+    if (random != null) {
+      for (int i = deck.length - 1; i > 0; i--) {
+        int j = random.nextInt(i + 1);
+        short swap = decks[deckBase + i];
+        decks[deckBase + i] = decks[deckBase + j];
+        decks[deckBase + j] = swap;
+      }
+    }
+    System.arraycopy(decks, deckBase, hands, handBase(game, side), handSize);
+    handSizes[player] = handSize;
+    deckTops[player] = handSize;
+    deckSizes[player] = deck.length;
+  }
+
+  private short[] toIds(List<Card> deck) {
+    short[] ids = new short[deck.size()];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = (short) table.idOf(deck.get(i));
+    }
+    return ids;
+  }
+}
@@ -0,0 +1,20 @@
+package sanguine.engine;
+
+import sanguine.model.PlayerColor;
+
+/**
+ * Chooses moves for a whole {@link BatchEngine} at once.
+ */
+public interface BatchPolicy {
+
+  /**
+   * Writes a move into {@code moves[game]} for every unfinished game in which the given player
+   * is to move. Entries for other games must be left alone. A move is
+   * {@code slot * batch.getCellsPerGame() + cell}, or {@link BatchEngine#PASS}.
+   *
+   * @param batch the games to choose for
+   * @param color the player whose moves are wanted
+   * @param moves one entry per game, preset to {@link BatchEngine#PASS}
+   */
+  void choose(BatchEngine batch, PlayerColor color, int[] moves);
+}
@@ -0,0 +1,1185 @@
+package sanguine.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import sanguine.model.Card;
+import sanguine.model.CellContent;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+
+/**
+ * Mutable Sanguine engine backed by bitboards, with make/unmake for search.
+ * The board is stored as eight bit planes: for each player, the cells holding exactly one,
+ * two and three of their pawns, and the cells holding their cards. Placing a card shifts a
+ * precomputed influence template onto the target cell and applies the add-pawn and convert
+ * rules to all influenced cells at once with a few word operations per plane; legality of a
+ * card is a union of pawn planes, and row scores are kept incrementally.
+ *
+ * <p>Cards are referred to by their {@link CardTable} id. A deck entry of -1 stands for a card
+ * whose identity is unknown: drawing it gives the player a hidden card that keeps them in the
+ * game but that they cannot place.</p>
+ *
+ * <p>The engine keeps a {@link Zobrist} hash of its position up to date as moves are made and
+ * taken back, for use as a transposition table key. It can also hash the position as any
+ * {@link Symmetry} redraws it, so equivalent positions can share one canonical key.</p>
+ */
+public final class BitboardEngine {
+
+  private static final int PLANES = 8;
+  private static final int CARD_PLANE = 6;
+  private static final int RECORD = 6;
+  private static final int NO_DRAW = -2;
+  private static final int HIDDEN = -1;
+
+  private final BoardGeometry geometry;
+  private final CardTable table;
+  private final long[][] templates;
+  // INVARIANT: templates[2 * id + color] is the influence of card id for that color when
+  // placed on cell (0, 0), centre excluded
+  private final int span;
+  private final int words;
+  private final long[] planes;
+  private final int[] cardAt;
+  private final int[] rowScores;
+  private final int[] pawnCells;
+  // INVARIANT: pawnCells[plane] is the number of bits set in pawn plane plane
+  // INVARIANT: rowScores[color * rows + row] is the sum of that color's card values in row
+  private final int[][] hands;
+  private final int[] handSizes;
+  private final int[] hidden;
+  private final int[][] decks;
+  private final int[] deckTops;
+  private int side;
+  private final boolean[] passed;
+  private boolean gameOver;
+
+  private final Zobrist zobrist;
+  private long boardHash;
+  private long handHash;
+  private boolean hashValid;
+  // INVARIANT: while hashValid, boardHash is the xor of the keys of every pawn plane bit and
+  // card on the board, and handHash the sum of the hand keys of every card in both hands
+
+  private long[] savedWords;
+  private int[] records;
+  private long[] hashes;
+  private int[] savedCounts;
+  private int ply;
+
+  /**
+   * Creates an engine with an empty board and empty hands and decks.
+   * Use the setters to describe a position, or {@link #initial} for a new game.
+   *
+   * @param geometry the board geometry
+   * @param table the cards that may appear in this game
+   */
+  public BitboardEngine(BoardGeometry geometry, CardTable table) {
+    this.geometry = geometry;
+    this.table = table;
+    this.words = geometry.getWords();
+    int templateBits = 4 * geometry.getStride() + 5;
+    int templateWords = (templateBits + 63) >>> 6;
+    this.span = templateWords + 1;
+    this.templates = new long[2 * table.size()][templateWords];
+    for (int id = 0; id < table.size(); id++) {
+      for (PlayerColor color : PlayerColor.values()) {
+        long[] template = templates[2 * id + color.ordinal()];
+        for (int dr = -2; dr <= 2; dr++) {
+          for (int dc = -2; dc <= 2; dc++) {
+            if (table.influences(id, color, dr, dc)) {
+              int bit = geometry.bit(dr, dc);
+              template[bit >>> 6] |= 1L << bit;
+            }
+          }
+        }
+      }
+    }
+    this.planes = new long[PLANES * words];
+    this.cardAt = new int[geometry.getBits()];
+    Arrays.fill(cardAt, -1);
+    this.rowScores = new int[2 * geometry.getRows()];
+    this.pawnCells = new int[CARD_PLANE];
+    this.hands = new int[][] {new int[8], new int[8]};
+    this.handSizes = new int[2];
+    this.hidden = new int[2];
+    this.decks = new int[][] {new int[0], new int[0]};
+    this.deckTops = new int[2];
+    this.side = PlayerColor.RED.ordinal();
+    this.passed = new boolean[2];
+    this.zobrist = new Zobrist(geometry, table);
+    this.savedWords = new long[64 * PLANES * span];
+    this.records = new int[64 * RECORD];
+    this.hashes = new long[64 * 2];
+    this.savedCounts = new int[64 * CARD_PLANE];
+  }
+
+  private BitboardEngine(BitboardEngine other) {
+    this.geometry = other.geometry;
+    this.table = other.table;
+    this.templates = other.templates;
+    this.span = other.span;
+    this.words = other.words;
+    this.planes = other.planes.clone();
+    this.cardAt = other.cardAt.clone();
+    this.rowScores = other.rowScores.clone();
+    this.pawnCells = other.pawnCells.clone();
+    this.hands = new int[][] {other.hands[0].clone(), other.hands[1].clone()};
+    this.handSizes = other.handSizes.clone();
+    this.hidden = other.hidden.clone();
+    this.decks = new int[][] {other.decks[0], other.decks[1]};
+    this.deckTops = other.deckTops.clone();
+    this.side = other.side;
+    this.passed = other.passed.clone();
+    this.gameOver = other.gameOver;
+    this.zobrist = other.zobrist;
+    this.boardHash = other.boardHash;
+    this.handHash = other.handHash;
+    this.hashValid = other.hashValid;
+    this.savedWords = new long[64 * PLANES * span];
+    this.records = new int[64 * RECORD];
+    this.hashes = new long[64 * 2];
+    this.savedCounts = new int[64 * CARD_PLANE];
+  }
+
+  /**
+   * Creates the engine for a new game, dealing both hands from the top of the decks.
+   * Accepts the same arguments as {@link sanguine.model.SanguineModelImpl}.
+   *
+   * @param rows number of rows on the board
+   * @param cols number of columns on the board
+   * @param redDeck deck for red player
+   * @param blueDeck deck for blue player
+   * @param handSize starting hand size for each player
+   * @return an engine at the start of the game
+   * @throws IllegalArgumentException if decks are null, hand size is too large,
+   *                                  or decks don't have enough cards
+   */
+  public static BitboardEngine initial(int rows, int cols, List<Card> redDeck,
+                                       List<Card> blueDeck, int handSize) {
+    if (redDeck == null || blueDeck == null) {
+      throw new IllegalArgumentException("Decks cannot be null");
+    }
+    if (handSize > redDeck.size() / 3 || handSize > blueDeck.size() / 3) {
+      throw new IllegalArgumentException("Hand size too large for deck");
+    }
+    if (redDeck.size() < rows * cols || blueDeck.size() < rows * cols) {
+      throw new IllegalArgumentException("Not enough cards in the deck");
+    }
+    BitboardEngine engine = new BitboardEngine(new BoardGeometry(rows, cols),
+        CardTable.of(redDeck, blueDeck));
+    engine.setStartingPawns();
+    engine.setHand(PlayerColor.RED, redDeck.subList(0, handSize));
+    engine.setHand(PlayerColor.BLUE, blueDeck.subList(0, handSize));
+    engine.setDeck(PlayerColor.RED, redDeck.subList(handSize, redDeck.size()));
+    engine.setDeck(PlayerColor.BLUE, blueDeck.subList(handSize, blueDeck.size()));
+    return engine;
+  }
+
+  /**
+   * Creates an engine holding the position of a model, as seen by either player: both hands
+   * are known, but the order of the cards left in each deck is not, so every deck card is
+   * unknown. Only the cards visible in hands and on the board are in the card table.
+   *
+   * @param model the model to copy
+   * @return an engine at the model's position
+   */
+  public static BitboardEngine fromModel(ReadOnlySanguineModel model) {
+    List<Card> redHand = model.getPlayerHand(PlayerColor.RED);
+    List<Card> blueHand = model.getPlayerHand(PlayerColor.BLUE);
+    List<Card> visible = new ArrayList<>(redHand);
+    visible.addAll(blueHand);
+    for (int row = 0; row < model.getRows(); row++) {
+      for (int col = 0; col < model.getCols(); col++) {
+        if (model.getCellContent(row, col) == CellContent.CARD) {
+          visible.add(model.getCardAt(row, col));
+        }
+      }
+    }
+    BitboardEngine engine = new BitboardEngine(new BoardGeometry(model.getRows(),
+        model.getCols()), new CardTable(visible));
+    for (int row = 0; row < model.getRows(); row++) {
+      for (int col = 0; col < model.getCols(); col++) {
+        PlayerColor owner = model.getOwnerOfCell(row, col);
+        if (model.getCellContent(row, col) == CellContent.CARD) {
+          engine.setCard(row, col, owner, model.getCardAt(row, col));
+        } else if (model.getCellContent(row, col) == CellContent.PAWNS) {
+          engine.setPawns(row, col, owner, model.getPawnCount(row, col));
+        }
+      }
+    }
+    for (PlayerColor color : PlayerColor.values()) {
+      engine.setHand(color, color == PlayerColor.RED ? redHand : blueHand);
+      engine.setDeck(color, Collections.nCopies(model.getDeckSize(color), null));
+      engine.setPassed(color, model.hasPassed(color));
+    }
+    engine.setCurrentPlayer(model.getCurrentPlayer());
+    engine.setGameOver(model.isGameOver());
+    return engine;
+  }
+
+  /**
+   * Returns an independent copy of this engine's position, sharing only immutable tables.
+   * The copy starts with an empty undo history.
+   *
+   * @return the copy
+   */
+  public BitboardEngine copy() {
+    return new BitboardEngine(this);
+  }
+
+  // ===== Position setup =====
+
+  /**
+   * Puts one pawn of each player in the first and last column of every row, as at the start
+   * of a game.
+   */
+  public void setStartingPawns() {
+    for (int row = 0; row < geometry.getRows(); row++) {
+      setPawns(row, 0, PlayerColor.RED, 1);
+      setPawns(row, geometry.getCols() - 1, PlayerColor.BLUE, 1);
+    }
+  }
+
+  /**
+   * Sets a cell to hold pawns, or clears it when the count is zero.
+   *
+   * @param row row of the cell
+   * @param col column of the cell
+   * @param owner owner of the pawns
+   * @param count number of pawns, from 0 to 3
+   */
+  public void setPawns(int row, int col, PlayerColor owner, int count) {
+    if (count < 0 || count > 3) {
+      throw new IllegalArgumentException("Pawn count has to be within 0 and 3");
+    }
+    int bit = clearCell(row, col);
+    if (count > 0) {
+      planes[(owner.ordinal() * 3 + count - 1) * words + (bit >>> 6)] |= 1L << bit;
+      pawnCells[owner.ordinal() * 3 + count - 1]++;
+    }
+  }
+
+  /**
+   * Sets a cell to hold a card.
+   *
+   * @param row row of the cell
+   * @param col column of the cell
+   * @param owner owner of the card
+   * @param card the card
+   */
+  public void setCard(int row, int col, PlayerColor owner, Card card) {
+    int bit = clearCell(row, col);
+    int id = table.idOf(card);
+    planes[(CARD_PLANE + owner.ordinal()) * words + (bit >>> 6)] |= 1L << bit;
+    cardAt[bit] = id;
+    rowScores[owner.ordinal() * geometry.getRows() + row] += table.value(id);
+  }
+
+  /**
+   * Replaces a player's hand.
+   *
+   * @param color the player
+   * @param cards the hand, in order
+   */
+  public void setHand(PlayerColor color, List<Card> cards) {
+    int c = color.ordinal();
+    handSizes[c] = 0;
+    for (Card card : cards) {
+      addToHand(c, table.idOf(card));
+    }
+    resetHistory();
+  }
+
+  /**
+   * Replaces a player's hand with cards given by id.
+   *
+   * @param color the player
+   * @param ids the card ids, in order
+   * @param count how many ids, from the start of the array, make up the hand
+   */
+  public void setHand(PlayerColor color, int[] ids, int count) {
+    int c = color.ordinal();
+    handSizes[c] = 0;
+    for (int i = 0; i < count; i++) {
+      addToHand(c, ids[i]);
+    }
+    resetHistory();
+  }
+
+  /**
+   * Replaces a player's deck. Null entries are cards whose identity is unknown.
+   *
+   * @param color the player
+   * @param cards the deck, top card first
+   */
+  public void setDeck(PlayerColor color, List<Card> cards) {
+    int[] deck = new int[cards.size()];
+    for (int i = 0; i < deck.length; i++) {
+      deck[i] = cards.get(i) == null ? HIDDEN : table.idOf(cards.get(i));
+    }
+    decks[color.ordinal()] = deck;
+    deckTops[color.ordinal()] = 0;
+    resetHistory();
+  }
+
+  /**
+   * Replaces a player's deck with cards given by id.
+   *
+   * @param color the player
+   * @param ids the card ids, top card first, with -1 for a card whose identity is unknown
+   * @param from the index in the array of the top card
+   * @param count the number of cards in the deck
+   */
+  public void setDeck(PlayerColor color, int[] ids, int from, int count) {
+    decks[color.ordinal()] = Arrays.copyOfRange(ids, from, from + count);
+    deckTops[color.ordinal()] = 0;
+    resetHistory();
+  }
+
+  /**
+   * Sets how many cards of unknown identity a player holds besides their hand.
+   *
+   * @param color the player
+   * @param count number of hidden cards
+   */
+  public void setHiddenCards(PlayerColor color, int count) {
+    hidden[color.ordinal()] = count;
+    resetHistory();
+  }
+
+  /**
+   * Sets the player to move.
+   *
+   * @param color the player to move
+   */
+  public void setCurrentPlayer(PlayerColor color) {
+    side = color.ordinal();
+    resetHistory();
+  }
+
+  /**
+   * Sets whether a player's last action was a pass.
+   *
+   * @param color the player
+   * @param hasPassed true if their last action was a pass
+   */
+  public void setPassed(PlayerColor color, boolean hasPassed) {
+    passed[color.ordinal()] = hasPassed;
+    resetHistory();
+  }
+
+  /**
+   * Sets whether the game is over.
+   *
+   * @param over true if no more moves may be made
+   */
+  public void setGameOver(boolean over) {
+    gameOver = over;
+    resetHistory();
+  }
+
+  // ===== Moves =====
+
+  /**
+   * Checks whether the current player may place a card from their hand on a cell.
+   *
+   * @param slot index of the card in the current player's hand
+   * @param row target row
+   * @param col target column
+   * @return true if the placement is legal
+   */
+  public boolean isLegal(int slot, int row, int col) {
+    if (gameOver || slot < 0 || slot >= handSizes[side]) {
+      return false;
+    }
+    if (row < 0 || row >= geometry.getRows() || col < 0 || col >= geometry.getCols()) {
+      return false;
+    }
+    int bit = geometry.bit(row, col);
+    return pawnsOf(side, bit) >= table.cost(hands[side][slot]);
+  }
+
+  /**
+   * Writes the cells on which the current player could place a card of a given cost: those
+   * holding at least that many of their pawns.
+   *
+   * @param cost the card cost, from 1 to 3
+   * @param out a bitboard of {@link BoardGeometry#getWords()} longs to overwrite
+   */
+  public void legalCells(int cost, long[] out) {
+    int base = side * 3;
+    for (int w = 0; w < words; w++) {
+      long cells = 0;
+      for (int count = cost; count <= 3; count++) {
+        cells |= planes[(base + count - 1) * words + w];
+      }
+      out[w] = gameOver ? 0 : cells;
+    }
+  }
+
+  /**
+   * Places a card from the current player's hand, applies its influence, draws a card, and
+   * passes the turn unless the game ends.
+   *
+   * @param slot index of the card in the current player's hand
+   * @param row target row
+   * @param col target column
+   * @return true if the card was placed, false if the placement was illegal
+   */
+  public boolean place(int slot, int row, int col) {
+    if (!isLegal(slot, row, col)) {
+      return false;
+    }
+    ensureHash();
+    int card = hands[side][slot];
+    int bit = geometry.bit(row, col);
+    int record = pushRecord();
+    records[record] = slot;
+    records[record + 1] = card;
+    records[record + 2] = bit;
+    int shift = geometry.shiftOf(row, col);
+    int firstWord = shift >>> 6;
+    records[record + 5] = firstWord;
+    saveWords(firstWord);
+
+    removeFromHand(side, slot);
+    int pawnPlane = side * 3 + pawnsOf(side, bit) - 1;
+    boardHash ^= zobrist.pawnKey(pawnPlane, bit) ^ zobrist.cardKey(card, side, bit);
+    planes[pawnPlane * words + (bit >>> 6)] &= ~(1L << bit);
+    pawnCells[pawnPlane]--;
+    planes[(CARD_PLANE + side) * words + (bit >>> 6)] |= 1L << bit;
+    cardAt[bit] = card;
+    rowScores[side * geometry.getRows() + row] += table.value(card);
+    applyInfluence(templates[2 * card + side], shift);
+    passed[side] = false;
+    finishTurn(record);
+    return true;
+  }
+
+  /**
+   * Passes the current player's turn. Two consecutive passes end the game; otherwise the
+   * player draws a card and the turn moves on.
+   */
+  public void pass() {
+    if (gameOver) {
+      return;
+    }
+    ensureHash();
+    int record = pushRecord();
+    records[record] = -1;
+    passed[side] = true;
+    if (passed[0] && passed[1]) {
+      records[record + 3] = NO_DRAW;
+      gameOver = true;
+      return;
+    }
+    finishTurn(record);
+  }
+
+  /**
+   * Takes back the most recent placement or pass.
+   *
+   * @throws IllegalStateException if there is nothing to undo
+   */
+  public void undo() {
+    if (ply == 0) {
+      throw new IllegalStateException("Nothing to undo");
+    }
+    ply--;
+    int record = ply * RECORD;
+    boardHash = hashes[2 * ply];
+    handHash = hashes[2 * ply + 1];
+    int flags = records[record + 4];
+    side = flags & 1;
+    passed[0] = (flags & 2) != 0;
+    passed[1] = (flags & 4) != 0;
+    gameOver = (flags & 8) != 0;
+
+    int drawn = records[record + 3];
+    if (drawn == HIDDEN) {
+      hidden[side]--;
+      deckTops[side]--;
+    } else if (drawn >= 0) {
+      handSizes[side]--;
+      deckTops[side]--;
+    }
+
+    int slot = records[record];
+    if (slot >= 0) {
+      int card = records[record + 1];
+      int bit = records[record + 2];
+      restoreWords(records[record + 5]);
+      cardAt[bit] = -1;
+      rowScores[side * geometry.getRows() + geometry.rowOf(bit)] -= table.value(card);
+      System.arraycopy(savedCounts, ply * CARD_PLANE, pawnCells, 0, CARD_PLANE);
+      insertIntoHand(side, slot, card);
+    }
+  }
+
+  /**
+   * Returns the Zobrist hash of the position: the board, both hands, the player to move, the
+   * pass and game over flags, and how far each deck has been drawn.
+   *
+   * @return the position hash
+   */
+  public long getHash() {
+    ensureHash();
+    return boardHash ^ handHash ^ stateKey();
+  }
+
+  /**
+   * Returns the hash the position would have if redrawn by a symmetry, computed from scratch
+   * unless the symmetry is the identity.
+   *
+   * @param symmetry the symmetry
+   * @return the hash of the position's image
+   */
+  public long getHash(Symmetry symmetry) {
+    if (symmetry == Symmetry.IDENTITY) {
+      return getHash();
+    }
+    int rows = geometry.getRows();
+    int cols = geometry.getCols();
+    int swap = symmetry.swapsColors() ? 1 : 0;
+    long hash = 0;
+    for (int plane = 0; plane < PLANES; plane++) {
+      int color = plane < CARD_PLANE ? plane / 3 : plane - CARD_PLANE;
+      for (int w = 0; w < words; w++) {
+        long bits = planes[plane * words + w];
+        while (bits != 0) {
+          int bit = (w << 6) + Long.numberOfTrailingZeros(bits);
+          int image = geometry.bit(symmetry.row(geometry.rowOf(bit), rows),
+              symmetry.col(geometry.colOf(bit), cols));
+          hash ^= plane < CARD_PLANE ? zobrist.pawnKey((color ^ swap) * 3 + plane % 3, image)
+              : zobrist.cardKey(cardAt[bit], color ^ swap, image);
+          bits &= bits - 1;
+        }
+      }
+    }
+    long handSum = 0;
+    for (int color = 0; color < 2; color++) {
+      for (int slot = 0; slot < handSizes[color]; slot++) {
+        handSum += zobrist.handKey(hands[color][slot], color ^ swap);
+      }
+    }
+    int red = swap;
+    int blue = 1 - swap;
+    int flags = (passed[red] ? 1 : 0) | (passed[blue] ? 2 : 0) | (gameOver ? 4 : 0);
+    return hash ^ handSum ^ zobrist.stateKey(side ^ swap, flags, deckTops[red], deckTops[blue],
+        hidden[red], hidden[blue]);
+  }
+
+  /**
+   * Returns a hash of the next cards each player will draw, up to some number per player. Two
+   * positions with equal {@link #getHash()} and equal draw hashes play out the same for that
+   * many draws of each deck, though their decks may differ further down.
+   *
+   * @param draws how many of the top cards of each deck to hash
+   * @return the hash of the draws, 0 if no cards are hashed
+   * @throws IllegalArgumentException if draws is negative
+   */
+  public long getDrawHash(int draws) {
+    if (draws < 0) {
+      throw new IllegalArgumentException("Draws cannot be negative");
+    }
+    long hash = 0;
+    for (int color = 0; color < 2; color++) {
+      int count = Math.min(draws, decks[color].length - deckTops[color]);
+      for (int i = 0; i < count; i++) {
+        hash ^= zobrist.drawKey(decks[color][deckTops[color] + i], color, i);
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * Recomputes the position hash from scratch, for checking the incremental hash.
+   *
+   * @return the position hash
+   */
+  public long computeHash() {
+    return computeBoardHash() ^ computeHandHash() ^ stateKey();
+  }
+
+  /**
+   * Returns whether a symmetry redraws this position into an equivalent one: flipping rows
+   * needs every card in the table to read the same upside down, and swapping colours needs
+   * both players to have the same deck. Cards of unknown identity are taken to come from the
+   * cards in the table.
+   *
+   * @param symmetry the symmetry
+   * @return true if the position's image plays exactly like the position
+   */
+  public boolean isSymmetric(Symmetry symmetry) {
+    return (!symmetry.flipsRows() || table.isVerticallySymmetric())
+        && (!symmetry.swapsColors() || Arrays.equals(decks[0], decks[1]));
+  }
+
+  /**
+   * Returns the symmetry that redraws this position into its canonical form: of the
+   * symmetries that keep the position equivalent, the one giving the smallest hash. Every
+   * position equivalent to this one has the same canonical hash, {@code getHash} of the
+   * returned symmetry, and a move made in the canonical form maps back by the same symmetry.
+   *
+   * @return the canonical symmetry, the identity first among ties
+   */
+  public Symmetry getCanonicalSymmetry() {
+    return getCanonicalSymmetry(EnumSet.allOf(Symmetry.class));
+  }
+
+  /**
+   * Returns the canonical symmetry like {@link #getCanonicalSymmetry()}, choosing only among
+   * some symmetries. This is for callers that know more about the game than the position
+   * shows: a position from {@link #fromModel} cannot tell what its unknown deck cards are, so
+   * it takes symmetries to hold that the real decks may break.
+   *
+   * @param allowed the symmetries known to suit the game; the identity is always allowed
+   * @return the canonical symmetry among those allowed, the identity first among ties
+   */
+  public Symmetry getCanonicalSymmetry(Set<Symmetry> allowed) {
+    Symmetry best = Symmetry.IDENTITY;
+    long bestHash = getHash();
+    for (Symmetry symmetry : allowed) {
+      if (symmetry != Symmetry.IDENTITY && isSymmetric(symmetry)) {
+        long hash = getHash(symmetry);
+        if (hash < bestHash) {
+          best = symmetry;
+          bestHash = hash;
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Returns the number of moves that can currently be undone.
+   *
+   * @return the undo depth
+   */
+  public int getPly() {
+    return ply;
+  }
+
+  // ===== Queries =====
+
+  /**
+   * Returns the board geometry.
+   *
+   * @return the geometry
+   */
+  public BoardGeometry getGeometry() {
+    return geometry;
+  }
+
+  /**
+   * Returns the card table.
+   *
+   * @return the table
+   */
+  public CardTable getCardTable() {
+    return table;
+  }
+
+  /**
+   * Returns the player to move.
+   *
+   * @return the current player
+   */
+  public PlayerColor getCurrentPlayer() {
+    return PlayerColor.values()[side];
+  }
+
+  /**
+   * Returns whether the game is over.
+   *
+   * @return true if the game is over
+   */
+  public boolean isGameOver() {
+    return gameOver;
+  }
+
+  /**
+   * Returns whether a player's last action was a pass.
+   *
+   * @param color the player
+   * @return true if they passed last
+   */
+  public boolean hasPassed(PlayerColor color) {
+    return passed[color.ordinal()];
+  }
+
+  /**
+   * Returns the number of pawns on a cell, or 0 for empty and card cells.
+   *
+   * @param row row of the cell
+   * @param col column of the cell
+   * @return the pawn count
+   */
+  public int getPawnCount(int row, int col) {
+    int bit = geometry.bit(row, col);
+    return Math.max(pawnsOf(0, bit), pawnsOf(1, bit));
+  }
+
+  /**
+   * Returns the owner of a cell's pawns or card, or null for an empty cell.
+   *
+   * @param row row of the cell
+   * @param col column of the cell
+   * @return the owner
+   */
+  public PlayerColor getOwner(int row, int col) {
+    int bit = geometry.bit(row, col);
+    for (int color = 0; color < 2; color++) {
+      if (pawnsOf(color, bit) > 0 || test(CARD_PLANE + color, bit)) {
+        return PlayerColor.values()[color];
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the id of the card on a cell, or -1 if it holds none.
+   *
+   * @param row row of the cell
+   * @param col column of the cell
+   * @return the card id
+   */
+  public int getCardId(int row, int col) {
+    return cardAt[geometry.bit(row, col)];
+  }
+
+  /**
+   * Returns the words of one plane.
+   * Planes 0 to 2 hold red cells with one to three pawns, planes 3 to 5 the same for blue, and
+   * planes 6 and 7 red and blue cards.
+   *
+   * @param plane the plane index
+   * @param out a bitboard of {@link BoardGeometry#getWords()} longs to overwrite
+   */
+  public void copyPlane(int plane, long[] out) {
+    System.arraycopy(planes, plane * words, out, 0, words);
+  }
+
+  /**
+   * Returns a player's score in a row: the total value of their cards in it.
+   *
+   * @param row the row
+   * @param color the player
+   * @return the row score
+   */
+  public int getRowScore(int row, PlayerColor color) {
+    return rowScores[color.ordinal() * geometry.getRows() + row];
+  }
+
+  /**
+   * Recomputes a row score by walking the player's card plane, for checking the incremental
+   * scores.
+   *
+   * @param row the row
+   * @param color the player
+   * @return the row score
+   */
+  public int computeRowScore(int row, PlayerColor color) {
+    int score = 0;
+    int plane = (CARD_PLANE + color.ordinal()) * words;
+    for (int w = 0; w < words; w++) {
+      long cards = planes[plane + w] & geometry.rowMask(row, w);
+      while (cards != 0) {
+        score += table.value(cardAt[(w << 6) + Long.numberOfTrailingZeros(cards)]);
+        cards &= cards - 1;
+      }
+    }
+    return score;
+  }
+
+  /**
+   * Returns a player's total score: the sum of their row scores over the rows they win.
+   *
+   * @param color the player
+   * @return the total score
+   */
+  public int getTotalScore(PlayerColor color) {
+    int rows = geometry.getRows();
+    int mine = color.ordinal() * rows;
+    int theirs = (1 - color.ordinal()) * rows;
+    int total = 0;
+    for (int row = 0; row < rows; row++) {
+      if (rowScores[mine + row] > rowScores[theirs + row]) {
+        total += rowScores[mine + row];
+      }
+    }
+    return total;
+  }
+
+  /**
+   * Returns the player with the higher total score, or null for a tie or an unfinished game.
+   *
+   * @return the winner
+   */
+  public PlayerColor getWinner() {
+    if (!gameOver) {
+      return null;
+    }
+    int red = getTotalScore(PlayerColor.RED);
+    int blue = getTotalScore(PlayerColor.BLUE);
+    if (red == blue) {
+      return null;
+    }
+    return red > blue ? PlayerColor.RED : PlayerColor.BLUE;
+  }
+
+  /**
+   * Returns the total number of pawns a player has on the board.
+   *
+   * @param color the player
+   * @return the pawn total
+   */
+  public int getPawnTotal(PlayerColor color) {
+    int base = color.ordinal() * 3;
+    return pawnCells[base] + 2 * pawnCells[base + 1] + 3 * pawnCells[base + 2];
+  }
+
+  /**
+   * Returns how many cells hold exactly a given number of a player's pawns. The counts are
+   * kept up to date as moves are made and taken back.
+   *
+   * @param color the player
+   * @param count the number of pawns, from 1 to 3
+   * @return the number of such cells
+   */
+  public int getPawnCells(PlayerColor color, int count) {
+    return pawnCells[color.ordinal() * 3 + count - 1];
+  }
+
+  /**
+   * Recounts the cells holding exactly a given number of a player's pawns by walking the pawn
+   * plane, for checking the incremental counts.
+   *
+   * @param color the player
+   * @param count the number of pawns, from 1 to 3
+   * @return the number of such cells
+   */
+  public int computePawnCells(PlayerColor color, int count) {
+    int base = (color.ordinal() * 3 + count - 1) * words;
+    int cells = 0;
+    for (int w = 0; w < words; w++) {
+      cells += Long.bitCount(planes[base + w]);
+    }
+    return cells;
+  }
+
+  /**
+   * Returns the first slot of the current player's hand holding a card, or -1 if they do not
+   * hold it.
+   *
+   * @param card the card id
+   * @return the slot, or -1
+   */
+  public int findSlot(int card) {
+    int[] hand = hands[side];
+    for (int slot = 0; slot < handSizes[side]; slot++) {
+      if (hand[slot] == card) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the number of known cards in a player's hand.
+   *
+   * @param color the player
+   * @return the hand size
+   */
+  public int getHandSize(PlayerColor color) {
+    return handSizes[color.ordinal()];
+  }
+
+  /**
+   * Returns the id of a card in a player's hand.
+   *
+   * @param color the player
+   * @param slot index in the hand
+   * @return the card id
+   */
+  public int getHandCard(PlayerColor color, int slot) {
+    return hands[color.ordinal()][slot];
+  }
+
+  /**
+   * Returns the number of cards of unknown identity a player holds.
+   *
+   * @param color the player
+   * @return the hidden card count
+   */
+  public int getHiddenCards(PlayerColor color) {
+    return hidden[color.ordinal()];
+  }
+
+  /**
+   * Returns the number of cards left in a player's deck.
+   *
+   * @param color the player
+   * @return the deck size
+   */
+  public int getDeckSize(PlayerColor color) {
+    return decks[color.ordinal()].length - deckTops[color.ordinal()];
+  }
+
+  /**
+   * Returns the id of a card still in a player's deck.
+   *
+   * @param color the player
+   * @param index how many cards will be drawn before it, from 0 to
+   *              {@link #getDeckSize} - 1
+   * @return the card id, or -1 for a card whose identity is unknown
+   */
+  public int getDeckCard(PlayerColor color, int index) {
+    return decks[color.ordinal()][deckTops[color.ordinal()] + index];
+  }
+
+  /**
+   * Returns how many cells of a row do not hold a card.
+   *
+   * @param row the row
+   * @return the number of cells a card could still be placed on
+   */
+  public int getOpenCells(int row) {
+    int cards = 0;
+    for (int w = 0; w < words; w++) {
+      long mask = geometry.rowMask(row, w);
+      cards += Long.bitCount((planes[CARD_PLANE * words + w]
+          | planes[(CARD_PLANE + 1) * words + w]) & mask);
+    }
+    return geometry.getCols() - cards;
+  }
+
+  // ===== Internals =====
+
+  /**
+   * Shifts an influence template onto the board and applies it: empty cells gain a pawn,
+   * the mover's pawns grow up to three, and opposing pawns convert keeping their count.
+   */
+  private void applyInfluence(long[] template, int shift) {
+    long[] cells = geometry.cellMask();
+    int firstWord = shift >>> 6;
+    int bitShift = shift & 63;
+    int own = side * 3 * words;
+    int opp = (1 - side) * 3 * words;
+    int cards = CARD_PLANE * words;
+    for (int i = 0; i <= template.length; i++) {
+      int w = firstWord + i;
+      if (w >= words) {
+        break;
+      }
+      long low = i < template.length ? template[i] << bitShift : 0L;
+      long high = bitShift != 0 && i > 0 ? template[i - 1] >>> (64 - bitShift) : 0L;
+      long m = (low | high) & cells[w];
+      if (m == 0) {
+        continue;
+      }
+      long a1 = planes[own + w];
+      long a2 = planes[own + words + w];
+      long a3 = planes[own + 2 * words + w];
+      long b1 = planes[opp + w];
+      long b2 = planes[opp + words + w];
+      long b3 = planes[opp + 2 * words + w];
+      long occupied = a1 | a2 | a3 | b1 | b2 | b3 | planes[cards + w] | planes[cards + words + w];
+      planes[own + w] = (a1 & ~m) | (m & ~occupied) | (b1 & m);
+      planes[own + words + w] = (a2 & ~m) | (a1 & m) | (b2 & m);
+      planes[own + 2 * words + w] = a3 | (a2 & m) | (b3 & m);
+      planes[opp + w] = b1 & ~m;
+      planes[opp + words + w] = b2 & ~m;
+      planes[opp + 2 * words + w] = b3 & ~m;
+      pawnCells[side * 3] += Long.bitCount(planes[own + w]) - Long.bitCount(a1);
+      pawnCells[side * 3 + 1] += Long.bitCount(planes[own + words + w]) - Long.bitCount(a2);
+      pawnCells[side * 3 + 2] += Long.bitCount(planes[own + 2 * words + w]) - Long.bitCount(a3);
+      pawnCells[(1 - side) * 3] -= Long.bitCount(b1 & m);
+      pawnCells[(1 - side) * 3 + 1] -= Long.bitCount(b2 & m);
+      pawnCells[(1 - side) * 3 + 2] -= Long.bitCount(b3 & m);
+      hashChanges(side * 3, w, a1 ^ planes[own + w]);
+      hashChanges(side * 3 + 1, w, a2 ^ planes[own + words + w]);
+      hashChanges(side * 3 + 2, w, a3 ^ planes[own + 2 * words + w]);
+      hashChanges((1 - side) * 3, w, b1 & m);
+      hashChanges((1 - side) * 3 + 1, w, b2 & m);
+      hashChanges((1 - side) * 3 + 2, w, b3 & m);
+    }
+  }
+
+  private void hashChanges(int plane, int word, long changed) {
+    while (changed != 0) {
+      boardHash ^= zobrist.pawnKey(plane, (word << 6) + Long.numberOfTrailingZeros(changed));
+      changed &= changed - 1;
+    }
+  }
+
+  private void ensureHash() {
+    if (!hashValid) {
+      boardHash = computeBoardHash();
+      handHash = computeHandHash();
+      hashValid = true;
+    }
+  }
+
+  private long computeBoardHash() {
+    long hash = 0;
+    for (int plane = 0; plane < PLANES; plane++) {
+      for (int w = 0; w < words; w++) {
+        long bits = planes[plane * words + w];
+        while (bits != 0) {
+          int bit = (w << 6) + Long.numberOfTrailingZeros(bits);
+          hash ^= plane < CARD_PLANE ? zobrist.pawnKey(plane, bit)
+              : zobrist.cardKey(cardAt[bit], plane - CARD_PLANE, bit);
+          bits &= bits - 1;
+        }
+      }
+    }
+    return hash;
+  }
+
+  private long computeHandHash() {
+    long hash = 0;
+    for (int color = 0; color < 2; color++) {
+      for (int slot = 0; slot < handSizes[color]; slot++) {
+        hash += zobrist.handKey(hands[color][slot], color);
+      }
+    }
+    return hash;
+  }
+
+  private long stateKey() {
+    int flags = (passed[0] ? 1 : 0) | (passed[1] ? 2 : 0) | (gameOver ? 4 : 0);
+    return zobrist.stateKey(side, flags, deckTops[0], deckTops[1], hidden[0], hidden[1]);
+  }
+
+  /**
+   * Draws for the player who just moved, then ends the game or passes the turn.
+   */
+  private void finishTurn(int record) {
+    int[] deck = decks[side];
+    if (deckTops[side] < deck.length) {
+      int drawn = deck[deckTops[side]++];
+      records[record + 3] = drawn;
+      if (drawn == HIDDEN) {
+        hidden[side]++;
+      } else {
+        addToHand(side, drawn);
+      }
+    } else {
+      records[record + 3] = NO_DRAW;
+    }
+    if (isOutOfCards(0) || isOutOfCards(1)) {
+      gameOver = true;
+    } else {
+      side = 1 - side;
+    }
+  }
+
+  private boolean isOutOfCards(int color) {
+    return handSizes[color] == 0 && hidden[color] == 0
+        && deckTops[color] == decks[color].length;
+  }
+
+  private int pushRecord() {
+    if ((ply + 1) * RECORD > records.length) {
+      records = Arrays.copyOf(records, records.length * 2);
+      savedWords = Arrays.copyOf(savedWords, savedWords.length * 2);
+      hashes = Arrays.copyOf(hashes, hashes.length * 2);
+      savedCounts = Arrays.copyOf(savedCounts, savedCounts.length * 2);
+    }
+    hashes[2 * ply] = boardHash;
+    hashes[2 * ply + 1] = handHash;
+    System.arraycopy(pawnCells, 0, savedCounts, ply * CARD_PLANE, CARD_PLANE);
+    int record = ply * RECORD;
+    records[record + 4] = side | (passed[0] ? 2 : 0) | (passed[1] ? 4 : 0) | (gameOver ? 8 : 0);
+    ply++;
+    return record;
+  }
+
+  private void saveWords(int firstWord) {
+    int base = (ply - 1) * PLANES * span;
+    for (int plane = 0; plane < PLANES; plane++) {
+      for (int i = 0; i < span && firstWord + i < words; i++) {
+        savedWords[base + plane * span + i] = planes[plane * words + firstWord + i];
+      }
+    }
+  }
+
+  private void restoreWords(int firstWord) {
+    int base = ply * PLANES * span;
+    for (int plane = 0; plane < PLANES; plane++) {
+      for (int i = 0; i < span && firstWord + i < words; i++) {
+        planes[plane * words + firstWord + i] = savedWords[base + plane * span + i];
+      }
+    }
+  }
+
+  private void resetHistory() {
+    ply = 0;
+    hashValid = false;
+  }
+
+  private int clearCell(int row, int col) {
+    if (row < 0 || row >= geometry.getRows() || col < 0 || col >= geometry.getCols()) {
+      throw new IllegalArgumentException("Cell position does not exist");
+    }
+    int bit = geometry.bit(row, col);
+    if (cardAt[bit] >= 0) {
+      int owner = test(CARD_PLANE, bit) ? 0 : 1;
+      rowScores[owner * geometry.getRows() + row] -= table.value(cardAt[bit]);
+      cardAt[bit] = -1;
+    }
+    long keep = ~(1L << bit);
+    for (int plane = 0; plane < PLANES; plane++) {
+      if (plane < CARD_PLANE && test(plane, bit)) {
+        pawnCells[plane]--;
+      }
+      planes[plane * words + (bit >>> 6)] &= keep;
+    }
+    resetHistory();
+    return bit;
+  }
+
+  private int pawnsOf(int color, int bit) {
+    int base = color * 3;
+    for (int count = 1; count <= 3; count++) {
+      if (test(base + count - 1, bit)) {
+        return count;
+      }
+    }
+    return 0;
+  }
+
+  private boolean test(int plane, int bit) {
+    return (planes[plane * words + (bit >>> 6)] & (1L << bit)) != 0;
+  }
+
+  private void addToHand(int color, int card) {
+    if (handSizes[color] == hands[color].length) {
+      hands[color] = Arrays.copyOf(hands[color], hands[color].length * 2);
+    }
+    hands[color][handSizes[color]++] = card;
+    handHash += zobrist.handKey(card, color);
+  }
+
+  private void removeFromHand(int color, int slot) {
+    int[] hand = hands[color];
+    handHash -= zobrist.handKey(hand[slot], color);
+    System.arraycopy(hand, slot + 1, hand, slot, handSizes[color] - slot - 1);
+    handSizes[color]--;
+  }
+
+  private void insertIntoHand(int color, int slot, int card) {
+    if (handSizes[color] == hands[color].length) {
+      hands[color] = Arrays.copyOf(hands[color], hands[color].length * 2);
+    }
+    int[] hand = hands[color];
+    System.arraycopy(hand, slot, hand, slot + 1, handSizes[color] - slot);
+    hand[slot] = card;
+    handSizes[color]++;
+  }
+}
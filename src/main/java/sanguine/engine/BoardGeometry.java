@@ -0,0 +1,181 @@
+package sanguine.engine;
+
+/**
+ * Maps board cells onto bit positions for the bitboard engine.
+ * Each row is laid out with two padding columns on either side, and two padding rows sit above
+ * and below the board, so an influence pattern shifted onto any cell never wraps into a
+ * neighbouring row: anything that lands in the padding is clipped by {@link #cellMask()}.
+ */
+public final class BoardGeometry {
+
+  /**
+   * Number of padding rows and columns on each side of the board.
+   */
+  static final int PAD = 2;
+
+  private final int rows;
+  private final int cols;
+  private final int stride;
+  private final int words;
+  private final long[] cellMask;
+  private final long[] rowMasks;
+  // INVARIANT: rowMasks holds rows consecutive masks of words longs each
+
+  /**
+   * Creates the geometry for a board of the given size.
+   *
+   * @param rows number of rows on the board
+   * @param cols number of columns on the board
+   * @throws IllegalArgumentException if the dimensions are not a legal Sanguine board
+   */
+  public BoardGeometry(int rows, int cols) {
+    if (rows <= 0 || cols <= 1 || cols % 2 == 0) {
+      throw new IllegalArgumentException("Invalid board dimensions");
+    }
+    this.rows = rows;
+    this.cols = cols;
+    this.stride = cols + 2 * PAD;
+    this.words = ((rows + 2 * PAD) * stride + 63) >>> 6;
+    this.cellMask = new long[words];
+    this.rowMasks = new long[rows * words];
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        int bit = bit(row, col);
+        cellMask[bit >>> 6] |= 1L << bit;
+        rowMasks[row * words + (bit >>> 6)] |= 1L << bit;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of rows on the board.
+   *
+   * @return number of rows
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Returns the number of columns on the board.
+   *
+   * @return number of columns
+   */
+  public int getCols() {
+    return cols;
+  }
+
+  /**
+   * Returns the distance in bits between vertically adjacent cells.
+   *
+   * @return the row stride
+   */
+  public int getStride() {
+    return stride;
+  }
+
+  /**
+   * Returns the number of longs in one bitboard plane.
+   *
+   * @return words per plane
+   */
+  public int getWords() {
+    return words;
+  }
+
+  /**
+   * Returns the total number of bit positions, including padding.
+   *
+   * @return bits per plane that can address a cell or padding
+   */
+  public int getBits() {
+    return (rows + 2 * PAD) * stride;
+  }
+
+  /**
+   * Returns the bit position of a cell.
+   *
+   * @param row row of the cell
+   * @param col column of the cell
+   * @return the cell's bit index
+   */
+  public int bit(int row, int col) {
+    return (row + PAD) * stride + col + PAD;
+  }
+
+  /**
+   * Returns the row of a bit position.
+   *
+   * @param bit a cell's bit index
+   * @return the cell's row
+   */
+  public int rowOf(int bit) {
+    return bit / stride - PAD;
+  }
+
+  /**
+   * Returns the column of a bit position.
+   *
+   * @param bit a cell's bit index
+   * @return the cell's column
+   */
+  public int colOf(int bit) {
+    return bit % stride - PAD;
+  }
+
+  /**
+   * Returns how far an influence template must be shifted to centre it on a cell.
+   *
+   * @param row row of the cell
+   * @param col column of the cell
+   * @return the shift in bits
+   */
+  public int shiftOf(int row, int col) {
+    return row * stride + col;
+  }
+
+  /**
+   * Returns the mask of all real cells. Callers must not modify it.
+   *
+   * @return the board mask
+   */
+  public long[] cellMask() {
+    return cellMask;
+  }
+
+  /**
+   * Returns one word of the mask of a single row.
+   *
+   * @param row the row
+   * @param word the word index
+   * @return the row's mask bits in that word
+   */
+  public long rowMask(int row, int word) {
+    return rowMasks[row * words + word];
+  }
+
+  /**
+   * Returns the index of the next set bit at or after a position, or -1 if there is none.
+   *
+   * @param mask the bitboard to scan
+   * @param from the first bit index to consider
+   * @return the next set bit, or -1
+   */
+  public static int nextBit(long[] mask, int from) {
+    int word = from >>> 6;
+    if (word >= mask.length) {
+      return -1;
+    }
+    long bits = mask[word] & (-1L << from);
+    while (true) {
+      if (bits != 0) {
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+      }
+      word++;
+      if (word == mask.length) {
+        return -1;
+      }
+      bits = mask[word];
+    }
+  }
+}
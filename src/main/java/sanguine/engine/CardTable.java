@@ -0,0 +1,193 @@
+package sanguine.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+
+/**
+ * Assigns small integer ids to the distinct cards in play so engines can store cards in
+ * primitive arrays. Equal cards share one id.
+ */
+public final class CardTable {
+
+  private final List<Card> cards;
+  private final Map<Card, Integer> ids;
+  private final int[] costs;
+  private final int[] values;
+  private final int[] influence;
+  // INVARIANT: influence[2 * id + color] has bit (5 * r + c) set when the card influences
+  // grid cell (r, c) for that color, with the centre cell always cleared
+  private final boolean verticallySymmetric;
+
+  /**
+   * Creates a table holding every distinct card in the given collection.
+   *
+   * @param allCards the cards that may appear in a game
+   * @throws IllegalArgumentException if the collection is null or contains null
+   */
+  public CardTable(Collection<Card> allCards) {
+    if (allCards == null) {
+      throw new IllegalArgumentException("Cards cannot be null");
+    }
+    this.cards = new ArrayList<>();
+    this.ids = new HashMap<>();
+    for (Card card : allCards) {
+      if (card == null) {
+        throw new IllegalArgumentException("Cards cannot be null");
+      }
+      if (!ids.containsKey(card)) {
+        ids.put(card, cards.size());
+        cards.add(card);
+      }
+    }
+    this.costs = new int[cards.size()];
+    this.values = new int[cards.size()];
+    this.influence = new int[2 * cards.size()];
+    for (int id = 0; id < cards.size(); id++) {
+      Card card = cards.get(id);
+      costs[id] = card.getCost();
+      values[id] = card.getValue();
+      for (int r = 0; r < 5; r++) {
+        for (int c = 0; c < 5; c++) {
+          if (r == 2 && c == 2) {
+            continue;
+          }
+          if (card.hasInfluenceAt(r, c)) {
+            influence[2 * id] |= 1 << (5 * r + c);
+          }
+          if (card.hasInfluenceAt(r, 4 - c)) {
+            influence[2 * id + 1] |= 1 << (5 * r + c);
+          }
+        }
+      }
+    }
+    boolean symmetric = true;
+    for (Card card : cards) {
+      for (int r = 0; r < 2; r++) {
+        for (int c = 0; c < 5; c++) {
+          if (card.hasInfluenceAt(r, c) != card.hasInfluenceAt(4 - r, c)) {
+            symmetric = false;
+          }
+        }
+      }
+    }
+    this.verticallySymmetric = symmetric;
+  }
+
+  /**
+   * Creates a table holding every distinct card of two decks.
+   *
+   * @param redDeck red's cards
+   * @param blueDeck blue's cards
+   * @return a table covering both decks
+   */
+  public static CardTable of(List<Card> redDeck, List<Card> blueDeck) {
+    List<Card> all = new ArrayList<>(redDeck);
+    all.addAll(blueDeck);
+    return new CardTable(all);
+  }
+
+  /**
+   * Returns the number of distinct cards.
+   *
+   * @return the number of ids in use
+   */
+  public int size() {
+    return cards.size();
+  }
+
+  /**
+   * Returns whether every card influences the same cells above itself as below, so flipping
+   * the rows of a board does not change what any card would do.
+   *
+   * @return true if all influence grids read the same upside down
+   */
+  public boolean isVerticallySymmetric() {
+    return verticallySymmetric;
+  }
+
+  /**
+   * Returns whether a card is in this table.
+   *
+   * @param card the card to look up
+   * @return true if the card has an id
+   */
+  public boolean contains(Card card) {
+    return ids.containsKey(card);
+  }
+
+  /**
+   * Returns the id of a card.
+   *
+   * @param card the card to look up
+   * @return the card's id
+   * @throws IllegalArgumentException if the card is not in this table
+   */
+  public int idOf(Card card) {
+    Integer id = ids.get(card);
+    if (id == null) {
+      throw new IllegalArgumentException("Unknown card: " + (card == null ? null : card.getName()));
+    }
+    return id;
+  }
+
+  /**
+   * Returns the card with an id.
+   *
+   * @param id the card id
+   * @return the card
+   */
+  public Card card(int id) {
+    return cards.get(id);
+  }
+
+  /**
+   * Returns the cost of a card.
+   *
+   * @param id the card id
+   * @return the card's cost
+   */
+  public int cost(int id) {
+    return costs[id];
+  }
+
+  /**
+   * Returns the value of a card.
+   *
+   * @param id the card id
+   * @return the card's value
+   */
+  public int value(int id) {
+    return values[id];
+  }
+
+  /**
+   * Returns whether a card, played by a color, influences the cell at an offset from it.
+   * Blue plays every card with its influence grid mirrored across columns.
+   *
+   * @param id the card id
+   * @param color the player placing the card
+   * @param dr row offset, from -2 to 2
+   * @param dc column offset, from -2 to 2
+   * @return true if the offset cell is influenced
+   */
+  public boolean influences(int id, PlayerColor color, int dr, int dc) {
+    return (influence[2 * id + color.ordinal()] & (1 << (5 * (dr + 2) + dc + 2))) != 0;
+  }
+
+  /**
+   * Returns a card's influence pattern as a 25-bit set, bit {@code 5 * r + c} standing for
+   * grid cell (r, c). The centre is never set.
+   *
+   * @param id the card id
+   * @param color the player placing the card
+   * @return the influence bits
+   */
+  public int influenceBits(int id, PlayerColor color) {
+    return influence[2 * id + color.ordinal()];
+  }
+}
@@ -0,0 +1,52 @@
+package sanguine.engine;
+
+import sanguine.model.PlayerColor;
+
+/**
+ * Plays the highest-value card it can afford, on the first cell, in index order, that holds
+ * enough of the player's pawns for it. It never works out what a placement would add to the
+ * row scores, so it is a cheap stand-in for a greedy player rather than an exact one; the
+ * card's own value is the whole of its judgement.
+ */
+public final class GreedyBatchPolicy implements BatchPolicy {
+
+  @Override
+  public void choose(BatchEngine batch, PlayerColor color, int[] moves) {
+    int side = color.ordinal();
+    int sign = side == 0 ? 1 : -1;
+    int cellsPerGame = batch.getCellsPerGame();
+    byte[] cells = batch.cells;
+    for (int game = 0; game < batch.getGames(); game++) {
+      if (batch.isGameOver(game) || batch.sides[game] != side) {
+        continue;
+      }
+      int base = game * cellsPerGame;
+      int most = 0;
+      for (int cell = 0; cell < cellsPerGame; cell++) {
+        int pawns = sign * cells[base + cell];
+        most = pawns < BatchEngine.CARD && pawns > most ? pawns : most;
+      }
+      int handBase = batch.handBase(game, side);
+      int bestSlot = -1;
+      int bestValue = Integer.MIN_VALUE;
+      for (int slot = 0; slot < batch.handSizes[2 * game + side]; slot++) {
+        int card = batch.hands[handBase + slot];
+        if (batch.cost(card) <= most && batch.value(card) > bestValue) {
+          bestSlot = slot;
+          bestValue = batch.value(card);
+        }
+      }
+      if (bestSlot < 0) {
+        continue;
+      }
+      int cost = batch.cost(batch.hands[handBase + bestSlot]);
+      for (int cell = 0; cell < cellsPerGame; cell++) {
+        int pawns = sign * cells[base + cell];
+        if (pawns >= cost && pawns < BatchEngine.CARD) {
+          moves[game] = bestSlot * cellsPerGame + cell;
+          break;
+        }
+      }
+    }
+  }
+}
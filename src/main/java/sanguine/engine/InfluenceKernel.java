@@ -0,0 +1,30 @@
+package sanguine.engine;
+
+/**
+ * Computes how stamping one influence pattern onto many cells changes pawn counts.
+ * The board is padded so that every offset from a real cell stays inside the array, and holds
+ * the mover's pawns as positive counts, the opponent's as negative counts, and
+ * {@link #BLOCKED} for cards and padding.
+ */
+interface InfluenceKernel {
+
+  /**
+   * Board value for cells that influence cannot change.
+   */
+  int BLOCKED = 8;
+
+  /**
+   * For each centre, writes the change in the mover's pawn total and the change in the
+   * opponent's pawn total caused by influencing every offset cell from that centre.
+   *
+   * @param board the padded board
+   * @param offsets influenced cells as index offsets from the centre
+   * @param centres board indices of the cells the card would be placed on
+   * @param count number of centres to evaluate
+   * @param own receives the mover's pawn change at {@code from + i}
+   * @param opponent receives the opponent's pawn change at {@code from + i}
+   * @param from index of the first output slot
+   */
+  void apply(int[] board, int[] offsets, int[] centres, int count, int[] own, int[] opponent,
+             int from);
+}
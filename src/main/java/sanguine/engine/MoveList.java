@@ -0,0 +1,262 @@
+package sanguine.engine;
+
+import java.util.Arrays;
+import sanguine.model.PlayerColor;
+
+/**
+ * A reusable list of packed moves, backed by an int array that only grows. Clearing keeps the
+ * array, so a list kept for the life of a search or a game generates and records moves without
+ * allocating.
+ *
+ * <p>This class also defines the one packed form of a move, which every search, table, tree
+ * and journal shares: {@link #PASS}, or {@link #encode} of a card id and a cell index
+ * {@code row * cols + col}. A move names its card rather than its hand slot, so it stays the
+ * same move as the hand is reordered by play. Only a strategy's answer is boxed, as a
+ * {@code sanguine.strategy.Move} with the card's hand index.</p>
+ */
+public final class MoveList {
+
+  /**
+   * Packed move meaning the player passes.
+   */
+  public static final int PASS = 1;
+
+  private int[] moves;
+  private int size;
+  private long[] legal;
+
+  /**
+   * Creates an empty list.
+   */
+  public MoveList() {
+    this(64);
+  }
+
+  /**
+   * Creates an empty list with room for a number of moves before it has to grow.
+   *
+   * @param capacity the initial capacity
+   * @throws IllegalArgumentException if capacity is negative
+   */
+  public MoveList(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Capacity cannot be negative");
+    }
+    this.moves = new int[Math.max(1, capacity)];
+    this.legal = new long[0];
+  }
+
+  /**
+   * Packs a placement.
+   *
+   * @param card the card id
+   * @param cell the cell index, {@code row * cols + col}
+   * @return the packed move
+   */
+  public static int encode(int card, int cell) {
+    return 2 + (card << 12 | cell);
+  }
+
+  /**
+   * Returns the card id of a packed placement.
+   *
+   * @param move the packed move
+   * @return the card id
+   */
+  public static int cardOf(int move) {
+    return (move - 2) >>> 12;
+  }
+
+  /**
+   * Returns the cell index of a packed placement.
+   *
+   * @param move the packed move
+   * @return the cell index
+   */
+  public static int cellOf(int move) {
+    return (move - 2) & 0xFFF;
+  }
+
+  /**
+   * Makes a packed move on an engine, placing the first copy of its card in the hand of the
+   * player to move.
+   *
+   * @param engine the position
+   * @param move the packed move
+   * @return true if the move was made, false if the placement was illegal
+   */
+  public static boolean play(BitboardEngine engine, int move) {
+    if (move == PASS) {
+      engine.pass();
+      return true;
+    }
+    int cols = engine.getGeometry().getCols();
+    int cell = cellOf(move);
+    return engine.place(engine.findSlot(cardOf(move)), cell / cols, cell % cols);
+  }
+
+  /**
+   * Replaces the contents with every distinct legal placement of the player to move: one per
+   * card and cell, however many copies of the card the hand holds, by hand slot of the card's
+   * first copy, then by cell bit. Passing is not included.
+   *
+   * @param engine the position
+   * @return the number of placements
+   */
+  public int generate(BitboardEngine engine) {
+    return fill(engine, true);
+  }
+
+  /**
+   * Replaces the contents like {@link #generate}, but lists a card's placements once for
+   * every copy of it in the hand, as counting the moves of each hand slot needs.
+   *
+   * @param engine the position
+   * @return the number of placements
+   */
+  public int generateAll(BitboardEngine engine) {
+    return fill(engine, false);
+  }
+
+  private int fill(BitboardEngine engine, boolean distinct) {
+    clear();
+    PlayerColor color = engine.getCurrentPlayer();
+    CardTable cards = engine.getCardTable();
+    BoardGeometry geometry = engine.getGeometry();
+    if (legal.length != geometry.getWords()) {
+      legal = new long[geometry.getWords()];
+    }
+    int cols = geometry.getCols();
+    int handSize = engine.getHandSize(color);
+    for (int slot = 0; slot < handSize; slot++) {
+      int card = engine.getHandCard(color, slot);
+      if (distinct && engine.findSlot(card) != slot) {
+        continue;
+      }
+      engine.legalCells(cards.cost(card), legal);
+      for (int bit = BoardGeometry.nextBit(legal, 0); bit >= 0;
+           bit = BoardGeometry.nextBit(legal, bit + 1)) {
+        add(encode(card, geometry.rowOf(bit) * cols + geometry.colOf(bit)));
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Adds a move to the end.
+   *
+   * @param move the packed move
+   */
+  public void add(int move) {
+    if (size == moves.length) {
+      moves = Arrays.copyOf(moves, 2 * size);
+    }
+    moves[size++] = move;
+  }
+
+  /**
+   * Returns a move.
+   *
+   * @param index the position in the list
+   * @return the packed move
+   * @throws IndexOutOfBoundsException if the index is not below the size
+   */
+  public int get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("No move at " + index);
+    }
+    return moves[index];
+  }
+
+  /**
+   * Replaces a move.
+   *
+   * @param index the position in the list
+   * @param move the packed move
+   * @throws IndexOutOfBoundsException if the index is not below the size
+   */
+  public void set(int index, int move) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("No move at " + index);
+    }
+    moves[index] = move;
+  }
+
+  /**
+   * Returns the position of a move in the list.
+   *
+   * @param move the packed move
+   * @return the first index holding it, or -1
+   */
+  public int indexOf(int move) {
+    for (int i = 0; i < size; i++) {
+      if (moves[i] == move) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Moves a move to the front, keeping the others in order, if the list holds it.
+   *
+   * @param move the packed move
+   * @return true if the list held the move
+   */
+  public boolean moveToFront(int move) {
+    int index = indexOf(move);
+    if (index < 0) {
+      return false;
+    }
+    System.arraycopy(moves, 0, moves, 1, index);
+    moves[0] = move;
+    return true;
+  }
+
+  /**
+   * Returns the number of moves.
+   *
+   * @return the size
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether the list holds no moves.
+   *
+   * @return true if empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Removes every move, keeping the storage.
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Drops the moves from an index on, as when taking back moves recorded in a game.
+   *
+   * @param newSize the number of moves to keep
+   * @throws IllegalArgumentException if newSize is negative or beyond the size
+   */
+  public void truncate(int newSize) {
+    if (newSize < 0 || newSize > size) {
+      throw new IllegalArgumentException("Cannot truncate to " + newSize);
+    }
+    size = newSize;
+  }
+
+  /**
+   * Returns the moves as a new array.
+   *
+   * @return a copy of the moves
+   */
+  public int[] toArray() {
+    return Arrays.copyOf(moves, size);
+  }
+}
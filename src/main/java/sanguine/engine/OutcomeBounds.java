@@ -0,0 +1,262 @@
+package sanguine.engine;
+
+import java.util.Arrays;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+
+/**
+ * Cheap bounds on how a game can still end, and whether its winner is already decided.
+ * Cards never leave the board, so a player's score in a row can only grow, and only by the
+ * cards they have left going onto the row's open cells: at most the most valuable of their
+ * remaining cards, one per open cell. A card of unknown identity could be worth anything, so a
+ * player holding or still to draw one has no upper bound in any row with an open cell.
+ *
+ * <p>From the row bounds, a player's final total is at least the sum of the rows they are
+ * already sure to win, and at most the sum of their best cases in the rows they could still
+ * win. When one player's least possible total beats the other's greatest, the winner is
+ * decided however the remaining moves go; the totals as they stand already show that winner.</p>
+ *
+ * <p>One instance can be reused for many positions without allocating.</p>
+ */
+public final class OutcomeBounds {
+
+  /**
+   * Row bound reported when a player could still place a card of unknown value in the row.
+   */
+  public static final int UNBOUNDED = 1 << 24;
+
+  private final int rows;
+  private final int[] lower;
+  private final int[] upper;
+  private final int[] open;
+  private final int[][] remaining;
+  private final int[] counts;
+  private final boolean[] unknown;
+  private final int[] totalLower;
+  private final int[] totalUpper;
+  // INVARIANT: lower[c * rows + r] and upper[c * rows + r] bound color c's final score in
+  // row r, and totalLower[c] and totalUpper[c] bound c's final total
+
+  /**
+   * Creates storage for the bounds of boards with the given number of rows.
+   *
+   * @param rows number of rows on the board
+   * @throws IllegalArgumentException if rows is not positive
+   */
+  public OutcomeBounds(int rows) {
+    if (rows <= 0) {
+      throw new IllegalArgumentException("Rows must be positive");
+    }
+    this.rows = rows;
+    this.lower = new int[2 * rows];
+    this.upper = new int[2 * rows];
+    this.open = new int[rows];
+    this.remaining = new int[][] {new int[16], new int[16]};
+    this.counts = new int[2];
+    this.unknown = new boolean[2];
+    this.totalLower = new int[2];
+    this.totalUpper = new int[2];
+  }
+
+  /**
+   * Computes the bounds of an engine's position.
+   *
+   * @param engine the position
+   * @return the bounds
+   */
+  public static OutcomeBounds of(BitboardEngine engine) {
+    return new OutcomeBounds(engine.getGeometry().getRows()).compute(engine);
+  }
+
+  /**
+   * Computes the bounds of a model's position. The model does not reveal the order of its
+   * decks, so while a player has cards left to draw their bounds are open.
+   *
+   * @param model the position
+   * @return the bounds
+   */
+  public static OutcomeBounds of(ReadOnlySanguineModel model) {
+    return of(BitboardEngine.fromModel(model));
+  }
+
+  /**
+   * Recomputes these bounds for an engine's position.
+   *
+   * @param engine the position, with as many rows as these bounds were made for
+   * @return these bounds
+   */
+  public OutcomeBounds compute(BitboardEngine engine) {
+    CardTable table = engine.getCardTable();
+    for (int row = 0; row < rows; row++) {
+      open[row] = engine.getOpenCells(row);
+    }
+    for (PlayerColor color : PlayerColor.values()) {
+      int c = color.ordinal();
+      for (int row = 0; row < rows; row++) {
+        lower[c * rows + row] = engine.getRowScore(row, color);
+      }
+      counts[c] = 0;
+      unknown[c] = engine.getHiddenCards(color) > 0;
+      for (int slot = 0; slot < engine.getHandSize(color); slot++) {
+        add(c, table.value(engine.getHandCard(color, slot)));
+      }
+      for (int i = 0; i < engine.getDeckSize(color); i++) {
+        int card = engine.getDeckCard(color, i);
+        if (card < 0) {
+          unknown[c] = true;
+        } else {
+          add(c, table.value(card));
+        }
+      }
+    }
+    finish();
+    return this;
+  }
+
+  /**
+   * Recomputes these bounds for one game of a batch.
+   *
+   * @param batch the batch
+   * @param game the game
+   * @return these bounds
+   */
+  public OutcomeBounds compute(BatchEngine batch, int game) {
+    int cols = batch.getCols();
+    for (int row = 0; row < rows; row++) {
+      int cards = 0;
+      for (int col = 0; col < cols; col++) {
+        int cell = batch.getCell(game, row * cols + col);
+        if (cell == BatchEngine.CARD || cell == -BatchEngine.CARD) {
+          cards++;
+        }
+      }
+      open[row] = cols - cards;
+    }
+    for (PlayerColor color : PlayerColor.values()) {
+      int c = color.ordinal();
+      for (int row = 0; row < rows; row++) {
+        lower[c * rows + row] = batch.getRowScore(game, row, color);
+      }
+      counts[c] = 0;
+      unknown[c] = false;
+      for (int slot = 0; slot < batch.getHandSize(game, color); slot++) {
+        add(c, batch.value(batch.getHandCard(game, color, slot)));
+      }
+      for (int i = 0; i < batch.getDeckSize(game, color); i++) {
+        add(c, batch.value(batch.getDeckCard(game, color, i)));
+      }
+    }
+    finish();
+    return this;
+  }
+
+  private void add(int color, int value) {
+    if (counts[color] == remaining[color].length) {
+      remaining[color] = Arrays.copyOf(remaining[color], 2 * counts[color]);
+    }
+    remaining[color][counts[color]++] = value;
+  }
+
+  private void finish() {
+    for (int c = 0; c < 2; c++) {
+      int[] values = remaining[c];
+      int count = counts[c];
+      Arrays.sort(values, 0, count);
+      for (int row = 0; row < rows; row++) {
+        int score = lower[c * rows + row];
+        if (open[row] > 0 && unknown[c]) {
+          upper[c * rows + row] = UNBOUNDED;
+          continue;
+        }
+        int best = Math.min(open[row], count);
+        for (int i = 0; i < best; i++) {
+          score += values[count - 1 - i];
+        }
+        upper[c * rows + row] = Math.min(score, UNBOUNDED);
+      }
+    }
+    for (int c = 0; c < 2; c++) {
+      int other = 1 - c;
+      totalLower[c] = 0;
+      totalUpper[c] = 0;
+      for (int row = 0; row < rows; row++) {
+        if (lower[c * rows + row] > upper[other * rows + row]) {
+          totalLower[c] += lower[c * rows + row];
+        }
+        if (upper[c * rows + row] > lower[other * rows + row]) {
+          totalUpper[c] += upper[c * rows + row];
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the least score a player can end with in a row: their score now.
+   *
+   * @param row the row
+   * @param color the player
+   * @return the pessimistic row score
+   */
+  public int getRowLower(int row, PlayerColor color) {
+    return lower[color.ordinal() * rows + row];
+  }
+
+  /**
+   * Returns the most a player can end with in a row.
+   *
+   * @param row the row
+   * @param color the player
+   * @return the optimistic row score, or {@link #UNBOUNDED}
+   */
+  public int getRowUpper(int row, PlayerColor color) {
+    return upper[color.ordinal() * rows + row];
+  }
+
+  /**
+   * Returns the least total a player can end with.
+   *
+   * @param color the player
+   * @return the pessimistic total score
+   */
+  public int getTotalLower(PlayerColor color) {
+    return totalLower[color.ordinal()];
+  }
+
+  /**
+   * Returns the most total a player can end with.
+   *
+   * @param color the player
+   * @return the optimistic total score
+   */
+  public int getTotalUpper(PlayerColor color) {
+    return totalUpper[color.ordinal()];
+  }
+
+  /**
+   * Returns the player certain to win, whatever moves are left.
+   *
+   * @return the decided winner, or null if the game could still go either way or be drawn
+   */
+  public PlayerColor getDecidedWinner() {
+    if (totalLower[0] > totalUpper[1]) {
+      return PlayerColor.RED;
+    } else if (totalLower[1] > totalUpper[0]) {
+      return PlayerColor.BLUE;
+    }
+    return null;
+  }
+
+  /**
+   * Returns by how much the decided winner is sure to win: their least total minus the
+   * loser's greatest.
+   *
+   * @return the guaranteed margin, or 0 if no winner is decided
+   */
+  public int getDecidedMargin() {
+    PlayerColor winner = getDecidedWinner();
+    if (winner == null) {
+      return 0;
+    }
+    return totalLower[winner.ordinal()] - totalUpper[1 - winner.ordinal()];
+  }
+}
@@ -0,0 +1,231 @@
+package sanguine.engine;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import sanguine.controller.DeckReader;
+import sanguine.model.Card;
+import sanguine.model.GameState;
+import sanguine.model.MutableSanguineModel;
+import sanguine.model.SanguineModelImpl;
+
+/**
+ * Counts every position of a game tree down to a fixed depth, the way chess programmers test
+ * move generators. From each position that is not over, every legal placement of every card in
+ * the hand, and the pass, leads to a child; two cards that are equal still count separately, as
+ * they are different hand indices. Counts from the bitboard engine, the immutable
+ * {@link GameState} and a mutable model must agree, so a mismatch at some depth pins down a bug
+ * in whichever of them was just changed. Walking the engine also measures how fast it makes and
+ * takes back moves.
+ */
+public final class Perft {
+
+  private final int depth;
+  private final long[] counts;
+  // INVARIANT: counts[ply] is the number of positions reached after exactly ply moves
+  private final MoveList[] lists;
+  private int[] slots;
+  private int[] rows;
+  private int[] cols;
+  // INVARIANT: slots, rows and cols hold the path from the start to the current position,
+  // with slot -1 standing for a pass
+
+  /**
+   * Creates a counter for trees of the given depth.
+   *
+   * @param depth the number of moves to look ahead
+   * @throws IllegalArgumentException if depth is negative
+   */
+  public Perft(int depth) {
+    if (depth < 0) {
+      throw new IllegalArgumentException("Depth cannot be negative");
+    }
+    this.depth = depth;
+    this.counts = new long[depth + 1];
+    this.lists = new MoveList[depth + 1];
+    for (int ply = 0; ply <= depth; ply++) {
+      lists[ply] = new MoveList();
+    }
+  }
+
+  /**
+   * Counts the positions below an engine's position, making and taking back every move. The
+   * engine is left as it was found.
+   *
+   * @param engine the starting position
+   * @return the number of positions at each ply, from 0 to the depth
+   */
+  public long[] count(BitboardEngine engine) {
+    Arrays.fill(counts, 0);
+    walk(engine, 0);
+    return counts.clone();
+  }
+
+  /**
+   * Counts the positions below an immutable state.
+   *
+   * @param state the starting position
+   * @return the number of positions at each ply, from 0 to the depth
+   */
+  public long[] count(GameState state) {
+    Arrays.fill(counts, 0);
+    walk(state, 0);
+    return counts.clone();
+  }
+
+  /**
+   * Counts the positions below a mutable model. Such a model cannot take moves back, so every
+   * position is rebuilt by playing its moves on a fresh model; this is slow, and meant only for
+   * checking the other counts.
+   *
+   * @param start makes a new model at the starting position on each call
+   * @return the number of positions at each ply, from 0 to the depth
+   */
+  public long[] count(Supplier<? extends MutableSanguineModel> start) {
+    Arrays.fill(counts, 0);
+    slots = new int[depth];
+    rows = new int[depth];
+    cols = new int[depth];
+    walk(start, 0);
+    return counts.clone();
+  }
+
+  private void walk(BitboardEngine engine, int ply) {
+    counts[ply]++;
+    if (ply == depth || engine.isGameOver()) {
+      return;
+    }
+    MoveList list = lists[ply];
+    int count = list.generateAll(engine);
+    for (int i = 0; i < count; i++) {
+      MoveList.play(engine, list.get(i));
+      walk(engine, ply + 1);
+      engine.undo();
+    }
+    engine.pass();
+    walk(engine, ply + 1);
+    engine.undo();
+  }
+
+  private void walk(GameState state, int ply) {
+    counts[ply]++;
+    if (ply == depth || state.isGameOver()) {
+      return;
+    }
+    for (int slot = 0; slot < state.getCurrentHandSize(); slot++) {
+      for (int row = 0; row < state.getRows(); row++) {
+        for (int col = 0; col < state.getCols(); col++) {
+          if (state.isLegalMove(slot, row, col)) {
+            walk(state.place(slot, row, col), ply + 1);
+          }
+        }
+      }
+    }
+    walk(state.pass(), ply + 1);
+  }
+
+  private void walk(Supplier<? extends MutableSanguineModel> start, int ply) {
+    final MutableSanguineModel model = replay(start, ply);
+    counts[ply]++;
+    if (ply == depth || model.isGameOver()) {
+      return;
+    }
+    for (int slot = 0; slot < model.getCurrentHandSize(); slot++) {
+      for (int row = 0; row < model.getRows(); row++) {
+        for (int col = 0; col < model.getCols(); col++) {
+          if (model.isLegalMove(slot, row, col)) {
+            slots[ply] = slot;
+            rows[ply] = row;
+            cols[ply] = col;
+            walk(start, ply + 1);
+          }
+        }
+      }
+    }
+    slots[ply] = -1;
+    walk(start, ply + 1);
+  }
+
+  private MutableSanguineModel replay(Supplier<? extends MutableSanguineModel> start, int ply) {
+    MutableSanguineModel model = start.get();
+    for (int i = 0; i < ply; i++) {
+      if (slots[i] < 0) {
+        model.pass();
+      } else if (!model.placeCard(slots[i], rows[i], cols[i])) {
+        throw new IllegalStateException("Model rejected a move it had listed as legal");
+      }
+    }
+    return model;
+  }
+
+  /**
+   * Counts the game tree from the start of a game and prints the positions at each depth and
+   * the number of positions visited per second.
+   *
+   * @param args command line arguments:
+   *      [0] number of rows
+   *      [1] number of columns
+   *      [2] path of red's deck file
+   *      [3] path of blue's deck file
+   *      [4] depth
+   *      [5] optional hand size, 5 by default
+   *      [6] optional walker: engine, state, model, or all to check that they agree
+   */
+  public static void main(String[] args) {
+    if (args.length < 5 || args.length > 7) {
+      System.err.println("Usage: java sanguine.engine.Perft <rows> <cols> <redDeck> "
+          + "<blueDeck> <depth> [handSize] [engine|state|model|all]");
+      System.exit(1);
+    }
+    try {
+      int rowCount = Integer.parseInt(args[0]);
+      int colCount = Integer.parseInt(args[1]);
+      List<Card> red = DeckReader.readDeck(args[2]);
+      List<Card> blue = DeckReader.readDeck(args[3]);
+      int handSize = args.length > 5 ? Integer.parseInt(args[5]) : 5;
+      String walker = args.length > 6 ? args[6] : "engine";
+      Perft perft = new Perft(Integer.parseInt(args[4]));
+      long[] expected = null;
+      boolean agree = true;
+      for (String name : List.of("engine", "state", "model")) {
+        if (!walker.equals("all") && !walker.equals(name)) {
+          continue;
+        }
+        long start = System.nanoTime();
+        long[] found;
+        if (name.equals("engine")) {
+          found = perft.count(BitboardEngine.initial(rowCount, colCount, red, blue, handSize));
+        } else if (name.equals("state")) {
+          found = perft.count(GameState.initial(rowCount, colCount, red, blue, handSize));
+        } else {
+          found = perft.count(() -> new SanguineModelImpl(rowCount, colCount, red, blue,
+              handSize));
+        }
+        report(name, found, System.nanoTime() - start);
+        agree &= expected == null || Arrays.equals(expected, found);
+        expected = found;
+      }
+      if (expected == null) {
+        throw new IllegalArgumentException("Unknown walker: " + walker);
+      }
+      if (!agree) {
+        System.out.println("Counts differ");
+        System.exit(2);
+      }
+    } catch (Exception e) {
+      System.err.println("Error counting positions: " + e.getMessage());
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
+  private static void report(String name, long[] found, long nanos) {
+    long total = 0;
+    for (int ply = 0; ply < found.length; ply++) {
+      System.out.println(name + " depth " + ply + ": " + found[ply]);
+      total += found[ply];
+    }
+    System.out.printf("%s: %d positions in %d ms, %.0f positions/s%n", name, total,
+        nanos / 1_000_000, total * 1e9 / Math.max(1, nanos));
+  }
+}
@@ -0,0 +1,107 @@
+package sanguine.engine;
+
+import sanguine.model.PlayerColor;
+
+/**
+ * The effects of every legal placement in one position, as produced by
+ * {@link PlacementEvaluator}. Placements are listed by hand index, then row, then column.
+ *
+ * <p>In Sanguine a row score only counts the cards in that row, so placing a card raises the
+ * mover's score in its row by the card's value and leaves every other row score alone.
+ * Influence instead changes pawns: cells the mover gains or strengthens, and opponent pawns
+ * converted to the mover.</p>
+ */
+public final class PlacementBatch {
+
+  private final PlayerColor mover;
+  private final int size;
+  private final int[] cardIndices;
+  private final int[] rows;
+  private final int[] cols;
+  private final int[] values;
+  private final int[] ownPawns;
+  private final int[] opponentPawns;
+
+  PlacementBatch(PlayerColor mover, int size, int[] cardIndices, int[] rows, int[] cols,
+                 int[] values, int[] ownPawns, int[] opponentPawns) {
+    this.mover = mover;
+    this.size = size;
+    this.cardIndices = cardIndices;
+    this.rows = rows;
+    this.cols = cols;
+    this.values = values;
+    this.ownPawns = ownPawns;
+    this.opponentPawns = opponentPawns;
+  }
+
+  /**
+   * Returns the player the placements were evaluated for.
+   *
+   * @return the mover
+   */
+  public PlayerColor getMover() {
+    return mover;
+  }
+
+  /**
+   * Returns the number of legal placements.
+   *
+   * @return the number of placements
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the hand index of a placement.
+   *
+   * @param i the placement
+   * @return the index in the mover's hand
+   */
+  public int getCardIndex(int i) {
+    return cardIndices[i];
+  }
+
+  /**
+   * Returns the row of a placement.
+   *
+   * @param i the placement
+   * @return the row
+   */
+  public int getRow(int i) {
+    return rows[i];
+  }
+
+  /**
+   * Returns the column of a placement.
+   *
+   * @param i the placement
+   * @return the column
+   */
+  public int getCol(int i) {
+    return cols[i];
+  }
+
+  /**
+   * Returns how much a placement changes a player's score in the placement's row.
+   *
+   * @param i the placement
+   * @param player the player
+   * @return the card's value for the mover, zero for the opponent
+   */
+  public int getRowScoreDelta(int i, PlayerColor player) {
+    return player == mover ? values[i] : 0;
+  }
+
+  /**
+   * Returns how much a placement changes the total number of pawns a player has on the board,
+   * not counting the pawns consumed under the placed card.
+   *
+   * @param i the placement
+   * @param player the player
+   * @return the change in that player's pawns
+   */
+  public int getPawnDelta(int i, PlayerColor player) {
+    return player == mover ? ownPawns[i] : opponentPawns[i];
+  }
+}
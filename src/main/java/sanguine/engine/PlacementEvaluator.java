@@ -0,0 +1,140 @@
+package sanguine.engine;
+
+import java.util.Arrays;
+import java.util.List;
+import sanguine.model.Card;
+import sanguine.model.CellContent;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+
+/**
+ * Evaluates every legal placement of a position in one pass, for strategies that would
+ * otherwise score each (card, cell) pair separately. The position is copied once into a
+ * padded pawn array, and for each card the cells under its influence pattern are scored for
+ * all of the card's legal cells together. That inner loop runs on the Vector API when the
+ * {@code jdk.incubator.vector} module is available, and on plain loops otherwise.
+ */
+public final class PlacementEvaluator {
+
+  private static final String VECTOR_KERNEL = "sanguine.engine.VectorInfluenceKernel";
+
+  private final InfluenceKernel kernel;
+
+  PlacementEvaluator(InfluenceKernel kernel) {
+    this.kernel = kernel;
+  }
+
+  /**
+   * Creates an evaluator that uses the Vector API if this JVM provides it.
+   *
+   * @return the fastest available evaluator
+   */
+  public static PlacementEvaluator create() {
+    try {
+      Class<?> type = Class.forName(VECTOR_KERNEL);
+      InfluenceKernel vector = (InfluenceKernel) type.getDeclaredConstructor().newInstance();
+      vector.apply(new int[] {0, 0}, new int[] {1}, new int[] {0}, 1,
+          new int[1], new int[1], 0);
+      return new PlacementEvaluator(vector);
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return scalar();
+    }
+  }
+
+  /**
+   * Creates an evaluator that does not use the Vector API.
+   *
+   * @return a scalar evaluator
+   */
+  public static PlacementEvaluator scalar() {
+    return new PlacementEvaluator(new ScalarInfluenceKernel());
+  }
+
+  /**
+   * Returns whether this evaluator uses the Vector API.
+   *
+   * @return true if vectorized
+   */
+  public boolean isVectorized() {
+    return !(kernel instanceof ScalarInfluenceKernel);
+  }
+
+  /**
+   * Evaluates every legal placement for a player. Legality is taken from
+   * {@link ReadOnlySanguineModel#isLegalMove}, so the player should be the one to move.
+   *
+   * @param model the position
+   * @param player the player placing a card
+   * @return the effects of each legal placement
+   */
+  public PlacementBatch evaluate(ReadOnlySanguineModel model, PlayerColor player) {
+    int rows = model.getRows();
+    int cols = model.getCols();
+    int stride = cols + 4;
+    int[] board = readBoard(model, player, rows, cols, stride);
+    List<Card> hand = model.getPlayerHand(player);
+
+    int capacity = hand.size() * rows * cols;
+    int[] cardIndices = new int[capacity];
+    int[] placedRows = new int[capacity];
+    int[] placedCols = new int[capacity];
+    int[] values = new int[capacity];
+    int[] own = new int[capacity];
+    int[] opponent = new int[capacity];
+    int[] centres = new int[rows * cols];
+    int size = 0;
+    for (int cardIndex = 0; cardIndex < hand.size(); cardIndex++) {
+      Card card = hand.get(cardIndex);
+      int count = 0;
+      for (int row = 0; row < rows; row++) {
+        for (int col = 0; col < cols; col++) {
+          if (model.isLegalMove(cardIndex, row, col)) {
+            centres[count++] = (row + 2) * stride + col + 2;
+            cardIndices[size + count - 1] = cardIndex;
+            placedRows[size + count - 1] = row;
+            placedCols[size + count - 1] = col;
+            values[size + count - 1] = card.getValue();
+          }
+        }
+      }
+      if (count > 0) {
+        kernel.apply(board, offsets(card, player, stride), centres, count, own, opponent, size);
+        size += count;
+      }
+    }
+    return new PlacementBatch(player, size, cardIndices, placedRows, placedCols, values,
+        own, opponent);
+  }
+
+  private static int[] readBoard(ReadOnlySanguineModel model, PlayerColor player, int rows,
+                                 int cols, int stride) {
+    int[] board = new int[(rows + 4) * stride];
+    Arrays.fill(board, InfluenceKernel.BLOCKED);
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++) {
+        int index = (row + 2) * stride + col + 2;
+        PlayerColor owner = model.getOwnerOfCell(row, col);
+        if (model.getCellContent(row, col) == CellContent.CARD) {
+          continue;
+        }
+        int pawns = owner == null ? 0 : model.getPawnCount(row, col);
+        board[index] = owner == player ? pawns : -pawns;
+      }
+    }
+    return board;
+  }
+
+  private static int[] offsets(Card card, PlayerColor player, int stride) {
+    int[] offsets = new int[24];
+    int count = 0;
+    for (int r = 0; r < 5; r++) {
+      for (int c = 0; c < 5; c++) {
+        int gridCol = player == PlayerColor.RED ? c : 4 - c;
+        if ((r != 2 || c != 2) && card.hasInfluenceAt(r, gridCol)) {
+          offsets[count++] = (r - 2) * stride + c - 2;
+        }
+      }
+    }
+    return Arrays.copyOf(offsets, count);
+  }
+}
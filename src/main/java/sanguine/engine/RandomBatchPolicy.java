@@ -0,0 +1,49 @@
+package sanguine.engine;
+
+import java.util.SplittableRandom;
+import sanguine.model.PlayerColor;
+
+/**
+ * Picks uniformly among all legal placements in each game, passing only when there are none.
+ */
+public final class RandomBatchPolicy implements BatchPolicy {
+
+  private final SplittableRandom random;
+
+  /**
+   * Creates a random policy.
+   *
+   * @param seed seed for the move choices
+   */
+  public RandomBatchPolicy(long seed) {
+    this.random = new SplittableRandom(seed);
+  }
+
+  @Override
+  public void choose(BatchEngine batch, PlayerColor color, int[] moves) {
+    int side = color.ordinal();
+    int sign = side == 0 ? 1 : -1;
+    int cellsPerGame = batch.getCellsPerGame();
+    byte[] cells = batch.cells;
+    for (int game = 0; game < batch.getGames(); game++) {
+      if (batch.isGameOver(game) || batch.sides[game] != side) {
+        continue;
+      }
+      int base = game * cellsPerGame;
+      int handBase = batch.handBase(game, side);
+      int seen = 0;
+      for (int slot = 0; slot < batch.handSizes[2 * game + side]; slot++) {
+        int cost = batch.cost(batch.hands[handBase + slot]);
+        for (int cell = 0; cell < cellsPerGame; cell++) {
+          int pawns = sign * cells[base + cell];
+          if (pawns >= cost && pawns < BatchEngine.CARD) {
+            seen++;
+            if (random.nextInt(seen) == 0) {
+              moves[game] = slot * cellsPerGame + cell;
+            }
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package sanguine.engine;
+
+/**
+ * Evaluates influence one cell at a time. Always available.
+ */
+final class ScalarInfluenceKernel implements InfluenceKernel {
+
+  @Override
+  public void apply(int[] board, int[] offsets, int[] centres, int count, int[] own,
+                    int[] opponent, int from) {
+    for (int i = 0; i < count; i++) {
+      int centre = centres[i];
+      int gained = 0;
+      int lost = 0;
+      for (int offset : offsets) {
+        int pawns = board[centre + offset];
+        if (pawns == 0 || (pawns > 0 && pawns < 3)) {
+          gained++;
+        } else if (pawns < 0) {
+          gained -= pawns;
+          lost += pawns;
+        }
+      }
+      own[from + i] = gained;
+      opponent[from + i] = lost;
+    }
+  }
+}
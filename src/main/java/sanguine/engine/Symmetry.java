@@ -0,0 +1,104 @@
+package sanguine.engine;
+
+import sanguine.model.PlayerColor;
+
+/**
+ * The ways a position can be redrawn without changing how the game goes on from it.
+ * Flipping the rows upside down keeps every rule, as long as each card that can still be
+ * played influences the same cells above itself as below. Mirroring the columns while
+ * swapping the colours always keeps the rules, since blue plays every card mirrored: red's
+ * pieces become blue's on the mirrored cells and the other way around, including hands, passes
+ * and the player to move. It needs both players to draw from the same deck, so the future is
+ * swapped along with the present.
+ *
+ * <p>Each symmetry is its own inverse, so mapping a move from a position to its image and back
+ * uses the same symmetry.</p>
+ */
+public enum Symmetry {
+  /**
+   * Leaves the position as it is.
+   */
+  IDENTITY(false, false),
+  /**
+   * Turns the rows upside down.
+   */
+  ROW_FLIP(true, false),
+  /**
+   * Mirrors the columns and swaps the colours.
+   */
+  COLOR_MIRROR(false, true),
+  /**
+   * Does both: turns the board half around and swaps the colours.
+   */
+  ROTATION(true, true);
+
+  private final boolean flipsRows;
+  private final boolean swapsColors;
+
+  Symmetry(boolean flipsRows, boolean swapsColors) {
+    this.flipsRows = flipsRows;
+    this.swapsColors = swapsColors;
+  }
+
+  /**
+   * Returns whether this symmetry turns the rows upside down.
+   *
+   * @return true if rows are flipped
+   */
+  public boolean flipsRows() {
+    return flipsRows;
+  }
+
+  /**
+   * Returns whether this symmetry mirrors the columns and swaps the colours.
+   *
+   * @return true if colours are swapped
+   */
+  public boolean swapsColors() {
+    return swapsColors;
+  }
+
+  /**
+   * Returns where a row goes.
+   *
+   * @param row the row
+   * @param rows number of rows on the board
+   * @return the image of the row
+   */
+  public int row(int row, int rows) {
+    return flipsRows ? rows - 1 - row : row;
+  }
+
+  /**
+   * Returns where a column goes.
+   *
+   * @param col the column
+   * @param cols number of columns on the board
+   * @return the image of the column
+   */
+  public int col(int col, int cols) {
+    return swapsColors ? cols - 1 - col : col;
+  }
+
+  /**
+   * Returns where a cell index, {@code row * cols + col}, goes.
+   *
+   * @param cell the cell index
+   * @param rows number of rows on the board
+   * @param cols number of columns on the board
+   * @return the image of the cell
+   */
+  public int cell(int cell, int rows, int cols) {
+    return row(cell / cols, rows) * cols + col(cell % cols, cols);
+  }
+
+  /**
+   * Returns which player a player becomes.
+   *
+   * @param color the player
+   * @return the image of the player
+   */
+  public PlayerColor color(PlayerColor color) {
+    return swapsColors ? color.opposite() : color;
+  }
+}
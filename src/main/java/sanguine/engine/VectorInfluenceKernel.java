@@ -0,0 +1,39 @@
+package sanguine.engine;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Evaluates influence with the incubating Vector API: the cells under an influence pattern are
+ * gathered into lanes and classified with lane-wise compares, so a whole pattern is scored in
+ * one or two vector operations. Only loaded when the {@code jdk.incubator.vector} module is
+ * present; see {@link PlacementEvaluator#create()}.
+ */
+final class VectorInfluenceKernel implements InfluenceKernel {
+
+  private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+  @Override
+  public void apply(int[] board, int[] offsets, int[] centres, int count, int[] own,
+                    int[] opponent, int from) {
+    for (int i = 0; i < count; i++) {
+      int centre = centres[i];
+      int gained = 0;
+      int lost = 0;
+      for (int k = 0; k < offsets.length; k += SPECIES.length()) {
+        VectorMask<Integer> lanes = SPECIES.indexInRange(k, offsets.length);
+        IntVector pawns = IntVector.fromArray(SPECIES, board, centre, offsets, k, lanes);
+        VectorMask<Integer> taken = pawns.compare(VectorOperators.LT, 0, lanes);
+        VectorMask<Integer> grown = pawns.compare(VectorOperators.GE, 0, lanes)
+            .and(pawns.compare(VectorOperators.LT, 3, lanes));
+        int converted = pawns.reduceLanes(VectorOperators.ADD, taken);
+        gained += grown.trueCount() - converted;
+        lost += converted;
+      }
+      own[from + i] = gained;
+      opponent[from + i] = lost;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package sanguine.engine;
+
+import sanguine.model.Card;
+
+/**
+ * Zobrist keys for hashing engine positions.
+ * Keys are derived from stable properties rather than drawn at random: pawn keys from the
+ * plane and cell coordinates, and card keys from a fingerprint of the card's name, cost,
+ * value and influence grid. The same position therefore hashes the same in every engine,
+ * card table and run, so hashes can be stored on disk.
+ */
+public final class Zobrist {
+
+  private static final long SEED = 0x53616e6775696e65L;
+  private static final long HAND = 0x68616e64L;
+  private static final long DRAW = 0x64726177L;
+
+  private final long[] pawnKeys;
+  // INVARIANT: pawnKeys[plane * bits + bit] is the key of that pawn plane's bit, 0 for padding
+  private final long[] cellSalts;
+  private final long[] cardBases;
+  // INVARIANT: cardBases[2 * id + color] depends only on the card's fingerprint and the color
+
+  /**
+   * Creates the keys for a board geometry and card table.
+   *
+   * @param geometry the board geometry
+   * @param table the cards in play
+   */
+  public Zobrist(BoardGeometry geometry, CardTable table) {
+    int bits = geometry.getBits();
+    this.pawnKeys = new long[6 * bits];
+    this.cellSalts = new long[bits];
+    for (int row = 0; row < geometry.getRows(); row++) {
+      for (int col = 0; col < geometry.getCols(); col++) {
+        int bit = geometry.bit(row, col);
+        cellSalts[bit] = mix(SEED ^ ((long) row << 32) ^ col);
+        for (int plane = 0; plane < 6; plane++) {
+          pawnKeys[plane * bits + bit] = mix(cellSalts[bit] + plane + 1);
+        }
+      }
+    }
+    this.cardBases = new long[2 * table.size()];
+    for (int id = 0; id < table.size(); id++) {
+      long print = fingerprint(table.card(id));
+      cardBases[2 * id] = mix(print);
+      cardBases[2 * id + 1] = mix(~print);
+    }
+  }
+
+  /**
+   * Returns a 64-bit fingerprint of a card's contents. Equal cards have equal fingerprints.
+   *
+   * @param card the card
+   * @return the fingerprint
+   */
+  public static long fingerprint(Card card) {
+    long hash = SEED;
+    String name = card.getName();
+    for (int i = 0; i < name.length(); i++) {
+      hash = mix(hash ^ name.charAt(i));
+    }
+    long grid = 0;
+    for (int r = 0; r < 5; r++) {
+      for (int c = 0; c < 5; c++) {
+        if (card.hasInfluenceAt(r, c)) {
+          grid |= 1L << (5 * r + c);
+        }
+      }
+    }
+    hash = mix(hash ^ card.getCost());
+    hash = mix(hash ^ card.getValue());
+    return mix(hash ^ grid);
+  }
+
+  /**
+   * Scrambles a 64-bit value (the SplitMix64 finalizer).
+   *
+   * @param z the value
+   * @return the scrambled value
+   */
+  public static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Returns the key of a pawn plane bit.
+   *
+   * @param plane pawn plane, from 0 to 5
+   * @param bit the cell's bit index
+   * @return the key
+   */
+  public long pawnKey(int plane, int bit) {
+    return pawnKeys[plane * cellSalts.length + bit];
+  }
+
+  /**
+   * Returns the key of a card on a cell.
+   *
+   * @param id the card id
+   * @param color the card's owner, 0 for red and 1 for blue
+   * @param bit the cell's bit index
+   * @return the key
+   */
+  public long cardKey(int id, int color, int bit) {
+    return mix(cardBases[2 * id + color] + cellSalts[bit]);
+  }
+
+  /**
+   * Returns the key added to the hash for each copy of a card in a hand. Hand keys are summed
+   * rather than xored, so several copies of one card do not cancel out.
+   *
+   * @param id the card id
+   * @param color the hand's owner, 0 for red and 1 for blue
+   * @return the key
+   */
+  public long handKey(int id, int color) {
+    return mix(cardBases[2 * id + color] ^ HAND);
+  }
+
+  /**
+   * Returns the key of a card that a player's deck will deal after some number of draws. The
+   * hash of a position leaves out the decks, so these keys let a caller tell apart positions
+   * that hash alike but will draw differently.
+   *
+   * @param id the card id, or -1 for a card whose identity is unknown
+   * @param color the deck's owner, 0 for red and 1 for blue
+   * @param index how many cards will be drawn from the deck before it
+   * @return the key
+   */
+  public long drawKey(int id, int color, int index) {
+    long base = id < 0 ? mix(SEED ^ DRAW ^ color) : cardBases[2 * id + color];
+    return mix(base + DRAW * (index + 1));
+  }
+
+  /**
+   * Returns the key of the remaining game state.
+   *
+   * @param side player to move, 0 for red and 1 for blue
+   * @param flags pass and game over flags
+   * @param redDrawn cards red has drawn from their deck
+   * @param blueDrawn cards blue has drawn from their deck
+   * @param redHidden hidden cards red holds
+   * @param blueHidden hidden cards blue holds
+   * @return the key
+   */
+  public long stateKey(int side, int flags, int redDrawn, int blueDrawn, int redHidden,
+                       int blueHidden) {
+    long packed = side | (long) flags << 1 | (long) redDrawn << 4 | (long) blueDrawn << 16
+        | (long) redHidden << 28 | (long) blueHidden << 40;
+    return mix(SEED + packed);
+  }
+}
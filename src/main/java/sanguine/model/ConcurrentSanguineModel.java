@@ -0,0 +1,364 @@
+package sanguine.model;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import sanguine.controller.ModelStatusListener;
+
+/**
+ * Thread-safe variant of the Sanguine model.
+ * Wraps a {@link SanguineModelImpl} behind a {@link StampedLock}: observers use optimistic
+ * reads that only fall back to a shared read lock when a write raced with them, while
+ * {@code placeCard}, {@code pass} and {@code startGame} take the exclusive write lock.
+ * Listener notifications raised during a write are queued in commit order while the lock is
+ * held and delivered after it is released, so listeners may freely query or mutate the model
+ * from their callbacks. Only one thread delivers at a time, so every listener sees events in
+ * the order the writes committed; a write made while another thread, or an outer callback on
+ * the same thread, is delivering returns before its own events are delivered, and they follow
+ * once the earlier ones have been.
+ */
+public class ConcurrentSanguineModel implements MutableSanguineModel {
+
+  private final SanguineModelImpl delegate;
+  private final StampedLock lock;
+  private final List<ModelStatusListener> listeners;
+  // INVARIANT: listeners list never contains null elements
+  private final Queue<Runnable> events;
+  // INVARIANT: events are added only under the write lock, so they queue in commit order
+  private final AtomicBoolean delivering;
+  // INVARIANT: at most one thread takes events off the queue at a time
+
+  /**
+   * Constructor to initialize a thread-safe Sanguine game model and deal initial hands.
+   *
+   * @param rows number of rows on the board
+   * @param cols number of columns on the board
+   * @param redDeck deck for red player
+   * @param blueDeck deck for blue player
+   * @param handSize starting hand size for each player
+   * @throws IllegalArgumentException if decks are null, hand size is too large,
+   *                                  or decks don't have enough cards
+   */
+  public ConcurrentSanguineModel(int rows, int cols, List<Card> redDeck,
+                                 List<Card> blueDeck, int handSize) {
+    this.delegate = new SanguineModelImpl(rows, cols, redDeck, blueDeck, handSize);
+    this.lock = new StampedLock();
+    this.listeners = new CopyOnWriteArrayList<>();
+    this.events = new ConcurrentLinkedQueue<>();
+    this.delivering = new AtomicBoolean(false);
+    this.delegate.addModelStatusListener(new EventRelay());
+  }
+
+  @Override
+  public void startGame() {
+    write(delegate::startGame);
+  }
+
+  @Override
+  public void addModelStatusListener(ModelStatusListener listener) {
+    if (listener != null) {
+      listeners.add(listener);
+    }
+  }
+
+  @Override
+  public boolean placeCard(int cardIndex, int row, int col) {
+    boolean[] placed = new boolean[1];
+    write(() -> placed[0] = delegate.placeCard(cardIndex, row, col));
+    return placed[0];
+  }
+
+  @Override
+  public void pass() {
+    write(delegate::pass);
+  }
+
+  @Override
+  public PlayerColor getCurrentPlayer() {
+    return read(delegate::getCurrentPlayer);
+  }
+
+  @Override
+  public boolean isGameOver() {
+    return readBoolean(delegate::isGameOver);
+  }
+
+  @Override
+  public PlayerColor getWinner() {
+    return read(delegate::getWinner);
+  }
+
+  /**
+   * Returns a copy of the board taken at a consistent point in time.
+   *
+   * @return a deep copy of the game board
+   */
+  @Override
+  public Board getBoard() {
+    return read(() -> delegate.getBoard().copy());
+  }
+
+  @Override
+  public int getRowScore(int row, PlayerColor player) {
+    return readInt(() -> delegate.getRowScore(row, player));
+  }
+
+  @Override
+  public List<Card> getHand(PlayerColor player) {
+    return read(() -> delegate.getHand(player));
+  }
+
+  @Override
+  public boolean isLegalPlacement(Card card, Cell cell) {
+    return readBoolean(() -> delegate.isLegalPlacement(card, cell));
+  }
+
+  @Override
+  public int getTotalScore(PlayerColor player) {
+    return readInt(() -> delegate.getTotalScore(player));
+  }
+
+  @Override
+  public boolean isLegalMove(int cardIndex, int row, int col) {
+    return readBoolean(() -> delegate.isLegalMove(cardIndex, row, col));
+  }
+
+  @Override
+  public int getNumRows() {
+    return delegate.getNumRows();
+  }
+
+  @Override
+  public int getNumCols() {
+    return delegate.getNumCols();
+  }
+
+  @Override
+  public CellContent getCellContent(int row, int col) {
+    return read(() -> delegate.getCellContent(row, col));
+  }
+
+  @Override
+  public PlayerColor getOwnerOfCell(int row, int col) {
+    return read(() -> delegate.getOwnerOfCell(row, col));
+  }
+
+  @Override
+  public int getPawnCount(int row, int col) {
+    return readInt(() -> delegate.getPawnCount(row, col));
+  }
+
+  @Override
+  public Card getCardAt(int row, int col) {
+    return read(() -> delegate.getCardAt(row, col));
+  }
+
+  /**
+   * Returns a copy of the cell taken at a consistent point in time.
+   *
+   * @param row the row index
+   * @param col the column index
+   * @return a copy of the cell at that position
+   */
+  @Override
+  public Cell getCell(int row, int col) {
+    return read(() -> {
+      Cell copy = delegate.getCell(row, col).copy();
+      copy.setPosition(row, col);
+      return copy;
+    });
+  }
+
+  @Override
+  public List<Card> getPlayerHand(PlayerColor player) {
+    return read(() -> delegate.getPlayerHand(player));
+  }
+
+  @Override
+  public int getCurrentHandSize() {
+    return readInt(delegate::getCurrentHandSize);
+  }
+
+  @Override
+  public int getRows() {
+    return delegate.getRows();
+  }
+
+  @Override
+  public int getCols() {
+    return delegate.getCols();
+  }
+
+  @Override
+  public GameState snapshot() {
+    return read(delegate::snapshot);
+  }
+
+  @Override
+  public PlacementEffect evaluatePlacement(int cardIndex, int row, int col) {
+    return read(() -> delegate.evaluatePlacement(cardIndex, row, col));
+  }
+
+  @Override
+  public int getDeckSize(PlayerColor player) {
+    return readInt(() -> delegate.getDeckSize(player));
+  }
+
+  @Override
+  public boolean hasPassed(PlayerColor player) {
+    return readBoolean(() -> delegate.hasPassed(player));
+  }
+
+  /**
+   * Runs a mutation under the write lock, then delivers the events it raised unless another
+   * delivery is already under way.
+   *
+   * @param mutation the mutation to run against the delegate
+   */
+  private void write(Runnable mutation) {
+    long stamp = lock.writeLock();
+    try {
+      mutation.run();
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+    deliver();
+  }
+
+  /**
+   * Delivers queued events in order until the queue is empty. Returns at once if some thread,
+   * possibly this one further up the stack, is already delivering, since that delivery will
+   * reach the events queued here.
+   */
+  private void deliver() {
+    while (!events.isEmpty() && delivering.compareAndSet(false, true)) {
+      try {
+        Runnable event = events.poll();
+        while (event != null) {
+          event.run();
+          event = events.poll();
+        }
+      } finally {
+        delivering.set(false);
+      }
+    }
+  }
+
+  /**
+   * Reads a value optimistically, retrying under the read lock if a write interfered.
+   * A reader that observes a half-applied write may throw; such failures are discarded
+   * the same way as a failed validation.
+   *
+   * @param reader the read to perform against the delegate
+   * @param <T> the type of value read
+   * @return the value read from a consistent state
+   */
+  private <T> T read(Supplier<T> reader) {
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0L) {
+      try {
+        T result = reader.get();
+        if (lock.validate(stamp)) {
+          return result;
+        }
+      } catch (RuntimeException e) {
+        if (lock.validate(stamp)) {
+          throw e;
+        }
+      }
+    }
+    stamp = lock.readLock();
+    try {
+      return reader.get();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Reads an int optimistically, retrying under the read lock if a write interfered.
+   *
+   * @param reader the read to perform against the delegate
+   * @return the value read from a consistent state
+   */
+  private int readInt(IntSupplier reader) {
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0L) {
+      try {
+        int result = reader.getAsInt();
+        if (lock.validate(stamp)) {
+          return result;
+        }
+      } catch (RuntimeException e) {
+        if (lock.validate(stamp)) {
+          throw e;
+        }
+      }
+    }
+    stamp = lock.readLock();
+    try {
+      return reader.getAsInt();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Reads a boolean optimistically, retrying under the read lock if a write interfered.
+   *
+   * @param reader the read to perform against the delegate
+   * @return the value read from a consistent state
+   */
+  private boolean readBoolean(BooleanSupplier reader) {
+    long stamp = lock.tryOptimisticRead();
+    if (stamp != 0L) {
+      try {
+        boolean result = reader.getAsBoolean();
+        if (lock.validate(stamp)) {
+          return result;
+        }
+      } catch (RuntimeException e) {
+        if (lock.validate(stamp)) {
+          throw e;
+        }
+      }
+    }
+    stamp = lock.readLock();
+    try {
+      return reader.getAsBoolean();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Receives the delegate's notifications while the write lock is held and queues them
+   * for delivery.
+   */
+  private class EventRelay implements ModelStatusListener {
+
+    @Override
+    public void onTurnStart(PlayerColor color) {
+      events.add(() -> {
+        for (ModelStatusListener listener : listeners) {
+          listener.onTurnStart(color);
+        }
+      });
+    }
+
+    @Override
+    public void onGameOver(PlayerColor winner, int winningScore) {
+      events.add(() -> {
+        for (ModelStatusListener listener : listeners) {
+          listener.onGameOver(winner, winningScore);
+        }
+      });
+    }
+  }
+}
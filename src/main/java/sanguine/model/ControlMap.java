@@ -0,0 +1,316 @@
+package sanguine.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import sanguine.controller.ModelStatusListener;
+
+/**
+ * Keeps, for every cell, who controls it and who could take it, so that strategies and views
+ * can ask about a cell in constant time instead of trying every card on every cell.
+ * For each player and cell it tracks how many of the player's cards on the board influence the
+ * cell, and how many placements of a card from the player's hand on a cell they can pay for
+ * would influence it. A cell holding one player's pawns is at risk when the other player has
+ * such a placement, since influence converts the pawns.
+ *
+ * <p>The map catches up at the start of every turn, or when {@link #update()} is called.
+ * Only cells within reach of a newly placed card can change their pawns, and a hand only
+ * changes by the cards played and drawn, so an update redoes the placements of those cells
+ * and cards alone.</p>
+ */
+public final class ControlMap implements ModelStatusListener {
+
+  private final ReadOnlySanguineModel model;
+  private final int rows;
+  private final int cols;
+  private final int cells;
+  private final int[] influence;
+  private final int[] threats;
+  private final int[] pawns;
+  // INVARIANT: for color c and cell i = row * cols + col, influence[c * cells + i] counts c's
+  // cards on the board that influence i, pawns[c * cells + i] is how many of c's pawns i held
+  // at the last update, and threats[c * cells + i] counts the placements of a card in
+  // hands.get(c) on a cell where pawns allow it that would influence i
+  private final List<List<Card>> hands;
+  private final int[] minCosts;
+  private final int[] openCells;
+  private int openCount;
+  // INVARIANT: openCells[0, openCount) lists every cell that held no card at the last update
+  private final boolean[] dirty;
+  private final Map<Card, int[][]> offsets;
+
+  /**
+   * Creates a map of the model's current position.
+   *
+   * @param model the game to follow
+   * @throws IllegalArgumentException if the model is null
+   */
+  public ControlMap(ReadOnlySanguineModel model) {
+    if (model == null) {
+      throw new IllegalArgumentException("Model cannot be null");
+    }
+    this.model = model;
+    this.rows = model.getRows();
+    this.cols = model.getCols();
+    this.cells = rows * cols;
+    this.influence = new int[2 * cells];
+    this.threats = new int[2 * cells];
+    this.pawns = new int[2 * cells];
+    this.hands = new ArrayList<>(List.of(new ArrayList<>(), new ArrayList<>()));
+    this.minCosts = new int[2];
+    this.openCells = new int[cells];
+    for (int cell = 0; cell < cells; cell++) {
+      openCells[openCount++] = cell;
+    }
+    this.dirty = new boolean[cells];
+    this.offsets = new HashMap<>();
+    List<Integer> everyCell = new ArrayList<>();
+    for (int cell = 0; cell < cells; cell++) {
+      dirty[cell] = true;
+      everyCell.add(cell);
+    }
+    catchUp(everyCell);
+  }
+
+  @Override
+  public void onTurnStart(PlayerColor color) {
+    update();
+  }
+
+  @Override
+  public void onGameOver(PlayerColor winner, int winningScore) {
+    update();
+  }
+
+  /**
+   * Catches up with the cards placed and drawn since the last update.
+   */
+  public void update() {
+    catchUp(new ArrayList<>());
+  }
+
+  /**
+   * Records newly placed cards, then redoes the threats of the changed cells and of the cards
+   * that left or joined a hand.
+   */
+  private void catchUp(List<Integer> changed) {
+    int kept = 0;
+    for (int i = 0; i < openCount; i++) {
+      int cell = openCells[i];
+      if (model.getCellContent(cell / cols, cell % cols) != CellContent.CARD) {
+        openCells[kept++] = cell;
+      } else {
+        placed(cell, changed);
+      }
+    }
+    openCount = kept;
+
+    for (PlayerColor color : PlayerColor.values()) {
+      int c = color.ordinal();
+      List<Card> before = hands.get(c);
+      List<Card> after = model.getPlayerHand(color);
+      List<Card> removed = difference(before, after);
+      final List<Card> added = difference(after, before);
+      for (int cell : changed) {
+        for (Card card : before) {
+          place(color, card, cell, pawns[c * cells + cell], -1);
+        }
+      }
+      for (int cell = 0; cell < cells; cell++) {
+        for (Card card : removed) {
+          if (!dirty[cell]) {
+            place(color, card, cell, pawns[c * cells + cell], -1);
+          }
+        }
+      }
+      for (int cell : changed) {
+        pawns[c * cells + cell] = pawnsOf(color, cell);
+        for (Card card : after) {
+          place(color, card, cell, pawns[c * cells + cell], 1);
+        }
+      }
+      for (int cell = 0; cell < cells; cell++) {
+        for (Card card : added) {
+          if (!dirty[cell]) {
+            place(color, card, cell, pawns[c * cells + cell], 1);
+          }
+        }
+      }
+      hands.set(c, new ArrayList<>(after));
+      minCosts[c] = Integer.MAX_VALUE;
+      for (Card card : after) {
+        minCosts[c] = Math.min(minCosts[c], card.getCost());
+      }
+    }
+    for (int cell : changed) {
+      dirty[cell] = false;
+    }
+  }
+
+  /**
+   * Returns how many of a player's cards on the board influence a cell.
+   *
+   * @param row row of the cell
+   * @param col column of the cell
+   * @param color the player
+   * @return the number of the player's cards whose influence covers the cell
+   */
+  public int getInfluence(int row, int col, PlayerColor color) {
+    return influence[color.ordinal() * cells + index(row, col)];
+  }
+
+  /**
+   * Returns how many placements available to a player, with the cards in their hand, would
+   * influence a cell.
+   *
+   * @param row row of the cell
+   * @param col column of the cell
+   * @param color the player
+   * @return the number of such placements
+   */
+  public int getThreats(int row, int col, PlayerColor color) {
+    return threats[color.ordinal() * cells + index(row, col)];
+  }
+
+  /**
+   * Returns whether a player could place at least one card from their hand on a cell.
+   *
+   * @param row row of the cell
+   * @param col column of the cell
+   * @param color the player
+   * @return true if the cell is within the player's reach
+   */
+  public boolean isReachable(int row, int col, PlayerColor color) {
+    return pawns[color.ordinal() * cells + index(row, col)] >= minCosts[color.ordinal()];
+  }
+
+  /**
+   * Returns which cards of a player's hand could be placed on a cell.
+   *
+   * @param row row of the cell
+   * @param col column of the cell
+   * @param color the player
+   * @return a bit set of hand indices, bit i standing for the i-th card; cards past the 64th
+   *         are left out
+   */
+  public long getPlaceableCards(int row, int col, PlayerColor color) {
+    int available = pawns[color.ordinal() * cells + index(row, col)];
+    List<Card> hand = hands.get(color.ordinal());
+    long placeable = 0;
+    for (int i = 0; i < hand.size() && i < 64; i++) {
+      if (hand.get(i).getCost() <= available) {
+        placeable |= 1L << i;
+      }
+    }
+    return placeable;
+  }
+
+  /**
+   * Returns whether a cell holds a player's pawns that the other player could convert with a
+   * card from their hand.
+   *
+   * @param row row of the cell
+   * @param col column of the cell
+   * @param color the player owning the pawns
+   * @return true if the cell is at risk
+   */
+  public boolean isAtRisk(int row, int col, PlayerColor color) {
+    int cell = index(row, col);
+    return pawns[color.ordinal() * cells + cell] > 0
+        && threats[color.opposite().ordinal() * cells + cell] > 0;
+  }
+
+  private int index(int row, int col) {
+    if (row < 0 || row >= rows || col < 0 || col >= cols) {
+      throw new IllegalArgumentException("Cell position does not exist");
+    }
+    return row * cols + col;
+  }
+
+  /**
+   * Records a newly placed card's influence and marks every cell whose pawns it may have
+   * changed.
+   */
+  private void placed(int cell, List<Integer> changed) {
+    int row = cell / cols;
+    int col = cell % cols;
+    PlayerColor owner = model.getOwnerOfCell(row, col);
+    for (int target : targets(owner, model.getCardAt(row, col), cell)) {
+      influence[owner.ordinal() * cells + target]++;
+    }
+    for (int r = Math.max(0, row - 2); r <= Math.min(rows - 1, row + 2); r++) {
+      for (int c = Math.max(0, col - 2); c <= Math.min(cols - 1, col + 2); c++) {
+        if (!dirty[r * cols + c]) {
+          dirty[r * cols + c] = true;
+          changed.add(r * cols + c);
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds or removes the threats of placing a card on a cell, if the pawns there pay for it.
+   */
+  private void place(PlayerColor color, Card card, int cell, int available, int sign) {
+    if (available == 0 || card.getCost() > available) {
+      return;
+    }
+    for (int target : targets(color, card, cell)) {
+      threats[color.ordinal() * cells + target] += sign;
+    }
+  }
+
+  private int[] targets(PlayerColor color, Card card, int cell) {
+    int[][] cardOffsets = offsets.computeIfAbsent(card, ControlMap::offsetsOf);
+    int row = cell / cols;
+    int col = cell % cols;
+    int[] shifts = cardOffsets[color.ordinal()];
+    int[] targets = new int[shifts.length];
+    int count = 0;
+    for (int shift : shifts) {
+      int r = row + shift / 5 - 2;
+      int c = col + shift % 5 - 2;
+      if (r >= 0 && r < rows && c >= 0 && c < cols) {
+        targets[count++] = r * cols + c;
+      }
+    }
+    return Arrays.copyOf(targets, count);
+  }
+
+  private static int[][] offsetsOf(Card card) {
+    int[][] result = new int[2][];
+    for (PlayerColor color : PlayerColor.values()) {
+      List<Integer> shifts = new ArrayList<>();
+      for (int r = 0; r < 5; r++) {
+        for (int c = 0; c < 5; c++) {
+          int gridCol = color == PlayerColor.RED ? c : 4 - c;
+          if (!(r == 2 && c == 2) && card.hasInfluenceAt(r, gridCol)) {
+            shifts.add(r * 5 + c);
+          }
+        }
+      }
+      result[color.ordinal()] = shifts.stream().mapToInt(Integer::intValue).toArray();
+    }
+    return result;
+  }
+
+  private int pawnsOf(PlayerColor color, int cell) {
+    int row = cell / cols;
+    int col = cell % cols;
+    if (model.getCellContent(row, col) != CellContent.PAWNS
+        || model.getOwnerOfCell(row, col) != color) {
+      return 0;
+    }
+    return model.getPawnCount(row, col);
+  }
+
+  private static List<Card> difference(List<Card> from, List<Card> minus) {
+    List<Card> rest = new ArrayList<>(from);
+    for (Card card : minus) {
+      rest.remove(card);
+    }
+    return rest;
+  }
+}
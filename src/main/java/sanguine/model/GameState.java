@@ -0,0 +1,519 @@
+package sanguine.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable state of a Sanguine game.
+ * Applying a move returns a new state and leaves this one untouched. The new state shares
+ * every row the move's influence did not reach, the hand of the player who did not move, and
+ * the backing arrays of both decks with its parent, so a move costs a handful of row copies
+ * rather than a copy of the whole game.
+ */
+public final class GameState implements ReadOnlySanguineModel {
+
+  private static final byte CARD = 4;
+
+  private final int rows;
+  private final int cols;
+  private final Row[] board;
+  // INVARIANT: board.length == rows and every row has exactly cols cells
+  private final Card[] redHand;
+  private final Card[] blueHand;
+  private final Card[] redDeck;
+  private final int redDeckTop;
+  // INVARIANT: cards before redDeckTop have already been drawn
+  private final Card[] blueDeck;
+  private final int blueDeckTop;
+  // INVARIANT: cards before blueDeckTop have already been drawn
+  private final PlayerColor currentPlayer;
+  private final boolean redPassed;
+  private final boolean bluePassed;
+  private final boolean gameOver;
+
+  private GameState(int rows, int cols, Row[] board, Card[] redHand, Card[] blueHand,
+                    Card[] redDeck, int redDeckTop, Card[] blueDeck, int blueDeckTop,
+                    PlayerColor currentPlayer, boolean redPassed, boolean bluePassed,
+                    boolean gameOver) {
+    this.rows = rows;
+    this.cols = cols;
+    this.board = board;
+    this.redHand = redHand;
+    this.blueHand = blueHand;
+    this.redDeck = redDeck;
+    this.redDeckTop = redDeckTop;
+    this.blueDeck = blueDeck;
+    this.blueDeckTop = blueDeckTop;
+    this.currentPlayer = currentPlayer;
+    this.redPassed = redPassed;
+    this.bluePassed = bluePassed;
+    this.gameOver = gameOver;
+  }
+
+  /**
+   * Creates the starting state of a game, dealing both hands from the top of the decks.
+   * Accepts the same arguments, and enforces the same rules, as {@link SanguineModelImpl}.
+   *
+   * @param rows number of rows on the board
+   * @param cols number of columns on the board
+   * @param redDeck deck for red player
+   * @param blueDeck deck for blue player
+   * @param handSize starting hand size for each player
+   * @return the initial game state with red to move
+   * @throws IllegalArgumentException if decks are null, hand size is too large,
+   *                                  or decks don't have enough cards
+   */
+  public static GameState initial(int rows, int cols, List<Card> redDeck,
+                                  List<Card> blueDeck, int handSize) {
+    if (redDeck == null || blueDeck == null) {
+      throw new IllegalArgumentException("Decks cannot be null");
+    }
+    if (handSize > redDeck.size() / 3 || handSize > blueDeck.size() / 3) {
+      throw new IllegalArgumentException("Hand size too large for deck");
+    }
+    if (redDeck.size() < rows * cols || blueDeck.size() < rows * cols) {
+      throw new IllegalArgumentException("Not enough cards in the deck");
+    }
+    if (rows <= 0 || cols <= 1 || cols % 2 == 0) {
+      throw new IllegalArgumentException("Invalid board dimensions");
+    }
+    Row[] board = new Row[rows];
+    for (int row = 0; row < rows; row++) {
+      Row initialRow = new Row(cols);
+      initialRow.cells[0] = 1;
+      initialRow.cells[cols - 1] = -1;
+      board[row] = initialRow;
+    }
+    Card[] red = redDeck.toArray(new Card[0]);
+    Card[] blue = blueDeck.toArray(new Card[0]);
+    return new GameState(rows, cols, board,
+        Arrays.copyOfRange(red, 0, handSize), Arrays.copyOfRange(blue, 0, handSize),
+        red, handSize, blue, handSize, PlayerColor.RED, false, false, false);
+  }
+
+  /**
+   * Captures the state of a live model.
+   *
+   * @param board the model's board
+   * @param redHand red's hand, in order
+   * @param blueHand blue's hand, in order
+   * @param redDeck red's remaining deck, top card first
+   * @param blueDeck blue's remaining deck, top card first
+   * @param currentPlayer the player to move
+   * @param redPassed whether red's last action was a pass
+   * @param bluePassed whether blue's last action was a pass
+   * @param gameOver whether the game has ended
+   * @return a state equal to the model's current state
+   */
+  static GameState capture(Board board, List<Card> redHand, List<Card> blueHand,
+                           List<Card> redDeck, List<Card> blueDeck,
+                           PlayerColor currentPlayer, boolean redPassed,
+                           boolean bluePassed, boolean gameOver) {
+    int rows = board.getRows();
+    int cols = board.getCols();
+    Row[] captured = new Row[rows];
+    for (int row = 0; row < rows; row++) {
+      Row target = new Row(cols);
+      for (int col = 0; col < cols; col++) {
+        Cell cell = board.getCell(row, col);
+        int sign = cell.getPlayer() == PlayerColor.BLUE ? -1 : 1;
+        if (cell.getContent() == CellContent.PAWNS) {
+          target.cells[col] = (byte) (sign * cell.getNumPawns());
+        } else if (cell.getContent() == CellContent.CARD) {
+          target.cells[col] = (byte) (sign * CARD);
+          target.cards[col] = cell.getCard();
+        }
+      }
+      target.rescore();
+      captured[row] = target;
+    }
+    return new GameState(rows, cols, captured,
+        redHand.toArray(new Card[0]), blueHand.toArray(new Card[0]),
+        redDeck.toArray(new Card[0]), 0, blueDeck.toArray(new Card[0]), 0,
+        currentPlayer, redPassed, bluePassed, gameOver);
+  }
+
+  /**
+   * Returns the state reached by the current player placing a card.
+   * Applies influence, draws a replacement card, and hands the turn to the other player
+   * unless the move ends the game.
+   *
+   * @param cardIndex index of card in current player's hand
+   * @param row row position on board
+   * @param col column position on board
+   * @return the resulting state
+   * @throws IllegalStateException if the game is over
+   * @throws IllegalArgumentException if the placement is not legal
+   */
+  public GameState place(int cardIndex, int row, int col) {
+    if (gameOver) {
+      throw new IllegalStateException("Game is over");
+    }
+    if (!isLegalMove(cardIndex, row, col)) {
+      throw new IllegalArgumentException("Illegal placement");
+    }
+    boolean red = currentPlayer == PlayerColor.RED;
+    Card[] hand = red ? redHand : blueHand;
+    Card card = hand[cardIndex];
+    int sign = red ? 1 : -1;
+
+    Row[] nextBoard = board.clone();
+    for (int r = 0; r < 5; r++) {
+      int targetRow = row + r - 2;
+      if (targetRow < 0 || targetRow >= rows) {
+        continue;
+      }
+      Row copy = null;
+      if (targetRow == row) {
+        copy = board[targetRow].copy();
+        copy.cells[col] = (byte) (sign * CARD);
+        copy.cards[col] = card;
+      }
+      for (int c = 0; c < 5; c++) {
+        int targetCol = col + c - 2;
+        boolean influenced = card.hasInfluenceAt(r, red ? c : 4 - c);
+        if (!influenced || (r == 2 && c == 2) || targetCol < 0 || targetCol >= cols) {
+          continue;
+        }
+        if (copy == null) {
+          copy = board[targetRow].copy();
+        }
+        copy.influence(targetCol, sign);
+      }
+      if (copy != null) {
+        copy.rescore();
+        nextBoard[targetRow] = copy;
+      }
+    }
+
+    Card[] remaining = new Card[hand.length - 1];
+    System.arraycopy(hand, 0, remaining, 0, cardIndex);
+    System.arraycopy(hand, cardIndex + 1, remaining, cardIndex, remaining.length - cardIndex);
+    return afterTurn(nextBoard, remaining, red ? false : redPassed, red ? bluePassed : false);
+  }
+
+  /**
+   * Returns the state reached by the current player passing.
+   * If both players have now passed consecutively the game ends; otherwise the current
+   * player draws a card and the turn moves to the other player.
+   *
+   * @return the resulting state
+   * @throws IllegalStateException if the game is over
+   */
+  public GameState pass() {
+    if (gameOver) {
+      throw new IllegalStateException("Game is over");
+    }
+    boolean red = currentPlayer == PlayerColor.RED;
+    boolean nextRedPassed = red || redPassed;
+    boolean nextBluePassed = !red || bluePassed;
+    if (nextRedPassed && nextBluePassed) {
+      return new GameState(rows, cols, board, redHand, blueHand, redDeck, redDeckTop,
+          blueDeck, blueDeckTop, currentPlayer, true, true, true);
+    }
+    return afterTurn(board, red ? redHand : blueHand, nextRedPassed, nextBluePassed);
+  }
+
+  /**
+   * Finishes the current player's turn: draws a card into their new hand and either ends
+   * the game or passes the turn on.
+   *
+   * @param nextBoard the board after the turn
+   * @param moverHand the current player's hand before drawing
+   * @param nextRedPassed red's pass status after the turn
+   * @param nextBluePassed blue's pass status after the turn
+   * @return the resulting state
+   */
+  private GameState afterTurn(Row[] nextBoard, Card[] moverHand,
+                              boolean nextRedPassed, boolean nextBluePassed) {
+    boolean red = currentPlayer == PlayerColor.RED;
+    Card[] deck = red ? redDeck : blueDeck;
+    int top = red ? redDeckTop : blueDeckTop;
+    if (top < deck.length) {
+      moverHand = Arrays.copyOf(moverHand, moverHand.length + 1);
+      moverHand[moverHand.length - 1] = deck[top];
+      top++;
+    }
+    Card[] nextRedHand = red ? moverHand : redHand;
+    Card[] nextBlueHand = red ? blueHand : moverHand;
+    int nextRedTop = red ? top : redDeckTop;
+    int nextBlueTop = red ? blueDeckTop : top;
+    boolean redEmpty = nextRedHand.length == 0 && nextRedTop == redDeck.length;
+    boolean blueEmpty = nextBlueHand.length == 0 && nextBlueTop == blueDeck.length;
+    boolean ended = redEmpty || blueEmpty;
+    return new GameState(rows, cols, nextBoard, nextRedHand, nextBlueHand,
+        redDeck, nextRedTop, blueDeck, nextBlueTop,
+        ended ? currentPlayer : currentPlayer.opposite(),
+        nextRedPassed, nextBluePassed, ended);
+  }
+
+  /**
+   * Checks whether this state and another share the same storage for a row.
+   *
+   * @param other the other state
+   * @param row the row to compare
+   * @return true if both states reference the same row
+   */
+  boolean sharesRowWith(GameState other, int row) {
+    return board[row] == other.board[row];
+  }
+
+  @Override
+  public PlayerColor getCurrentPlayer() {
+    return currentPlayer;
+  }
+
+  @Override
+  public boolean isGameOver() {
+    return gameOver;
+  }
+
+  @Override
+  public PlayerColor getWinner() {
+    if (!gameOver) {
+      return null;
+    }
+    int redScore = getTotalScore(PlayerColor.RED);
+    int blueScore = getTotalScore(PlayerColor.BLUE);
+    if (redScore > blueScore) {
+      return PlayerColor.RED;
+    } else if (blueScore > redScore) {
+      return PlayerColor.BLUE;
+    }
+    return null;
+  }
+
+  /**
+   * Builds a new board holding this state's cells.
+   * The board is a fresh copy on every call; changing it does not affect this state.
+   *
+   * @return a board equal to this state's board
+   */
+  @Override
+  public Board getBoard() {
+    List<List<Cell>> grid = new ArrayList<>();
+    for (int row = 0; row < rows; row++) {
+      List<Cell> cells = new ArrayList<>();
+      for (int col = 0; col < cols; col++) {
+        cells.add(getCell(row, col));
+      }
+      grid.add(cells);
+    }
+    return new Board(rows, cols, grid);
+  }
+
+  @Override
+  public int getRowScore(int row, PlayerColor player) {
+    return player == PlayerColor.RED ? board[row].redScore : board[row].blueScore;
+  }
+
+  @Override
+  public List<Card> getHand(PlayerColor player) {
+    return new ArrayList<>(Arrays.asList(player == PlayerColor.RED ? redHand : blueHand));
+  }
+
+  @Override
+  public boolean isLegalPlacement(Card card, Cell cell) {
+    if (cell.getContent() != CellContent.PAWNS) {
+      return false;
+    }
+    if (cell.getPlayer() != currentPlayer) {
+      return false;
+    }
+    return cell.getNumPawns() >= card.getCost();
+  }
+
+  @Override
+  public int getTotalScore(PlayerColor player) {
+    int total = 0;
+    for (Row row : board) {
+      if (player == PlayerColor.RED && row.redScore > row.blueScore) {
+        total += row.redScore;
+      } else if (player == PlayerColor.BLUE && row.blueScore > row.redScore) {
+        total += row.blueScore;
+      }
+    }
+    return total;
+  }
+
+  @Override
+  public boolean isLegalMove(int cardIndex, int row, int col) {
+    if (gameOver) {
+      return false;
+    }
+    Card[] hand = currentPlayer == PlayerColor.RED ? redHand : blueHand;
+    if (cardIndex < 0 || cardIndex >= hand.length) {
+      return false;
+    }
+    if (row < 0 || row >= rows || col < 0 || col >= cols) {
+      return false;
+    }
+    int cell = board[row].cells[col];
+    int owned = currentPlayer == PlayerColor.RED ? cell : -cell;
+    return owned > 0 && owned < CARD && owned >= hand[cardIndex].getCost();
+  }
+
+  @Override
+  public int getNumRows() {
+    return rows;
+  }
+
+  @Override
+  public int getNumCols() {
+    return cols;
+  }
+
+  @Override
+  public CellContent getCellContent(int row, int col) {
+    int cell = board[row].cells[col];
+    if (cell == 0) {
+      return CellContent.EMPTY;
+    }
+    return Math.abs(cell) == CARD ? CellContent.CARD : CellContent.PAWNS;
+  }
+
+  @Override
+  public PlayerColor getOwnerOfCell(int row, int col) {
+    int cell = board[row].cells[col];
+    if (cell == 0) {
+      return null;
+    }
+    return cell > 0 ? PlayerColor.RED : PlayerColor.BLUE;
+  }
+
+  @Override
+  public int getPawnCount(int row, int col) {
+    int pawns = Math.abs(board[row].cells[col]);
+    return pawns == CARD ? 0 : pawns;
+  }
+
+  @Override
+  public Card getCardAt(int row, int col) {
+    return board[row].cards[col];
+  }
+
+  /**
+   * Builds a new cell holding this state's contents at a position.
+   *
+   * @param row the row index
+   * @param col the column index
+   * @return a fresh cell equal to the one at that position
+   */
+  @Override
+  public Cell getCell(int row, int col) {
+    if (row < 0 || row >= rows || col < 0 || col >= cols) {
+      throw new IllegalArgumentException("Cell position does not exist");
+    }
+    Cell cell = new Cell();
+    CellContent content = getCellContent(row, col);
+    if (content == CellContent.PAWNS) {
+      cell.initPawn(getOwnerOfCell(row, col), getPawnCount(row, col));
+    } else if (content == CellContent.CARD) {
+      cell.placeCard(getOwnerOfCell(row, col), getCardAt(row, col));
+    }
+    cell.setPosition(row, col);
+    return cell;
+  }
+
+  @Override
+  public List<Card> getPlayerHand(PlayerColor player) {
+    return getHand(player);
+  }
+
+  @Override
+  public int getCurrentHandSize() {
+    return currentPlayer == PlayerColor.RED ? redHand.length : blueHand.length;
+  }
+
+  @Override
+  public int getRows() {
+    return rows;
+  }
+
+  @Override
+  public int getCols() {
+    return cols;
+  }
+
+  @Override
+  public GameState snapshot() {
+    return this;
+  }
+
+  @Override
+  public PlacementEffect evaluatePlacement(int cardIndex, int row, int col) {
+    return PlacementEffect.preview(this, cardIndex, row, col);
+  }
+
+  @Override
+  public int getDeckSize(PlayerColor player) {
+    return player == PlayerColor.RED ? redDeck.length - redDeckTop
+        : blueDeck.length - blueDeckTop;
+  }
+
+  @Override
+  public boolean hasPassed(PlayerColor player) {
+    return player == PlayerColor.RED ? redPassed : bluePassed;
+  }
+
+  /**
+   * One board row. Pawn cells hold their count, positive for red and negative for blue;
+   * card cells hold plus or minus {@code CARD} and keep the card alongside. A row is only
+   * mutated while it is being built for a new state.
+   */
+  private static final class Row {
+    private final byte[] cells;
+    private final Card[] cards;
+    private int redScore;
+    private int blueScore;
+
+    private Row(int cols) {
+      this.cells = new byte[cols];
+      this.cards = new Card[cols];
+    }
+
+    private Row(Row other) {
+      this.cells = other.cells.clone();
+      this.cards = other.cards.clone();
+      this.redScore = other.redScore;
+      this.blueScore = other.blueScore;
+    }
+
+    private Row copy() {
+      return new Row(this);
+    }
+
+    /**
+     * Applies one unit of influence from the player with the given sign.
+     * Empty cells gain a pawn, friendly pawns grow up to three, enemy pawns convert, and
+     * cards are unaffected.
+     */
+    private void influence(int col, int sign) {
+      int cell = cells[col];
+      int pawns = Math.abs(cell);
+      if (pawns == CARD) {
+        return;
+      }
+      if (cell == 0) {
+        cells[col] = (byte) sign;
+      } else if (cell * sign > 0) {
+        cells[col] = (byte) (sign * Math.min(3, pawns + 1));
+      } else {
+        cells[col] = (byte) -cell;
+      }
+    }
+
+    private void rescore() {
+      redScore = 0;
+      blueScore = 0;
+      for (int col = 0; col < cells.length; col++) {
+        if (cells[col] == CARD) {
+          redScore += cards[col].getValue();
+        } else if (cells[col] == -CARD) {
+          blueScore += cards[col].getValue();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,230 @@
+package sanguine.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What placing one card would do, worked out without changing the model: the row scores
+ * after the move, the cells its influence changes, and the cells where the mover could newly
+ * afford a card. Produced by {@link ReadOnlySanguineModel#evaluatePlacement}.
+ */
+public final class PlacementEffect {
+
+  private final PlayerColor mover;
+  private final Card card;
+  private final int row;
+  private final int col;
+  private final int[] redRowScores;
+  private final int[] blueRowScores;
+  private final List<Cell> changedCells;
+  private final int[] pawnsBefore;
+  // INVARIANT: pawnsBefore[i] is how many pawns the mover had on changedCells.get(i)
+  // before the move, 0 if the cell was empty or the opponent's
+  private final int convertedCells;
+  private final int moverPawnDelta;
+  private final int opponentPawnDelta;
+
+  private PlacementEffect(PlayerColor mover, Card card, int row, int col, int[] redRowScores,
+                          int[] blueRowScores, List<Cell> changedCells, int[] pawnsBefore,
+                          int convertedCells, int moverPawnDelta, int opponentPawnDelta) {
+    this.mover = mover;
+    this.card = card;
+    this.row = row;
+    this.col = col;
+    this.redRowScores = redRowScores;
+    this.blueRowScores = blueRowScores;
+    this.changedCells = Collections.unmodifiableList(changedCells);
+    this.pawnsBefore = pawnsBefore;
+    this.convertedCells = convertedCells;
+    this.moverPawnDelta = moverPawnDelta;
+    this.opponentPawnDelta = opponentPawnDelta;
+  }
+
+  /**
+   * Works out the effect of a placement by the current player using only the model's
+   * observer methods. It reads the target row's scores and the cells the card influences, and
+   * copies nothing else.
+   *
+   * @param model the model to preview the move on
+   * @param cardIndex index of the card in the current player's hand
+   * @param row target row
+   * @param col target column
+   * @return the effect of the placement
+   * @throws IllegalArgumentException if the placement is not legal
+   */
+  public static PlacementEffect preview(ReadOnlySanguineModel model, int cardIndex, int row,
+                                        int col) {
+    if (!model.isLegalMove(cardIndex, row, col)) {
+      throw new IllegalArgumentException("Illegal move");
+    }
+    PlayerColor mover = model.getCurrentPlayer();
+    Card card = model.getPlayerHand(mover).get(cardIndex);
+    int rows = model.getRows();
+    int[] redScores = new int[rows];
+    int[] blueScores = new int[rows];
+    for (int r = 0; r < rows; r++) {
+      redScores[r] = model.getRowScore(r, PlayerColor.RED);
+      blueScores[r] = model.getRowScore(r, PlayerColor.BLUE);
+    }
+    if (mover == PlayerColor.RED) {
+      redScores[row] += card.getValue();
+    } else {
+      blueScores[row] += card.getValue();
+    }
+
+    List<Cell> changed = new ArrayList<>();
+    int[] before = new int[24];
+    int converted = 0;
+    int moverDelta = 0;
+    int opponentDelta = 0;
+    for (int r = 0; r < 5; r++) {
+      for (int c = 0; c < 5; c++) {
+        int gridCol = mover == PlayerColor.RED ? c : 4 - c;
+        int targetRow = row + r - 2;
+        int targetCol = col + c - 2;
+        if ((r == 2 && c == 2) || !card.hasInfluenceAt(r, gridCol)
+            || targetRow < 0 || targetRow >= rows || targetCol < 0
+            || targetCol >= model.getCols()
+            || model.getCellContent(targetRow, targetCol) == CellContent.CARD) {
+          continue;
+        }
+        PlayerColor owner = model.getOwnerOfCell(targetRow, targetCol);
+        int pawns = owner == null ? 0 : model.getPawnCount(targetRow, targetCol);
+        Cell after = new Cell();
+        after.setPosition(targetRow, targetCol);
+        if (owner == null || pawns == 0) {
+          after.initPawn(mover, 1);
+          moverDelta++;
+        } else if (owner == mover) {
+          if (pawns == 3) {
+            continue;
+          }
+          after.initPawn(mover, pawns + 1);
+          before[changed.size()] = pawns;
+          moverDelta++;
+        } else {
+          after.initPawn(mover, pawns);
+          converted++;
+          moverDelta += pawns;
+          opponentDelta -= pawns;
+        }
+        changed.add(after);
+      }
+    }
+    return new PlacementEffect(mover, card, row, col, redScores, blueScores, changed,
+        before, converted, moverDelta, opponentDelta);
+  }
+
+  /**
+   * Returns the player making the placement.
+   *
+   * @return the mover
+   */
+  public PlayerColor getMover() {
+    return mover;
+  }
+
+  /**
+   * Returns the card being placed.
+   *
+   * @return the card
+   */
+  public Card getCard() {
+    return card;
+  }
+
+  /**
+   * Returns the row the card is placed in.
+   *
+   * @return the row
+   */
+  public int getRow() {
+    return row;
+  }
+
+  /**
+   * Returns the column the card is placed in.
+   *
+   * @return the column
+   */
+  public int getCol() {
+    return col;
+  }
+
+  /**
+   * Returns a player's score in a row after the placement.
+   *
+   * @param row the row
+   * @param player the player
+   * @return the row score after the move
+   */
+  public int getRowScore(int row, PlayerColor player) {
+    return player == PlayerColor.RED ? redRowScores[row] : blueRowScores[row];
+  }
+
+  /**
+   * Returns a player's total score after the placement.
+   *
+   * @param player the player
+   * @return the total score after the move
+   */
+  public int getTotalScore(PlayerColor player) {
+    int total = 0;
+    for (int r = 0; r < redRowScores.length; r++) {
+      int mine = getRowScore(r, player);
+      if (mine > getRowScore(r, player.opposite())) {
+        total += mine;
+      }
+    }
+    return total;
+  }
+
+  /**
+   * Returns the cells whose pawns the placement changes, as they would be afterwards. Each
+   * cell's position is set. The placed card's own cell is not included.
+   *
+   * @return the changed cells
+   */
+  public List<Cell> getChangedCells() {
+    return changedCells;
+  }
+
+  /**
+   * Returns how many cells of the opponent's pawns the placement converts.
+   *
+   * @return the number of converted cells
+   */
+  public int getConvertedCells() {
+    return convertedCells;
+  }
+
+  /**
+   * Returns how much the placement changes a player's total pawns on the board, not counting
+   * the pawns under the placed card.
+   *
+   * @param player the player
+   * @return the change in that player's pawns
+   */
+  public int getPawnDelta(PlayerColor player) {
+    return player == mover ? moverPawnDelta : opponentPawnDelta;
+  }
+
+  /**
+   * Returns the cells where the mover could not afford a card of the given cost before the
+   * placement but can afterwards.
+   *
+   * @param cost the card cost, from 1 to 3
+   * @return the newly legal cells, with positions set
+   */
+  public List<Cell> getNewlyLegalCells(int cost) {
+    List<Cell> cells = new ArrayList<>();
+    for (int i = 0; i < changedCells.size(); i++) {
+      Cell cell = changedCells.get(i);
+      if (pawnsBefore[i] < cost && cell.getNumPawns() >= cost) {
+        cells.add(cell);
+      }
+    }
+    return cells;
+  }
+}
@@ -175,5 +175,39 @@ public interface ReadOnlySanguineModel {
    * @return returns the number of columns in a board
    */
   int getCols();
-}
 
+  /**
+   * Returns an immutable snapshot of the current game state.
+   * The snapshot never changes, so it can be read from any thread or kept as history.
+   *
+   * @return the current state as a {@link GameState}
+   */
+  GameState snapshot();
+
+  /**
+   * Previews placing a card from the current player's hand without changing the game.
+   *
+   * @param cardIndex index of card in current player's hand
+   * @param row target row position
+   * @param col target column position
+   * @return the row scores, pawn changes and newly legal cells the move would produce
+   * @throws IllegalArgumentException if the move is not legal
+   */
+  PlacementEffect evaluatePlacement(int cardIndex, int row, int col);
+
+  /**
+   * Returns how many cards are left in a player's deck.
+   *
+   * @param player that is specified.
+   * @return the number of cards the player has yet to draw.
+   */
+  int getDeckSize(PlayerColor player);
+
+  /**
+   * Returns whether a player's last action was a pass.
+   *
+   * @param player that is specified.
+   * @return true if the player passed on their last turn.
+   */
+  boolean hasPassed(PlayerColor player);
+}
@@ -506,4 +506,25 @@ public class SanguineModelImpl implements MutableSanguineModel {
   public int getCols() {
     return board.getCols();
   }
-}
\ No newline at end of file
+
+  @Override
+  public GameState snapshot() {
+    return GameState.capture(board, redHand, blueHand, redDeck, blueDeck,
+        currentPlayer, redPassed, bluePassed, gameOver);
+  }
+
+  @Override
+  public PlacementEffect evaluatePlacement(int cardIndex, int row, int col) {
+    return PlacementEffect.preview(this, cardIndex, row, col);
+  }
+
+  @Override
+  public int getDeckSize(PlayerColor player) {
+    return player == PlayerColor.RED ? redDeck.size() : blueDeck.size();
+  }
+
+  @Override
+  public boolean hasPassed(PlayerColor player) {
+    return player == PlayerColor.RED ? redPassed : bluePassed;
+  }
+}
@@ -2,24 +2,42 @@ package sanguine.player;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import sanguine.controller.ModelStatusListener;
 import sanguine.controller.PlayerActionListener;
 import sanguine.model.PlayerColor;
 import sanguine.model.ReadOnlySanguineModel;
+import sanguine.strategy.FillFirstStrategy;
 import sanguine.strategy.Move;
+import sanguine.strategy.PonderingStrategy;
 import sanguine.strategy.SanguineStrategy;
+import sanguine.strategy.TimedStrategy;
 
 /**
  * Represents a machine player that uses a strategy to  make moves.
  * Automatically computes and publishes moves when it's their turn.
+ * If the strategy can ponder, it thinks on a background thread during the opponent's turn,
+ * and is stopped as soon as the turn or the game ends. A player can also be given a deadline
+ * per move, after which a quick fallback strategy moves instead. When the game ends, the
+ * strategy is shut down.
  */
 
 public class MachinePlayer implements Player, ModelStatusListener {
 
   private final PlayerColor color;
   private final SanguineStrategy strategy;
+  private final TimedStrategy timed;
   private final ReadOnlySanguineModel model;
   private final List<PlayerActionListener> listeners;
+  private ExecutorService ponderer;
+  private Future<?> pondering;
+  private AtomicBoolean ponderStopped;
+  // INVARIANT: pondering and ponderStopped are both null or both set, and at most one
+  // pondering task runs at a time
 
   /**
    * Constructs a  MachinePlayer with the given player color, strategy,
@@ -33,6 +51,26 @@ public class MachinePlayer implements Player, ModelStatusListener {
   public MachinePlayer(PlayerColor color, SanguineStrategy strategy, ReadOnlySanguineModel model) {
     this.color = color;
     this.strategy = strategy;
+    this.timed = null;
+    this.model = model;
+    this.listeners = new ArrayList<>();
+  }
+
+  /**
+   * Constructs a MachinePlayer whose strategy has a deadline for every move. The strategy
+   * runs on a worker thread, and if it has not chosen by the deadline it is interrupted and
+   * the move is chosen by {@link FillFirstStrategy} instead.
+   *
+   * @param color          the color assigned to this player
+   * @param strategy       the strategy used by this machine player to choose moves
+   * @param model          the read-only game model this player observes
+   * @param deadlineMillis how long the strategy may take per move, in milliseconds
+   */
+  public MachinePlayer(PlayerColor color, SanguineStrategy strategy, ReadOnlySanguineModel model,
+                       long deadlineMillis) {
+    this.color = color;
+    this.strategy = strategy;
+    this.timed = new TimedStrategy(strategy, deadlineMillis, new FillFirstStrategy());
     this.model = model;
     this.listeners = new ArrayList<>();
   }
@@ -49,8 +87,12 @@ public class MachinePlayer implements Player, ModelStatusListener {
 
   @Override
   public void onTurnStart(PlayerColor currentPlayer) {
-    if (currentPlayer == this.color) {
-      Move move = strategy.chooseMove(model, color);
+    stopPondering();
+    if (currentPlayer != this.color) {
+      startPondering();
+    } else {
+      Move move = timed != null ? timed.chooseMove(model, color)
+          : strategy.chooseMove(model, color);
 
       if (move != null) {
         for (PlayerActionListener listener : listeners) {
@@ -68,6 +110,55 @@ public class MachinePlayer implements Player, ModelStatusListener {
 
   @Override
   public void onGameOver(PlayerColor winner, int winningScore) {
-    //machine player doesn't need to do anything when game ends
+    stopPondering();
+    if (ponderer != null) {
+      ponderer.shutdown();
+      ponderer = null;
+    }
+    if (timed != null) {
+      timed.shutdown();
+    } else {
+      strategy.shutdown();
+    }
+  }
+
+  /**
+   * Starts the strategy pondering over a snapshot of the game, if it can ponder.
+   */
+  private void startPondering() {
+    if (!(strategy instanceof PonderingStrategy) || model.isGameOver()) {
+      return;
+    }
+    if (ponderer == null) {
+      ponderer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "sanguine-ponder");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    ReadOnlySanguineModel position = model.snapshot();
+    AtomicBoolean stopped = new AtomicBoolean();
+    ponderStopped = stopped;
+    pondering = ponderer.submit(
+        () -> ((PonderingStrategy) strategy).ponder(position, color, stopped::get));
+  }
+
+  /**
+   * Tells the pondering strategy to stop and waits until it has.
+   */
+  private void stopPondering() {
+    if (pondering == null) {
+      return;
+    }
+    ponderStopped.set(true);
+    try {
+      pondering.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      // a failed ponder only loses the head start; the move is still searched normally
+    }
+    pondering = null;
+    ponderStopped = null;
   }
 }
@@ -0,0 +1,528 @@
+package sanguine.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.BoardGeometry;
+import sanguine.engine.CardTable;
+import sanguine.engine.MoveList;
+import sanguine.engine.OutcomeBounds;
+import sanguine.engine.Symmetry;
+import sanguine.model.PlayerColor;
+
+/**
+ * Iterative-deepening alpha-beta search over a {@link BitboardEngine}, optionally running
+ * several threads in the Lazy SMP style. Every thread searches the whole tree from the root on
+ * its own copy of the position; they cooperate only through a shared
+ * {@link TranspositionTable}. Helper threads order moves with a little per-thread noise and
+ * alternate between the main thread's depth and one ply deeper, so they fill the table with
+ * results the main thread then finds instead of searching again.
+ *
+ * <p>Scores are from the point of view of the player to move, as given by a
+ * {@link FeatureEvaluator}; by default the difference in total scores scaled up, plus the
+ * difference in pawns on the board. Finished games score beyond any evaluation, preferring
+ * bigger and quicker wins. A game whose winner {@link OutcomeBounds} shows is already decided
+ * scores as finished, by the margin it is sure to end with, without searching further.</p>
+ *
+ * <p>When the cards and decks allow a {@link Symmetry}, positions with a few plies left to
+ * search are stored in the table under their canonical hash, with their best move redrawn to
+ * match, so a position and its mirror images share one entry. Positions nearer the leaves keep
+ * their plain hash, which is free to compute.</p>
+ *
+ * <p>Moves are packed as by {@link MoveList}.</p>
+ */
+public final class AlphaBetaSearch {
+
+  /**
+   * The deepest iteration a search will run.
+   */
+  public static final int MAX_DEPTH = 126;
+
+  /**
+   * Returned by {@link #score} when it runs out of time.
+   */
+  public static final int ABORTED = Integer.MIN_VALUE;
+
+  static final int WIN = 30000;
+  static final int MAX_PLY = 128;
+  private static final int MAX_EVAL = 20000;
+  private static final int INFINITY = 32000;
+  private static final int CHECK_INTERVAL = 1023;
+  private static final int CANONICAL_DEPTH = 2;
+
+  private final int threads;
+  private final TranspositionTable table;
+  private final FeatureEvaluator evaluator;
+  private final ExecutorService helpers;
+
+  /**
+   * Creates a search with the default evaluation.
+   *
+   * @param threads number of threads to search with, including the caller's
+   * @param table the transposition table the threads share
+   * @throws IllegalArgumentException if threads is not positive or the table is null
+   */
+  public AlphaBetaSearch(int threads, TranspositionTable table) {
+    this(threads, table, FeatureEvaluator.defaults());
+  }
+
+  /**
+   * Creates a search.
+   *
+   * @param threads number of threads to search with, including the caller's
+   * @param table the transposition table the threads share
+   * @param evaluator how to score positions at the leaves
+   * @throws IllegalArgumentException if threads is not positive, or the table or evaluator is
+   *                                  null
+   */
+  public AlphaBetaSearch(int threads, TranspositionTable table, FeatureEvaluator evaluator) {
+    if (evaluator == null) {
+      throw new IllegalArgumentException("Evaluator cannot be null");
+    }
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Search needs at least one thread");
+    }
+    if (table == null) {
+      throw new IllegalArgumentException("Table cannot be null");
+    }
+    this.threads = threads;
+    this.table = table;
+    this.evaluator = evaluator;
+    this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, task -> {
+      Thread thread = new Thread(task, "sanguine-search");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Returns the number of threads this search uses.
+   *
+   * @return the thread count
+   */
+  public int getThreads() {
+    return threads;
+  }
+
+  /**
+   * Returns the transposition table.
+   *
+   * @return the shared table
+   */
+  public TranspositionTable getTable() {
+    return table;
+  }
+
+  /**
+   * Searches a position until the depth limit is reached or the time budget runs out. The
+   * first iteration always completes, so a move is returned even with no time left. The
+   * engine is not changed.
+   *
+   * @param root the position to search
+   * @param maxDepth the deepest iteration to run
+   * @param budgetMillis how long to search, in milliseconds
+   * @return the chosen move from the deepest completed iteration
+   * @throws IllegalStateException if the game is over
+   */
+  public SearchResult search(BitboardEngine root, int maxDepth, long budgetMillis) {
+    return search(root, maxDepth, budgetMillis, () -> false);
+  }
+
+  /**
+   * Searches a position like {@link #search(BitboardEngine, int, long)}, but gives up as soon
+   * as a condition becomes true, even in the first iteration. Interrupting the calling thread
+   * cancels the search the same way. A search cancelled before its first iteration completes
+   * returns a result of depth 0 holding no move.
+   *
+   * @param root the position to search
+   * @param maxDepth the deepest iteration to run
+   * @param budgetMillis how long to search, in milliseconds
+   * @param cancelled polled during the search; the search stops once it returns true
+   * @return the chosen move from the deepest completed iteration
+   * @throws IllegalStateException if the game is over
+   */
+  public SearchResult search(BitboardEngine root, int maxDepth, long budgetMillis,
+                             BooleanSupplier cancelled) {
+    return search(root, maxDepth, budgetMillis, cancelled, result -> {});
+  }
+
+  /**
+   * Searches a position like {@link #search(BitboardEngine, int, long, BooleanSupplier)},
+   * reporting each improvement as it is found: every completed iteration that is deeper than
+   * the last one reported, or that changes the best move at the same depth. Reports arrive on
+   * the search threads, in order, and should be handled quickly.
+   *
+   * @param root the position to search
+   * @param maxDepth the deepest iteration to run
+   * @param budgetMillis how long to search, in milliseconds
+   * @param cancelled polled during the search; the search stops once it returns true
+   * @param progress receives each improved result
+   * @return the chosen move from the deepest completed iteration
+   * @throws IllegalStateException if the game is over
+   */
+  public SearchResult search(BitboardEngine root, int maxDepth, long budgetMillis,
+                             BooleanSupplier cancelled, Consumer<SearchResult> progress) {
+    if (root.isGameOver()) {
+      throw new IllegalStateException("Game is over");
+    }
+    int depthLimit = Math.max(1, Math.min(maxDepth, MAX_DEPTH));
+    table.newSearch();
+    Shared shared = new Shared(System.nanoTime() + budgetMillis * 1_000_000L,
+        root.getGeometry().getCols(), cancelled, progress);
+    List<Future<?>> running = new ArrayList<>();
+    for (int id = 1; id < threads; id++) {
+      Worker helper = new Worker(root.copy(), id, shared);
+      running.add(helpers.submit(() -> helper.iterate(depthLimit)));
+    }
+    new Worker(root.copy(), 0, shared).iterate(depthLimit);
+    shared.stop = true;
+    for (Future<?> future : running) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Search thread failed", e.getCause());
+      }
+    }
+    return shared.result();
+  }
+
+  /**
+   * Scores a position with a fixed-depth search on the calling thread, sharing the
+   * transposition table with every other search using it. The engine is not changed.
+   *
+   * @param position the position to score
+   * @param color the player whose point of view the score takes; must be the player to move
+   *              unless the game is over
+   * @param depth how many moves to look ahead
+   * @param deadline {@link System#nanoTime()} after which to give up
+   * @return the score, or {@link #ABORTED} if the deadline passed first
+   */
+  public int score(BitboardEngine position, PlayerColor color, int depth, long deadline) {
+    return score(position, color, depth, deadline, 0);
+  }
+
+  /**
+   * Scores a position like {@link #score(BitboardEngine, PlayerColor, int, long)}, but with
+   * every transposition table key xored with a salt. Searches with different salts never use
+   * each other's entries, which keeps apart searches whose positions hash alike but play out
+   * differently, such as two deals whose decks will draw different cards.
+   *
+   * @param position the position to score
+   * @param color the player whose point of view the score takes; must be the player to move
+   *              unless the game is over
+   * @param depth how many moves to look ahead
+   * @param deadline {@link System#nanoTime()} after which to give up
+   * @param salt xored into every table key
+   * @return the score, or {@link #ABORTED} if the deadline passed first
+   */
+  public int score(BitboardEngine position, PlayerColor color, int depth, long deadline,
+                   long salt) {
+    Shared shared = new Shared(deadline, 1, () -> false, result -> {});
+    shared.salt = salt;
+    Worker worker = new Worker(position.copy(), 0, shared);
+    worker.checkDeadline = true;
+    try {
+      return worker.negamax(Math.min(depth, MAX_DEPTH), -INFINITY, INFINITY, 0, color);
+    } catch (Abort e) {
+      return ABORTED;
+    }
+  }
+
+  /**
+   * Stops the helper threads. The search cannot be used afterwards.
+   */
+  public void shutdown() {
+    if (helpers != null) {
+      helpers.shutdownNow();
+    }
+  }
+
+  /**
+   * State shared by the threads of one search.
+   */
+  private static final class Shared {
+    private final long deadline;
+    private final int cols;
+    private final BooleanSupplier cancelled;
+    private final Consumer<SearchResult> progress;
+    private final AtomicLong nodes = new AtomicLong();
+    private volatile boolean stop;
+    private int bestMove;
+    private int bestScore;
+    private int bestDepth;
+    private long salt;
+
+    Shared(long deadline, int cols, BooleanSupplier cancelled,
+           Consumer<SearchResult> progress) {
+      this.deadline = deadline;
+      this.cols = cols;
+      this.cancelled = cancelled;
+      this.progress = progress;
+    }
+
+    synchronized void publish(int depth, int move, int score, int worker) {
+      if (depth > bestDepth || (depth == bestDepth && worker == 0)) {
+        final boolean improved = depth > bestDepth || move != bestMove;
+        bestDepth = depth;
+        bestMove = move;
+        bestScore = score;
+        if (improved) {
+          progress.accept(result());
+        }
+      }
+    }
+
+    synchronized SearchResult result() {
+      return new SearchResult(bestMove, cols, bestScore, bestDepth, nodes.get());
+    }
+  }
+
+  /**
+   * Thrown to unwind a worker's search when time runs out or another thread stopped it.
+   */
+  private static final class Abort extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    Abort() {
+      super(null, null, false, false);
+    }
+  }
+
+  /**
+   * One search thread with its own copy of the position.
+   */
+  private final class Worker {
+    private final BitboardEngine engine;
+    private final int id;
+    private final Shared shared;
+    private final SplittableRandom noise;
+    private final int rows;
+    private final int cols;
+    private final boolean canonical;
+    private final MoveList[] moves;
+    private final int[][] keys;
+    private final int[][] killers;
+    private final int[] features;
+    private final OutcomeBounds bounds;
+    private long nodes;
+    private boolean checkDeadline;
+    private int rootBest;
+
+    Worker(BitboardEngine engine, int id, Shared shared) {
+      this.engine = engine;
+      this.id = id;
+      this.shared = shared;
+      this.noise = id == 0 ? null : new SplittableRandom(id);
+      BoardGeometry geometry = engine.getGeometry();
+      this.rows = geometry.getRows();
+      this.cols = geometry.getCols();
+      this.canonical = engine.isSymmetric(Symmetry.ROW_FLIP)
+          || engine.isSymmetric(Symmetry.COLOR_MIRROR);
+      this.moves = new MoveList[MAX_PLY];
+      this.keys = new int[MAX_PLY][];
+      this.killers = new int[MAX_PLY][2];
+      this.features = new int[Feature.values().length];
+      this.bounds = new OutcomeBounds(geometry.getRows());
+    }
+
+    void iterate(int depthLimit) {
+      try {
+        for (int depth = 1; depth <= depthLimit; depth++) {
+          int searchDepth = Math.min(depthLimit, depth + (id & 1));
+          int score = negamax(searchDepth, -INFINITY, INFINITY, 0, engine.getCurrentPlayer());
+          shared.publish(searchDepth, rootBest, score, id);
+          checkDeadline = true;
+          if (Math.abs(score) > WIN - 1000 || shared.stop) {
+            break;
+          }
+        }
+      } catch (Abort e) {
+        // the position copy is left mid-search and discarded with this worker
+      } finally {
+        shared.nodes.addAndGet(nodes);
+        if (id == 0) {
+          shared.stop = true;
+        }
+      }
+    }
+
+    private int negamax(int depth, int alpha, int beta, int ply, PlayerColor color) {
+      nodes++;
+      if ((nodes & CHECK_INTERVAL) == 0) {
+        checkAbort();
+      }
+      if (engine.isGameOver()) {
+        return terminal(color, ply);
+      }
+      if (depth <= 0 || ply >= MAX_PLY - 1) {
+        return evaluate(color);
+      }
+      if (ply > 0) {
+        PlayerColor winner = bounds.compute(engine).getDecidedWinner();
+        if (winner != null) {
+          int margin = Math.min(bounds.getDecidedMargin(), 500);
+          return winner == color ? WIN + margin - ply : -WIN - margin + ply;
+        }
+      }
+      Symmetry symmetry = canonical && depth >= CANONICAL_DEPTH
+          ? engine.getCanonicalSymmetry() : Symmetry.IDENTITY;
+      long key = engine.getHash(symmetry) ^ shared.salt;
+      long entry = table.probe(key);
+      int tableMove = 0;
+      if (entry != 0) {
+        tableMove = redraw(TranspositionTable.move(entry), symmetry);
+        if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+          int stored = fromTable(TranspositionTable.score(entry), ply);
+          int bound = TranspositionTable.bound(entry);
+          if (bound == TranspositionTable.EXACT
+              || (bound == TranspositionTable.LOWER && stored >= beta)
+              || (bound == TranspositionTable.UPPER && stored <= alpha)) {
+            return stored;
+          }
+        }
+      }
+
+      MoveList list = generate(ply, tableMove);
+      int count = list.size();
+      int originalAlpha = alpha;
+      int best = -INFINITY;
+      int bestMove = 0;
+      for (int i = 0; i < count; i++) {
+        int move = list.get(i);
+        MoveList.play(engine, move);
+        int score = -negamax(depth - 1, -beta, -alpha, ply + 1, color.opposite());
+        engine.undo();
+        if (score > best) {
+          best = score;
+          bestMove = move;
+          if (ply == 0) {
+            rootBest = move;
+          }
+        }
+        if (best > alpha) {
+          alpha = best;
+        }
+        if (alpha >= beta) {
+          if (move != MoveList.PASS && killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+          }
+          break;
+        }
+      }
+      int bound = best <= originalAlpha ? TranspositionTable.UPPER
+          : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+      table.store(key, redraw(bestMove, symmetry), toTable(best, ply), depth, bound);
+      return best;
+    }
+
+    /**
+     * Maps a move between a position and its image under a symmetry.
+     */
+    private int redraw(int move, Symmetry symmetry) {
+      if (symmetry == Symmetry.IDENTITY || move == 0 || move == MoveList.PASS) {
+        return move;
+      }
+      return MoveList.encode(MoveList.cardOf(move),
+          symmetry.cell(MoveList.cellOf(move), rows, cols));
+    }
+
+    private void checkAbort() {
+      if (shared.stop || shared.cancelled.getAsBoolean()
+          || (id == 0 && checkDeadline && System.nanoTime() > shared.deadline)
+          || (id == 0 && Thread.currentThread().isInterrupted())) {
+        throw new Abort();
+      }
+    }
+
+    private int terminal(PlayerColor color, int ply) {
+      int diff = engine.getTotalScore(color) - engine.getTotalScore(color.opposite());
+      if (diff > 0) {
+        return WIN + Math.min(diff, 500) - ply;
+      } else if (diff < 0) {
+        return -WIN + Math.max(diff, -500) + ply;
+      }
+      return 0;
+    }
+
+    private int evaluate(PlayerColor color) {
+      return Math.max(-MAX_EVAL, Math.min(MAX_EVAL,
+          evaluator.evaluate(engine, color, features)));
+    }
+
+    /**
+     * Fills moves[ply] with every distinct legal move, best first: the table move, then
+     * killers, then placements by card value, then passing.
+     */
+    private MoveList generate(int ply, int tableMove) {
+      if (moves[ply] == null) {
+        moves[ply] = new MoveList();
+        keys[ply] = new int[64];
+      }
+      MoveList list = moves[ply];
+      CardTable cards = engine.getCardTable();
+      int count = list.generate(engine) + 1;
+      list.add(MoveList.PASS);
+      if (keys[ply].length < count) {
+        keys[ply] = new int[Math.max(2 * keys[ply].length, count)];
+      }
+      int[] order = keys[ply];
+      for (int i = 0; i < count - 1; i++) {
+        int move = list.get(i);
+        order[i] = orderKey(move, cards.value(MoveList.cardOf(move)), ply, tableMove);
+      }
+      order[count - 1] = tableMove == MoveList.PASS ? Integer.MAX_VALUE : -1_000_000;
+      for (int i = 1; i < count; i++) {
+        int move = list.get(i);
+        int key = order[i];
+        int j = i - 1;
+        while (j >= 0 && order[j] < key) {
+          list.set(j + 1, list.get(j));
+          order[j + 1] = order[j];
+          j--;
+        }
+        list.set(j + 1, move);
+        order[j + 1] = key;
+      }
+      return list;
+    }
+
+    private int orderKey(int move, int value, int ply, int tableMove) {
+      if (move == tableMove) {
+        return Integer.MAX_VALUE;
+      }
+      if (move == killers[ply][0] || move == killers[ply][1]) {
+        return 1_000_000;
+      }
+      return 64 * value + (noise == null ? 0 : noise.nextInt(48));
+    }
+  }
+
+  private static int toTable(int score, int ply) {
+    if (score > WIN - 1000) {
+      return score + ply;
+    } else if (score < -WIN + 1000) {
+      return score - ply;
+    }
+    return score;
+  }
+
+  private static int fromTable(int score, int ply) {
+    if (score > WIN - 1000) {
+      return score - ply;
+    } else if (score < -WIN + 1000) {
+      return score + ply;
+    }
+    return score;
+  }
+}
@@ -0,0 +1,224 @@
+package sanguine.search;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import sanguine.controller.ModelStatusListener;
+import sanguine.engine.CardTable;
+import sanguine.model.Card;
+import sanguine.model.CellContent;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+
+/**
+ * Keeps track of which of the opponent's cards have not been seen yet, so the opponent's hand
+ * and deck can be guessed without looking over the whole board each time.
+ * Every card of the opponent's deck list that is not on the board is somewhere in their hand
+ * or deck, each arrangement equally likely. The tracker learns about newly placed cards at the
+ * start of every turn, looking only at cells that did not yet hold a card. It can also be
+ * moved on to a newer view of the same game, such as the next move's snapshot.
+ */
+public final class BeliefTracker implements ModelStatusListener {
+
+  private ReadOnlySanguineModel model;
+  private final PlayerColor opponent;
+  private final CardTable table;
+  private final int[] counts;
+  private final int[] pool;
+  private int poolSize;
+  // INVARIANT: pool[0, poolSize) holds the ids of the unseen cards, in no particular order,
+  // and counts[id] is how many times id appears there
+  private final int[] openCells;
+  private int openCount;
+  // INVARIANT: openCells[0, openCount) lists, as row * cols + col, every cell that held no
+  // card when last looked at
+
+  /**
+   * Creates a tracker and takes note of the cards already on the board.
+   *
+   * @param model the game to follow
+   * @param viewer the player whose opponent is tracked
+   * @param opponentDeck the opponent's full deck list
+   * @param table the card table whose ids the tracker reports
+   * @throws IllegalArgumentException if an argument is null or the table lacks a card
+   */
+  public BeliefTracker(ReadOnlySanguineModel model, PlayerColor viewer, List<Card> opponentDeck,
+                       CardTable table) {
+    if (model == null || viewer == null || opponentDeck == null || table == null) {
+      throw new IllegalArgumentException("Arguments cannot be null");
+    }
+    this.model = model;
+    this.opponent = viewer.opposite();
+    this.table = table;
+    this.counts = new int[table.size()];
+    this.pool = new int[opponentDeck.size()];
+    for (Card card : opponentDeck) {
+      int id = table.idOf(card);
+      pool[poolSize++] = id;
+      counts[id]++;
+    }
+    this.openCells = new int[model.getRows() * model.getCols()];
+    for (int cell = 0; cell < openCells.length; cell++) {
+      openCells[openCount++] = cell;
+    }
+    update();
+  }
+
+  @Override
+  public void onTurnStart(PlayerColor color) {
+    update();
+  }
+
+  @Override
+  public void onGameOver(PlayerColor winner, int winningScore) {
+    update();
+  }
+
+  /**
+   * Returns whether a model could be a later position of the game this tracker follows: it
+   * has the same board, and every cell that held a card when last looked at still does.
+   *
+   * @param later the model to check
+   * @return true if the tracker can be moved on to it with {@link #update(ReadOnlySanguineModel)}
+   */
+  public boolean follows(ReadOnlySanguineModel later) {
+    if (later.getRows() != model.getRows() || later.getCols() != model.getCols()
+        || later.getDeckSize(opponent) > poolSize) {
+      return false;
+    }
+    boolean[] open = new boolean[openCells.length];
+    for (int i = 0; i < openCount; i++) {
+      open[openCells[i]] = true;
+    }
+    int cols = model.getCols();
+    for (int cell = 0; cell < open.length; cell++) {
+      if (!open[cell] && later.getCellContent(cell / cols, cell % cols) != CellContent.CARD) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Moves the tracker on to a newer view of the game it follows and takes note of the cards
+   * placed since the last update.
+   *
+   * @param later the game, as checked by {@link #follows}
+   */
+  public void update(ReadOnlySanguineModel later) {
+    this.model = later;
+    update();
+  }
+
+  /**
+   * Takes note of cards placed since the last update. Each call looks only at cells that held
+   * no card before, so the cost shrinks as the board fills.
+   */
+  public void update() {
+    int cols = model.getCols();
+    int kept = 0;
+    for (int i = 0; i < openCount; i++) {
+      int cell = openCells[i];
+      int row = cell / cols;
+      int col = cell % cols;
+      if (model.getCellContent(row, col) != CellContent.CARD) {
+        openCells[kept++] = cell;
+      } else if (model.getOwnerOfCell(row, col) == opponent) {
+        remove(table.idOf(model.getCardAt(row, col)));
+      }
+    }
+    openCount = kept;
+  }
+
+  private void remove(int id) {
+    if (counts[id] == 0) {
+      return;
+    }
+    for (int i = 0; i < poolSize; i++) {
+      if (pool[i] == id) {
+        pool[i] = pool[--poolSize];
+        counts[id]--;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Returns the tracked player.
+   *
+   * @return the opponent of the viewer
+   */
+  public PlayerColor getOpponent() {
+    return opponent;
+  }
+
+  /**
+   * Returns how many cards have not been seen.
+   *
+   * @return the number of cards in the opponent's hand and deck together
+   */
+  public int getUnseenTotal() {
+    return poolSize;
+  }
+
+  /**
+   * Returns how many copies of a card have not been seen.
+   *
+   * @param card the card
+   * @return its unseen copies
+   */
+  public int getUnseenCount(Card card) {
+    return counts[table.idOf(card)];
+  }
+
+  /**
+   * Returns how many unseen cards are in the opponent's hand, the rest being in their deck.
+   *
+   * @return the opponent's hand size
+   */
+  public int getHandSize() {
+    return Math.max(0, poolSize - model.getDeckSize(opponent));
+  }
+
+  /**
+   * Returns the chance that the opponent holds at least one copy of a card.
+   *
+   * @param card the card
+   * @return the probability, from 0 to 1
+   */
+  public double probabilityInHand(Card card) {
+    int copies = counts[table.idOf(card)];
+    int hand = getHandSize();
+    // chance that none of the hand's cards is a copy: C(n - copies, hand) / C(n, hand)
+    double none = 1.0;
+    for (int i = 0; i < hand; i++) {
+      none *= (double) (poolSize - copies - i) / (poolSize - i);
+    }
+    return 1.0 - Math.max(0.0, none);
+  }
+
+  /**
+   * Deals a random guess at the opponent's hand and deck. Only the hand's cards are drawn at
+   * random; the deck is what is left of the unseen cards, so callers that need the deck order
+   * shuffled must shuffle it themselves.
+   *
+   * @param random source of the guess
+   * @param hand receives the hand's card ids; must hold at least {@link #getHandSize()} ids
+   * @param deck receives the remaining card ids, or null to skip them; must hold at least
+   *             {@link #getUnseenTotal()} minus the hand size ids
+   * @return the hand size
+   */
+  public int deal(SplittableRandom random, int[] hand, int[] deck) {
+    int handSize = getHandSize();
+    for (int i = 0; i < handSize; i++) {
+      int j = i + random.nextInt(poolSize - i);
+      int swap = pool[i];
+      pool[i] = pool[j];
+      pool[j] = swap;
+      hand[i] = pool[i];
+    }
+    if (deck != null) {
+      System.arraycopy(pool, handSize, deck, 0, poolSize - handSize);
+    }
+    return handSize;
+  }
+}
@@ -0,0 +1,165 @@
+package sanguine.search;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.BoardGeometry;
+import sanguine.engine.CardTable;
+import sanguine.model.Card;
+import sanguine.model.CellContent;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+
+/**
+ * Deals guesses at the hidden cards of one position, as many times as asked. What every guess
+ * has in common, the board, the known hands and which cards each player has not shown, is
+ * worked out once when the dealer is made, so a deal only copies a prepared position and draws
+ * the hidden cards. Only the hidden hand and the top cards of each deck, as many as a search
+ * can reach, are drawn at random; the rest of each deck keeps whatever order it had.
+ */
+public final class Dealer {
+
+  private final BitboardEngine template;
+  private final BeliefTracker beliefs;
+  private final int draws;
+  private final int[][] unseen;
+  private final int[] unseenCounts;
+  // INVARIANT: unseen[color][0, unseenCounts[color]) holds the ids of the color's unseen cards,
+  // padded with -1 to at least the hidden hand plus the deck, or is null for the color the
+  // tracker deals
+  private final int[] hiddenHands;
+  // INVARIANT: hiddenHands[color] is the number of hand cards dealt at random, or -1 if the
+  // tracker deals the color's hand
+  private final int[] handSizes;
+  private final int[] deckSizes;
+  private int[] handBuffer;
+
+  /**
+   * Prepares deals of a position. See {@link Determinizer#dealer}.
+   */
+  Dealer(ReadOnlySanguineModel model, PlayerColor viewer, BeliefTracker beliefs, int draws,
+         CardTable table, List<Card> redDeck, List<Card> blueDeck, boolean hideOpponentHand) {
+    this.template = new BitboardEngine(new BoardGeometry(model.getRows(), model.getCols()),
+        table);
+    this.beliefs = beliefs != null && hideOpponentHand ? beliefs : null;
+    this.draws = draws;
+    int[][] shown = new int[2][table.size()];
+    for (int row = 0; row < model.getRows(); row++) {
+      for (int col = 0; col < model.getCols(); col++) {
+        PlayerColor owner = model.getOwnerOfCell(row, col);
+        CellContent content = model.getCellContent(row, col);
+        if (content == CellContent.CARD) {
+          Card card = model.getCardAt(row, col);
+          template.setCard(row, col, owner, card);
+          shown[owner.ordinal()][table.idOf(card)]++;
+        } else if (content == CellContent.PAWNS) {
+          template.setPawns(row, col, owner, model.getPawnCount(row, col));
+        }
+      }
+    }
+    this.unseen = new int[2][];
+    this.unseenCounts = new int[2];
+    this.hiddenHands = new int[2];
+    this.handSizes = new int[2];
+    this.deckSizes = new int[2];
+    for (PlayerColor color : PlayerColor.values()) {
+      int c = color.ordinal();
+      List<Card> hand = model.getPlayerHand(color);
+      handSizes[c] = hand.size();
+      deckSizes[c] = model.getDeckSize(color);
+      template.setPassed(color, model.hasPassed(color));
+      if (this.beliefs != null && color == this.beliefs.getOpponent()) {
+        hiddenHands[c] = -1;
+        continue;
+      }
+      boolean handKnown = color == viewer || !hideOpponentHand;
+      if (handKnown) {
+        template.setHand(color, hand);
+        for (Card card : hand) {
+          shown[c][table.idOf(card)]++;
+        }
+      }
+      hiddenHands[c] = handKnown ? 0 : hand.size();
+      List<Card> deck = color == PlayerColor.RED ? redDeck : blueDeck;
+      int[] ids = new int[Math.max(deck.size(), hiddenHands[c] + deckSizes[c])];
+      int count = 0;
+      for (Card card : deck) {
+        int id = table.idOf(card);
+        if (shown[c][id] > 0) {
+          shown[c][id]--;
+        } else {
+          ids[count++] = id;
+        }
+      }
+      for (int i = count; i < ids.length; i++) {
+        ids[i] = -1;
+      }
+      unseen[c] = ids;
+      unseenCounts[c] = count;
+    }
+    this.handBuffer = new int[0];
+    template.setCurrentPlayer(model.getCurrentPlayer());
+    template.setGameOver(model.isGameOver());
+  }
+
+  /**
+   * Deals one guess at the hidden cards.
+   *
+   * @param random source of the guess
+   * @return a complete position consistent with what the viewer can see
+   */
+  public BitboardEngine deal(SplittableRandom random) {
+    BitboardEngine engine = template.copy();
+    for (PlayerColor color : PlayerColor.values()) {
+      int c = color.ordinal();
+      if (hiddenHands[c] < 0) {
+        dealFromTracker(engine, color, random);
+        continue;
+      }
+      int[] ids = unseen[c];
+      int hand = Math.min(hiddenHands[c], unseenCounts[c]);
+      shuffleFront(ids, unseenCounts[c], hand + Math.min(draws, unseenCounts[c]), random);
+      if (hiddenHands[c] > 0) {
+        engine.setHand(color, ids, hand);
+        engine.setHiddenCards(color, hiddenHands[c] - hand);
+      }
+      engine.setDeck(color, ids, hand, deckSizes[c]);
+    }
+    return engine;
+  }
+
+  private void dealFromTracker(BitboardEngine engine, PlayerColor color,
+                               SplittableRandom random) {
+    int c = color.ordinal();
+    int rest = beliefs.getUnseenTotal() - beliefs.getHandSize();
+    if (unseen[c] == null || unseen[c].length < Math.max(rest, deckSizes[c])) {
+      unseen[c] = new int[Math.max(rest, deckSizes[c])];
+    }
+    if (handBuffer.length < beliefs.getHandSize()) {
+      handBuffer = new int[beliefs.getHandSize()];
+    }
+    int[] deck = unseen[c];
+    int hand = beliefs.deal(random, handBuffer, deck);
+    for (int i = rest; i < deckSizes[c]; i++) {
+      deck[i] = -1;
+    }
+    shuffleFront(deck, rest, draws, random);
+    engine.setHand(color, handBuffer, hand);
+    engine.setHiddenCards(color, Math.max(0, handSizes[c] - hand));
+    engine.setDeck(color, deck, 0, deckSizes[c]);
+  }
+
+  /**
+   * Moves a uniformly random selection of the cards, in random order, to the front of the
+   * first count ids, leaving the rest in some order.
+   */
+  private static void shuffleFront(int[] ids, int count, int front, SplittableRandom random) {
+    int limit = Math.min(front, count - 1);
+    for (int i = 0; i < limit; i++) {
+      int j = i + random.nextInt(count - i);
+      int swap = ids[i];
+      ids[i] = ids[j];
+      ids[j] = swap;
+    }
+  }
+}
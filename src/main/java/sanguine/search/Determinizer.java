@@ -0,0 +1,115 @@
+package sanguine.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.CardTable;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+
+/**
+ * Turns what one player can see of a game into complete positions by guessing the hidden
+ * parts. Each player's full deck list is known, so the cards a player has not yet shown (in
+ * their hand or on the board) are exactly the cards left in their deck and, for the opponent,
+ * their hand. A sample deals those unseen cards out at random.
+ */
+public final class Determinizer {
+
+  private final List<Card> redDeck;
+  private final List<Card> blueDeck;
+  private final CardTable table;
+  private final boolean hideOpponentHand;
+
+  /**
+   * Creates a determinizer.
+   *
+   * @param redDeck red's full deck list, in any order
+   * @param blueDeck blue's full deck list, in any order
+   * @param hideOpponentHand true to treat the opponent's hand as unknown and sample it too
+   * @throws IllegalArgumentException if a deck is null
+   */
+  public Determinizer(List<Card> redDeck, List<Card> blueDeck, boolean hideOpponentHand) {
+    if (redDeck == null || blueDeck == null) {
+      throw new IllegalArgumentException("Decks cannot be null");
+    }
+    this.redDeck = new ArrayList<>(redDeck);
+    this.blueDeck = new ArrayList<>(blueDeck);
+    this.table = CardTable.of(redDeck, blueDeck);
+    this.hideOpponentHand = hideOpponentHand;
+  }
+
+  /**
+   * Returns the card table every sample uses.
+   *
+   * @return the table covering both decks
+   */
+  public CardTable getCardTable() {
+    return table;
+  }
+
+  /**
+   * Creates a tracker of a player's opponent's unseen cards that uses this determinizer's card
+   * table, for passing to {@link #sample(ReadOnlySanguineModel, PlayerColor, SplittableRandom,
+   * BeliefTracker)}.
+   *
+   * @param model the game to follow
+   * @param viewer the player whose opponent is tracked
+   * @return the tracker
+   */
+  public BeliefTracker newTracker(ReadOnlySanguineModel model, PlayerColor viewer) {
+    return new BeliefTracker(model, viewer,
+        viewer == PlayerColor.RED ? blueDeck : redDeck, table);
+  }
+
+  /**
+   * Deals one guess at the hidden cards.
+   *
+   * @param model the game as the viewer sees it
+   * @param viewer the player whose knowledge is used
+   * @param random source of the guess
+   * @return a complete position consistent with what the viewer can see
+   */
+  public BitboardEngine sample(ReadOnlySanguineModel model, PlayerColor viewer,
+                               SplittableRandom random) {
+    return sample(model, viewer, random, null);
+  }
+
+  /**
+   * Deals one guess at the hidden cards, taking the opponent's unseen cards from a tracker
+   * instead of working them out from the board. The tracker must be up to date.
+   *
+   * @param model the game as the viewer sees it
+   * @param viewer the player whose knowledge is used
+   * @param random source of the guess
+   * @param beliefs a tracker of the viewer's opponent made by {@link #newTracker}, or null
+   * @return a complete position consistent with what the viewer can see
+   */
+  public BitboardEngine sample(ReadOnlySanguineModel model, PlayerColor viewer,
+                               SplittableRandom random, BeliefTracker beliefs) {
+    return dealer(model, viewer, beliefs, Integer.MAX_VALUE).deal(random);
+  }
+
+  /**
+   * Prepares to deal many guesses at the hidden cards of one position. The board is looked
+   * over once here rather than for every deal, and each deal draws at random only the hidden
+   * hand and the top cards of each deck that a search could reach.
+   *
+   * @param model the game as the viewer sees it
+   * @param viewer the player whose knowledge is used
+   * @param beliefs a tracker of the viewer's opponent made by {@link #newTracker}, or null;
+   *                it must be up to date and is used by every deal
+   * @param draws how many cards from the top of each deck must be in random order
+   * @return the dealer
+   * @throws IllegalArgumentException if draws is negative
+   */
+  public Dealer dealer(ReadOnlySanguineModel model, PlayerColor viewer, BeliefTracker beliefs,
+                       int draws) {
+    if (draws < 0) {
+      throw new IllegalArgumentException("Draws cannot be negative");
+    }
+    return new Dealer(model, viewer, beliefs, draws, table, redDeck, blueDeck,
+        hideOpponentHand);
+  }
+}
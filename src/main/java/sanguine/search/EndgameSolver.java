@@ -0,0 +1,248 @@
+package sanguine.search;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.BoardGeometry;
+import sanguine.engine.CardTable;
+import sanguine.engine.MoveList;
+import sanguine.model.PlayerColor;
+
+/**
+ * Solves positions near the end of a game exactly, searching every line to the end of the game,
+ * including the end that comes from both players passing in a row.
+ * A solved score is the final difference in total scores for the player to move, so the best
+ * move both wins whenever winning is possible and wins by as much as possible.
+ *
+ * <p>Positions already solved are remembered in a {@link TranspositionTable} keyed by the
+ * position hash, so lines that transpose into each other are solved once. The table is owned by
+ * the solver and must not be shared with a depth-limited search, whose scores mean something
+ * else.</p>
+ *
+ * <p>Cards of unknown identity cannot be played, so the result is only exact once every card
+ * left in the game is known, as it is when both decks are empty. A solver is meant for one
+ * thread at a time.</p>
+ */
+public final class EndgameSolver {
+
+  private static final int INFINITY = 32000;
+  private static final int CHECK_INTERVAL = 1023;
+
+  private final int threshold;
+  private final TranspositionTable memo;
+  private MoveList[] moves;
+  private long nodes;
+  private BooleanSupplier stopped;
+
+  /**
+   * Creates a solver.
+   *
+   * @param threshold the most moves that may be left for {@link #isEndgame} to accept a position
+   * @param memo the table remembering solved positions
+   * @throws IllegalArgumentException if the threshold is negative or the table is null
+   */
+  public EndgameSolver(int threshold, TranspositionTable memo) {
+    if (threshold < 0) {
+      throw new IllegalArgumentException("Threshold cannot be negative");
+    }
+    if (memo == null) {
+      throw new IllegalArgumentException("Table cannot be null");
+    }
+    this.threshold = threshold;
+    this.memo = memo;
+    this.moves = new MoveList[0];
+    this.stopped = () -> false;
+  }
+
+  /**
+   * Returns the most moves that may be left for a position to count as an endgame.
+   *
+   * @return the threshold
+   */
+  public int getThreshold() {
+    return threshold;
+  }
+
+  /**
+   * Returns an upper bound on the number of cards still to be placed: the cards both players
+   * hold or have left to draw, but no more than the cells without a card.
+   *
+   * @param position the position
+   * @return the most placements left in the game
+   */
+  public static int remainingMoves(BitboardEngine position) {
+    int cards = 0;
+    for (PlayerColor color : PlayerColor.values()) {
+      cards += position.getHandSize(color) + position.getHiddenCards(color)
+          + position.getDeckSize(color);
+    }
+    BoardGeometry geometry = position.getGeometry();
+    int open = 0;
+    for (int row = 0; row < geometry.getRows(); row++) {
+      for (int col = 0; col < geometry.getCols(); col++) {
+        if (position.getCardId(row, col) < 0) {
+          open++;
+        }
+      }
+    }
+    return Math.min(cards, open);
+  }
+
+  /**
+   * Returns whether a position is close enough to the end of the game for this solver.
+   *
+   * @param position the position
+   * @return true if the game is not over and at most the threshold of moves are left
+   */
+  public boolean isEndgame(BitboardEngine position) {
+    return !position.isGameOver() && remainingMoves(position) <= threshold;
+  }
+
+  /**
+   * Solves a position. The engine is not changed. The solver does not check the threshold;
+   * positions with many moves left may take very long.
+   *
+   * @param position the position to solve
+   * @return the optimal move, its exact score and the number of positions visited
+   * @throws IllegalStateException if the game is already over
+   */
+  public SearchResult solve(BitboardEngine position) {
+    return solve(position, () -> false);
+  }
+
+  /**
+   * Solves a position like {@link #solve(BitboardEngine)}, but gives up once a condition
+   * becomes true or the thread is interrupted. A solve given up after some root moves were
+   * solved returns the best of those with a depth of 1, since the rest were never looked at;
+   * one given up sooner returns a depth of 0 and no usable move.
+   *
+   * @param position the position to solve
+   * @param stopped polled every few thousand positions; the solve stops once it returns true
+   * @return the optimal move, its exact score and the number of positions visited, or the
+   *         best move found before stopping
+   * @throws IllegalStateException if the game is already over
+   */
+  public SearchResult solve(BitboardEngine position, BooleanSupplier stopped) {
+    if (position.isGameOver()) {
+      throw new IllegalStateException("Game is already over");
+    }
+    BitboardEngine engine = position.copy();
+    nodes = 0;
+    this.stopped = stopped;
+    int cols = engine.getGeometry().getCols();
+    MoveList list = generate(engine, 0, 0);
+    int count = list.size();
+    int best = -INFINITY;
+    int bestMove = list.get(0);
+    int solved = 0;
+    try {
+      for (; solved < count; solved++) {
+        MoveList.play(engine, list.get(solved));
+        int score = -solve(engine, 1, -INFINITY, -best);
+        engine.undo();
+        if (score > best) {
+          best = score;
+          bestMove = list.get(solved);
+        }
+      }
+    } catch (Abort e) {
+      // every entry stored so far is sound; only the unfinished lines are lost
+      return new SearchResult(solved == 0 ? MoveList.PASS : bestMove, cols,
+          solved == 0 ? 0 : best, solved == 0 ? 0 : 1, nodes);
+    }
+    memo.store(engine.getHash(), bestMove, best, 0, TranspositionTable.EXACT);
+    return new SearchResult(bestMove, cols, best, remainingMoves(position), nodes);
+  }
+
+  private int solve(BitboardEngine engine, int ply, int alpha, int beta) {
+    nodes++;
+    if ((nodes & CHECK_INTERVAL) == 0
+        && (stopped.getAsBoolean() || Thread.currentThread().isInterrupted())) {
+      throw new Abort();
+    }
+    if (engine.isGameOver()) {
+      // the turn does not pass on the move that ends the game, so the current player is the
+      // one who just moved, and the score is for their opponent
+      PlayerColor mover = engine.getCurrentPlayer();
+      return engine.getTotalScore(mover.opposite()) - engine.getTotalScore(mover);
+    }
+    long key = engine.getHash();
+    long entry = memo.probe(key);
+    int memoMove = 0;
+    if (entry != 0) {
+      memoMove = TranspositionTable.move(entry);
+      int stored = TranspositionTable.score(entry);
+      int bound = TranspositionTable.bound(entry);
+      if (bound == TranspositionTable.EXACT
+          || (bound == TranspositionTable.LOWER && stored >= beta)
+          || (bound == TranspositionTable.UPPER && stored <= alpha)) {
+        return stored;
+      }
+    }
+    MoveList list = generate(engine, ply, memoMove);
+    int count = list.size();
+    int originalAlpha = alpha;
+    int best = -INFINITY;
+    int bestMove = 0;
+    for (int i = 0; i < count; i++) {
+      MoveList.play(engine, list.get(i));
+      int score = -solve(engine, ply + 1, -beta, -alpha);
+      engine.undo();
+      if (score > best) {
+        best = score;
+        bestMove = list.get(i);
+      }
+      if (best > alpha) {
+        alpha = best;
+      }
+      if (alpha >= beta) {
+        break;
+      }
+    }
+    int bound = best <= originalAlpha ? TranspositionTable.UPPER
+        : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+    memo.store(key, bestMove, best, 0, bound);
+    return best;
+  }
+
+  /**
+   * Thrown to unwind a solve that was told to stop.
+   */
+  private static final class Abort extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    Abort() {
+      super(null, null, false, false);
+    }
+  }
+
+  /**
+   * Fills moves[ply] with every distinct legal move: the remembered best move first, then
+   * placements by card value, then passing.
+   */
+  private MoveList generate(BitboardEngine engine, int ply, int memoMove) {
+    if (ply >= moves.length) {
+      moves = Arrays.copyOf(moves, Math.max(2 * moves.length, ply + 1));
+    }
+    if (moves[ply] == null) {
+      moves[ply] = new MoveList();
+    }
+    MoveList list = moves[ply];
+    CardTable cards = engine.getCardTable();
+    int count = list.generate(engine);
+    // a stable insertion by descending card value keeps strong placements first
+    for (int i = 1; i < count; i++) {
+      int move = list.get(i);
+      int value = cards.value(MoveList.cardOf(move));
+      int j = i;
+      while (j > 0 && cards.value(MoveList.cardOf(list.get(j - 1))) < value) {
+        list.set(j, list.get(j - 1));
+        j--;
+      }
+      list.set(j, move);
+    }
+    list.add(MoveList.PASS);
+    list.moveToFront(memoMove);
+    return list;
+  }
+}
@@ -0,0 +1,233 @@
+package sanguine.search;
+
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.CardTable;
+import sanguine.engine.MoveList;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+
+/**
+ * Chooses a move when the opponent's hand and both deck orders are unknown, by averaging over
+ * guesses at them. Each sample deals the hidden cards out with a {@link Determinizer}, then
+ * scores every root move with a fixed-depth alpha-beta search of that deal; the move with the
+ * best mean score wins. The samples stand in for chance nodes at every draw and for the
+ * opponent's hand, weighting each deal by how likely it is.
+ *
+ * <p>All samples share one {@link TranspositionTable}. Positions are hashed by what is on the
+ * board and in the hands, not by the cards left in the decks, so two deals can reach positions
+ * with the same hash whose draws, and so whose values, differ. Each deal therefore salts its
+ * keys with {@link BitboardEngine#getDrawHash} of the cards each player can draw within the
+ * search horizon: deals that agree on those draws share their entries, and deals that differ
+ * keep apart.</p>
+ */
+public final class ExpectimaxSearch {
+
+  private final Determinizer determinizer;
+  private final AlphaBetaSearch search;
+
+  /**
+   * Creates a search.
+   *
+   * @param determinizer deals the hidden cards for each sample
+   * @param table the transposition table shared across samples
+   * @throws IllegalArgumentException if either argument is null
+   */
+  public ExpectimaxSearch(Determinizer determinizer, TranspositionTable table) {
+    if (determinizer == null) {
+      throw new IllegalArgumentException("Determinizer cannot be null");
+    }
+    this.determinizer = determinizer;
+    this.search = new AlphaBetaSearch(1, table);
+  }
+
+  /**
+   * Returns the determinizer that deals each sample.
+   *
+   * @return the determinizer
+   */
+  public Determinizer getDeterminizer() {
+    return determinizer;
+  }
+
+  /**
+   * Returns the card table the search's moves refer to.
+   *
+   * @return the card table
+   */
+  public CardTable getCardTable() {
+    return determinizer.getCardTable();
+  }
+
+  /**
+   * Searches for the best move of the player to move. Samples are taken until the sample budget
+   * or the time budget runs out, whichever comes first; a sample cut short by the clock is
+   * dropped so every move is averaged over the same deals. At least one sample is always
+   * completed, if need be at depth 1.
+   *
+   * <p>The result's score is the best mean score and its node count is the number of samples
+   * averaged.</p>
+   *
+   * @param model the game as the player to move sees it
+   * @param samples the most deals to average over
+   * @param depth how many moves to look ahead in each deal
+   * @param budgetMillis how long to search, in milliseconds
+   * @param random source of the deals
+   * @return the best move found
+   * @throws IllegalArgumentException if the game is over or samples or depth is not positive
+   */
+  public SearchResult search(ReadOnlySanguineModel model, int samples, int depth,
+                             long budgetMillis, SplittableRandom random) {
+    return search(model, null, samples, depth, budgetMillis, random);
+  }
+
+  /**
+   * Searches like {@link #search(ReadOnlySanguineModel, int, int, long, SplittableRandom)},
+   * dealing the opponent's cards from a tracker instead of working them out from the board.
+   *
+   * @param model the game as the player to move sees it
+   * @param beliefs an up-to-date tracker of the opponent of the player to move, made by this
+   *                search's determinizer, or null
+   * @param samples the most deals to average over
+   * @param depth how many moves to look ahead in each deal
+   * @param budgetMillis how long to search, in milliseconds
+   * @param random source of the deals
+   * @return the best move found
+   * @throws IllegalArgumentException if the game is over or samples or depth is not positive
+   */
+  public SearchResult search(ReadOnlySanguineModel model, BeliefTracker beliefs, int samples,
+                             int depth, long budgetMillis, SplittableRandom random) {
+    return search(model, beliefs, samples, depth, budgetMillis, random, () -> false);
+  }
+
+  /**
+   * Searches like {@link #search(ReadOnlySanguineModel, BeliefTracker, int, int, long,
+   * SplittableRandom)}, but also stops once a condition becomes true, as if the time budget
+   * had run out. The condition is checked before each root move of each sample.
+   *
+   * @param model the game as the player to move sees it
+   * @param beliefs an up-to-date tracker of the opponent of the player to move, made by this
+   *                search's determinizer, or null
+   * @param samples the most deals to average over
+   * @param depth how many moves to look ahead in each deal
+   * @param budgetMillis how long to search, in milliseconds
+   * @param random source of the deals
+   * @param stopped polled during the search; the search stops once it returns true
+   * @return the best move found
+   * @throws IllegalArgumentException if the game is over or samples or depth is not positive
+   */
+  public SearchResult search(ReadOnlySanguineModel model, BeliefTracker beliefs, int samples,
+                             int depth, long budgetMillis, SplittableRandom random,
+                             BooleanSupplier stopped) {
+    return search(model, beliefs, samples, depth, budgetMillis, random, stopped, result -> {});
+  }
+
+  /**
+   * Searches like {@link #search(ReadOnlySanguineModel, BeliefTracker, int, int, long,
+   * SplittableRandom, BooleanSupplier)}, reporting the move with the best mean score so far
+   * after each completed sample. Reports arrive on the calling thread and should be handled
+   * quickly.
+   *
+   * @param model the game as the player to move sees it
+   * @param beliefs an up-to-date tracker of the opponent of the player to move, made by this
+   *                search's determinizer, or null
+   * @param samples the most deals to average over
+   * @param depth how many moves to look ahead in each deal
+   * @param budgetMillis how long to search, in milliseconds
+   * @param random source of the deals
+   * @param stopped polled during the search; the search stops once it returns true
+   * @param progress receives the result so far after each sample
+   * @return the best move found
+   * @throws IllegalArgumentException if the game is over or samples or depth is not positive
+   */
+  public SearchResult search(ReadOnlySanguineModel model, BeliefTracker beliefs, int samples,
+                             int depth, long budgetMillis, SplittableRandom random,
+                             BooleanSupplier stopped, Consumer<SearchResult> progress) {
+    if (model.isGameOver()) {
+      throw new IllegalArgumentException("Game is already over");
+    }
+    if (samples <= 0 || depth <= 0) {
+      throw new IllegalArgumentException("Samples and depth must be positive");
+    }
+    long deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+    PlayerColor player = model.getCurrentPlayer();
+    Dealer dealer = determinizer.dealer(model, player, beliefs, depth);
+    BitboardEngine first = dealer.deal(random);
+    MoveList moves = rootMoves(first);
+    long[] totals = new long[moves.size()];
+    int completed = 0;
+    BitboardEngine deal = first;
+    while (completed < samples) {
+      if (!scoreAll(deal, moves, depth, deadline, stopped, totals)) {
+        break;
+      }
+      completed++;
+      progress.accept(best(moves, totals, completed, depth, model.getCols()));
+      if (completed < samples) {
+        deal = dealer.deal(random);
+      }
+    }
+    if (completed == 0) {
+      scoreAll(first, moves, 1, Long.MAX_VALUE, () -> false, totals);
+      completed = 1;
+    }
+    return best(moves, totals, completed, depth, model.getCols());
+  }
+
+  /**
+   * Returns the move with the best total score, scored by its mean over the completed samples.
+   */
+  private static SearchResult best(MoveList moves, long[] totals, int completed, int depth,
+                                   int cols) {
+    int best = 0;
+    for (int i = 1; i < moves.size(); i++) {
+      if (totals[i] > totals[best]) {
+        best = i;
+      }
+    }
+    return new SearchResult(moves.get(best), cols, (int) (totals[best] / completed), depth,
+        completed);
+  }
+
+  /**
+   * Adds the score of every root move in one deal to the totals, or leaves the totals alone
+   * and returns false if the deadline passes or the search is stopped first. The deal's table
+   * keys are salted with the cards each player can draw in the search, which is half the
+   * depth, rounded up, since each player moves every other ply.
+   */
+  private boolean scoreAll(BitboardEngine deal, MoveList moves, int depth, long deadline,
+                           BooleanSupplier stopped, long[] totals) {
+    long salt = deal.getDrawHash((depth + 1) / 2);
+    PlayerColor player = deal.getCurrentPlayer();
+    int[] scores = new int[moves.size()];
+    for (int i = 0; i < moves.size(); i++) {
+      if (System.nanoTime() > deadline || stopped.getAsBoolean()) {
+        return false;
+      }
+      MoveList.play(deal, moves.get(i));
+      int score = search.score(deal, player.opposite(), depth - 1, deadline, salt);
+      deal.undo();
+      if (score == AlphaBetaSearch.ABORTED) {
+        return false;
+      }
+      scores[i] = -score;
+    }
+    for (int i = 0; i < moves.size(); i++) {
+      totals[i] += scores[i];
+    }
+    return true;
+  }
+
+  /**
+   * Lists every distinct legal move of the player to move, passing last. The player's own hand
+   * is the same in every deal, so so is this list.
+   */
+  private static MoveList rootMoves(BitboardEngine engine) {
+    MoveList moves = new MoveList();
+    moves.generate(engine);
+    moves.add(MoveList.PASS);
+    return moves;
+  }
+}
@@ -0,0 +1,41 @@
+package sanguine.search;
+
+/**
+ * The terms of a {@link FeatureEvaluator}. Every feature is measured from one player's point
+ * of view as their figure minus their opponent's, so it changes sign with the player.
+ */
+public enum Feature {
+  /**
+   * Total scores: the row scores of the rows each player wins.
+   */
+  SCORE,
+  /**
+   * Row scores summed over every row, won or not.
+   */
+  ROW_MARGIN,
+  /**
+   * Number of rows won.
+   */
+  ROWS_WON,
+  /**
+   * Number of rows the player does not lead but could take with the most valuable card in
+   * their hand.
+   */
+  CONTESTED_ROWS,
+  /**
+   * Pawns on the board.
+   */
+  PAWNS,
+  /**
+   * Cells holding at least one of the player's pawns.
+   */
+  PAWN_CELLS,
+  /**
+   * Cells holding three of the player's pawns, where any card can be placed.
+   */
+  PAWN_STACKS,
+  /**
+   * Placements available: for each card in hand, the cells with enough pawns to pay for it.
+   */
+  MOBILITY
+}
@@ -0,0 +1,212 @@
+package sanguine.search;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.CardTable;
+import sanguine.model.PlayerColor;
+
+/**
+ * Linear evaluation of a position: a weighted sum of {@link Feature}s. Every feature is read
+ * from state the {@link BitboardEngine} already keeps up to date as moves are made and taken
+ * back, namely its row scores and its counts of cells holding one, two and three pawns, so an
+ * evaluation costs one pass over the rows and the two hands rather than a walk of the board.
+ *
+ * <p>Weights files hold one {@code FEATURE=weight} line per feature, with {@code #} starting a
+ * comment. Features a file leaves out keep their default weight.</p>
+ */
+public final class FeatureEvaluator {
+
+  private static final Feature[] FEATURES = Feature.values();
+
+  private final int[] weights;
+  // INVARIANT: weights[feature.ordinal()] is the weight of feature
+
+  /**
+   * Creates an evaluator.
+   *
+   * @param weights one weight per feature, indexed by {@link Feature#ordinal()}
+   * @throws IllegalArgumentException if the number of weights does not match the features
+   */
+  public FeatureEvaluator(int[] weights) {
+    if (weights == null || weights.length != FEATURES.length) {
+      throw new IllegalArgumentException("Expected " + FEATURES.length + " weights");
+    }
+    this.weights = weights.clone();
+  }
+
+  /**
+   * Creates the evaluator the search has always used: total scores scaled up, with pawns on
+   * the board breaking ties.
+   *
+   * @return the default evaluator
+   */
+  public static FeatureEvaluator defaults() {
+    int[] weights = new int[FEATURES.length];
+    weights[Feature.SCORE.ordinal()] = 16;
+    weights[Feature.PAWNS.ordinal()] = 1;
+    return new FeatureEvaluator(weights);
+  }
+
+  /**
+   * Reads an evaluator from a weights file.
+   *
+   * @param file the weights file
+   * @return the evaluator
+   * @throws IOException if the file cannot be read
+   * @throws IllegalArgumentException if the file names an unknown feature or a weight is not
+   *                                  an integer
+   */
+  public static FeatureEvaluator load(Path file) throws IOException {
+    Properties properties = new Properties();
+    try (BufferedReader reader = Files.newBufferedReader(file)) {
+      properties.load(reader);
+    }
+    int[] weights = defaults().weights;
+    for (String name : properties.stringPropertyNames()) {
+      Feature feature = Feature.valueOf(name.trim());
+      weights[feature.ordinal()] = Integer.parseInt(properties.getProperty(name).trim());
+    }
+    return new FeatureEvaluator(weights);
+  }
+
+  /**
+   * Writes this evaluator's weights to a file, one feature per line.
+   *
+   * @param file the weights file
+   * @throws IOException if the file cannot be written
+   */
+  public void save(Path file) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+      for (Feature feature : FEATURES) {
+        writer.write(feature.name() + "=" + weights[feature.ordinal()]);
+        writer.newLine();
+      }
+    }
+  }
+
+  /**
+   * Returns the weight of a feature.
+   *
+   * @param feature the feature
+   * @return its weight
+   */
+  public int getWeight(Feature feature) {
+    return weights[feature.ordinal()];
+  }
+
+  /**
+   * Returns a copy of the weights, indexed by {@link Feature#ordinal()}.
+   *
+   * @return the weights
+   */
+  public int[] getWeights() {
+    return weights.clone();
+  }
+
+  /**
+   * Scores a position for a player.
+   *
+   * @param engine the position
+   * @param color the player
+   * @return the weighted sum of the features
+   */
+  public int evaluate(BitboardEngine engine, PlayerColor color) {
+    return evaluate(engine, color, new int[FEATURES.length]);
+  }
+
+  /**
+   * Scores a position for a player, measuring the features into a caller's array so that
+   * search threads do not allocate at every leaf.
+   *
+   * @param engine the position
+   * @param color the player
+   * @param features an array of one entry per feature to overwrite
+   * @return the weighted sum of the features
+   */
+  public int evaluate(BitboardEngine engine, PlayerColor color, int[] features) {
+    features(engine, color, features);
+    int score = 0;
+    for (int i = 0; i < features.length; i++) {
+      score += weights[i] * features[i];
+    }
+    return score;
+  }
+
+  /**
+   * Measures every feature of a position for a player.
+   *
+   * @param engine the position
+   * @param color the player
+   * @param out an array of one entry per feature to overwrite
+   */
+  public static void features(BitboardEngine engine, PlayerColor color, int[] out) {
+    PlayerColor opponent = color.opposite();
+    int ownReach = bestValue(engine, color);
+    int opponentReach = bestValue(engine, opponent);
+    int margin = 0;
+    int won = 0;
+    int contested = 0;
+    int score = 0;
+    for (int row = 0; row < engine.getGeometry().getRows(); row++) {
+      int own = engine.getRowScore(row, color);
+      int theirs = engine.getRowScore(row, opponent);
+      margin += own - theirs;
+      if (own > theirs) {
+        won++;
+        score += own;
+        if (own - theirs < opponentReach) {
+          contested--;
+        }
+      } else if (theirs > own) {
+        won--;
+        score -= theirs;
+        if (theirs - own < ownReach) {
+          contested++;
+        }
+      } else if (own > 0) {
+        contested += (ownReach > 0 ? 1 : 0) - (opponentReach > 0 ? 1 : 0);
+      }
+    }
+    out[Feature.SCORE.ordinal()] = score;
+    out[Feature.ROW_MARGIN.ordinal()] = margin;
+    out[Feature.ROWS_WON.ordinal()] = won;
+    out[Feature.CONTESTED_ROWS.ordinal()] = contested;
+    out[Feature.PAWNS.ordinal()] = engine.getPawnTotal(color) - engine.getPawnTotal(opponent);
+    out[Feature.PAWN_CELLS.ordinal()] = pawnCells(engine, color) - pawnCells(engine, opponent);
+    out[Feature.PAWN_STACKS.ordinal()] = engine.getPawnCells(color, 3)
+        - engine.getPawnCells(opponent, 3);
+    out[Feature.MOBILITY.ordinal()] = mobility(engine, color) - mobility(engine, opponent);
+  }
+
+  private static int pawnCells(BitboardEngine engine, PlayerColor color) {
+    return engine.getPawnCells(color, 1) + engine.getPawnCells(color, 2)
+        + engine.getPawnCells(color, 3);
+  }
+
+  private static int bestValue(BitboardEngine engine, PlayerColor color) {
+    CardTable cards = engine.getCardTable();
+    int best = 0;
+    for (int slot = 0; slot < engine.getHandSize(color); slot++) {
+      best = Math.max(best, cards.value(engine.getHandCard(color, slot)));
+    }
+    return best;
+  }
+
+  private static int mobility(BitboardEngine engine, PlayerColor color) {
+    CardTable cards = engine.getCardTable();
+    int three = engine.getPawnCells(color, 3);
+    int two = three + engine.getPawnCells(color, 2);
+    int one = two + engine.getPawnCells(color, 1);
+    int total = 0;
+    for (int slot = 0; slot < engine.getHandSize(color); slot++) {
+      int cost = cards.cost(engine.getHandCard(color, slot));
+      total += cost == 1 ? one : cost == 2 ? two : three;
+    }
+    return total;
+  }
+}
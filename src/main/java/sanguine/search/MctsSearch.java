@@ -0,0 +1,433 @@
+package sanguine.search;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.BoardGeometry;
+import sanguine.engine.CardTable;
+import sanguine.engine.MoveList;
+import sanguine.engine.OutcomeBounds;
+import sanguine.model.PlayerColor;
+
+/**
+ * Monte Carlo tree search over a {@link BitboardEngine}, with its tree held in a
+ * {@link NodePool} of fixed size. Each iteration walks down the tree by UCB1, adds the
+ * children of the leaf it reaches once that leaf has been visited before, and plays the game
+ * out with random moves until it ends or {@link OutcomeBounds} shows its winner is decided.
+ * The winner's moves along the way earn two points, a draw one.
+ *
+ * <p>The tree outlives a search. After each real move, {@link #advance} keeps the subtree of
+ * the move played and recycles the rest, so the next search starts from everything already
+ * learned about the new position. Cards drawn since may open moves the kept nodes never had,
+ * so every kept node is expanded again, keeping its children, the next time a search reaches
+ * it. When the pool fills up, the subtrees under the least visited nodes are evicted, so the
+ * heap a long match uses never grows.</p>
+ *
+ * <p>Moves are packed as by {@link MoveList}. A tree carried over to a position with a
+ * different card table has its moves renumbered to match.</p>
+ */
+public final class MctsSearch {
+
+  private static final double EXPLORATION = Math.sqrt(2);
+  private static final int CHECK_INTERVAL = 63;
+
+  private final NodePool pool;
+  private final SplittableRandom random;
+  private int root;
+  private CardTable table;
+  private OutcomeBounds bounds;
+  private int rows;
+  private long[] legal;
+  private int[] path;
+  private int[] movers;
+  private final MoveList list;
+  private boolean advanced;
+  // INVARIANT: root is -1 or a live root of pool whose moves refer to table
+
+  /**
+   * Creates a search.
+   *
+   * @param capacity the most tree nodes to keep
+   * @param seed seed for the random playouts
+   * @throws IllegalArgumentException if capacity is less than 2
+   */
+  public MctsSearch(int capacity, long seed) {
+    this.pool = new NodePool(capacity);
+    this.random = new SplittableRandom(seed);
+    this.root = -1;
+    this.path = new int[64];
+    this.movers = new int[64];
+    this.list = new MoveList();
+    this.legal = new long[0];
+  }
+
+  /**
+   * Returns the pool holding the tree.
+   *
+   * @return the node pool
+   */
+  public NodePool getPool() {
+    return pool;
+  }
+
+  /**
+   * Returns the root of the tree.
+   *
+   * @return the root node, or -1 if there is no tree
+   */
+  public int getRoot() {
+    return root;
+  }
+
+  /**
+   * Returns the card table the tree's moves refer to.
+   *
+   * @return the table, or null if there is no tree
+   */
+  public CardTable getCardTable() {
+    return table;
+  }
+
+  /**
+   * Drops the whole tree.
+   */
+  public void reset() {
+    pool.clear();
+    root = -1;
+    table = null;
+  }
+
+  /**
+   * Follows a move made in the root position, keeping the subtree under it as the new tree
+   * and recycling the rest. If the tree never tried the move, it is dropped.
+   *
+   * @param move the encoded move, with card ids from {@link #getCardTable}
+   * @return true if the subtree was kept
+   */
+  public boolean advance(int move) {
+    if (root < 0) {
+      return false;
+    }
+    for (int child = pool.getFirstChild(root); child >= 0; child = pool.getNextSibling(child)) {
+      if (pool.getMove(child) == move) {
+        pool.reroot(root, child);
+        root = child;
+        advanced = true;
+        return true;
+      }
+    }
+    reset();
+    return false;
+  }
+
+  /**
+   * Searches a position, continuing the current tree, which must be of this position. Runs
+   * until the iteration count or the time budget is used up, and at least one iteration. The
+   * engine is not changed.
+   *
+   * <p>The result's move is the most visited root move, its score the percentage of points
+   * that move earned, its depth the deepest the tree reached, and its node count the number of
+   * iterations run.</p>
+   *
+   * @param position the position to search
+   * @param iterations the most iterations to run
+   * @param budgetMillis how long to search, in milliseconds
+   * @return the chosen move
+   * @throws IllegalStateException if the game is over
+   */
+  public SearchResult search(BitboardEngine position, int iterations, long budgetMillis) {
+    return search(position, iterations, budgetMillis, () -> false);
+  }
+
+  /**
+   * Searches like {@link #search(BitboardEngine, int, long)}, but also stops, after at least
+   * one iteration, once a condition becomes true, and returns the best move found so far.
+   *
+   * @param position the position to search
+   * @param iterations the most iterations to run
+   * @param budgetMillis how long to search, in milliseconds
+   * @param stopped polled between iterations; the search stops once it returns true
+   * @return the chosen move
+   * @throws IllegalStateException if the game is over
+   */
+  public SearchResult search(BitboardEngine position, int iterations, long budgetMillis,
+                             BooleanSupplier stopped) {
+    return search(position, iterations, budgetMillis, stopped, result -> {});
+  }
+
+  /**
+   * Searches like {@link #search(BitboardEngine, int, long, BooleanSupplier)}, reporting the
+   * most visited root move so far every time the clock and the stop condition are checked.
+   * Reports arrive on the calling thread and should be handled quickly.
+   *
+   * @param position the position to search
+   * @param iterations the most iterations to run
+   * @param budgetMillis how long to search, in milliseconds
+   * @param stopped polled between iterations; the search stops once it returns true
+   * @param progress receives the result so far at each check
+   * @return the chosen move
+   * @throws IllegalStateException if the game is over
+   */
+  public SearchResult search(BitboardEngine position, int iterations, long budgetMillis,
+                             BooleanSupplier stopped, Consumer<SearchResult> progress) {
+    if (position.isGameOver()) {
+      throw new IllegalStateException("Game is already over");
+    }
+    adopt(position.getCardTable());
+    BoardGeometry geometry = position.getGeometry();
+    if (geometry.getRows() != rows || geometry.getWords() != legal.length) {
+      rows = geometry.getRows();
+      bounds = new OutcomeBounds(rows);
+      legal = new long[geometry.getWords()];
+    }
+    BitboardEngine engine = position.copy();
+    if (root < 0) {
+      root = pool.allocate(-1, 0);
+    } else if (advanced) {
+      pool.clearExpanded();
+    }
+    advanced = false;
+    long deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+    int reserve = maxMoves(engine);
+    int depth = 0;
+    int run = 0;
+    do {
+      if (pool.available() < reserve && reserve <= pool.capacity() / 4) {
+        pool.evict(root, Math.max(reserve, pool.capacity() / 4));
+      }
+      depth = Math.max(depth, iterate(engine));
+      run++;
+      if ((run & CHECK_INTERVAL) == 0) {
+        progress.accept(result(engine, depth, run));
+      }
+    } while (run < iterations && ((run & CHECK_INTERVAL) != 0
+        || (System.nanoTime() < deadline && !stopped.getAsBoolean())));
+    return result(engine, depth, run);
+  }
+
+  /**
+   * Runs one iteration and returns how deep in the tree it went.
+   */
+  private int iterate(BitboardEngine engine) {
+    int node = root;
+    int depth = 0;
+    path[0] = root;
+    while (pool.isExpanded(node) && !engine.isGameOver()) {
+      int child = select(engine, node);
+      if (child < 0) {
+        break;
+      }
+      node = descend(engine, child, ++depth);
+    }
+    if (!engine.isGameOver() && !pool.isExpanded(node)
+        && (node == root || pool.getVisits(node) > 0) && expand(engine, node)) {
+      int child = select(engine, node);
+      if (child >= 0) {
+        node = descend(engine, child, ++depth);
+      }
+    }
+    int winner = playOut(engine);
+    pool.record(root, 0);
+    for (int i = 1; i <= depth; i++) {
+      pool.record(path[i], winner < 0 ? 1 : winner == movers[i] ? 2 : 0);
+    }
+    while (engine.getPly() > 0) {
+      engine.undo();
+    }
+    return depth;
+  }
+
+  private int descend(BitboardEngine engine, int child, int depth) {
+    if (depth == path.length) {
+      path = Arrays.copyOf(path, 2 * depth);
+      movers = Arrays.copyOf(movers, 2 * depth);
+    }
+    path[depth] = child;
+    movers[depth] = engine.getCurrentPlayer().ordinal();
+    MoveList.play(engine, pool.getMove(child));
+    return child;
+  }
+
+  /**
+   * Returns the child to visit by UCB1, an unvisited one at random first, or -1 if no child's
+   * move can be played.
+   */
+  private int select(BitboardEngine engine, int node) {
+    double logVisits = Math.log(Math.max(1, pool.getVisits(node)));
+    int best = -1;
+    double bestValue = Double.NEGATIVE_INFINITY;
+    int unvisited = 0;
+    for (int child = pool.getFirstChild(node); child >= 0; child = pool.getNextSibling(child)) {
+      if (!playable(engine, pool.getMove(child))) {
+        continue;
+      }
+      int visits = pool.getVisits(child);
+      if (visits == 0) {
+        // keep one unvisited child, each with equal chance
+        if (random.nextInt(++unvisited) == 0) {
+          best = child;
+        }
+        continue;
+      }
+      if (unvisited == 0) {
+        double value = pool.getPoints(child) / (2.0 * visits)
+            + EXPLORATION * Math.sqrt(logVisits / visits);
+        if (value > bestValue) {
+          bestValue = value;
+          best = child;
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Adds a child for every move from a node that it does not have yet, such as those of a
+   * card drawn since a carried-over node was last expanded, or none if the pool has too
+   * little room.
+   */
+  private boolean expand(BitboardEngine engine, int node) {
+    list.generate(engine);
+    list.add(MoveList.PASS);
+    int missing = 0;
+    for (int i = 0; i < list.size(); i++) {
+      if (!hasChild(node, list.get(i))) {
+        list.set(missing++, list.get(i));
+      }
+    }
+    list.truncate(missing);
+    if (pool.available() < missing) {
+      return false;
+    }
+    for (int i = 0; i < missing; i++) {
+      pool.allocate(node, list.get(i));
+    }
+    pool.setExpanded(node);
+    return true;
+  }
+
+  private boolean hasChild(int node, int move) {
+    for (int child = pool.getFirstChild(node); child >= 0; child = pool.getNextSibling(child)) {
+      if (pool.getMove(child) == move) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns about the most moves a position near this one can have, for a hand a little
+   * larger than either player's now.
+   */
+  private static int maxMoves(BitboardEngine engine) {
+    BoardGeometry geometry = engine.getGeometry();
+    int hand = Math.max(engine.getHandSize(PlayerColor.RED),
+        engine.getHandSize(PlayerColor.BLUE)) + 2;
+    return hand * geometry.getRows() * geometry.getCols() + 1;
+  }
+
+  /**
+   * Plays random moves until the game ends or its winner is decided, and returns the winner's
+   * ordinal, or -1 for a draw.
+   */
+  private int playOut(BitboardEngine engine) {
+    while (!engine.isGameOver()) {
+      PlayerColor decided = bounds.compute(engine).getDecidedWinner();
+      if (decided != null) {
+        return decided.ordinal();
+      }
+      playRandom(engine);
+    }
+    PlayerColor winner = engine.getWinner();
+    return winner == null ? -1 : winner.ordinal();
+  }
+
+  /**
+   * Places a random card of the hand on a random legal cell, trying the cards in a random
+   * order, or passes if none can be placed.
+   */
+  private void playRandom(BitboardEngine engine) {
+    PlayerColor color = engine.getCurrentPlayer();
+    int hand = engine.getHandSize(color);
+    int start = hand == 0 ? 0 : random.nextInt(hand);
+    for (int i = 0; i < hand; i++) {
+      int slot = (start + i) % hand;
+      engine.legalCells(table.cost(engine.getHandCard(color, slot)), legal);
+      int cells = 0;
+      for (long word : legal) {
+        cells += Long.bitCount(word);
+      }
+      if (cells == 0) {
+        continue;
+      }
+      int bit = BoardGeometry.nextBit(legal, 0);
+      for (int skip = random.nextInt(cells); skip > 0; skip--) {
+        bit = BoardGeometry.nextBit(legal, bit + 1);
+      }
+      BoardGeometry geometry = engine.getGeometry();
+      engine.place(slot, geometry.rowOf(bit), geometry.colOf(bit));
+      return;
+    }
+    engine.pass();
+  }
+
+  private boolean playable(BitboardEngine engine, int move) {
+    if (move == MoveList.PASS) {
+      return true;
+    }
+    int slot = engine.findSlot(MoveList.cardOf(move));
+    int cols = engine.getGeometry().getCols();
+    int cell = MoveList.cellOf(move);
+    return slot >= 0 && engine.isLegal(slot, cell / cols, cell % cols);
+  }
+
+  private SearchResult result(BitboardEngine engine, int depth, int run) {
+    int best = -1;
+    for (int child = pool.getFirstChild(root); child >= 0; child = pool.getNextSibling(child)) {
+      if (playable(engine, pool.getMove(child))
+          && (best < 0 || pool.getVisits(child) > pool.getVisits(best))) {
+        best = child;
+      }
+    }
+    int cols = engine.getGeometry().getCols();
+    if (best < 0 || pool.getVisits(best) == 0) {
+      return new SearchResult(MoveList.PASS, cols, 0, depth, run);
+    }
+    return new SearchResult(pool.getMove(best), cols,
+        50 * pool.getPoints(best) / pool.getVisits(best), depth, run);
+  }
+
+  /**
+   * Makes the tree's moves refer to a new card table, dropping the tree if one of its cards
+   * is not in it.
+   */
+  private void adopt(CardTable newTable) {
+    if (newTable == table) {
+      return;
+    }
+    if (root >= 0) {
+      for (int node = 0; node < pool.capacity(); node++) {
+        int move = pool.getMove(node);
+        if (!pool.isLive(node) || node == root || move == MoveList.PASS) {
+          continue;
+        }
+        if (!newTable.contains(table.card(MoveList.cardOf(move)))) {
+          reset();
+          break;
+        }
+      }
+    }
+    if (root >= 0) {
+      for (int node = 0; node < pool.capacity(); node++) {
+        int move = pool.getMove(node);
+        if (pool.isLive(node) && node != root && move != MoveList.PASS) {
+          int card = newTable.idOf(table.card(MoveList.cardOf(move)));
+          pool.setMove(node, MoveList.encode(card, MoveList.cellOf(move)));
+        }
+      }
+    }
+    table = newTable;
+  }
+}
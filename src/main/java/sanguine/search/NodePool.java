@@ -0,0 +1,326 @@
+package sanguine.search;
+
+/**
+ * Fixed-capacity storage for the nodes of a game tree, kept in parallel primitive arrays and
+ * linked by index, so a tree of any age costs the same heap and creates no garbage. Each
+ * node holds the move that leads to it, its parent, its first child and next sibling, how
+ * often it was visited, and the points its mover earned over those visits.
+ *
+ * <p>Freed nodes go on a free list and are handed out again. When the pool runs short,
+ * {@link #evict} frees the subtrees under the least visited nodes first, keeping those nodes
+ * themselves and their statistics, so what the tree learned about the moves that matter is
+ * the last thing to go.</p>
+ */
+public final class NodePool {
+
+  private static final byte LIVE = 1;
+  private static final byte EXPANDED = 2;
+  private static final int BUCKETS = 32;
+
+  private final int capacity;
+  private final int[] moves;
+  private final int[] parents;
+  private final int[] firstChildren;
+  private final int[] nextSiblings;
+  private final int[] visits;
+  private final int[] points;
+  private final byte[] flags;
+  private final int[] stack;
+  // INVARIANT: a live node's children are linked through nextSiblings from firstChildren, and
+  // a free node's nextSiblings is the next free node
+  private int free;
+  private int size;
+
+  /**
+   * Creates a pool.
+   *
+   * @param capacity the most nodes the pool can hold
+   * @throws IllegalArgumentException if capacity is less than 2
+   */
+  public NodePool(int capacity) {
+    if (capacity < 2) {
+      throw new IllegalArgumentException("Pool must hold at least two nodes");
+    }
+    this.capacity = capacity;
+    this.moves = new int[capacity];
+    this.parents = new int[capacity];
+    this.firstChildren = new int[capacity];
+    this.nextSiblings = new int[capacity];
+    this.visits = new int[capacity];
+    this.points = new int[capacity];
+    this.flags = new byte[capacity];
+    this.stack = new int[capacity];
+    clear();
+  }
+
+  /**
+   * Frees every node.
+   */
+  public void clear() {
+    for (int node = 0; node < capacity; node++) {
+      flags[node] = 0;
+      nextSiblings[node] = node + 1 < capacity ? node + 1 : -1;
+    }
+    free = 0;
+    size = 0;
+  }
+
+  /**
+   * Returns the most nodes the pool can hold.
+   *
+   * @return the capacity
+   */
+  public int capacity() {
+    return capacity;
+  }
+
+  /**
+   * Returns the number of nodes in use.
+   *
+   * @return the live node count
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of nodes that can still be allocated.
+   *
+   * @return the free node count
+   */
+  public int available() {
+    return capacity - size;
+  }
+
+  /**
+   * Takes a node from the pool and makes it the first child of a parent.
+   *
+   * @param parent the parent node, or -1 for a root
+   * @param move the move that leads from the parent to the node
+   * @return the node, or -1 if the pool is full
+   */
+  public int allocate(int parent, int move) {
+    if (free < 0) {
+      return -1;
+    }
+    int node = free;
+    free = nextSiblings[node];
+    size++;
+    moves[node] = move;
+    parents[node] = parent;
+    firstChildren[node] = -1;
+    visits[node] = 0;
+    points[node] = 0;
+    flags[node] = LIVE;
+    if (parent >= 0) {
+      nextSiblings[node] = firstChildren[parent];
+      firstChildren[parent] = node;
+    } else {
+      nextSiblings[node] = -1;
+    }
+    return node;
+  }
+
+  /**
+   * Returns whether a node is in use.
+   *
+   * @param node the node
+   * @return true if the node is live
+   */
+  public boolean isLive(int node) {
+    return (flags[node] & LIVE) != 0;
+  }
+
+  /**
+   * Returns the move that leads to a node.
+   *
+   * @param node the node
+   * @return the encoded move
+   */
+  public int getMove(int node) {
+    return moves[node];
+  }
+
+  /**
+   * Replaces the move that leads to a node, for when moves are renumbered.
+   *
+   * @param node the node
+   * @param move the encoded move
+   */
+  public void setMove(int node, int move) {
+    moves[node] = move;
+  }
+
+  /**
+   * Returns a node's parent.
+   *
+   * @param node the node
+   * @return the parent, or -1 for a root
+   */
+  public int getParent(int node) {
+    return parents[node];
+  }
+
+  /**
+   * Returns a node's first child.
+   *
+   * @param node the node
+   * @return the first child, or -1 if there are none
+   */
+  public int getFirstChild(int node) {
+    return firstChildren[node];
+  }
+
+  /**
+   * Returns the next child of a node's parent.
+   *
+   * @param node the node
+   * @return the next sibling, or -1 if it is the last
+   */
+  public int getNextSibling(int node) {
+    return nextSiblings[node];
+  }
+
+  /**
+   * Returns whether a node's children have all been added.
+   *
+   * @param node the node
+   * @return true if the node is expanded
+   */
+  public boolean isExpanded(int node) {
+    return (flags[node] & EXPANDED) != 0;
+  }
+
+  /**
+   * Marks a node's children as all added.
+   *
+   * @param node the node
+   */
+  public void setExpanded(int node) {
+    flags[node] |= EXPANDED;
+  }
+
+  /**
+   * Marks every node as not expanded, keeping its children, so that each is expanded again,
+   * with only the moves it is missing, the next time it is reached.
+   */
+  public void clearExpanded() {
+    for (int node = 0; node < capacity; node++) {
+      flags[node] &= ~EXPANDED;
+    }
+  }
+
+  /**
+   * Returns how often a node was visited.
+   *
+   * @param node the node
+   * @return the visit count
+   */
+  public int getVisits(int node) {
+    return visits[node];
+  }
+
+  /**
+   * Returns the points the player who moved into a node earned over its visits.
+   *
+   * @param node the node
+   * @return the points
+   */
+  public int getPoints(int node) {
+    return points[node];
+  }
+
+  /**
+   * Records one visit to a node.
+   *
+   * @param node the node
+   * @param earned the points the player who moved into it earned
+   */
+  public void record(int node, int earned) {
+    visits[node]++;
+    points[node] += earned;
+  }
+
+  /**
+   * Frees every descendant of a node, leaving it a leaf to expand again.
+   *
+   * @param node the node
+   */
+  public void freeChildren(int node) {
+    int top = 0;
+    for (int child = firstChildren[node]; child >= 0; child = nextSiblings[child]) {
+      stack[top++] = child;
+    }
+    firstChildren[node] = -1;
+    flags[node] &= ~EXPANDED;
+    freeAll(top);
+  }
+
+  /**
+   * Makes a node the root, freeing the rest of the tree it was in: its old root and every
+   * node that is not its descendant.
+   *
+   * @param oldRoot the root of the tree the node is in
+   * @param newRoot the node to keep
+   */
+  public void reroot(int oldRoot, int newRoot) {
+    if (parents[newRoot] >= 0) {
+      unlink(newRoot);
+    }
+    parents[newRoot] = -1;
+    nextSiblings[newRoot] = -1;
+    if (oldRoot != newRoot) {
+      stack[0] = oldRoot;
+      freeAll(1);
+    }
+  }
+
+  /**
+   * Frees the subtrees under the least visited nodes of a tree until at least a number of
+   * nodes are free or nothing more can go. The root and the nodes themselves are kept.
+   *
+   * @param root the root of the tree
+   * @param wanted how many free nodes are needed
+   * @return the number of free nodes afterwards
+   */
+  public int evict(int root, int wanted) {
+    for (int bucket = 0; bucket < BUCKETS && available() < wanted; bucket++) {
+      for (int node = 0; node < capacity && available() < wanted; node++) {
+        if (node != root && isLive(node) && firstChildren[node] >= 0
+            && 31 - Integer.numberOfLeadingZeros(visits[node] + 1) <= bucket) {
+          freeChildren(node);
+        }
+      }
+    }
+    return available();
+  }
+
+  private void unlink(int node) {
+    int parent = parents[node];
+    if (firstChildren[parent] == node) {
+      firstChildren[parent] = nextSiblings[node];
+      return;
+    }
+    int child = firstChildren[parent];
+    while (nextSiblings[child] != node) {
+      child = nextSiblings[child];
+    }
+    nextSiblings[child] = nextSiblings[node];
+  }
+
+  /**
+   * Frees the nodes on the stack and all their descendants.
+   */
+  private void freeAll(int top) {
+    while (top > 0) {
+      int node = stack[--top];
+      for (int child = firstChildren[node]; child >= 0; child = nextSiblings[child]) {
+        stack[top++] = child;
+      }
+      flags[node] = 0;
+      nextSiblings[node] = free;
+      free = node;
+      size--;
+    }
+  }
+}
@@ -0,0 +1,295 @@
+package sanguine.search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.Symmetry;
+import sanguine.model.ReadOnlySanguineModel;
+
+/**
+ * A read-only opening book mapped straight from its file.
+ * The file is a header followed by fixed-size entries sorted by position key, one entry per
+ * move tried from that position, with how often it was played and how well it did. Nothing is
+ * read into the heap when the book is opened: a lookup is one binary search over the mapped
+ * entries, followed by a scan over the few moves of the position found.
+ *
+ * <p>Positions are stored in their canonical form, so mirror images of a position share its
+ * entries: each key is the position's canonical hash, and each cell is where the move lands
+ * once the position is redrawn by its canonical symmetry. Only the symmetries the decks of
+ * every game allowed are used, since a position alone cannot show what is left in the decks:
+ * flipping rows needs every card of both decks to read the same upside down, and swapping
+ * colours needs both players to have the same deck. The header records which they are.</p>
+ *
+ * <p>Each entry is {@link #ENTRY_BYTES} bytes: the position key, the card's
+ * {@link sanguine.engine.Zobrist#fingerprint}, the canonical cell as {@code row * cols + col}
+ * or -1 for a pass, the number of games the move was played in, the points it earned (two per
+ * win, one per draw), and the sum of its final score differences.</p>
+ */
+public final class OpeningBook {
+
+  /**
+   * First four bytes of every book file.
+   */
+  public static final int MAGIC = 0x5347424B;
+
+  /**
+   * Size of the header: magic, version, board rows and columns, the symmetries used, one bit
+   * per {@link Symmetry#ordinal()}, and entry count.
+   */
+  public static final int HEADER_BYTES = 24;
+
+  /**
+   * Size of one entry.
+   */
+  public static final int ENTRY_BYTES = 32;
+
+  static final int VERSION = 3;
+
+  private final ByteBuffer entries;
+  private final int rows;
+  private final int cols;
+  private final Set<Symmetry> symmetries;
+  private final int count;
+
+  private OpeningBook(ByteBuffer entries, int rows, int cols, Set<Symmetry> symmetries,
+                      int count) {
+    this.entries = entries;
+    this.rows = rows;
+    this.cols = cols;
+    this.symmetries = symmetries;
+    this.count = count;
+  }
+
+  /**
+   * Maps a book file into memory.
+   *
+   * @param file the book file
+   * @return the book
+   * @throws IOException if the file cannot be read
+   * @throws IllegalArgumentException if the file is not a book
+   */
+  public static OpeningBook open(Path file) throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC
+        || buffer.getInt(4) != VERSION) {
+      throw new IllegalArgumentException("Not an opening book: " + file);
+    }
+    int count = buffer.getInt(20);
+    if ((long) HEADER_BYTES + (long) count * ENTRY_BYTES > buffer.capacity()) {
+      throw new IllegalArgumentException("Truncated opening book: " + file);
+    }
+    return new OpeningBook(buffer, buffer.getInt(8), buffer.getInt(12),
+        symmetriesOf(buffer.getInt(16)), count);
+  }
+
+  /**
+   * Returns the header bits standing for some symmetries.
+   *
+   * @param symmetries the symmetries
+   * @return one bit per symmetry, by ordinal
+   */
+  static int bitsOf(Set<Symmetry> symmetries) {
+    int bits = 0;
+    for (Symmetry symmetry : symmetries) {
+      bits |= 1 << symmetry.ordinal();
+    }
+    return bits;
+  }
+
+  private static Set<Symmetry> symmetriesOf(int bits) {
+    Set<Symmetry> symmetries = EnumSet.of(Symmetry.IDENTITY);
+    for (Symmetry symmetry : Symmetry.values()) {
+      if ((bits & 1 << symmetry.ordinal()) != 0) {
+        symmetries.add(symmetry);
+      }
+    }
+    return Collections.unmodifiableSet(symmetries);
+  }
+
+  /**
+   * Returns the key a position is stored under: the hash of the position as
+   * {@link BitboardEngine#fromModel} sees it, redrawn by {@link #symmetryOf}, so it depends
+   * only on what both players can see.
+   *
+   * @param model the position
+   * @return the key
+   */
+  public long keyOf(ReadOnlySanguineModel model) {
+    BitboardEngine engine = BitboardEngine.fromModel(model);
+    return engine.getHash(symmetryOf(engine));
+  }
+
+  /**
+   * Returns the symmetry that redraws a position into the form the book stores it in.
+   *
+   * @param engine the position
+   * @return its canonical symmetry among those the book uses
+   */
+  public Symmetry symmetryOf(BitboardEngine engine) {
+    return engine.getCanonicalSymmetry(symmetries);
+  }
+
+  /**
+   * Returns the symmetries the book's positions were made canonical under.
+   *
+   * @return the symmetries, always including the identity
+   */
+  public Set<Symmetry> getSymmetries() {
+    return symmetries;
+  }
+
+  /**
+   * Returns the number of rows of the board the book was built for.
+   *
+   * @return the rows
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Returns the number of columns of the board the book was built for.
+   *
+   * @return the columns
+   */
+  public int getCols() {
+    return cols;
+  }
+
+  /**
+   * Returns the number of entries.
+   *
+   * @return the number of position and move pairs in the book
+   */
+  public int size() {
+    return count;
+  }
+
+  /**
+   * Finds the move with the best average result from a position, among the moves played at
+   * least a given number of times.
+   *
+   * @param key the position key, from {@link #keyOf}
+   * @param minPlays the fewest games a move must have been played in
+   * @return the best entry's index, or -1 if the position has no such move
+   */
+  public int best(long key, int minPlays) {
+    return best(key, minPlays, false);
+  }
+
+  /**
+   * Finds the move with the best average result from a position, like
+   * {@link #best(long, int)}, optionally leaving out passing.
+   *
+   * @param key the position key, from {@link #keyOf}
+   * @param minPlays the fewest games a move must have been played in
+   * @param placementsOnly true to consider only entries that place a card
+   * @return the best entry's index, or -1 if the position has no such move
+   */
+  public int best(long key, int minPlays, boolean placementsOnly) {
+    int index = first(key);
+    int best = -1;
+    for (; index < count && key(index) == key; index++) {
+      if (plays(index) < minPlays || (placementsOnly && cell(index) < 0)) {
+        continue;
+      }
+      // compare points per play without dividing: a / b > c / d when a * d > c * b
+      if (best < 0 || (long) points(index) * plays(best) > (long) points(best) * plays(index)) {
+        best = index;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Returns the index of the first entry with a key, or where it would be.
+   */
+  private int first(long key) {
+    int low = 0;
+    int high = count;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (key(mid) < key) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private int offset(int index) {
+    return HEADER_BYTES + index * ENTRY_BYTES;
+  }
+
+  /**
+   * Returns an entry's position key.
+   *
+   * @param index the entry index
+   * @return the key
+   */
+  public long key(int index) {
+    return entries.getLong(offset(index));
+  }
+
+  /**
+   * Returns the fingerprint of an entry's card, or 0 for a pass.
+   *
+   * @param index the entry index
+   * @return the card fingerprint
+   */
+  public long card(int index) {
+    return entries.getLong(offset(index) + 8);
+  }
+
+  /**
+   * Returns an entry's cell, {@code row * cols + col}, or -1 for a pass.
+   *
+   * @param index the entry index
+   * @return the cell
+   */
+  public int cell(int index) {
+    return entries.getInt(offset(index) + 16);
+  }
+
+  /**
+   * Returns how many games an entry's move was played in.
+   *
+   * @param index the entry index
+   * @return the play count
+   */
+  public int plays(int index) {
+    return entries.getInt(offset(index) + 20);
+  }
+
+  /**
+   * Returns the points an entry's move earned: two per win and one per draw.
+   *
+   * @param index the entry index
+   * @return the points
+   */
+  public int points(int index) {
+    return entries.getInt(offset(index) + 24);
+  }
+
+  /**
+   * Returns the sum of the final score differences, for the mover, of the games an entry's
+   * move was played in.
+   *
+   * @param index the entry index
+   * @return the score difference total
+   */
+  public int scoreSum(int index) {
+    return entries.getInt(offset(index) + 28);
+  }
+}
@@ -0,0 +1,303 @@
+package sanguine.search;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import sanguine.controller.DeckReader;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.CardTable;
+import sanguine.engine.Symmetry;
+import sanguine.engine.Zobrist;
+import sanguine.model.Card;
+import sanguine.model.PlacementEffect;
+import sanguine.model.PlayerColor;
+import sanguine.model.SanguineModelImpl;
+
+/**
+ * Builds an {@link OpeningBook} by self-play. Both sides mostly play the placement that leaves
+ * them furthest ahead in total score, and now and then a random legal move so the book covers
+ * more than one line. Every move in the first plies of each game is recorded with the game's
+ * result for the player who made it.
+ */
+public final class OpeningBookBuilder {
+
+  private final int plies;
+  private final double exploration;
+  private final SplittableRandom random;
+  private final Map<Stat, Stat> stats;
+  private final Set<Symmetry> symmetries;
+  // INVARIANT: symmetries holds those that suit the decks of every game played, so it only
+  // shrinks, and every key was made canonical under it
+  private int rows;
+  private int cols;
+
+  /**
+   * Creates a builder.
+   *
+   * @param plies how many moves at the start of each game to record
+   * @param exploration the chance of playing a random legal move instead of the greedy one
+   * @param seed seed for the random moves
+   * @throws IllegalArgumentException if plies is not positive or exploration is not in [0, 1]
+   */
+  public OpeningBookBuilder(int plies, double exploration, long seed) {
+    if (plies <= 0) {
+      throw new IllegalArgumentException("Plies must be positive");
+    }
+    if (exploration < 0 || exploration > 1) {
+      throw new IllegalArgumentException("Exploration must be within 0 and 1");
+    }
+    this.plies = plies;
+    this.exploration = exploration;
+    this.random = new SplittableRandom(seed);
+    this.stats = new HashMap<>();
+    this.symmetries = EnumSet.allOf(Symmetry.class);
+  }
+
+  /**
+   * Plays games and records their openings.
+   *
+   * @param games number of games to play
+   * @param rows number of rows on the board
+   * @param cols number of columns on the board
+   * @param redDeck red's deck
+   * @param blueDeck blue's deck
+   * @param handSize starting hand size
+   * @throws IllegalArgumentException if the board differs from that of earlier games, or
+   *                                  the decks break a symmetry that earlier games were
+   *                                  recorded under
+   */
+  public void play(int games, int rows, int cols, List<Card> redDeck, List<Card> blueDeck,
+                   int handSize) {
+    if (!stats.isEmpty() && (rows != this.rows || cols != this.cols)) {
+      throw new IllegalArgumentException("Every game in a book must use the same board");
+    }
+    Set<Symmetry> allowed = symmetriesOf(redDeck, blueDeck);
+    if (!allowed.containsAll(symmetries)) {
+      if (!stats.isEmpty()) {
+        throw new IllegalArgumentException("Every game in a book must allow the same symmetries");
+      }
+      symmetries.retainAll(allowed);
+    }
+    this.rows = rows;
+    this.cols = cols;
+    for (int game = 0; game < games; game++) {
+      playGame(new SanguineModelImpl(rows, cols, redDeck, blueDeck, handSize));
+    }
+  }
+
+  /**
+   * Returns the symmetries that keep positions of a game between two decks equivalent, judged
+   * by the whole decks rather than the cards a position shows.
+   */
+  private static Set<Symmetry> symmetriesOf(List<Card> redDeck, List<Card> blueDeck) {
+    boolean flips = CardTable.of(redDeck, blueDeck).isVerticallySymmetric();
+    boolean swaps = redDeck.equals(blueDeck);
+    Set<Symmetry> allowed = EnumSet.noneOf(Symmetry.class);
+    for (Symmetry symmetry : Symmetry.values()) {
+      if ((flips || !symmetry.flipsRows()) && (swaps || !symmetry.swapsColors())) {
+        allowed.add(symmetry);
+      }
+    }
+    return allowed;
+  }
+
+  /**
+   * Returns the symmetries the book's positions are made canonical under so far.
+   *
+   * @return the symmetries, always including the identity
+   */
+  public Set<Symmetry> getSymmetries() {
+    return EnumSet.copyOf(symmetries);
+  }
+
+  private void playGame(SanguineModelImpl model) {
+    List<Stat> moves = new ArrayList<>();
+    List<PlayerColor> movers = new ArrayList<>();
+    while (!model.isGameOver()) {
+      PlayerColor mover = model.getCurrentPlayer();
+      Symmetry symmetry = Symmetry.IDENTITY;
+      long key = 0;
+      if (moves.size() < plies) {
+        BitboardEngine engine = BitboardEngine.fromModel(model);
+        symmetry = engine.getCanonicalSymmetry(symmetries);
+        key = engine.getHash(symmetry);
+      }
+      int[] move = chooseMove(model, mover);
+      Stat stat;
+      if (move == null) {
+        stat = new Stat(key, 0, -1);
+        model.pass();
+      } else {
+        Card card = model.getPlayerHand(mover).get(move[0]);
+        stat = new Stat(key, Zobrist.fingerprint(card),
+            symmetry.row(move[1], rows) * cols + symmetry.col(move[2], cols));
+        model.placeCard(move[0], move[1], move[2]);
+      }
+      if (moves.size() < plies) {
+        moves.add(stats.computeIfAbsent(stat, s -> s));
+        movers.add(mover);
+      }
+    }
+    for (int i = 0; i < moves.size(); i++) {
+      PlayerColor mover = movers.get(i);
+      int diff = model.getTotalScore(mover) - model.getTotalScore(mover.opposite());
+      Stat stat = moves.get(i);
+      stat.plays++;
+      stat.points += diff > 0 ? 2 : diff == 0 ? 1 : 0;
+      stat.scoreSum += diff;
+    }
+  }
+
+  /**
+   * Returns {card index, row, col}, or null to pass.
+   */
+  private int[] chooseMove(SanguineModelImpl model, PlayerColor mover) {
+    boolean explore = random.nextDouble() < exploration;
+    int[] best = null;
+    int bestScore = Integer.MIN_VALUE;
+    int ties = 0;
+    for (int card = 0; card < model.getCurrentHandSize(); card++) {
+      for (int row = 0; row < rows; row++) {
+        for (int col = 0; col < cols; col++) {
+          if (!model.isLegalMove(card, row, col)) {
+            continue;
+          }
+          int score = 0;
+          if (!explore) {
+            PlacementEffect effect = model.evaluatePlacement(card, row, col);
+            score = effect.getTotalScore(mover) - effect.getTotalScore(mover.opposite());
+          }
+          // keep one of the best moves, each with equal chance
+          if (score > bestScore) {
+            bestScore = score;
+            ties = 1;
+            best = new int[] {card, row, col};
+          } else if (score == bestScore && random.nextInt(++ties) == 0) {
+            best = new int[] {card, row, col};
+          }
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Returns the number of distinct position and move pairs recorded so far.
+   *
+   * @return the entry count the book would have
+   */
+  public int size() {
+    return stats.size();
+  }
+
+  /**
+   * Writes the book, sorted by position key. The file is written beside the target and moved
+   * into place, so readers never see half a book.
+   *
+   * @param file the book file
+   * @throws IOException if the file cannot be written
+   */
+  public void write(Path file) throws IOException {
+    List<Stat> sorted = new ArrayList<>(stats.values());
+    sorted.sort(Comparator.comparingLong((Stat s) -> s.key)
+        .thenComparing(Comparator.comparingInt((Stat s) -> s.plays).reversed()));
+    Path absolute = file.toAbsolutePath();
+    Path temp = Files.createTempFile(absolute.getParent(), "book", ".tmp");
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(temp)))) {
+      out.writeInt(OpeningBook.MAGIC);
+      out.writeInt(OpeningBook.VERSION);
+      out.writeInt(rows);
+      out.writeInt(cols);
+      out.writeInt(OpeningBook.bitsOf(symmetries));
+      out.writeInt(sorted.size());
+      for (Stat stat : sorted) {
+        out.writeLong(stat.key);
+        out.writeLong(stat.card);
+        out.writeInt(stat.cell);
+        out.writeInt(stat.plays);
+        out.writeInt(stat.points);
+        out.writeInt(stat.scoreSum);
+      }
+    }
+    Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Builds a book from the command line.
+   *
+   * @param args command line arguments
+   *      [0] number of rows
+   *      [1] number of columns
+   *      [2] path to Red's deck file
+   *      [3] path to Blue's deck file
+   *      [4] number of games to play
+   *      [5] number of moves to record at the start of each game
+   *      [6] path of the book file to write
+   *      [7] optional random seed
+   */
+  public static void main(String[] args) {
+    if (args.length != 7 && args.length != 8) {
+      System.err.println("Usage: java sanguine.search.OpeningBookBuilder <rows> <cols> "
+          + "<redDeck> <blueDeck> <games> <plies> <bookFile> [seed]");
+      System.exit(1);
+    }
+    try {
+      long seed = args.length == 8 ? Long.parseLong(args[7]) : System.nanoTime();
+      OpeningBookBuilder builder = new OpeningBookBuilder(Integer.parseInt(args[5]), 0.2, seed);
+      builder.play(Integer.parseInt(args[4]), Integer.parseInt(args[0]),
+          Integer.parseInt(args[1]), DeckReader.readDeck(args[2]), DeckReader.readDeck(args[3]),
+          5);
+      builder.write(Paths.get(args[6]));
+      System.out.println("Wrote " + builder.size() + " entries to " + args[6]);
+    } catch (Exception e) {
+      System.err.println("Error building book: " + e.getMessage());
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Statistics for one move from one position. Equal when the position and move are.
+   */
+  private static final class Stat {
+    private final long key;
+    private final long card;
+    private final int cell;
+    private int plays;
+    private int points;
+    private int scoreSum;
+
+    Stat(long key, long card, int cell) {
+      this.key = key;
+      this.card = card;
+      this.cell = cell;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Stat)) {
+        return false;
+      }
+      Stat other = (Stat) o;
+      return key == other.key && card == other.card && cell == other.cell;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(key * 31 + card) * 31 + cell;
+    }
+  }
+}
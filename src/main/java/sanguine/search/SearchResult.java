@@ -0,0 +1,106 @@
+package sanguine.search;
+
+import sanguine.engine.MoveList;
+
+/**
+ * The outcome of a search: the move it settled on, that move's score, and how much work the
+ * search did.
+ */
+public final class SearchResult {
+
+  private final int move;
+  private final int cols;
+  private final int score;
+  private final int depth;
+  private final long nodes;
+
+  /**
+   * Creates a search result.
+   *
+   * @param move the chosen move, encoded as by {@link MoveList#encode}, or
+   *             {@link MoveList#PASS}
+   * @param cols number of columns on the board, to decode the move's cell
+   * @param score the move's score for the player to move
+   * @param depth the deepest fully searched depth
+   * @param nodes the number of positions visited
+   */
+  public SearchResult(int move, int cols, int score, int depth, long nodes) {
+    this.move = move;
+    this.cols = cols;
+    this.score = score;
+    this.depth = depth;
+    this.nodes = nodes;
+  }
+
+  /**
+   * Returns the chosen move in encoded form.
+   *
+   * @return the encoded move
+   */
+  public int getMove() {
+    return move;
+  }
+
+  /**
+   * Returns whether the search chose to pass.
+   *
+   * @return true for a pass
+   */
+  public boolean isPass() {
+    return move == MoveList.PASS;
+  }
+
+  /**
+   * Returns the card id of the chosen placement.
+   *
+   * @return the card id
+   */
+  public int getCard() {
+    return MoveList.cardOf(move);
+  }
+
+  /**
+   * Returns the row of the chosen placement.
+   *
+   * @return the row
+   */
+  public int getRow() {
+    return MoveList.cellOf(move) / cols;
+  }
+
+  /**
+   * Returns the column of the chosen placement.
+   *
+   * @return the column
+   */
+  public int getCol() {
+    return MoveList.cellOf(move) % cols;
+  }
+
+  /**
+   * Returns the score of the chosen move for the player to move.
+   *
+   * @return the score
+   */
+  public int getScore() {
+    return score;
+  }
+
+  /**
+   * Returns the deepest depth searched to completion.
+   *
+   * @return the depth
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Returns the number of positions visited by all threads.
+   *
+   * @return the node count
+   */
+  public long getNodes() {
+    return nodes;
+  }
+}
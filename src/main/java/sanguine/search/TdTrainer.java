@@ -0,0 +1,268 @@
+package sanguine.search;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import sanguine.controller.DeckReader;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.MoveList;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+
+/**
+ * Learns {@link FeatureEvaluator} weights by TD(lambda) from self-play. The value of a position
+ * for a player is {@code tanh(w . f / 16)} over the {@link Feature}s, which are antisymmetric, so
+ * one set of weights values both sides. Each game is played by the current weights looking one
+ * move ahead, with a random legal move now and then, and after every move the weights are
+ * moved towards the value of the next position, or the result once the game is over.
+ *
+ * <p>Because the value is monotonic in the weighted sum, the learned weights rank positions the
+ * same way as an integer {@link FeatureEvaluator} with the weights scaled up, which is what
+ * {@link #toEvaluator()} returns for use inside search.</p>
+ */
+public final class TdTrainer {
+
+  private static final double INPUT_SCALE = 1.0 / 16;
+  private static final int MAX_WEIGHT = 64;
+  private static final Feature[] FEATURES = Feature.values();
+
+  private final int rows;
+  private final int cols;
+  private final List<Card> redDeck;
+  private final List<Card> blueDeck;
+  private final int handSize;
+  private final double lambda;
+  private final SplittableRandom random;
+  private final double[] weights;
+  private final double[] traces;
+  private final double[] inputs;
+  private final int[] features;
+  private final MoveList moves;
+  private int games;
+
+  /**
+   * Creates a trainer whose weights start from the default evaluation.
+   *
+   * @param rows number of rows on the board
+   * @param cols number of columns on the board
+   * @param redDeck red's cards, shuffled for every game
+   * @param blueDeck blue's cards, shuffled for every game
+   * @param handSize starting hand size
+   * @param lambda how far back each result is credited, from 0 to 1
+   * @param seed seed for the deals and exploration
+   * @throws IllegalArgumentException if lambda is not in [0, 1] or the game cannot be set up
+   *                                  with these decks
+   */
+  public TdTrainer(int rows, int cols, List<Card> redDeck, List<Card> blueDeck, int handSize,
+                   double lambda, long seed) {
+    if (lambda < 0 || lambda > 1) {
+      throw new IllegalArgumentException("Lambda must be within 0 and 1");
+    }
+    // fails early if the game cannot be set up with these decks
+    BitboardEngine.initial(rows, cols, redDeck, blueDeck, handSize);
+    this.rows = rows;
+    this.cols = cols;
+    this.redDeck = new ArrayList<>(redDeck);
+    this.blueDeck = new ArrayList<>(blueDeck);
+    this.handSize = handSize;
+    this.lambda = lambda;
+    this.random = new SplittableRandom(seed);
+    this.weights = new double[FEATURES.length];
+    int[] defaults = FeatureEvaluator.defaults().getWeights();
+    for (int i = 0; i < defaults.length; i++) {
+      weights[i] = defaults[i] / 64.0;
+    }
+    this.traces = new double[FEATURES.length];
+    this.inputs = new double[FEATURES.length];
+    this.features = new int[FEATURES.length];
+    this.moves = new MoveList();
+  }
+
+  /**
+   * Returns the number of games trained on.
+   *
+   * @return the game count
+   */
+  public int getGames() {
+    return games;
+  }
+
+  /**
+   * Returns the learned weights, indexed by {@link Feature#ordinal()}.
+   *
+   * @return a copy of the weights
+   */
+  public double[] getWeights() {
+    return weights.clone();
+  }
+
+  /**
+   * Returns the learned value of a position for a player.
+   *
+   * @param engine the position
+   * @param color the player
+   * @return the expected result, from -1 for a loss to 1 for a win
+   */
+  public double value(BitboardEngine engine, PlayerColor color) {
+    FeatureEvaluator.features(engine, color, features);
+    double sum = 0;
+    for (int i = 0; i < features.length; i++) {
+      inputs[i] = features[i] * INPUT_SCALE;
+      sum += weights[i] * inputs[i];
+    }
+    return Math.tanh(sum);
+  }
+
+  /**
+   * Returns an integer evaluator that ranks positions as the learned weights do, scaled so the
+   * largest weight is {@value #MAX_WEIGHT}.
+   *
+   * @return the evaluator
+   */
+  public FeatureEvaluator toEvaluator() {
+    double largest = 0;
+    for (double weight : weights) {
+      largest = Math.max(largest, Math.abs(weight));
+    }
+    if (largest == 0) {
+      return FeatureEvaluator.defaults();
+    }
+    int[] scaled = new int[weights.length];
+    for (int i = 0; i < weights.length; i++) {
+      scaled[i] = (int) Math.round(weights[i] * MAX_WEIGHT / largest);
+    }
+    return new FeatureEvaluator(scaled);
+  }
+
+  /**
+   * Plays and learns from a number of games.
+   *
+   * @param count number of games
+   * @param learningRate how far each update moves the weights
+   * @param exploration the chance of playing a random legal move instead of the best one
+   * @throws IllegalArgumentException if the learning rate is not positive or exploration is
+   *                                  not in [0, 1]
+   */
+  public void train(int count, double learningRate, double exploration) {
+    if (learningRate <= 0) {
+      throw new IllegalArgumentException("Learning rate must be positive");
+    }
+    if (exploration < 0 || exploration > 1) {
+      throw new IllegalArgumentException("Exploration must be within 0 and 1");
+    }
+    for (int game = 0; game < count; game++) {
+      trainGame(learningRate, exploration);
+      games++;
+    }
+  }
+
+  private void trainGame(double learningRate, double exploration) {
+    Random shuffle = new Random(random.nextLong());
+    List<Card> red = new ArrayList<>(redDeck);
+    List<Card> blue = new ArrayList<>(blueDeck);
+    Collections.shuffle(red, shuffle);
+    Collections.shuffle(blue, shuffle);
+    BitboardEngine engine = BitboardEngine.initial(rows, cols, red, blue, handSize);
+    Arrays.fill(traces, 0);
+    double current = value(engine, PlayerColor.RED);
+    while (!engine.isGameOver()) {
+      for (int i = 0; i < traces.length; i++) {
+        traces[i] = lambda * traces[i] + (1 - current * current) * inputs[i];
+      }
+      playMove(engine, exploration);
+      double next = engine.isGameOver() ? result(engine, PlayerColor.RED)
+          : value(engine, PlayerColor.RED);
+      double error = next - current;
+      for (int i = 0; i < weights.length; i++) {
+        weights[i] += learningRate * error * traces[i];
+      }
+      current = next;
+    }
+  }
+
+  private static double result(BitboardEngine engine, PlayerColor color) {
+    PlayerColor winner = engine.getWinner();
+    if (winner == null) {
+      return 0;
+    }
+    return winner == color ? 1 : -1;
+  }
+
+  /**
+   * Plays the move that leaves the mover the best learned value, or with the given chance a
+   * random one, counting a pass as a move.
+   */
+  private void playMove(BitboardEngine engine, double exploration) {
+    PlayerColor mover = engine.getCurrentPlayer();
+    boolean explore = random.nextDouble() < exploration;
+    int count = moves.generate(engine);
+    double bestValue = Double.NEGATIVE_INFINITY;
+    int bestMove = MoveList.PASS;
+    for (int i = 0; i < count; i++) {
+      int move = moves.get(i);
+      if (explore) {
+        if (random.nextInt(i + 1) == 0) {
+          bestMove = move;
+        }
+        continue;
+      }
+      MoveList.play(engine, move);
+      double score = engine.isGameOver() ? result(engine, mover) : value(engine, mover);
+      engine.undo();
+      if (score > bestValue) {
+        bestValue = score;
+        bestMove = move;
+      }
+    }
+    if (!explore && count > 0) {
+      engine.pass();
+      double passValue = engine.isGameOver() ? result(engine, mover) : value(engine, mover);
+      engine.undo();
+      if (passValue > bestValue) {
+        bestMove = MoveList.PASS;
+      }
+    }
+    MoveList.play(engine, bestMove);
+  }
+
+  /**
+   * Trains weights from the command line and writes them as a weights file for
+   * {@link FeatureEvaluator#load}.
+   *
+   * @param args command line arguments
+   *      [0] number of rows
+   *      [1] number of columns
+   *      [2] path to Red's deck file
+   *      [3] path to Blue's deck file
+   *      [4] number of games to play
+   *      [5] path of the weights file to write
+   *      [6] optional random seed
+   */
+  public static void main(String[] args) {
+    if (args.length != 6 && args.length != 7) {
+      System.err.println("Usage: java sanguine.search.TdTrainer <rows> <cols> <redDeck> "
+          + "<blueDeck> <games> <weightsFile> [seed]");
+      System.exit(1);
+    }
+    try {
+      long seed = args.length == 7 ? Long.parseLong(args[6]) : System.nanoTime();
+      TdTrainer trainer = new TdTrainer(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+          DeckReader.readDeck(args[2]), DeckReader.readDeck(args[3]), 5, 0.7, seed);
+      int total = Integer.parseInt(args[4]);
+      while (trainer.getGames() < total) {
+        trainer.train(Math.min(1000, total - trainer.getGames()), 0.01, 0.1);
+        trainer.toEvaluator().save(Paths.get(args[5]));
+        System.out.println("Games " + trainer.getGames() + ": weights "
+            + Arrays.toString(trainer.toEvaluator().getWeights()));
+      }
+    } catch (Exception e) {
+      System.err.println("Error training weights: " + e.getMessage());
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+}
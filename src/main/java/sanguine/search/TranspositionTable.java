@@ -0,0 +1,165 @@
+package sanguine.search;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free transposition table shared by search threads.
+ * Each entry is two longs: the packed data, and the position hash xored with that data.
+ * Writers store both words without locking, so a reader racing a writer may see one word from
+ * each write; such torn entries fail the xor check and are treated as misses. Entries are
+ * replaced when the new result searched at least as deep, belongs to the same position, or the
+ * old one is from an earlier search.
+ *
+ * <p>The data word packs the best move (24 bits), the score (16 bits), the remaining depth
+ * (8 bits), the bound type (2 bits) and the search generation (6 bits).</p>
+ */
+public final class TranspositionTable {
+
+  /**
+   * Bound type of a score that is exact.
+   */
+  public static final int EXACT = 1;
+
+  /**
+   * Bound type of a score that is at least the true value (the search failed high).
+   */
+  public static final int LOWER = 2;
+
+  /**
+   * Bound type of a score that is at most the true value (the search failed low).
+   */
+  public static final int UPPER = 3;
+
+  private final AtomicLongArray slots;
+  private final int mask;
+  private volatile int generation;
+
+  /**
+   * Creates a table with room for at least the given number of entries, rounded up to a power
+   * of two.
+   *
+   * @param entries the minimum number of entries
+   * @throws IllegalArgumentException if entries is not positive or too large
+   */
+  public TranspositionTable(int entries) {
+    if (entries <= 0 || entries > 1 << 28) {
+      throw new IllegalArgumentException("Table size must be between 1 and 2^28 entries");
+    }
+    int size = Integer.highestOneBit(entries);
+    if (size < entries) {
+      size <<= 1;
+    }
+    this.slots = new AtomicLongArray(2 * size);
+    this.mask = size - 1;
+  }
+
+  /**
+   * Returns the number of entries.
+   *
+   * @return the capacity
+   */
+  public int capacity() {
+    return mask + 1;
+  }
+
+  /**
+   * Starts a new search generation, so that entries from earlier searches are replaced first.
+   */
+  public void newSearch() {
+    generation = (generation + 1) & 63;
+  }
+
+  /**
+   * Removes every entry.
+   */
+  public void clear() {
+    for (int i = 0; i < slots.length(); i++) {
+      slots.setOpaque(i, 0L);
+    }
+  }
+
+  /**
+   * Looks up a position.
+   *
+   * @param key the position hash
+   * @return the packed data word, or 0 if the position is not stored
+   */
+  public long probe(long key) {
+    int index = 2 * ((int) key & mask);
+    long data = slots.getOpaque(index);
+    long check = slots.getOpaque(index + 1);
+    return data != 0 && (check ^ data) == key ? data : 0L;
+  }
+
+  /**
+   * Stores a search result.
+   *
+   * @param key the position hash
+   * @param move the best move found, as a non-negative value below 2^24, or 0 for none
+   * @param score the score, within the range of a short
+   * @param depth the remaining depth searched, from 0 to 255
+   * @param bound {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+   */
+  public void store(long key, int move, int score, int depth, int bound) {
+    int index = 2 * ((int) key & mask);
+    long old = slots.getOpaque(index);
+    boolean sameKey = old != 0 && (slots.getOpaque(index + 1) ^ old) == key;
+    if (old != 0 && !sameKey && depth(old) > depth && generation(old) == generation) {
+      return;
+    }
+    if (sameKey && move == 0) {
+      move = move(old);
+    }
+    long data = (move & 0xFFFFFFL)
+        | (score & 0xFFFFL) << 24
+        | (long) (depth & 0xFF) << 40
+        | (long) bound << 48
+        | (long) generation << 50;
+    slots.setOpaque(index, data);
+    slots.setOpaque(index + 1, key ^ data);
+  }
+
+  /**
+   * Returns the best move of a data word.
+   *
+   * @param data a word returned by {@link #probe}
+   * @return the move, or 0 for none
+   */
+  public static int move(long data) {
+    return (int) (data & 0xFFFFFF);
+  }
+
+  /**
+   * Returns the score of a data word.
+   *
+   * @param data a word returned by {@link #probe}
+   * @return the score
+   */
+  public static int score(long data) {
+    return (short) (data >>> 24);
+  }
+
+  /**
+   * Returns the remaining depth of a data word.
+   *
+   * @param data a word returned by {@link #probe}
+   * @return the depth
+   */
+  public static int depth(long data) {
+    return (int) (data >>> 40) & 0xFF;
+  }
+
+  /**
+   * Returns the bound type of a data word.
+   *
+   * @param data a word returned by {@link #probe}
+   * @return {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+   */
+  public static int bound(long data) {
+    return (int) (data >>> 48) & 3;
+  }
+
+  private static int generation(long data) {
+    return (int) (data >>> 50) & 63;
+  }
+}
@@ -0,0 +1,337 @@
+package sanguine.search;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import sanguine.controller.DeckReader;
+import sanguine.engine.BitboardEngine;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+
+/**
+ * Tunes the weights of a {@link FeatureEvaluator} by simultaneous perturbation stochastic
+ * approximation (SPSA). Each iteration nudges every weight up or down at random, plays a match
+ * between the two opposite nudges, and moves the weights towards whichever side won, by an
+ * amount that shrinks as the iterations go on. The score weight stays fixed, since scaling
+ * every weight together does not change how a search plays.
+ *
+ * <p>A match is a batch of game pairs played on every core: both variants play each shuffled
+ * deal once as red and once as blue, searching to a fixed depth so that a game depends only on
+ * its deal. Every random choice of an iteration is derived from the seed and the iteration
+ * number, so a run resumed from a checkpoint continues exactly as if it had never stopped.</p>
+ */
+public final class WeightTuner {
+
+  private static final double PERTURBATION = 2.0;
+  private static final double STEP = 8.0;
+  private static final double STABILITY = 10.0;
+  private static final double STEP_DECAY = 0.602;
+  private static final double PERTURBATION_DECAY = 0.101;
+  private static final int TABLE_ENTRIES = 1 << 14;
+  private static final long UNLIMITED_MILLIS = 1L << 32;
+  private static final Feature[] FEATURES = Feature.values();
+
+  private final int rows;
+  private final int cols;
+  private final List<Card> redDeck;
+  private final List<Card> blueDeck;
+  private final int handSize;
+  private final int depth;
+  private final ExecutorService workers;
+  private final double[] weights;
+  // INVARIANT: weights[feature.ordinal()] is the current estimate for feature
+  private long seed;
+  private int iteration;
+
+  /**
+   * Creates a tuner starting from the default weights.
+   *
+   * @param rows number of rows on the board
+   * @param cols number of columns on the board
+   * @param redDeck red's cards, shuffled for every game pair
+   * @param blueDeck blue's cards, shuffled for every game pair
+   * @param handSize starting hand size
+   * @param depth how many moves ahead each player searches
+   * @param threads number of games to play at once
+   * @param seed seed for the perturbations and deals
+   * @throws IllegalArgumentException if the depth or thread count is not positive, or the
+   *                                  game cannot be set up with these decks
+   */
+  public WeightTuner(int rows, int cols, List<Card> redDeck, List<Card> blueDeck, int handSize,
+                     int depth, int threads, long seed) {
+    if (depth <= 0 || threads <= 0) {
+      throw new IllegalArgumentException("Depth and threads must be positive");
+    }
+    BitboardEngine.initial(rows, cols, redDeck, blueDeck, handSize);
+    this.rows = rows;
+    this.cols = cols;
+    this.redDeck = new ArrayList<>(redDeck);
+    this.blueDeck = new ArrayList<>(blueDeck);
+    this.handSize = handSize;
+    this.depth = depth;
+    this.workers = Executors.newFixedThreadPool(threads, task -> {
+      Thread thread = new Thread(task, "sanguine-tuner");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.weights = new double[FEATURES.length];
+    int[] start = FeatureEvaluator.defaults().getWeights();
+    for (int i = 0; i < start.length; i++) {
+      weights[i] = start[i];
+    }
+    this.seed = seed;
+  }
+
+  /**
+   * Returns how many iterations have been run, including those before a resume.
+   *
+   * @return the iteration count
+   */
+  public int getIteration() {
+    return iteration;
+  }
+
+  /**
+   * Returns the current weight estimates, before rounding.
+   *
+   * @return a copy of the weights, indexed by {@link Feature#ordinal()}
+   */
+  public double[] getWeights() {
+    return weights.clone();
+  }
+
+  /**
+   * Returns an evaluator with the current weights rounded to integers.
+   *
+   * @return the current evaluator
+   */
+  public FeatureEvaluator current() {
+    return evaluator(weights, 0, new int[FEATURES.length]);
+  }
+
+  /**
+   * Runs one iteration.
+   *
+   * @param pairs number of game pairs in the match between the two nudged variants
+   * @return the match result for the upward nudge, from -1 for losing every game to 1 for
+   *         winning every game
+   * @throws IllegalArgumentException if pairs is not positive
+   */
+  public double step(int pairs) {
+    if (pairs <= 0) {
+      throw new IllegalArgumentException("Pairs must be positive");
+    }
+    SplittableRandom random = new SplittableRandom(seed ^ (iteration * 0x9E3779B97F4A7C15L));
+    int[] signs = new int[FEATURES.length];
+    for (Feature feature : FEATURES) {
+      signs[feature.ordinal()] = feature == Feature.SCORE ? 0 : random.nextBoolean() ? 1 : -1;
+    }
+    double perturbation = PERTURBATION / Math.pow(iteration + 1, PERTURBATION_DECAY);
+    double step = STEP / Math.pow(iteration + 1 + STABILITY, STEP_DECAY);
+    FeatureEvaluator up = evaluator(weights, perturbation, signs);
+    FeatureEvaluator down = evaluator(weights, -perturbation, signs);
+    int points = playMatch(up, down, pairs, random.nextLong());
+    double result = (points - 2.0 * pairs) / (2.0 * pairs);
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] += step * result * signs[i] / (2 * perturbation);
+    }
+    iteration++;
+    return result;
+  }
+
+  /**
+   * Plays a match between two evaluators on shuffled deals, each deal twice with the colors
+   * swapped. A game is worth two points to its winner, or one to each player in a draw.
+   *
+   * @param first the first evaluator
+   * @param second the second evaluator
+   * @param pairs number of deals
+   * @param matchSeed seed for shuffling the deals
+   * @return the points the first evaluator scored, out of {@code 4 * pairs}
+   */
+  public int playMatch(FeatureEvaluator first, FeatureEvaluator second, int pairs,
+                       long matchSeed) {
+    SplittableRandom random = new SplittableRandom(matchSeed);
+    List<Future<Integer>> games = new ArrayList<>();
+    for (int pair = 0; pair < pairs; pair++) {
+      long dealSeed = random.nextLong();
+      games.add(workers.submit(() -> points(first, second, dealSeed)));
+    }
+    int points = 0;
+    try {
+      for (Future<Integer> game : games) {
+        points += game.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while playing a match", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("A game failed", e.getCause());
+    }
+    return points;
+  }
+
+  /**
+   * Writes the iteration count, seed and current weights, beside the target first and then
+   * moved into place so that a checkpoint is never half written.
+   *
+   * @param file the checkpoint file
+   * @throws IOException if the file cannot be written
+   */
+  public void saveCheckpoint(Path file) throws IOException {
+    Path absolute = file.toAbsolutePath();
+    Path temp = Files.createTempFile(absolute.getParent(), "tuner", ".tmp");
+    try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+      writer.write("seed=" + seed);
+      writer.newLine();
+      writer.write("iteration=" + iteration);
+      writer.newLine();
+      for (Feature feature : FEATURES) {
+        writer.write(feature.name() + "=" + weights[feature.ordinal()]);
+        writer.newLine();
+      }
+    }
+    Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Continues from a checkpoint, replacing this tuner's seed, iteration count and weights.
+   *
+   * @param file the checkpoint file
+   * @throws IOException if the file cannot be read
+   * @throws IllegalArgumentException if the file is not a checkpoint
+   */
+  public void resume(Path file) throws IOException {
+    Properties properties = new Properties();
+    try (BufferedReader reader = Files.newBufferedReader(file)) {
+      properties.load(reader);
+    }
+    if (properties.getProperty("seed") == null || properties.getProperty("iteration") == null) {
+      throw new IllegalArgumentException("Not a tuner checkpoint: " + file);
+    }
+    seed = Long.parseLong(properties.getProperty("seed").trim());
+    iteration = Integer.parseInt(properties.getProperty("iteration").trim());
+    for (Feature feature : FEATURES) {
+      String weight = properties.getProperty(feature.name());
+      if (weight != null) {
+        weights[feature.ordinal()] = Double.parseDouble(weight.trim());
+      }
+    }
+  }
+
+  /**
+   * Stops the game threads.
+   */
+  public void shutdown() {
+    workers.shutdownNow();
+  }
+
+  /**
+   * Tunes weights from the command line, resuming from the checkpoint if it exists. The
+   * checkpoint and weights file are rewritten after every iteration, so the run can be
+   * stopped at any time.
+   *
+   * @param args command line arguments
+   *      [0] number of rows
+   *      [1] number of columns
+   *      [2] path to Red's deck file
+   *      [3] path to Blue's deck file
+   *      [4] number of iterations to reach
+   *      [5] number of game pairs per iteration
+   *      [6] search depth
+   *      [7] path of the checkpoint file
+   *      [8] path of the weights file to write
+   *      [9] optional random seed, ignored when resuming
+   */
+  public static void main(String[] args) {
+    if (args.length != 9 && args.length != 10) {
+      System.err.println("Usage: java sanguine.search.WeightTuner <rows> <cols> <redDeck> "
+          + "<blueDeck> <iterations> <pairs> <depth> <checkpoint> <weightsFile> [seed]");
+      System.exit(1);
+    }
+    try {
+      long seed = args.length == 10 ? Long.parseLong(args[9]) : System.nanoTime();
+      WeightTuner tuner = new WeightTuner(Integer.parseInt(args[0]), Integer.parseInt(args[1]),
+          DeckReader.readDeck(args[2]), DeckReader.readDeck(args[3]), 5,
+          Integer.parseInt(args[6]), Runtime.getRuntime().availableProcessors(), seed);
+      Path checkpoint = Paths.get(args[7]);
+      if (Files.exists(checkpoint)) {
+        tuner.resume(checkpoint);
+        System.out.println("Resumed at iteration " + tuner.getIteration());
+      }
+      int iterations = Integer.parseInt(args[4]);
+      int pairs = Integer.parseInt(args[5]);
+      while (tuner.getIteration() < iterations) {
+        double result = tuner.step(pairs);
+        tuner.saveCheckpoint(checkpoint);
+        tuner.current().save(Paths.get(args[8]));
+        System.out.printf("Iteration %d: match %+.3f, weights %s%n", tuner.getIteration(),
+            result, Arrays.toString(tuner.current().getWeights()));
+      }
+      tuner.shutdown();
+    } catch (Exception e) {
+      System.err.println("Error tuning weights: " + e.getMessage());
+      e.printStackTrace();
+      System.exit(1);
+    }
+  }
+
+  private static FeatureEvaluator evaluator(double[] weights, double offset, int[] signs) {
+    int[] rounded = new int[weights.length];
+    for (int i = 0; i < weights.length; i++) {
+      rounded[i] = (int) Math.round(weights[i] + offset * signs[i]);
+    }
+    return new FeatureEvaluator(rounded);
+  }
+
+  private int points(FeatureEvaluator first, FeatureEvaluator second, long dealSeed) {
+    Random random = new Random(dealSeed);
+    List<Card> red = new ArrayList<>(redDeck);
+    List<Card> blue = new ArrayList<>(blueDeck);
+    Collections.shuffle(red, random);
+    Collections.shuffle(blue, random);
+    return points(play(first, second, red, blue), PlayerColor.RED)
+        + points(play(second, first, red, blue), PlayerColor.BLUE);
+  }
+
+  private static int points(PlayerColor winner, PlayerColor color) {
+    if (winner == null) {
+      return 1;
+    }
+    return winner == color ? 2 : 0;
+  }
+
+  private PlayerColor play(FeatureEvaluator red, FeatureEvaluator blue, List<Card> redCards,
+                           List<Card> blueCards) {
+    BitboardEngine engine = BitboardEngine.initial(rows, cols, redCards, blueCards, handSize);
+    AlphaBetaSearch[] players = {
+        new AlphaBetaSearch(1, new TranspositionTable(TABLE_ENTRIES), red),
+        new AlphaBetaSearch(1, new TranspositionTable(TABLE_ENTRIES), blue)};
+    while (!engine.isGameOver()) {
+      SearchResult result = players[engine.getCurrentPlayer().ordinal()]
+          .search(engine, depth, UNLIMITED_MILLIS);
+      if (result.isPass()) {
+        engine.pass();
+      } else if (!engine.place(engine.findSlot(result.getCard()), result.getRow(),
+          result.getCol())) {
+        throw new IllegalStateException("Search chose an illegal move");
+      }
+    }
+    return engine.getWinner();
+  }
+}
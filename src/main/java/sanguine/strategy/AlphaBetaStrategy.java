@@ -0,0 +1,246 @@
+package sanguine.strategy;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.CardTable;
+import sanguine.engine.MoveList;
+import sanguine.model.Card;
+import sanguine.model.CellContent;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+import sanguine.search.AlphaBetaSearch;
+import sanguine.search.EndgameSolver;
+import sanguine.search.FeatureEvaluator;
+import sanguine.search.SearchResult;
+import sanguine.search.TranspositionTable;
+
+/**
+ * Strategy that searches ahead with alpha-beta on a bitboard copy of the position.
+ * With more than one thread the search runs in Lazy SMP mode, so the depth it reaches in its
+ * time budget grows with the number of cores. Cards still in the decks are treated as unknown.
+ * Once both decks are empty and few moves are left, the position is solved exactly instead.
+ *
+ * <p>While the opponent thinks, the strategy guesses their move and searches its reply to it.
+ * If the guess was right, its own turn resumes that search from the position it pondered, whose
+ * transposition table entries are all still there, for whatever is left of its budget.</p>
+ *
+ * <p>As an {@link AnytimeStrategy} it thinks exactly as it does when asked for a move, solving
+ * endgames, resuming pondered searches and keeping to its time budget, but can be stopped
+ * early, and reports the best move of every completed iteration.</p>
+ */
+public class AlphaBetaStrategy implements PonderingStrategy, AnytimeStrategy {
+
+  private static final int TABLE_ENTRIES = 1 << 20;
+  private static final int ENDGAME_MOVES = 8;
+  private static final int ENDGAME_ENTRIES = 1 << 18;
+
+  private final AlphaBetaSearch search;
+  private final EndgameSolver solver;
+  private final long budgetMillis;
+  private final int maxDepth;
+  private SearchResult lastResult;
+  private BitboardEngine ponderedPosition;
+  private SearchResult ponderedResult;
+  private long ponderedMillis;
+  private boolean ponderHit;
+
+  /**
+   * Creates a strategy that searches with one thread per available processor.
+   *
+   * @param budgetMillis how long to search each move, in milliseconds
+   */
+  public AlphaBetaStrategy(long budgetMillis) {
+    this(Runtime.getRuntime().availableProcessors(), budgetMillis, AlphaBetaSearch.MAX_DEPTH);
+  }
+
+  /**
+   * Creates a strategy.
+   *
+   * @param threads number of search threads
+   * @param budgetMillis how long to search each move, in milliseconds
+   * @param maxDepth the deepest the search may look, in moves
+   * @throws IllegalArgumentException if threads or the depth is not positive
+   */
+  public AlphaBetaStrategy(int threads, long budgetMillis, int maxDepth) {
+    this(threads, budgetMillis, maxDepth, ENDGAME_MOVES);
+  }
+
+  /**
+   * Creates a strategy with a chosen endgame threshold.
+   *
+   * @param threads number of search threads
+   * @param budgetMillis how long to search each move, in milliseconds
+   * @param maxDepth the deepest the search may look, in moves
+   * @param endgameMoves the most moves that may be left, once both decks are empty, for the
+   *                     position to be solved exactly; 0 to never solve
+   * @throws IllegalArgumentException if threads or the depth is not positive, or the endgame
+   *                                  threshold is negative
+   */
+  public AlphaBetaStrategy(int threads, long budgetMillis, int maxDepth, int endgameMoves) {
+    this(threads, budgetMillis, maxDepth, endgameMoves, FeatureEvaluator.defaults());
+  }
+
+  /**
+   * Creates a strategy that scores the leaves of its search with the given evaluator.
+   *
+   * @param threads number of search threads
+   * @param budgetMillis how long to search each move, in milliseconds
+   * @param maxDepth the deepest the search may look, in moves
+   * @param endgameMoves the most moves that may be left, once both decks are empty, for the
+   *                     position to be solved exactly; 0 to never solve
+   * @param evaluator how to score positions at the leaves, for example weights loaded with
+   *                  {@link FeatureEvaluator#load}
+   * @throws IllegalArgumentException if threads or the depth is not positive, the endgame
+   *                                  threshold is negative, or the evaluator is null
+   */
+  public AlphaBetaStrategy(int threads, long budgetMillis, int maxDepth, int endgameMoves,
+                           FeatureEvaluator evaluator) {
+    if (maxDepth <= 0) {
+      throw new IllegalArgumentException("Depth must be positive");
+    }
+    this.solver = new EndgameSolver(endgameMoves, new TranspositionTable(ENDGAME_ENTRIES));
+    this.search = new AlphaBetaSearch(threads, new TranspositionTable(TABLE_ENTRIES), evaluator);
+    this.budgetMillis = budgetMillis;
+    this.maxDepth = maxDepth;
+  }
+
+  @Override
+  public Move chooseMove(ReadOnlySanguineModel model, PlayerColor player) {
+    MoveCandidate candidate = search(model, player, found -> {}, () -> false);
+    return candidate == null ? null : candidate.getMove();
+  }
+
+  @Override
+  public MoveCandidate search(ReadOnlySanguineModel model, PlayerColor player,
+                              CandidateListener listener, BooleanSupplier stopped) {
+    if (model.isGameOver() || model.getCurrentPlayer() != player) {
+      return null;
+    }
+    BitboardEngine fresh = BitboardEngine.fromModel(model);
+    BitboardEngine pondered = ponderedPosition;
+    ponderedPosition = null;
+    ponderHit = false;
+    final BitboardEngine engine;
+    if (model.getDeckSize(PlayerColor.RED) == 0 && model.getDeckSize(PlayerColor.BLUE) == 0
+        && solver.getThreshold() > 0 && solver.isEndgame(fresh)) {
+      engine = fresh;
+      lastResult = solver.solve(engine, stopped);
+    } else if (pondered != null && matches(pondered, model, player)) {
+      // the opponent's new card stays unknown so the pondered table entries still apply
+      engine = pondered;
+      ponderHit = true;
+      long remaining = budgetMillis - ponderedMillis;
+      lastResult = remaining > 0 ? search.search(engine, maxDepth, remaining, stopped,
+          result -> listener.onCandidate(toCandidate(engine, result))) : ponderedResult;
+    } else {
+      engine = fresh;
+      lastResult = search.search(engine, maxDepth, budgetMillis, stopped,
+          result -> listener.onCandidate(toCandidate(engine, result)));
+    }
+    if (lastResult.getDepth() == 0) {
+      return null;
+    }
+    MoveCandidate candidate = toCandidate(engine, lastResult);
+    listener.onCandidate(candidate);
+    return candidate;
+  }
+
+  private static MoveCandidate toCandidate(BitboardEngine engine, SearchResult result) {
+    return new MoveCandidate(Move.decode(result.getMove(), engine), result.getScore(),
+        result.getDepth());
+  }
+
+  @Override
+  public void ponder(ReadOnlySanguineModel model, PlayerColor player, BooleanSupplier stopped) {
+    ponderedPosition = null;
+    if (model.isGameOver() || model.getCurrentPlayer() == player) {
+      return;
+    }
+    BitboardEngine engine = BitboardEngine.fromModel(model);
+    SearchResult guess = search.search(engine, maxDepth, budgetMillis / 4, stopped);
+    if (guess.getDepth() == 0 || stopped.getAsBoolean()) {
+      return;
+    }
+    MoveList.play(engine, guess.getMove());
+    if (engine.isGameOver()) {
+      return;
+    }
+    long start = System.nanoTime();
+    SearchResult result = search.search(engine, maxDepth, budgetMillis, stopped);
+    if (result.getDepth() > 0) {
+      ponderedMillis = (System.nanoTime() - start) / 1_000_000L;
+      ponderedResult = result;
+      ponderedPosition = engine;
+    }
+  }
+
+  /**
+   * Returns whether a pondered position is the model's position, apart from the identity of
+   * the card the opponent drew last.
+   */
+  private static boolean matches(BitboardEngine engine, ReadOnlySanguineModel model,
+                                 PlayerColor player) {
+    if (engine.getCurrentPlayer() != player || engine.isGameOver()) {
+      return false;
+    }
+    for (PlayerColor color : PlayerColor.values()) {
+      if (engine.hasPassed(color) != model.hasPassed(color)
+          || engine.getDeckSize(color) != model.getDeckSize(color)) {
+        return false;
+      }
+    }
+    List<Card> hand = model.getPlayerHand(player);
+    CardTable table = engine.getCardTable();
+    if (engine.getHandSize(player) != hand.size() || engine.getHiddenCards(player) != 0) {
+      return false;
+    }
+    for (int slot = 0; slot < hand.size(); slot++) {
+      if (!table.card(engine.getHandCard(player, slot)).equals(hand.get(slot))) {
+        return false;
+      }
+    }
+    for (int row = 0; row < model.getRows(); row++) {
+      for (int col = 0; col < model.getCols(); col++) {
+        CellContent content = model.getCellContent(row, col);
+        int card = engine.getCardId(row, col);
+        if (content == CellContent.CARD) {
+          if (card < 0 || !table.card(card).equals(model.getCardAt(row, col))) {
+            return false;
+          }
+        } else if (card >= 0
+            || engine.getPawnCount(row, col) != model.getPawnCount(row, col)) {
+          return false;
+        }
+        if (content != CellContent.EMPTY
+            && engine.getOwner(row, col) != model.getOwnerOfCell(row, col)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether the most recent move was found by resuming a pondered search.
+   *
+   * @return true if the opponent played the move that was pondered
+   */
+  public boolean isLastPonderHit() {
+    return ponderHit;
+  }
+
+  @Override
+  public void shutdown() {
+    search.shutdown();
+  }
+
+  /**
+   * Returns the result of the most recent search, or null before the first move.
+   *
+   * @return the last search result
+   */
+  public SearchResult getLastResult() {
+    return lastResult;
+  }
+}
@@ -0,0 +1,134 @@
+package sanguine.strategy;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+
+/**
+ * One run of an {@link AnytimeStrategy} in the background. The best move so far can be read at
+ * any time, and stopping the run returns the best move it reached. A strategy gets
+ * {@link #GRACE_MILLIS} to return once told to stop; one that takes longer is interrupted and
+ * left to finish in the background, and the run answers with what it had reported.
+ */
+public final class AnytimeRun {
+
+  /**
+   * How long a stopped strategy may take to return, in milliseconds.
+   */
+  public static final long GRACE_MILLIS = 100;
+
+  private final AtomicBoolean stopped;
+  private final AtomicBoolean claimed;
+  private final Future<MoveCandidate> task;
+  private volatile MoveCandidate best;
+  private volatile boolean returned;
+  // INVARIANT: returned is true once the strategy has returned, or once the task was cancelled
+  // before it started
+
+  private AnytimeRun(ExecutorService executor, AnytimeStrategy strategy,
+                     ReadOnlySanguineModel position, PlayerColor player,
+                     CandidateListener listener) {
+    this.stopped = new AtomicBoolean();
+    this.claimed = new AtomicBoolean();
+    this.task = executor.submit(() -> {
+      if (!claimed.compareAndSet(false, true)) {
+        return null;
+      }
+      try {
+        return strategy.search(position, player, candidate -> {
+          best = candidate;
+          listener.onCandidate(candidate);
+        }, stopped::get);
+      } finally {
+        returned = true;
+      }
+    });
+  }
+
+  /**
+   * Starts a strategy searching.
+   *
+   * @param executor runs the search
+   * @param strategy the strategy
+   * @param position the game to analyze, which must not change during the search, such as a
+   *                 snapshot
+   * @param player the player to choose a move for
+   * @param listener also receives each improved move, for example to show hints
+   * @return the running search
+   */
+  public static AnytimeRun start(ExecutorService executor, AnytimeStrategy strategy,
+                                 ReadOnlySanguineModel position, PlayerColor player,
+                                 CandidateListener listener) {
+    return new AnytimeRun(executor, strategy, position, player, listener);
+  }
+
+  /**
+   * Returns the best move reported so far.
+   *
+   * @return the best candidate, or null if none has been reported
+   */
+  public MoveCandidate getBest() {
+    return best;
+  }
+
+  /**
+   * Returns whether the strategy has returned, on its own or after being stopped. A strategy
+   * that overran its grace may still be running after {@link #stop()} has returned, and must
+   * not be started again until it has.
+   *
+   * @return true if the strategy is no longer running
+   */
+  public boolean isDone() {
+    return returned;
+  }
+
+  /**
+   * Waits for the search to finish on its own for at most a given time, then stops it, which
+   * may take up to {@link #GRACE_MILLIS} more.
+   *
+   * @param millis the longest to wait, in milliseconds
+   * @return the best move reached, or null if there is none
+   */
+  public MoveCandidate awaitOrStop(long millis) {
+    try {
+      task.get(millis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException | ExecutionException e) {
+      // stop below and keep whatever was reported
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return stop();
+  }
+
+  /**
+   * Stops the search and waits for the strategy to return, for at most {@link #GRACE_MILLIS}.
+   * If it has not returned by then it is interrupted.
+   *
+   * @return the best move reached, or null if there is none
+   */
+  public MoveCandidate stop() {
+    stopped.set(true);
+    try {
+      MoveCandidate result = task.get(GRACE_MILLIS, TimeUnit.MILLISECONDS);
+      if (result != null) {
+        best = result;
+      }
+    } catch (TimeoutException e) {
+      task.cancel(true);
+      if (claimed.compareAndSet(false, true)) {
+        // the task never started, so it will not mark itself returned
+        returned = true;
+      }
+    } catch (ExecutionException e) {
+      // the last reported candidate is still usable
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return best;
+  }
+}
@@ -0,0 +1,26 @@
+package sanguine.strategy;
+
+import java.util.function.BooleanSupplier;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+
+/**
+ * A strategy that can be stopped at any moment and still have a move ready.
+ * It reports each better move as it finds it, so callers decide for themselves how long to
+ * wait, see {@link AnytimeRun}.
+ */
+public interface AnytimeStrategy extends SanguineStrategy {
+  /**
+   * Searches for a move, reporting every improvement, until told to stop or there is nothing
+   * more to find, which may be when the strategy's own time budget is spent. At least one
+   * candidate is reported before returning unless the search is stopped almost at once.
+   *
+   * @param model the game to analyze, which must not change during the search
+   * @param player the player to choose a move for
+   * @param listener receives each improved move
+   * @param stopped polled during the search; the search should end soon once it returns true
+   * @return the best move found, or null if none was found before being stopped
+   */
+  MoveCandidate search(ReadOnlySanguineModel model, PlayerColor player,
+                       CandidateListener listener, BooleanSupplier stopped);
+}
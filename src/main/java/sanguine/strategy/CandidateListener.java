@@ -0,0 +1,15 @@
+package sanguine.strategy;
+
+/**
+ * Listener for the improving moves of an anytime strategy.
+ */
+public interface CandidateListener {
+
+  /**
+   * Called whenever the strategy's best move so far changes or is confirmed by a deeper look.
+   * Called on the strategy's thread, so it should return quickly.
+   *
+   * @param candidate the new best move
+   */
+  void onCandidate(MoveCandidate candidate);
+}
@@ -0,0 +1,201 @@
+package sanguine.strategy;
+
+import sanguine.engine.PlacementBatch;
+import sanguine.engine.PlacementEvaluator;
+import sanguine.model.PlacementEffect;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+
+/**
+ * Everything a strategy usually works out about a position before picking a move, computed
+ * once per decision and shared by every stage that reads it: the legal placements with their
+ * row score and pawn changes, both players' row scores, and full placement previews, which are
+ * built only for the placements that ask for them.
+ *
+ * <p>Placements are numbered from 0 to {@link #size()} - 1, by hand index, then row, then
+ * column. A context describes the position at the time it was made and must not be used after
+ * the model changes.</p>
+ */
+public final class DecisionContext {
+
+  private final ReadOnlySanguineModel model;
+  private final PlayerColor player;
+  private final PlacementBatch placements;
+  private final int size;
+  private final int[] playerRowScores;
+  private final int[] opponentRowScores;
+  private final PlacementEffect[] effects;
+  // INVARIANT: effects[i] is null until placement i is first previewed, and never changes after
+
+  /**
+   * Creates a context with the fastest available placement evaluator.
+   *
+   * @param model the position
+   * @param player the player choosing a move
+   * @throws IllegalArgumentException if the model or player is null
+   */
+  public DecisionContext(ReadOnlySanguineModel model, PlayerColor player) {
+    this(model, player, PlacementEvaluator.create());
+  }
+
+  /**
+   * Creates a context.
+   *
+   * @param model the position
+   * @param player the player choosing a move
+   * @param evaluator how to evaluate the legal placements
+   * @throws IllegalArgumentException if any argument is null
+   */
+  public DecisionContext(ReadOnlySanguineModel model, PlayerColor player,
+                         PlacementEvaluator evaluator) {
+    if (model == null || player == null || evaluator == null) {
+      throw new IllegalArgumentException("Arguments cannot be null");
+    }
+    this.model = model;
+    this.player = player;
+    this.placements = model.isGameOver() ? null : evaluator.evaluate(model, player);
+    this.size = placements == null ? 0 : placements.size();
+    int rows = model.getRows();
+    this.playerRowScores = new int[rows];
+    this.opponentRowScores = new int[rows];
+    for (int row = 0; row < rows; row++) {
+      playerRowScores[row] = model.getRowScore(row, player);
+      opponentRowScores[row] = model.getRowScore(row, player.opposite());
+    }
+    this.effects = new PlacementEffect[size];
+  }
+
+  /**
+   * Returns the position this context describes.
+   *
+   * @return the model
+   */
+  public ReadOnlySanguineModel getModel() {
+    return model;
+  }
+
+  /**
+   * Returns the player choosing a move.
+   *
+   * @return the player
+   */
+  public PlayerColor getPlayer() {
+    return player;
+  }
+
+  /**
+   * Returns the number of legal placements.
+   *
+   * @return the number of placements, zero if the game is over
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the hand index of a placement's card.
+   *
+   * @param i the placement
+   * @return the card's index in the player's hand
+   */
+  public int getCardIndex(int i) {
+    return placements.getCardIndex(i);
+  }
+
+  /**
+   * Returns the row of a placement.
+   *
+   * @param i the placement
+   * @return the row
+   */
+  public int getRow(int i) {
+    return placements.getRow(i);
+  }
+
+  /**
+   * Returns the column of a placement.
+   *
+   * @param i the placement
+   * @return the column
+   */
+  public int getCol(int i) {
+    return placements.getCol(i);
+  }
+
+  /**
+   * Returns a placement as a move.
+   *
+   * @param i the placement
+   * @return the move
+   */
+  public Move toMove(int i) {
+    return new Move(getCardIndex(i), getRow(i), getCol(i));
+  }
+
+  /**
+   * Returns a player's current score in a row.
+   *
+   * @param row the row
+   * @param color the player
+   * @return the row score before any placement
+   */
+  public int getRowScore(int row, PlayerColor color) {
+    return color == player ? playerRowScores[row] : opponentRowScores[row];
+  }
+
+  /**
+   * Returns a player's score in a row after a placement.
+   *
+   * @param i the placement
+   * @param row the row
+   * @param color the player
+   * @return the row score once the card is placed
+   */
+  public int getRowScoreAfter(int i, int row, PlayerColor color) {
+    int score = getRowScore(row, color);
+    return row == getRow(i) ? score + placements.getRowScoreDelta(i, color) : score;
+  }
+
+  /**
+   * Returns a player's total score after a placement. A player scores the rows where their row
+   * score is strictly higher than their opponent's.
+   *
+   * @param i the placement
+   * @param color the player
+   * @return the total score once the card is placed
+   */
+  public int getTotalScoreAfter(int i, PlayerColor color) {
+    int total = 0;
+    for (int row = 0; row < playerRowScores.length; row++) {
+      int own = getRowScoreAfter(i, row, color);
+      if (own > getRowScoreAfter(i, row, color.opposite())) {
+        total += own;
+      }
+    }
+    return total;
+  }
+
+  /**
+   * Returns how much a placement changes the number of pawns a player has on the board.
+   *
+   * @param i the placement
+   * @param color the player
+   * @return the change in that player's pawns
+   */
+  public int getPawnDelta(int i, PlayerColor color) {
+    return placements.getPawnDelta(i, color);
+  }
+
+  /**
+   * Returns the full preview of a placement, building it the first time it is asked for.
+   *
+   * @param i the placement
+   * @return the placement's effect
+   */
+  public PlacementEffect getEffect(int i) {
+    if (effects[i] == null) {
+      effects[i] = model.evaluatePlacement(getCardIndex(i), getRow(i), getCol(i));
+    }
+    return effects[i];
+  }
+}
@@ -0,0 +1,105 @@
+package sanguine.strategy;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+import sanguine.search.BeliefTracker;
+import sanguine.search.Determinizer;
+import sanguine.search.ExpectimaxSearch;
+import sanguine.search.SearchResult;
+import sanguine.search.TranspositionTable;
+
+/**
+ * Strategy that plays as if it could not see the opponent's hand or either deck order.
+ * It averages a look-ahead search over random deals of the cards it has not seen, taking as
+ * many deals as its sample budget allows within its time budget. The opponent's unseen cards
+ * are tracked from one move to the next, for as long as each position it is shown follows on
+ * from the last, whether or not it is the same model object.
+ *
+ * <p>As an {@link AnytimeStrategy} it stops sampling early when told to, and reports the move
+ * with the best mean so far after every deal it completes.</p>
+ */
+public class ExpectimaxStrategy implements AnytimeStrategy {
+
+  private static final int TABLE_ENTRIES = 1 << 20;
+
+  private final ExpectimaxSearch search;
+  private final int samples;
+  private final int depth;
+  private final long budgetMillis;
+  private final SplittableRandom random;
+  private SearchResult lastResult;
+  private BeliefTracker beliefs;
+  private PlayerColor trackedPlayer;
+
+  /**
+   * Creates a strategy.
+   *
+   * @param redDeck red's full deck list
+   * @param blueDeck blue's full deck list
+   * @param samples the most deals to average over for each move
+   * @param depth how many moves to look ahead in each deal
+   * @param budgetMillis how long to think about each move, in milliseconds
+   * @param seed seed for the deals
+   * @throws IllegalArgumentException if a deck is null or samples or depth is not positive
+   */
+  public ExpectimaxStrategy(List<Card> redDeck, List<Card> blueDeck, int samples, int depth,
+                            long budgetMillis, long seed) {
+    if (samples <= 0 || depth <= 0) {
+      throw new IllegalArgumentException("Samples and depth must be positive");
+    }
+    this.search = new ExpectimaxSearch(new Determinizer(redDeck, blueDeck, true),
+        new TranspositionTable(TABLE_ENTRIES));
+    this.samples = samples;
+    this.depth = depth;
+    this.budgetMillis = budgetMillis;
+    this.random = new SplittableRandom(seed);
+  }
+
+  @Override
+  public Move chooseMove(ReadOnlySanguineModel model, PlayerColor player) {
+    MoveCandidate candidate = search(model, player, found -> {}, () -> false);
+    return candidate == null ? null : candidate.getMove();
+  }
+
+  @Override
+  public MoveCandidate search(ReadOnlySanguineModel model, PlayerColor player,
+                              CandidateListener listener, BooleanSupplier stopped) {
+    if (model.isGameOver() || model.getCurrentPlayer() != player) {
+      return null;
+    }
+    if (beliefs == null || player != trackedPlayer || !beliefs.follows(model)) {
+      beliefs = search.getDeterminizer().newTracker(model, player);
+      trackedPlayer = player;
+    } else {
+      beliefs.update(model);
+    }
+    List<Card> hand = model.getPlayerHand(player);
+    lastResult = search.search(model, beliefs, samples, depth, budgetMillis, random, stopped,
+        result -> listener.onCandidate(toCandidate(hand, result)));
+    MoveCandidate candidate = toCandidate(hand, lastResult);
+    listener.onCandidate(candidate);
+    return candidate;
+  }
+
+  private MoveCandidate toCandidate(List<Card> hand, SearchResult result) {
+    Move move = null;
+    if (!result.isPass()) {
+      Card card = search.getCardTable().card(result.getCard());
+      move = new Move(hand.indexOf(card), result.getRow(), result.getCol());
+    }
+    return new MoveCandidate(move, result.getScore(), result.getDepth());
+  }
+
+  /**
+   * Returns the result of the most recent search, or null before the first move.
+   *
+   * @return the last search result
+   */
+  public SearchResult getLastResult() {
+    return lastResult;
+  }
+}
@@ -0,0 +1,62 @@
+package sanguine.strategy;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import sanguine.engine.BitboardEngine;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+import sanguine.search.AlphaBetaSearch;
+import sanguine.search.FeatureEvaluator;
+import sanguine.search.SearchResult;
+import sanguine.search.TranspositionTable;
+
+/**
+ * Strategy that searches a fixed number of moves ahead and scores the positions it reaches
+ * with learned weights, such as those written by {@link sanguine.search.TdTrainer}. Searching
+ * to a fixed depth rather than for a fixed time makes its moves repeatable.
+ */
+public class LearnedStrategy implements SanguineStrategy {
+
+  private static final int TABLE_ENTRIES = 1 << 16;
+  private static final long UNLIMITED_MILLIS = 1L << 32;
+
+  private final AlphaBetaSearch search;
+  private final int depth;
+
+  /**
+   * Creates a strategy.
+   *
+   * @param evaluator the learned evaluation
+   * @param depth how many moves ahead to search
+   * @throws IllegalArgumentException if the evaluator is null or the depth is not positive
+   */
+  public LearnedStrategy(FeatureEvaluator evaluator, int depth) {
+    if (depth <= 0) {
+      throw new IllegalArgumentException("Depth must be positive");
+    }
+    this.search = new AlphaBetaSearch(1, new TranspositionTable(TABLE_ENTRIES), evaluator);
+    this.depth = depth;
+  }
+
+  /**
+   * Creates a strategy from a weights file.
+   *
+   * @param weights the weights file
+   * @param depth how many moves ahead to search
+   * @return the strategy
+   * @throws IOException if the file cannot be read
+   */
+  public static LearnedStrategy load(Path weights, int depth) throws IOException {
+    return new LearnedStrategy(FeatureEvaluator.load(weights), depth);
+  }
+
+  @Override
+  public Move chooseMove(ReadOnlySanguineModel model, PlayerColor player) {
+    if (model.isGameOver() || model.getCurrentPlayer() != player) {
+      return null;
+    }
+    BitboardEngine engine = BitboardEngine.fromModel(model);
+    SearchResult result = search.search(engine, depth, UNLIMITED_MILLIS);
+    return Move.decode(result.getMove(), engine);
+  }
+}
@@ -0,0 +1,197 @@
+package sanguine.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.CardTable;
+import sanguine.engine.MoveList;
+import sanguine.model.Card;
+import sanguine.model.CellContent;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+import sanguine.search.MctsSearch;
+import sanguine.search.SearchResult;
+
+/**
+ * Strategy that thinks with Monte Carlo tree search in a node pool of fixed size, keeping its
+ * tree from one turn to the next. At each turn it works out the moves played since its last
+ * one, its own and the opponent's reply, and follows them down the tree, so the search starts
+ * from everything it already learned about the position. The game is recognised by what is on
+ * the board and in the player's hand rather than by the model object, so the tree survives the
+ * snapshot a {@link TimedStrategy} hands over each move. If the game went some way the tree
+ * cannot follow, the tree is dropped and the search starts afresh. Cards still in the decks are
+ * treated as unknown.
+ *
+ * <p>As an {@link AnytimeStrategy} it stops early when told to, and reports the most visited
+ * move so far every few dozen iterations as well as at the end.</p>
+ */
+public class MctsStrategy implements AnytimeStrategy {
+
+  private final MctsSearch search;
+  private final long budgetMillis;
+  private SearchResult lastResult;
+  private PlayerColor lastPlayer;
+  private Card[] lastBoard;
+  private List<Card> lastHand;
+  // INVARIANT: lastBoard and lastHand are the board and the player's hand when lastMove was
+  // chosen, less the card it placed
+  private int lastMove;
+  private boolean lastReused;
+
+  /**
+   * Creates a strategy.
+   *
+   * @param budgetMillis how long to think about each move, in milliseconds
+   * @param capacity the most tree nodes to keep
+   * @param seed seed for the random playouts
+   * @throws IllegalArgumentException if capacity is less than 2
+   */
+  public MctsStrategy(long budgetMillis, int capacity, long seed) {
+    this.search = new MctsSearch(capacity, seed);
+    this.budgetMillis = budgetMillis;
+    this.lastBoard = new Card[0];
+    this.lastHand = new ArrayList<>();
+  }
+
+  @Override
+  public Move chooseMove(ReadOnlySanguineModel model, PlayerColor player) {
+    MoveCandidate candidate = search(model, player, found -> {}, () -> false);
+    return candidate == null ? null : candidate.getMove();
+  }
+
+  @Override
+  public MoveCandidate search(ReadOnlySanguineModel model, PlayerColor player,
+                              CandidateListener listener, BooleanSupplier stopped) {
+    if (model.isGameOver() || model.getCurrentPlayer() != player) {
+      return null;
+    }
+    lastReused = followMoves(model, player);
+    BitboardEngine engine = BitboardEngine.fromModel(model);
+    lastResult = search.search(engine, Integer.MAX_VALUE, budgetMillis, stopped,
+        result -> listener.onCandidate(toCandidate(engine, result)));
+    lastPlayer = player;
+    lastMove = lastResult.getMove();
+    lastBoard = board(model);
+    lastHand = new ArrayList<>(model.getPlayerHand(player));
+    MoveCandidate candidate = toCandidate(engine, lastResult);
+    if (!candidate.isPass()) {
+      lastHand.remove(candidate.getMove().getCardIndex());
+    }
+    listener.onCandidate(candidate);
+    return candidate;
+  }
+
+  private static MoveCandidate toCandidate(BitboardEngine engine, SearchResult result) {
+    return new MoveCandidate(Move.decode(result.getMove(), engine), result.getScore(),
+        result.getDepth());
+  }
+
+  /**
+   * Moves the tree's root down past this player's last move and the opponent's reply, or
+   * drops the tree if they cannot be told from the board, or the board or hand show that this
+   * is not the game the tree was grown in.
+   */
+  private boolean followMoves(ReadOnlySanguineModel model, PlayerColor player) {
+    Card[] now = board(model);
+    if (player != lastPlayer || now.length != lastBoard.length || search.getRoot() < 0
+        || !keepsHand(model.getPlayerHand(player))) {
+      search.reset();
+      return false;
+    }
+    int cols = model.getCols();
+    int ours = lastMove == MoveList.PASS ? -1 : MoveList.cellOf(lastMove);
+    int theirs = -1;
+    for (int cell = 0; cell < now.length; cell++) {
+      if (lastBoard[cell] != null && !lastBoard[cell].equals(now[cell])) {
+        // cards never leave the board
+        search.reset();
+        return false;
+      }
+      if (now[cell] == null || lastBoard[cell] != null || cell == ours) {
+        continue;
+      }
+      if (theirs >= 0) {
+        search.reset();
+        return false;
+      }
+      theirs = cell;
+    }
+    CardTable table = search.getCardTable();
+    int reply = MoveList.PASS;
+    if (theirs >= 0) {
+      Card card = model.getCardAt(theirs / cols, theirs % cols);
+      if (model.getOwnerOfCell(theirs / cols, theirs % cols) == player
+          || !table.contains(card)) {
+        search.reset();
+        return false;
+      }
+      reply = MoveList.encode(table.idOf(card), theirs);
+    } else if (!model.hasPassed(player.opposite())) {
+      search.reset();
+      return false;
+    }
+    boolean played = ours < 0 || (now[ours] != null && lastBoard[ours] == null
+        && now[ours].equals(table.card(MoveList.cardOf(lastMove)))
+        && model.getOwnerOfCell(ours / cols, ours % cols) == player);
+    if (!played) {
+      search.reset();
+      return false;
+    }
+    return search.advance(lastMove) && search.advance(reply);
+  }
+
+  /**
+   * Returns whether a hand still holds every card left in the hand of the last move, as it
+   * does once that move's card is played and new ones are drawn.
+   */
+  private boolean keepsHand(List<Card> hand) {
+    List<Card> rest = new ArrayList<>(hand);
+    for (Card card : lastHand) {
+      if (!rest.remove(card)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Card[] board(ReadOnlySanguineModel model) {
+    Card[] cards = new Card[model.getRows() * model.getCols()];
+    for (int row = 0; row < model.getRows(); row++) {
+      for (int col = 0; col < model.getCols(); col++) {
+        if (model.getCellContent(row, col) == CellContent.CARD) {
+          cards[row * model.getCols() + col] = model.getCardAt(row, col);
+        }
+      }
+    }
+    return cards;
+  }
+
+  /**
+   * Returns whether the most recent move was searched from a tree carried over from the
+   * turn before.
+   *
+   * @return true if the tree was reused
+   */
+  public boolean isLastReused() {
+    return lastReused;
+  }
+
+  /**
+   * Returns the result of the most recent search, or null before the first move.
+   *
+   * @return the last search result
+   */
+  public SearchResult getLastResult() {
+    return lastResult;
+  }
+
+  /**
+   * Returns the search, for inspecting its tree.
+   *
+   * @return the search
+   */
+  public MctsSearch getSearch() {
+    return search;
+  }
+}
@@ -1,9 +1,16 @@
 package sanguine.strategy;
 
 import java.util.Objects;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.MoveList;
+import sanguine.model.PlayerColor;
 
 /**
  * Represents a move in Sanguine consisting of a card index and board position.
+ *
+ * <p>This is the boxed form of a move that strategies hand back. Searches keep moves packed
+ * into ints as {@link MoveList} defines, naming the card rather than its hand index;
+ * {@link #encode} and {@link #decode} convert between the two forms for a given position.</p>
  */
 public class Move {
 
@@ -54,6 +61,43 @@ public class Move {
     return col;
   }
 
+  /**
+   * Packs a move of the player to move in a position.
+   *
+   * @param move the move, or null to pass
+   * @param engine the position the move is made in
+   * @return the packed move
+   * @throws IllegalArgumentException if the card index is not in the hand of the player to move
+   */
+  public static int encode(Move move, BitboardEngine engine) {
+    if (move == null) {
+      return MoveList.PASS;
+    }
+    PlayerColor color = engine.getCurrentPlayer();
+    if (move.cardIndex < 0 || move.cardIndex >= engine.getHandSize(color)) {
+      throw new IllegalArgumentException("Card index out of range");
+    }
+    return MoveList.encode(engine.getHandCard(color, move.cardIndex),
+        move.row * engine.getGeometry().getCols() + move.col);
+  }
+
+  /**
+   * Unpacks a move of the player to move in a position, naming the first hand index that holds
+   * its card.
+   *
+   * @param move the packed move
+   * @param engine the position the move is made in
+   * @return the move, or null for a pass
+   */
+  public static Move decode(int move, BitboardEngine engine) {
+    if (move == MoveList.PASS) {
+      return null;
+    }
+    int cols = engine.getGeometry().getCols();
+    int cell = MoveList.cellOf(move);
+    return new Move(engine.findSlot(MoveList.cardOf(move)), cell / cols, cell % cols);
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -63,7 +107,8 @@ public class Move {
       return false;
     }
     Move move = (Move) o;
-    return getCardIndex() == move.getCardIndex() && getCol() == move.getCol();
+    return getCardIndex() == move.getCardIndex() && getRow() == move.getRow()
+        && getCol() == move.getCol();
   }
 
   @Override
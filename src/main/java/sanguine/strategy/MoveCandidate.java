@@ -0,0 +1,66 @@
+package sanguine.strategy;
+
+/**
+ * The best move an anytime strategy has found so far, with how good it thinks the move is and
+ * how far ahead it looked to find it.
+ */
+public final class MoveCandidate {
+
+  private final Move move;
+  private final int score;
+  private final int depth;
+
+  /**
+   * Creates a candidate.
+   *
+   * @param move the move, or null to pass
+   * @param score the move's score for the player choosing it, on the strategy's own scale
+   * @param depth how many moves ahead the strategy looked
+   */
+  public MoveCandidate(Move move, int score, int depth) {
+    this.move = move;
+    this.score = score;
+    this.depth = depth;
+  }
+
+  /**
+   * Returns the move.
+   *
+   * @return the move, or null to pass
+   */
+  public Move getMove() {
+    return move;
+  }
+
+  /**
+   * Returns whether the candidate is to pass.
+   *
+   * @return true if the move is a pass
+   */
+  public boolean isPass() {
+    return move == null;
+  }
+
+  /**
+   * Returns the move's score.
+   *
+   * @return the score, higher being better for the player choosing
+   */
+  public int getScore() {
+    return score;
+  }
+
+  /**
+   * Returns how many moves ahead the strategy looked.
+   *
+   * @return the depth
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  @Override
+  public String toString() {
+    return "Candidate {move=" + move + ", score=" + score + ", depth=" + depth + "}";
+  }
+}
@@ -0,0 +1,34 @@
+package sanguine.strategy;
+
+import sanguine.model.PlayerColor;
+
+/**
+ * A stage of a {@link PipelineStrategy} that rules placements in or out.
+ */
+@FunctionalInterface
+public interface MoveFilter {
+
+  /**
+   * Returns whether a placement should stay in the running.
+   *
+   * @param context the shared facts about the position
+   * @param i the placement
+   * @return true to keep the placement
+   */
+  boolean accept(DecisionContext context, int i);
+
+  /**
+   * Keeps placements that take a row the player is not already winning.
+   *
+   * @return the filter
+   */
+  static MoveFilter winsRow() {
+    return (context, i) -> {
+      PlayerColor player = context.getPlayer();
+      int row = context.getRow(i);
+      int opponentScore = context.getRowScore(row, player.opposite());
+      return context.getRowScore(row, player) <= opponentScore
+          && context.getRowScoreAfter(i, row, player) > opponentScore;
+    };
+  }
+}
@@ -0,0 +1,86 @@
+package sanguine.strategy;
+
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+
+/**
+ * A stage of a {@link PipelineStrategy} that ranks placements. Higher scores are better.
+ */
+@FunctionalInterface
+public interface MoveScorer {
+
+  /**
+   * Scores a placement.
+   *
+   * @param context the shared facts about the position
+   * @param i the placement
+   * @return the placement's score, higher being better
+   */
+  int score(DecisionContext context, int i);
+
+  /**
+   * Prefers placements in rows nearer the top of the board.
+   *
+   * @return the scorer
+   */
+  static MoveScorer topRowFirst() {
+    return (context, i) -> -context.getRow(i);
+  }
+
+  /**
+   * Prefers placements that leave the opponent with the lowest total score.
+   *
+   * @return the scorer
+   */
+  static MoveScorer opponentScore() {
+    return (context, i) -> -context.getTotalScoreAfter(i, context.getPlayer().opposite());
+  }
+
+  /**
+   * Prefers placements in rows where the opponent's other cards weigh least, each opponent
+   * card counting its value times one more than the pawns on its cell. The placement's own
+   * cell is left out, and so is the card being placed.
+   *
+   * @return the scorer
+   */
+  static MoveScorer opponentRowWeight() {
+    return (context, i) -> {
+      ReadOnlySanguineModel model = context.getModel();
+      PlayerColor opponent = context.getPlayer().opposite();
+      int row = context.getRow(i);
+      int weight = 0;
+      for (int col = 0; col < model.getCols(); col++) {
+        if (col != context.getCol(i) && model.getOwnerOfCell(row, col) == opponent) {
+          Card card = model.getCardAt(row, col);
+          if (card != null) {
+            weight += card.getValue() * (1 + model.getPawnCount(row, col));
+          }
+        }
+      }
+      return -weight;
+    };
+  }
+
+  /**
+   * Prefers placements that leave the player furthest ahead on total score.
+   *
+   * @return the scorer
+   */
+  static MoveScorer scoreMargin() {
+    return (context, i) -> {
+      PlayerColor player = context.getPlayer();
+      return context.getTotalScoreAfter(i, player)
+          - context.getTotalScoreAfter(i, player.opposite());
+    };
+  }
+
+  /**
+   * Prefers placements that take more of the opponent's pawns.
+   *
+   * @return the scorer
+   */
+  static MoveScorer pawnsTaken() {
+    return (context, i) -> -context.getPawnDelta(i, context.getPlayer().opposite());
+  }
+}
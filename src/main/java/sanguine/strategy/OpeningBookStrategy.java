@@ -0,0 +1,74 @@
+package sanguine.strategy;
+
+import java.util.List;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.Symmetry;
+import sanguine.engine.Zobrist;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+import sanguine.search.OpeningBook;
+
+/**
+ * Strategy that plays from an opening book while the game is still in it, and otherwise asks
+ * another strategy. A book move is only played if it was tried often enough when the book was
+ * built and is legal now.
+ */
+public class OpeningBookStrategy implements SanguineStrategy {
+
+  private final OpeningBook book;
+  private final int minPlays;
+  private final SanguineStrategy fallback;
+
+  /**
+   * Creates a strategy.
+   *
+   * @param book the opening book
+   * @param minPlays the fewest games a book move must have been played in to be trusted
+   * @param fallback the strategy to use outside the book
+   * @throws IllegalArgumentException if the book or fallback is null
+   */
+  public OpeningBookStrategy(OpeningBook book, int minPlays, SanguineStrategy fallback) {
+    if (book == null || fallback == null) {
+      throw new IllegalArgumentException("Book and fallback cannot be null");
+    }
+    this.book = book;
+    this.minPlays = minPlays;
+    this.fallback = fallback;
+  }
+
+  @Override
+  public Move chooseMove(ReadOnlySanguineModel model, PlayerColor player) {
+    Move move = bookMove(model, player);
+    return move != null ? move : fallback.chooseMove(model, player);
+  }
+
+  /**
+   * Returns the book's move for the position, or null if the book has no usable move.
+   * Passing is never taken from the book, since a null move means falling back, so the best
+   * trusted placement is played even when passing scored better.
+   */
+  private Move bookMove(ReadOnlySanguineModel model, PlayerColor player) {
+    if (model.isGameOver() || model.getCurrentPlayer() != player
+        || model.getRows() != book.getRows() || model.getCols() != book.getCols()) {
+      return null;
+    }
+    BitboardEngine engine = BitboardEngine.fromModel(model);
+    Symmetry symmetry = book.symmetryOf(engine);
+    int entry = book.best(engine.getHash(symmetry), minPlays, true);
+    if (entry < 0) {
+      return null;
+    }
+    // the book's cell is in the canonical position; the same symmetry maps it back
+    int row = symmetry.row(book.cell(entry) / model.getCols(), model.getRows());
+    int col = symmetry.col(book.cell(entry) % model.getCols(), model.getCols());
+    List<Card> hand = model.getPlayerHand(player);
+    for (int slot = 0; slot < hand.size(); slot++) {
+      if (Zobrist.fingerprint(hand.get(slot)) == book.card(entry)
+          && model.isLegalMove(slot, row, col)) {
+        return new Move(slot, row, col);
+      }
+    }
+    return null;
+  }
+}
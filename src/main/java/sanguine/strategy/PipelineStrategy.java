@@ -0,0 +1,115 @@
+package sanguine.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import sanguine.engine.PlacementEvaluator;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+
+/**
+ * Strategy built from stages that all read one {@link DecisionContext}. Filters first rule
+ * placements out; the first scorer then keeps only the best survivors, each later scorer
+ * breaks the ties left by the ones before it, and any remaining tie goes to the placement with
+ * the lowest hand index, then row, then column. Several pipelines can share a context by
+ * calling {@link #chooseMove(DecisionContext)}, so chaining them costs one scan of the board.
+ */
+public class PipelineStrategy implements SanguineStrategy {
+
+  private final List<MoveFilter> filters;
+  private final List<MoveScorer> scorers;
+  private final PlacementEvaluator evaluator = PlacementEvaluator.create();
+
+  /**
+   * Creates a pipeline.
+   *
+   * @param filters the filters every chosen placement must pass
+   * @param scorers the scorers, most important first
+   * @throws IllegalArgumentException if either list is null or contains null
+   */
+  public PipelineStrategy(List<MoveFilter> filters, List<MoveScorer> scorers) {
+    if (filters == null || scorers == null) {
+      throw new IllegalArgumentException("Stages cannot be null");
+    }
+    this.filters = new ArrayList<>(filters);
+    this.scorers = new ArrayList<>(scorers);
+    for (Object stage : this.filters) {
+      if (stage == null) {
+        throw new IllegalArgumentException("Stages cannot be null");
+      }
+    }
+    for (Object stage : this.scorers) {
+      if (stage == null) {
+        throw new IllegalArgumentException("Stages cannot be null");
+      }
+    }
+  }
+
+  /**
+   * Creates the pipeline that plays like {@link MaximizeRowScoreStrategy}: take the topmost
+   * row the player is not winning yet.
+   *
+   * @return the pipeline
+   */
+  public static PipelineStrategy maximizeRowScore() {
+    return new PipelineStrategy(List.of(MoveFilter.winsRow()), List.of(MoveScorer.topRowFirst()));
+  }
+
+  /**
+   * Creates the pipeline that plays like {@link MinimizeOpponentScoreStrategy}: place where
+   * the opponent's cards in the row weigh least.
+   *
+   * @return the pipeline
+   */
+  public static PipelineStrategy minimizeOpponentScore() {
+    return new PipelineStrategy(List.of(), List.of(MoveScorer.opponentRowWeight()));
+  }
+
+  @Override
+  public Move chooseMove(ReadOnlySanguineModel model, PlayerColor player) {
+    return chooseMove(new DecisionContext(model, player, evaluator));
+  }
+
+  /**
+   * Chooses a move from a context that may be shared with other pipelines.
+   *
+   * @param context the shared facts about the position
+   * @return the chosen move, or null if no placement passes the filters
+   */
+  public Move chooseMove(DecisionContext context) {
+    int[] survivors = new int[context.size()];
+    int count = 0;
+    for (int i = 0; i < context.size(); i++) {
+      if (accepts(context, i)) {
+        survivors[count++] = i;
+      }
+    }
+    int[] scores = new int[count];
+    for (MoveScorer scorer : scorers) {
+      if (count <= 1) {
+        break;
+      }
+      int best = Integer.MIN_VALUE;
+      for (int k = 0; k < count; k++) {
+        scores[k] = scorer.score(context, survivors[k]);
+        best = Math.max(best, scores[k]);
+      }
+      int kept = 0;
+      for (int k = 0; k < count; k++) {
+        if (scores[k] == best) {
+          survivors[kept++] = survivors[k];
+        }
+      }
+      count = kept;
+    }
+    return count == 0 ? null : context.toMove(survivors[0]);
+  }
+
+  private boolean accepts(DecisionContext context, int i) {
+    for (MoveFilter filter : filters) {
+      if (!filter.accept(context, i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,22 @@
+package sanguine.strategy;
+
+import java.util.function.BooleanSupplier;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+
+/**
+ * A strategy that can think during the opponent's turn and use that work once its own turn
+ * comes.
+ */
+public interface PonderingStrategy extends SanguineStrategy {
+  /**
+   * Thinks about a position where the opponent is to move, until told to stop or there is
+   * nothing more worth doing. Called on a background thread; the strategy's
+   * {@link #chooseMove} is not called until this returns.
+   *
+   * @param model a position that does not change while pondering, with the opponent to move
+   * @param player the player this strategy chooses moves for
+   * @param stopped polled while pondering; pondering should end soon once it returns true
+   */
+  void ponder(ReadOnlySanguineModel model, PlayerColor player, BooleanSupplier stopped);
+}
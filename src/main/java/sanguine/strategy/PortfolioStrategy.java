@@ -0,0 +1,216 @@
+package sanguine.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import sanguine.engine.BitboardEngine;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+import sanguine.search.FeatureEvaluator;
+
+/**
+ * Strategy that races several strategies on the same position and plays the best of their
+ * proposals. Every member runs on its own thread over one snapshot of the game. At the
+ * deadline, members still running are stopped: an {@link AnytimeStrategy} is stopped a little
+ * early, so it has its {@link AnytimeRun#GRACE_MILLIS} to return, and contributes the best move
+ * it had reached, and any other is interrupted and left out. A member still running after
+ * that sits out every later move until it has returned. The proposals are then compared by
+ * the {@link FeatureEvaluator} score of the position each leaves, the same judgement the
+ * searching strategies make at their leaves, and ties go to the member listed first, so a
+ * searching member should be listed ahead of the quick ones it is meant to improve on. Quick
+ * members such as the greedy strategies finish long before the deadline, so there is always a
+ * proposal to play.
+ */
+public class PortfolioStrategy implements SanguineStrategy {
+
+  private final List<SanguineStrategy> members;
+  private final long deadlineMillis;
+  private final ExecutorService workers;
+  private final FeatureEvaluator evaluator;
+  private final List<AtomicBoolean> busy;
+  private final AnytimeRun[] running;
+  // INVARIANT: busy.get(i) is true from when member i is handed a move until it returns, even
+  // after its task was cancelled, and the member is never handed a move while busy
+  private int lastChoice;
+
+  /**
+   * Creates a portfolio.
+   *
+   * @param members the strategies to race, the most trusted first
+   * @param deadlineMillis how long to wait for the members each move, in milliseconds
+   * @throws IllegalArgumentException if there are no members, one is null, or the deadline is
+   *                                  not positive
+   */
+  public PortfolioStrategy(List<SanguineStrategy> members, long deadlineMillis) {
+    if (members == null || members.isEmpty()) {
+      throw new IllegalArgumentException("Portfolio needs at least one strategy");
+    }
+    for (SanguineStrategy member : members) {
+      if (member == null) {
+        throw new IllegalArgumentException("Strategies cannot be null");
+      }
+    }
+    if (deadlineMillis <= 0) {
+      throw new IllegalArgumentException("Deadline must be positive");
+    }
+    this.members = new ArrayList<>(members);
+    this.deadlineMillis = deadlineMillis;
+    this.workers = Executors.newCachedThreadPool(task -> {
+      Thread thread = new Thread(task, "sanguine-portfolio");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.evaluator = FeatureEvaluator.defaults();
+    this.running = new AnytimeRun[members.size()];
+    this.busy = new ArrayList<>();
+    for (int i = 0; i < members.size(); i++) {
+      busy.add(new AtomicBoolean());
+    }
+    this.lastChoice = -1;
+  }
+
+  @Override
+  public Move chooseMove(ReadOnlySanguineModel model, PlayerColor player) {
+    lastChoice = -1;
+    if (model.isGameOver() || model.getCurrentPlayer() != player) {
+      return null;
+    }
+    ReadOnlySanguineModel position = model.snapshot();
+    List<AnytimeRun> runs = new ArrayList<>();
+    List<Future<Move>> answers = new ArrayList<>();
+    List<AtomicBoolean> claims = new ArrayList<>();
+    for (int i = 0; i < members.size(); i++) {
+      SanguineStrategy member = members.get(i);
+      AtomicBoolean memberBusy = busy.get(i);
+      if (member instanceof AnytimeStrategy && running[i] != null && !running[i].isDone()) {
+        // overran its grace on an earlier move and is still returning
+        runs.add(null);
+        answers.add(null);
+        claims.add(null);
+      } else if (member instanceof AnytimeStrategy) {
+        running[i] = AnytimeRun.start(workers, (AnytimeStrategy) member, position, player,
+            candidate -> {});
+        runs.add(running[i]);
+        answers.add(null);
+        claims.add(null);
+      } else if (memberBusy.get()) {
+        // still working on an earlier move, which it must never be asked to share
+        runs.add(null);
+        answers.add(null);
+        claims.add(null);
+      } else {
+        memberBusy.set(true);
+        AtomicBoolean claimed = new AtomicBoolean();
+        runs.add(null);
+        answers.add(workers.submit(() -> {
+          if (!claimed.compareAndSet(false, true)) {
+            return null;
+          }
+          try {
+            return member.chooseMove(position, player);
+          } finally {
+            memberBusy.set(false);
+          }
+        }));
+        claims.add(claimed);
+      }
+    }
+
+    // leave anytime members their grace to return within the deadline
+    long deadline = System.nanoTime() + 1_000_000L
+        * Math.max(deadlineMillis / 2, deadlineMillis - AnytimeRun.GRACE_MILLIS);
+    BitboardEngine engine = BitboardEngine.fromModel(position);
+    Move best = null;
+    int bestValue = Integer.MIN_VALUE;
+    for (int i = 0; i < members.size(); i++) {
+      long remaining = Math.max(0, (deadline - System.nanoTime()) / 1_000_000L);
+      Move proposal;
+      if (runs.get(i) != null) {
+        MoveCandidate candidate = runs.get(i).awaitOrStop(remaining);
+        if (candidate == null) {
+          continue;
+        }
+        proposal = candidate.getMove();
+      } else if (answers.get(i) == null) {
+        continue;
+      } else {
+        Future<Move> answer = answers.get(i);
+        try {
+          proposal = answer.get(remaining, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+          abandon(i, answer, claims.get(i));
+          continue;
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          abandon(i, answer, claims.get(i));
+          continue;
+        }
+      }
+      if (proposal != null && !model.isLegalMove(proposal.getCardIndex(), proposal.getRow(),
+          proposal.getCol())) {
+        continue;
+      }
+      int value = evaluate(engine, player, proposal);
+      if (value > bestValue) {
+        bestValue = value;
+        best = proposal;
+        lastChoice = i;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Interrupts a member that missed the deadline. It stays busy until it returns, unless its
+   * task never started.
+   */
+  private void abandon(int member, Future<Move> answer, AtomicBoolean claimed) {
+    answer.cancel(true);
+    if (claimed.compareAndSet(false, true)) {
+      busy.get(member).set(false);
+    }
+  }
+
+  /**
+   * Scores the position a move leaves for the player, higher being better. The engine is left
+   * as it was.
+   */
+  private int evaluate(BitboardEngine engine, PlayerColor player, Move move) {
+    if (move == null) {
+      engine.pass();
+    } else {
+      engine.place(move.getCardIndex(), move.getRow(), move.getCol());
+    }
+    int value = evaluator.evaluate(engine, player);
+    engine.undo();
+    return value;
+  }
+
+  /**
+   * Returns the position in the member list of the strategy whose move was played last, or -1
+   * if no member proposed a usable move.
+   *
+   * @return the index of the last chosen member
+   */
+  public int getLastChoice() {
+    return lastChoice;
+  }
+
+  /**
+   * Stops the worker threads and those of every member. The portfolio cannot be used
+   * afterwards.
+   */
+  @Override
+  public void shutdown() {
+    workers.shutdownNow();
+    for (SanguineStrategy member : members) {
+      member.shutdown();
+    }
+  }
+}
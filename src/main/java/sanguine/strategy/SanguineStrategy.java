@@ -17,4 +17,12 @@ public interface SanguineStrategy {
    * @return a Move object, or null if no valid move exists
    */
   Move chooseMove(ReadOnlySanguineModel model, PlayerColor player);
+
+  /**
+   * Stops any threads the strategy keeps between moves. The strategy cannot be used
+   * afterwards. Strategies without threads of their own need not override this.
+   */
+  default void shutdown() {
+    // nothing to stop
+  }
 }
@@ -0,0 +1,148 @@
+package sanguine.strategy;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+
+/**
+ * Strategy that gives another strategy a fixed time to choose each move.
+ * The strategy runs on a worker thread over a snapshot of the game, so it never sees the game
+ * change under it. If it has not answered by the deadline, or fails, or answers with an illegal
+ * move, it is interrupted and the fallback strategy chooses instead. Strategies that check
+ * {@link Thread#isInterrupted()} stop promptly; others finish in the background and their
+ * answer is thrown away. Until such a strategy has finished, later moves go straight to the
+ * fallback, so the strategy never runs twice at once.
+ *
+ * <p>An {@link AnytimeStrategy} is instead left to search until shortly before the deadline and
+ * then told to stop, leaving it {@link AnytimeRun#GRACE_MILLIS} to return, and the best move it
+ * had reported is played. One that does not return in time is interrupted and, like any other
+ * strategy, sits out later moves until it has.</p>
+ *
+ * <p>Because every move is shown a new snapshot, a strategy that keeps state from one move to
+ * the next must recognise the game by what is on the board and in the hands, not by the model
+ * object it is handed.</p>
+ */
+public class TimedStrategy implements SanguineStrategy {
+
+  private final SanguineStrategy strategy;
+  private final long deadlineMillis;
+  private final SanguineStrategy fallback;
+  private final ExecutorService workers;
+  private final AtomicBoolean busy;
+  // INVARIANT: busy is true from when the strategy is handed a move until it returns, even
+  // after its task was cancelled, and the strategy is never handed a move while busy
+  private AnytimeRun running;
+  private int fallbacks;
+
+  /**
+   * Creates a strategy.
+   *
+   * @param strategy the strategy to time
+   * @param deadlineMillis how long it may take per move, in milliseconds
+   * @param fallback the strategy used when it runs out of time or fails; it runs on the
+   *                 caller's thread and should be quick
+   * @throws IllegalArgumentException if a strategy is null or the deadline is not positive
+   */
+  public TimedStrategy(SanguineStrategy strategy, long deadlineMillis,
+                       SanguineStrategy fallback) {
+    if (strategy == null || fallback == null) {
+      throw new IllegalArgumentException("Strategies cannot be null");
+    }
+    if (deadlineMillis <= 0) {
+      throw new IllegalArgumentException("Deadline must be positive");
+    }
+    this.strategy = strategy;
+    this.deadlineMillis = deadlineMillis;
+    this.fallback = fallback;
+    this.busy = new AtomicBoolean();
+    // a cached pool, so a strategy that ignores interruption never holds up the next move
+    this.workers = Executors.newCachedThreadPool(task -> {
+      Thread thread = new Thread(task, "sanguine-strategy");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @Override
+  public Move chooseMove(ReadOnlySanguineModel model, PlayerColor player) {
+    ReadOnlySanguineModel position = model.snapshot();
+    if (strategy instanceof AnytimeStrategy) {
+      if (running != null && !running.isDone()) {
+        fallbacks++;
+        return fallback.chooseMove(model, player);
+      }
+      running = AnytimeRun.start(workers, (AnytimeStrategy) strategy, position, player,
+          candidate -> {});
+      MoveCandidate best = running.awaitOrStop(
+          Math.max(deadlineMillis / 2, deadlineMillis - AnytimeRun.GRACE_MILLIS));
+      if (best != null && (best.isPass() || isLegal(model, best.getMove()))) {
+        return best.getMove();
+      }
+      fallbacks++;
+      return fallback.chooseMove(model, player);
+    }
+    if (busy.get()) {
+      fallbacks++;
+      return fallback.chooseMove(model, player);
+    }
+    busy.set(true);
+    AtomicBoolean claimed = new AtomicBoolean();
+    Future<Move> answer = workers.submit(() -> {
+      if (!claimed.compareAndSet(false, true)) {
+        return null;
+      }
+      try {
+        return strategy.chooseMove(position, player);
+      } finally {
+        busy.set(false);
+      }
+    });
+    try {
+      Move move = answer.get(deadlineMillis, TimeUnit.MILLISECONDS);
+      if (move == null || isLegal(model, move)) {
+        return move;
+      }
+    } catch (TimeoutException | ExecutionException e) {
+      answer.cancel(true);
+    } catch (InterruptedException e) {
+      answer.cancel(true);
+      Thread.currentThread().interrupt();
+    }
+    if (claimed.compareAndSet(false, true)) {
+      // the task never started, so it will not clear the flag itself
+      busy.set(false);
+    }
+    fallbacks++;
+    return fallback.chooseMove(model, player);
+  }
+
+  private static boolean isLegal(ReadOnlySanguineModel model, Move move) {
+    return model.isLegalMove(move.getCardIndex(), move.getRow(), move.getCol());
+  }
+
+  /**
+   * Returns how many moves were chosen by the fallback strategy.
+   *
+   * @return the fallback count
+   */
+  public int getFallbacks() {
+    return fallbacks;
+  }
+
+  /**
+   * Stops the worker threads, interrupting any strategy still running, and shuts down the
+   * timed strategy and the fallback. The strategy cannot be used afterwards.
+   */
+  @Override
+  public void shutdown() {
+    workers.shutdownNow();
+    strategy.shutdown();
+    fallback.shutdown();
+  }
+}
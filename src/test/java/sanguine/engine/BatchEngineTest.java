@@ -0,0 +1,130 @@
+package sanguine.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import org.junit.Test;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+import sanguine.model.SanguineModelImpl;
+
+/**
+ * Tests for the batch engine.
+ */
+public class BatchEngineTest {
+
+  @Test
+  public void testRandomGamesMatchModel() {
+    List<Card> red = EngineTestDecks.randomDeck(25, 8, 1);
+    List<Card> blue = EngineTestDecks.randomDeck(25, 8, 2);
+    replayAgainstModel(red, blue, new RandomBatchPolicy(5), new RandomBatchPolicy(6));
+  }
+
+  @Test
+  public void testGreedyAgainstRandomMatchesModel() {
+    List<Card> red = EngineTestDecks.randomDeck(25, 8, 3);
+    List<Card> blue = EngineTestDecks.randomDeck(25, 8, 4);
+    replayAgainstModel(red, blue, new GreedyBatchPolicy(), new RandomBatchPolicy(9));
+  }
+
+  @Test
+  public void testShuffledDealsDifferPerGame() {
+    List<Card> deck = EngineTestDecks.randomDeck(30, 15, 8);
+    CardTable table = CardTable.of(deck, deck);
+    BatchEngine batch = new BatchEngine(200, 3, 5, table, deck.size());
+    batch.deal(deck, deck, 5, new SplittableRandom(3));
+
+    Set<List<Integer>> openingHands = new HashSet<>();
+    for (int game = 0; game < batch.getGames(); game++) {
+      List<Integer> hand = new ArrayList<>();
+      for (int slot = 0; slot < 5; slot++) {
+        hand.add(batch.getHandCard(game, PlayerColor.RED, slot));
+      }
+      openingHands.add(hand);
+    }
+    assertTrue(openingHands.size() > 100);
+
+    batch.playOut(new RandomBatchPolicy(1), new GreedyBatchPolicy());
+    assertEquals(0, batch.getActiveGames());
+    for (int game = 0; game < batch.getGames(); game++) {
+      assertTrue(batch.isGameOver(game));
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testIllegalPolicyMoveRejected() {
+    List<Card> deck = EngineTestDecks.randomDeck(20, 4, 2);
+    BatchEngine batch = new BatchEngine(2, 3, 5, CardTable.of(deck, deck), deck.size());
+    batch.deal(deck, deck, 5, null);
+    batch.step((engine, color, moves) -> moves[0] = 2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDeckLargerThanCapacityRejected() {
+    List<Card> deck = EngineTestDecks.randomDeck(20, 4, 2);
+    new BatchEngine(2, 3, 5, CardTable.of(deck, deck), 10).deal(deck, deck, 5, null);
+  }
+
+  private void replayAgainstModel(List<Card> red, List<Card> blue, BatchPolicy redPolicy,
+                                  BatchPolicy bluePolicy) {
+    BatchEngine batch = new BatchEngine(50, 3, 5, CardTable.of(red, blue), 25);
+    batch.deal(red, blue, 5, null);
+    List<List<Integer>> transcripts = new ArrayList<>();
+    for (int game = 0; game < batch.getGames(); game++) {
+      transcripts.add(new ArrayList<>());
+    }
+    int[] before = new int[batch.getGames()];
+    while (batch.getActiveGames() > 0) {
+      for (int game = 0; game < batch.getGames(); game++) {
+        before[game] = batch.isGameOver(game) ? 1 : 0;
+      }
+      BatchPolicy recordRed = recording(redPolicy, transcripts, before);
+      BatchPolicy recordBlue = recording(bluePolicy, transcripts, before);
+      batch.step(recordRed, recordBlue);
+    }
+
+    int cells = batch.getCellsPerGame();
+    for (int game = 0; game < batch.getGames(); game++) {
+      SanguineModelImpl model = new SanguineModelImpl(3, 5, red, blue, 5);
+      for (int move : transcripts.get(game)) {
+        if (move == BatchEngine.PASS) {
+          model.pass();
+        } else {
+          model.placeCard(move / cells, move % cells / 5, move % cells % 5);
+        }
+      }
+      assertTrue(model.isGameOver());
+      for (int row = 0; row < 3; row++) {
+        for (PlayerColor color : PlayerColor.values()) {
+          assertEquals(model.getRowScore(row, color), batch.getRowScore(game, row, color));
+        }
+        for (int col = 0; col < 5; col++) {
+          int cell = batch.getCell(game, row * 5 + col);
+          int pawns = Math.abs(cell) == BatchEngine.CARD ? 0 : Math.abs(cell);
+          assertEquals(model.getPawnCount(row, col), pawns);
+        }
+      }
+      for (PlayerColor color : PlayerColor.values()) {
+        assertEquals(model.getTotalScore(color), batch.getTotalScore(game, color));
+      }
+      assertEquals(model.getWinner(), batch.getWinner(game));
+    }
+  }
+
+  private BatchPolicy recording(BatchPolicy policy, List<List<Integer>> transcripts,
+                                int[] finished) {
+    return (batch, color, moves) -> {
+      policy.choose(batch, color, moves);
+      for (int game = 0; game < batch.getGames(); game++) {
+        if (finished[game] == 0 && batch.getCurrentPlayer(game) == color) {
+          transcripts.get(game).add(moves[game]);
+        }
+      }
+    };
+  }
+}
@@ -0,0 +1,197 @@
+package sanguine.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+import sanguine.model.SanguineModelImpl;
+
+/**
+ * Tests for the bitboard engine.
+ */
+public class BitboardEngineTest {
+
+  @Test
+  public void testMatchesModelOnSmallBoard() {
+    for (long seed = 0; seed < 20; seed++) {
+      playLockstep(3, 5, 5, seed);
+    }
+  }
+
+  @Test
+  public void testMatchesModelOnMediumBoard() {
+    for (long seed = 0; seed < 5; seed++) {
+      playLockstep(5, 11, 5, seed);
+    }
+  }
+
+  @Test
+  public void testMatchesModelOnLargestBoard() {
+    playLockstep(15, 31, 7, 42);
+  }
+
+  @Test
+  public void testUndoRestoresEveryPosition() {
+    List<Card> deck = EngineTestDecks.randomDeck(55, 12, 7);
+    BitboardEngine engine = BitboardEngine.initial(5, 11, deck, deck, 5);
+    Random random = new Random(7);
+    List<String> history = new ArrayList<>();
+    while (!engine.isGameOver()) {
+      history.add(describe(engine));
+      playRandomMove(engine, random);
+    }
+    for (int i = history.size() - 1; i >= 0; i--) {
+      engine.undo();
+      assertEquals(history.get(i), describe(engine));
+    }
+    assertEquals(0, engine.getPly());
+  }
+
+  @Test
+  public void testLegalCellsMatchPawnCounts() {
+    List<Card> deck = EngineTestDecks.randomDeck(30, 6, 3);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 5);
+    long[] cells = new long[engine.getGeometry().getWords()];
+    engine.legalCells(1, cells);
+    int count = 0;
+    for (int bit = BoardGeometry.nextBit(cells, 0); bit >= 0;
+         bit = BoardGeometry.nextBit(cells, bit + 1)) {
+      assertEquals(0, engine.getGeometry().colOf(bit));
+      count++;
+    }
+    assertEquals(3, count);
+    engine.legalCells(2, cells);
+    assertEquals(-1, BoardGeometry.nextBit(cells, 0));
+  }
+
+  @Test
+  public void testIllegalPlacementRejected() {
+    List<Card> deck = EngineTestDecks.randomDeck(30, 6, 3);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 5);
+    assertFalse(engine.place(0, 1, 2));
+    assertFalse(engine.place(0, 1, 4));
+    assertFalse(engine.place(9, 1, 0));
+    assertEquals(0, engine.getPly());
+  }
+
+  @Test
+  public void testHiddenDrawsKeepPlayerInGame() {
+    List<Card> deck = EngineTestDecks.randomDeck(15, 3, 5);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 1);
+    List<Card> unknown = new ArrayList<>();
+    unknown.add(null);
+    engine.setDeck(PlayerColor.RED, unknown);
+    engine.setDeck(PlayerColor.BLUE, new ArrayList<>());
+    engine.pass();
+    assertEquals(1, engine.getHiddenCards(PlayerColor.RED));
+    assertEquals(1, engine.getHandSize(PlayerColor.RED));
+    engine.undo();
+    assertEquals(0, engine.getHiddenCards(PlayerColor.RED));
+    assertEquals(1, engine.getDeckSize(PlayerColor.RED));
+  }
+
+  private void playLockstep(int rows, int cols, int handSize, long seed) {
+    List<Card> redDeck = EngineTestDecks.randomDeck(rows * cols, 10, seed);
+    List<Card> blueDeck = EngineTestDecks.randomDeck(rows * cols, 10, seed + 1000);
+    SanguineModelImpl model = new SanguineModelImpl(rows, cols, redDeck, blueDeck, handSize);
+    BitboardEngine engine = BitboardEngine.initial(rows, cols, redDeck, blueDeck, handSize);
+    Random random = new Random(seed);
+
+    while (!model.isGameOver()) {
+      assertSame(model, engine);
+      List<int[]> legal = new ArrayList<>();
+      for (int card = 0; card < model.getCurrentHandSize(); card++) {
+        for (int row = 0; row < rows; row++) {
+          for (int col = 0; col < cols; col++) {
+            boolean expected = model.isLegalMove(card, row, col);
+            assertEquals(expected, engine.isLegal(card, row, col));
+            if (expected) {
+              legal.add(new int[] {card, row, col});
+            }
+          }
+        }
+      }
+      if (legal.isEmpty() || random.nextInt(10) == 0) {
+        model.pass();
+        engine.pass();
+      } else {
+        int[] move = legal.get(random.nextInt(legal.size()));
+        assertTrue(model.placeCard(move[0], move[1], move[2]));
+        assertTrue(engine.place(move[0], move[1], move[2]));
+      }
+    }
+    assertTrue(engine.isGameOver());
+    assertSame(model, engine);
+    assertEquals(model.getWinner(), engine.getWinner());
+  }
+
+  private void assertSame(SanguineModelImpl model, BitboardEngine engine) {
+    assertEquals(model.getCurrentPlayer(), engine.getCurrentPlayer());
+    assertEquals(model.isGameOver(), engine.isGameOver());
+    CardTable table = engine.getCardTable();
+    for (PlayerColor color : PlayerColor.values()) {
+      List<Card> hand = model.getHand(color);
+      assertEquals(hand.size(), engine.getHandSize(color));
+      for (int i = 0; i < hand.size(); i++) {
+        assertEquals(hand.get(i), table.card(engine.getHandCard(color, i)));
+      }
+      assertEquals(model.getTotalScore(color), engine.getTotalScore(color));
+    }
+    for (int row = 0; row < model.getRows(); row++) {
+      for (PlayerColor color : PlayerColor.values()) {
+        assertEquals(model.getRowScore(row, color), engine.getRowScore(row, color));
+        assertEquals(model.getRowScore(row, color), engine.computeRowScore(row, color));
+      }
+      for (int col = 0; col < model.getCols(); col++) {
+        assertEquals(model.getOwnerOfCell(row, col), engine.getOwner(row, col));
+        assertEquals(model.getPawnCount(row, col), engine.getPawnCount(row, col));
+        Card card = model.getCardAt(row, col);
+        int id = engine.getCardId(row, col);
+        assertEquals(card, id < 0 ? null : table.card(id));
+      }
+    }
+  }
+
+  private void playRandomMove(BitboardEngine engine, Random random) {
+    BoardGeometry geometry = engine.getGeometry();
+    PlayerColor mover = engine.getCurrentPlayer();
+    for (int attempt = 0; attempt < 50; attempt++) {
+      int slot = random.nextInt(Math.max(1, engine.getHandSize(mover)));
+      int row = random.nextInt(geometry.getRows());
+      int col = random.nextInt(geometry.getCols());
+      if (engine.place(slot, row, col)) {
+        return;
+      }
+    }
+    engine.pass();
+  }
+
+  private String describe(BitboardEngine engine) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(engine.getCurrentPlayer()).append(engine.isGameOver())
+        .append(engine.hasPassed(PlayerColor.RED)).append(engine.hasPassed(PlayerColor.BLUE));
+    for (PlayerColor color : PlayerColor.values()) {
+      sb.append('|').append(engine.getDeckSize(color)).append(':');
+      for (int i = 0; i < engine.getHandSize(color); i++) {
+        sb.append(engine.getHandCard(color, i)).append(',');
+      }
+    }
+    BoardGeometry geometry = engine.getGeometry();
+    for (int row = 0; row < geometry.getRows(); row++) {
+      sb.append('\n');
+      for (int col = 0; col < geometry.getCols(); col++) {
+        sb.append(engine.getOwner(row, col)).append(engine.getPawnCount(row, col))
+            .append(engine.getCardId(row, col)).append(' ');
+      }
+      sb.append(engine.getRowScore(row, PlayerColor.RED)).append('/')
+          .append(engine.getRowScore(row, PlayerColor.BLUE));
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,65 @@
+package sanguine.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import sanguine.model.Card;
+
+/**
+ * Builds decks for engine tests.
+ * Provides randomly patterned cards so tests exercise many influence shapes.
+ */
+public class EngineTestDecks {
+
+  /**
+   * Creates a deck of cards with random costs, values and influence grids.
+   *
+   * @param size number of cards
+   * @param distinct number of distinct cards to cycle through
+   * @param seed random seed
+   * @return the deck
+   */
+  public static List<Card> randomDeck(int size, int distinct, long seed) {
+    Random random = new Random(seed);
+    List<Card> kinds = new ArrayList<>();
+    for (int i = 0; i < distinct; i++) {
+      boolean[][] grid = new boolean[5][5];
+      for (int r = 0; r < 5; r++) {
+        for (int c = 0; c < 5; c++) {
+          grid[r][c] = random.nextInt(3) == 0;
+        }
+      }
+      grid[2][2] = true;
+      kinds.add(new Card("Card" + seed + "x" + i, 1 + random.nextInt(3),
+          1 + random.nextInt(8), grid));
+    }
+    List<Card> deck = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      deck.add(kinds.get(random.nextInt(distinct)));
+    }
+    return deck;
+  }
+
+  /**
+   * Creates a deck like {@link #randomDeck}, but with every influence grid reading the same
+   * upside down.
+   *
+   * @param size number of cards
+   * @param distinct number of distinct cards to cycle through
+   * @param seed random seed
+   * @return the deck
+   */
+  public static List<Card> symmetricDeck(int size, int distinct, long seed) {
+    List<Card> deck = new ArrayList<>();
+    for (Card card : randomDeck(size, distinct, seed)) {
+      boolean[][] grid = new boolean[5][5];
+      for (int r = 0; r < 5; r++) {
+        for (int c = 0; c < 5; c++) {
+          grid[r][c] = card.hasInfluenceAt(Math.min(r, 4 - r), c);
+        }
+      }
+      deck.add(new Card(card.getName(), card.getCost(), card.getValue(), grid));
+    }
+    return deck;
+  }
+}
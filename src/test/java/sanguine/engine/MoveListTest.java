@@ -0,0 +1,159 @@
+package sanguine.engine;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.model.PlayerColor;
+
+/**
+ * Tests for packed moves and the reusable move list.
+ */
+public class MoveListTest {
+
+  private BitboardEngine engine;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    engine = BitboardEngine.initial(3, 5, EngineTestDecks.randomDeck(15, 5, 71),
+        EngineTestDecks.randomDeck(15, 5, 72), 5);
+  }
+
+  @Test
+  public void testEncodeRoundTrip() {
+    int packed = MoveList.encode(7, 13);
+    assertEquals(7, MoveList.cardOf(packed));
+    assertEquals(13, MoveList.cellOf(packed));
+    assertTrue(packed != MoveList.PASS && packed != 0);
+  }
+
+  @Test
+  public void testGenerateListsEachCardOnce() {
+    MoveList list = new MoveList(1);
+    int count = list.generate(engine);
+    assertEquals(count, list.size());
+    int expected = 0;
+    for (int slot = 0; slot < engine.getHandSize(PlayerColor.RED); slot++) {
+      int card = engine.getHandCard(PlayerColor.RED, slot);
+      for (int row = 0; row < 3; row++) {
+        for (int col = 0; col < 5; col++) {
+          if (engine.findSlot(card) == slot && engine.isLegal(slot, row, col)) {
+            assertEquals(MoveList.encode(card, row * 5 + col), list.get(expected));
+            expected++;
+          }
+        }
+      }
+    }
+    assertEquals(expected, count);
+    assertTrue(count > 0);
+  }
+
+  @Test
+  public void testGenerateAllListsEveryCopy() {
+    MoveList list = new MoveList();
+    list.generate(engine);
+    int playable = MoveList.cardOf(list.get(0));
+    int other = engine.getHandCard(PlayerColor.RED, engine.findSlot(playable) == 0 ? 1 : 0);
+    engine.setHand(PlayerColor.RED, new int[] {other, playable, playable}, 3);
+    int count = list.generateAll(engine);
+    int expected = 0;
+    for (int slot = 0; slot < engine.getHandSize(PlayerColor.RED); slot++) {
+      for (int row = 0; row < 3; row++) {
+        for (int col = 0; col < 5; col++) {
+          if (engine.isLegal(slot, row, col)) {
+            expected++;
+          }
+        }
+      }
+    }
+    assertEquals(expected, count);
+    assertTrue(count > new MoveList().generate(engine));
+  }
+
+  @Test
+  public void testPlayMakesPackedMove() {
+    MoveList list = new MoveList();
+    list.generate(engine);
+    final long hash = engine.getHash();
+    for (int i = 0; i < list.size(); i++) {
+      int move = list.get(i);
+      assertTrue(MoveList.play(engine, move));
+      int cell = MoveList.cellOf(move);
+      assertEquals(MoveList.cardOf(move), engine.getCardId(cell / 5, cell % 5));
+      engine.undo();
+    }
+    assertTrue(MoveList.play(engine, MoveList.PASS));
+    assertEquals(PlayerColor.BLUE, engine.getCurrentPlayer());
+    engine.undo();
+    assertEquals(hash, engine.getHash());
+  }
+
+  @Test
+  public void testJournalReplaysGame() {
+    MoveList journal = new MoveList();
+    MoveList list = new MoveList();
+    Random random = new Random(5);
+    BitboardEngine game = engine.copy();
+    while (!game.isGameOver()) {
+      list.generate(game);
+      list.add(MoveList.PASS);
+      int move = list.get(random.nextInt(list.size()));
+      MoveList.play(game, move);
+      journal.add(move);
+    }
+    int kept = journal.size() / 2;
+    while (journal.size() > kept) {
+      game.undo();
+      journal.truncate(journal.size() - 1);
+    }
+
+    BitboardEngine replay = engine.copy();
+    for (int move : journal.toArray()) {
+      assertTrue(MoveList.play(replay, move));
+    }
+    assertEquals(game.getHash(), replay.getHash());
+  }
+
+  @Test
+  public void testRecordAndTakeBack() {
+    MoveList list = new MoveList();
+    list.add(MoveList.encode(0, 0));
+    list.add(MoveList.PASS);
+    list.add(MoveList.encode(1, 7));
+    assertEquals(1, list.indexOf(MoveList.PASS));
+    list.truncate(1);
+    assertArrayEquals(new int[] {MoveList.encode(0, 0)}, list.toArray());
+    list.clear();
+    assertTrue(list.isEmpty());
+    assertFalse(list.indexOf(MoveList.PASS) >= 0);
+  }
+
+  @Test
+  public void testMoveToFrontKeepsOrder() {
+    MoveList list = new MoveList();
+    list.add(MoveList.encode(0, 0));
+    list.add(MoveList.encode(1, 1));
+    list.add(MoveList.PASS);
+    assertTrue(list.moveToFront(MoveList.PASS));
+    assertArrayEquals(new int[] {MoveList.PASS, MoveList.encode(0, 0), MoveList.encode(1, 1)},
+        list.toArray());
+    assertFalse(list.moveToFront(MoveList.encode(2, 2)));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetBeyondSize() {
+    new MoveList().get(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTruncateBeyondSize() {
+    new MoveList().truncate(1);
+  }
+}
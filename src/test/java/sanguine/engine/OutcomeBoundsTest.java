@@ -0,0 +1,169 @@
+package sanguine.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.Test;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+import sanguine.search.AlphaBetaSearch;
+import sanguine.search.SearchResult;
+import sanguine.search.TranspositionTable;
+
+/**
+ * Tests for game outcome bounds.
+ */
+public class OutcomeBoundsTest {
+
+  @Test
+  public void testBoundsHoldThroughoutPlayouts() {
+    List<Card> deck = EngineTestDecks.randomDeck(20, 8, 5);
+    BatchEngine batch = new BatchEngine(60, 3, 5, CardTable.of(deck, deck), deck.size());
+    batch.deal(deck, deck, 5, new SplittableRandom(7));
+    OutcomeBounds bounds = new OutcomeBounds(3);
+    List<List<int[]>> seen = new ArrayList<>();
+    List<List<PlayerColor>> decided = new ArrayList<>();
+    for (int game = 0; game < batch.getGames(); game++) {
+      seen.add(new ArrayList<>());
+      decided.add(new ArrayList<>());
+    }
+    while (batch.getActiveGames() > 0) {
+      for (int game = 0; game < batch.getGames(); game++) {
+        if (!batch.isGameOver(game)) {
+          bounds.compute(batch, game);
+          seen.get(game).add(snapshot(bounds));
+          decided.get(game).add(bounds.getDecidedWinner());
+        }
+      }
+      batch.step(new RandomBatchPolicy(3), new GreedyBatchPolicy());
+    }
+
+    for (int game = 0; game < batch.getGames(); game++) {
+      for (int[] bound : seen.get(game)) {
+        int i = 0;
+        for (PlayerColor color : PlayerColor.values()) {
+          for (int row = 0; row < 3; row++) {
+            int score = batch.getRowScore(game, row, color);
+            assertTrue(bound[i++] <= score);
+            assertTrue(score <= bound[i++]);
+          }
+          int total = batch.getTotalScore(game, color);
+          assertTrue(bound[i++] <= total);
+          assertTrue(total <= bound[i++]);
+        }
+      }
+      for (PlayerColor winner : decided.get(game)) {
+        if (winner != null) {
+          assertEquals(winner, batch.getWinner(game));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testStoppingDecidedGamesKeepsWinners() {
+    List<Card> red = EngineTestDecks.randomDeck(20, 8, 11);
+    List<Card> blue = EngineTestDecks.randomDeck(20, 8, 12);
+    CardTable table = CardTable.of(red, blue);
+    BatchEngine full = new BatchEngine(100, 3, 5, table, 20);
+    full.deal(red, blue, 5, new SplittableRandom(4));
+    full.playOut(new GreedyBatchPolicy(), new GreedyBatchPolicy());
+    BatchEngine stopped = new BatchEngine(100, 3, 5, table, 20);
+    stopped.deal(red, blue, 5, new SplittableRandom(4));
+    stopped.playOutUntilDecided(new GreedyBatchPolicy(), new GreedyBatchPolicy());
+
+    assertEquals(0, stopped.getActiveGames());
+    for (int game = 0; game < full.getGames(); game++) {
+      assertTrue(stopped.isGameOver(game));
+      assertEquals(full.getWinner(game), stopped.getWinner(game));
+    }
+  }
+
+  @Test
+  public void testUnknownCardsLeaveRowsOpen() {
+    List<Card> deck = EngineTestDecks.randomDeck(15, 5, 3);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 5);
+    engine.setHiddenCards(PlayerColor.BLUE, 1);
+    OutcomeBounds bounds = OutcomeBounds.of(engine);
+
+    for (int row = 0; row < 3; row++) {
+      assertEquals(OutcomeBounds.UNBOUNDED, bounds.getRowUpper(row, PlayerColor.BLUE));
+      assertTrue(bounds.getRowUpper(row, PlayerColor.RED) < OutcomeBounds.UNBOUNDED);
+      assertEquals(0, bounds.getRowLower(row, PlayerColor.RED));
+    }
+    assertNull(bounds.getDecidedWinner());
+    assertEquals(0, bounds.getDecidedMargin());
+  }
+
+  @Test
+  public void testRowsOutOfReachDecideWinner() {
+    Card low = centreCard("Low", 1);
+    Card high = centreCard("High", 9);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deckOf(low, high), deckOf(low, high),
+        0);
+    engine.setDeck(PlayerColor.RED, List.of());
+    engine.setDeck(PlayerColor.BLUE, List.of());
+    engine.setHand(PlayerColor.BLUE, List.of(low, low));
+    for (int row = 0; row < 3; row++) {
+      engine.setCard(row, 0, PlayerColor.RED, high);
+    }
+    engine.setCard(0, 4, PlayerColor.BLUE, high);
+    OutcomeBounds bounds = OutcomeBounds.of(engine);
+
+    assertEquals(4, engine.getOpenCells(1));
+    assertEquals(11, bounds.getRowUpper(0, PlayerColor.BLUE));
+    assertEquals(2, bounds.getRowUpper(1, PlayerColor.BLUE));
+    assertEquals(18, bounds.getTotalLower(PlayerColor.RED));
+    assertEquals(11, bounds.getTotalUpper(PlayerColor.BLUE));
+    assertEquals(PlayerColor.RED, bounds.getDecidedWinner());
+    assertEquals(7, bounds.getDecidedMargin());
+  }
+
+  @Test
+  public void testSearchScoresDecidedLinesAsWins() {
+    Card low = centreCard("Low", 1);
+    Card high = centreCard("High", 9);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deckOf(low, high), deckOf(low, high),
+        0);
+    engine.setDeck(PlayerColor.RED, List.of(low, low, low));
+    engine.setDeck(PlayerColor.BLUE, List.of(low, low, low));
+    engine.setHand(PlayerColor.RED, List.of(high, high, high));
+    engine.setHand(PlayerColor.BLUE, List.of(low));
+
+    SearchResult result = new AlphaBetaSearch(1, new TranspositionTable(1 << 12))
+        .search(engine, 20, 60_000);
+    assertTrue(result.getScore() > 29000);
+  }
+
+  private static Card centreCard(String name, int value) {
+    boolean[][] centre = new boolean[5][5];
+    centre[2][2] = true;
+    return new Card(name, 1, value, centre);
+  }
+
+  private static List<Card> deckOf(Card low, Card high) {
+    List<Card> deck = new ArrayList<>();
+    for (int i = 0; i < 15; i++) {
+      deck.add(i % 2 == 0 ? low : high);
+    }
+    return deck;
+  }
+
+  private static int[] snapshot(OutcomeBounds bounds) {
+    int[] out = new int[16];
+    int i = 0;
+    for (PlayerColor color : PlayerColor.values()) {
+      for (int row = 0; row < 3; row++) {
+        out[i++] = bounds.getRowLower(row, color);
+        out[i++] = bounds.getRowUpper(row, color);
+      }
+      out[i++] = bounds.getTotalLower(color);
+      out[i++] = bounds.getTotalUpper(color);
+    }
+    return out;
+  }
+}
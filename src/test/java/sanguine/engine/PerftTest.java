@@ -0,0 +1,77 @@
+package sanguine.engine;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.model.Card;
+import sanguine.model.GameState;
+import sanguine.model.SanguineModelImpl;
+
+/**
+ * Tests for counting game trees.
+ */
+public class PerftTest {
+
+  private List<Card> red;
+  private List<Card> blue;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    red = EngineTestDecks.randomDeck(15, 5, 81);
+    blue = EngineTestDecks.randomDeck(15, 5, 82);
+  }
+
+  @Test
+  public void testWalkersAgree() {
+    Perft perft = new Perft(4);
+    long[] engine = perft.count(BitboardEngine.initial(3, 5, red, blue, 3));
+    long[] state = perft.count(GameState.initial(3, 5, red, blue, 3));
+    long[] model = perft.count(() -> new SanguineModelImpl(3, 5, red, blue, 3));
+    assertArrayEquals(state, engine);
+    assertArrayEquals(state, model);
+    assertEquals(1, engine[0]);
+  }
+
+  @Test
+  public void testFirstPlyCountsPlacementsAndPass() {
+    GameState start = GameState.initial(3, 5, red, blue, 5);
+    long legal = 1;
+    for (int slot = 0; slot < start.getCurrentHandSize(); slot++) {
+      for (int row = 0; row < 3; row++) {
+        for (int col = 0; col < 5; col++) {
+          if (start.isLegalMove(slot, row, col)) {
+            legal++;
+          }
+        }
+      }
+    }
+    assertEquals(legal, new Perft(1).count(start)[1]);
+  }
+
+  @Test
+  public void testEngineLeftUnchanged() {
+    BitboardEngine engine = BitboardEngine.initial(3, 5, red, blue, 5);
+    engine.pass();
+    long hash = engine.getHash();
+    new Perft(3).count(engine);
+    assertEquals(hash, engine.getHash());
+    assertEquals(1, engine.getPly());
+  }
+
+  @Test
+  public void testGameOverHasNoChildren() {
+    GameState over = GameState.initial(3, 5, red, blue, 5).pass().pass();
+    assertArrayEquals(new long[] {1, 0, 0}, new Perft(2).count(over));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeDepth() {
+    new Perft(-1);
+  }
+}
@@ -0,0 +1,90 @@
+package sanguine.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import sanguine.model.Card;
+import sanguine.model.GameState;
+import sanguine.model.PlayerColor;
+
+/**
+ * Tests for the batch placement evaluator.
+ */
+public class PlacementEvaluatorTest {
+
+  @Test
+  public void testVectorKernelLoadsWhenModulePresent() {
+    assertTrue(PlacementEvaluator.create().isVectorized());
+  }
+
+  @Test
+  public void testScalarMatchesAppliedMoves() {
+    checkAgainstAppliedMoves(PlacementEvaluator.scalar());
+  }
+
+  @Test
+  public void testVectorMatchesAppliedMoves() {
+    checkAgainstAppliedMoves(PlacementEvaluator.create());
+  }
+
+  @Test
+  public void testListsEveryLegalPlacement() {
+    List<Card> deck = EngineTestDecks.randomDeck(30, 6, 4);
+    GameState state = GameState.initial(3, 5, deck, deck, 5);
+    PlacementBatch placements = PlacementEvaluator.create().evaluate(state, PlayerColor.RED);
+    int legal = 0;
+    for (int card = 0; card < 5; card++) {
+      for (int row = 0; row < 3; row++) {
+        for (int col = 0; col < 5; col++) {
+          legal += state.isLegalMove(card, row, col) ? 1 : 0;
+        }
+      }
+    }
+    assertEquals(legal, placements.size());
+  }
+
+  private void checkAgainstAppliedMoves(PlacementEvaluator evaluator) {
+    List<Card> deck = EngineTestDecks.randomDeck(55, 12, 11);
+    GameState state = GameState.initial(5, 11, deck, deck, 5);
+    Random random = new Random(11);
+    while (!state.isGameOver()) {
+      PlayerColor mover = state.getCurrentPlayer();
+      PlacementBatch placements = evaluator.evaluate(state, mover);
+      for (int i = 0; i < placements.size(); i++) {
+        GameState next = state.place(placements.getCardIndex(i), placements.getRow(i),
+            placements.getCol(i));
+        int underCard = state.getPawnCount(placements.getRow(i), placements.getCol(i));
+        for (PlayerColor color : PlayerColor.values()) {
+          int expected = pawnTotal(next, color) - pawnTotal(state, color)
+              + (color == mover ? underCard : 0);
+          assertEquals(expected, placements.getPawnDelta(i, color));
+          int row = placements.getRow(i);
+          assertEquals(next.getRowScore(row, color) - state.getRowScore(row, color),
+              placements.getRowScoreDelta(i, color));
+        }
+      }
+      if (placements.size() == 0) {
+        state = state.pass();
+      } else {
+        int choice = random.nextInt(placements.size());
+        state = state.place(placements.getCardIndex(choice), placements.getRow(choice),
+            placements.getCol(choice));
+      }
+    }
+  }
+
+  private int pawnTotal(GameState state, PlayerColor color) {
+    int total = 0;
+    for (int row = 0; row < state.getRows(); row++) {
+      for (int col = 0; col < state.getCols(); col++) {
+        if (state.getOwnerOfCell(row, col) == color) {
+          total += state.getPawnCount(row, col);
+        }
+      }
+    }
+    return total;
+  }
+}
@@ -0,0 +1,132 @@
+package sanguine.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+import sanguine.search.AlphaBetaSearch;
+import sanguine.search.TranspositionTable;
+
+/**
+ * Tests for position symmetries and canonical hashes.
+ */
+public class SymmetryTest {
+
+  @Test
+  public void testSymmetriesAreTheirOwnInverse() {
+    for (Symmetry symmetry : Symmetry.values()) {
+      for (int cell = 0; cell < 15; cell++) {
+        assertEquals(cell, symmetry.cell(symmetry.cell(cell, 3, 5), 3, 5));
+      }
+      for (PlayerColor color : PlayerColor.values()) {
+        assertEquals(color, symmetry.color(symmetry.color(color)));
+      }
+    }
+    assertEquals(12, Symmetry.ROW_FLIP.cell(2, 3, 5));
+    assertEquals(4, Symmetry.COLOR_MIRROR.cell(0, 3, 5));
+    assertEquals(14, Symmetry.ROTATION.cell(0, 3, 5));
+  }
+
+  @Test
+  public void testRowFlipHashesFlippedGame() {
+    List<Card> deck = EngineTestDecks.symmetricDeck(20, 6, 3);
+    BitboardEngine game = BitboardEngine.initial(3, 5, deck, deck, 5);
+    BitboardEngine flipped = BitboardEngine.initial(3, 5, deck, deck, 5);
+    assertTrue(game.isSymmetric(Symmetry.ROW_FLIP));
+    Random random = new Random(5);
+    while (!game.isGameOver()) {
+      int[] move = randomMove(game, random);
+      if (move == null) {
+        game.pass();
+        flipped.pass();
+      } else {
+        assertTrue(game.place(move[0], move[1], move[2]));
+        assertTrue(flipped.place(move[0], 2 - move[1], move[2]));
+      }
+      assertEquals(flipped.getHash(), game.getHash(Symmetry.ROW_FLIP));
+      assertEquals(game.getHash(), flipped.getHash(Symmetry.ROW_FLIP));
+      assertEquals(canonicalHash(game), canonicalHash(flipped));
+    }
+  }
+
+  @Test
+  public void testColorMirrorHashesMirroredGame() {
+    List<Card> deck = EngineTestDecks.randomDeck(20, 6, 4);
+    BitboardEngine game = BitboardEngine.initial(3, 5, deck, deck, 5);
+    BitboardEngine mirrored = BitboardEngine.initial(3, 5, deck, deck, 5);
+    mirrored.setCurrentPlayer(PlayerColor.BLUE);
+    assertTrue(game.isSymmetric(Symmetry.COLOR_MIRROR));
+    assertFalse(game.isSymmetric(Symmetry.ROW_FLIP));
+    Random random = new Random(6);
+    while (!game.isGameOver()) {
+      int[] move = randomMove(game, random);
+      if (move == null) {
+        game.pass();
+        mirrored.pass();
+      } else {
+        assertTrue(game.place(move[0], move[1], move[2]));
+        assertTrue(mirrored.place(move[0], move[1], 4 - move[2]));
+      }
+      assertEquals(mirrored.getHash(), game.getHash(Symmetry.COLOR_MIRROR));
+      assertEquals(game.getHash(), mirrored.getHash(Symmetry.COLOR_MIRROR));
+      assertEquals(canonicalHash(game), canonicalHash(mirrored));
+      assertEquals(game.getTotalScore(PlayerColor.RED),
+          mirrored.getTotalScore(PlayerColor.BLUE));
+    }
+  }
+
+  @Test
+  public void testOnlyEquivalentImagesCount() {
+    BitboardEngine engine = BitboardEngine.initial(3, 5, EngineTestDecks.randomDeck(20, 6, 1),
+        EngineTestDecks.randomDeck(20, 6, 2), 5);
+    assertFalse(engine.isSymmetric(Symmetry.COLOR_MIRROR));
+    assertFalse(engine.isSymmetric(Symmetry.ROTATION));
+    assertTrue(engine.isSymmetric(Symmetry.IDENTITY));
+    assertEquals(Symmetry.IDENTITY, engine.getCanonicalSymmetry());
+    assertNotEquals(engine.getHash(), engine.getHash(Symmetry.COLOR_MIRROR));
+  }
+
+  @Test
+  public void testSearchScoresMirrorImagesAlike() {
+    List<Card> deck = EngineTestDecks.symmetricDeck(20, 6, 7);
+    BitboardEngine game = BitboardEngine.initial(3, 5, deck, deck, 5);
+    BitboardEngine image = BitboardEngine.initial(3, 5, deck, deck, 5);
+    image.setCurrentPlayer(PlayerColor.BLUE);
+    Random random = new Random(8);
+    for (int i = 0; i < 3; i++) {
+      int[] move = randomMove(game, random);
+      game.place(move[0], move[1], move[2]);
+      image.place(move[0], 2 - move[1], 4 - move[2]);
+    }
+    assertEquals(canonicalHash(game), canonicalHash(image));
+
+    TranspositionTable table = new TranspositionTable(1 << 14);
+    int score = new AlphaBetaSearch(1, table).search(game, 3, 60_000).getScore();
+    assertEquals(score, new AlphaBetaSearch(1, table).search(image, 3, 60_000).getScore());
+    assertEquals(score, new AlphaBetaSearch(1, new TranspositionTable(1 << 14))
+        .search(image, 3, 60_000).getScore());
+  }
+
+  private static long canonicalHash(BitboardEngine engine) {
+    return engine.getHash(engine.getCanonicalSymmetry());
+  }
+
+  private static int[] randomMove(BitboardEngine engine, Random random) {
+    PlayerColor mover = engine.getCurrentPlayer();
+    for (int attempt = 0; attempt < 200; attempt++) {
+      int slot = random.nextInt(Math.max(1, engine.getHandSize(mover)));
+      int row = random.nextInt(3);
+      int col = random.nextInt(5);
+      if (slot < engine.getHandSize(mover) && engine.isLegal(slot, row, col)) {
+        return new int[] {slot, row, col};
+      }
+    }
+    return null;
+  }
+}
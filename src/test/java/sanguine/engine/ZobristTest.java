@@ -0,0 +1,109 @@
+package sanguine.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+import sanguine.model.SanguineModelImpl;
+
+/**
+ * Tests for Zobrist hashing in the bitboard engine.
+ */
+public class ZobristTest {
+
+  @Test
+  public void testIncrementalHashMatchesRecomputed() {
+    List<Card> deck = EngineTestDecks.randomDeck(55, 12, 21);
+    BitboardEngine engine = BitboardEngine.initial(5, 11, deck, deck, 5);
+    Random random = new Random(21);
+    List<Long> history = new ArrayList<>();
+    while (!engine.isGameOver()) {
+      assertEquals(engine.computeHash(), engine.getHash());
+      history.add(engine.getHash());
+      playRandomMove(engine, random);
+    }
+    assertEquals(engine.computeHash(), engine.getHash());
+    for (int i = history.size() - 1; i >= 0; i--) {
+      engine.undo();
+      assertEquals((long) history.get(i), engine.getHash());
+    }
+  }
+
+  @Test
+  public void testMoveOrderDoesNotMatter() {
+    boolean[][] centre = new boolean[5][5];
+    centre[2][2] = true;
+    List<Card> deck = new ArrayList<>();
+    for (int i = 0; i < 55; i++) {
+      deck.add(new Card("Plain" + i % 3, 1, 1 + i % 3, centre));
+    }
+    BitboardEngine first = BitboardEngine.initial(5, 11, deck, deck, 5);
+    first.place(0, 0, 0);
+    first.place(0, 2, 10);
+    first.place(1, 4, 0);
+    BitboardEngine second = BitboardEngine.initial(5, 11, deck, deck, 5);
+    second.place(2, 4, 0);
+    second.place(0, 2, 10);
+    second.place(0, 0, 0);
+    assertEquals(first.getHash(), second.getHash());
+
+    first.pass();
+    assertNotEquals(first.getHash(), second.getHash());
+  }
+
+  @Test
+  public void testKeysAreStableAcrossCardTables() {
+    List<Card> deck = EngineTestDecks.randomDeck(30, 6, 9);
+    SanguineModelImpl model = new SanguineModelImpl(3, 5, deck, deck, 5);
+    BitboardEngine initial = BitboardEngine.initial(3, 5, deck, deck, 5);
+    BitboardEngine fromModel = BitboardEngine.fromModel(model);
+    assertEquals(initial.getHash(), fromModel.getHash());
+    assertEquals(model.getDeckSize(PlayerColor.RED), fromModel.getDeckSize(PlayerColor.RED));
+  }
+
+  @Test
+  public void testDrawHashCoversOnlyNextDraws() {
+    List<Card> deck = EngineTestDecks.randomDeck(30, 6, 10);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 5);
+    int[] ids = new int[engine.getDeckSize(PlayerColor.RED)];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = engine.getDeckCard(PlayerColor.RED, i);
+    }
+    BitboardEngine farther = withSwappedDraws(engine, ids, 2);
+    BitboardEngine nearer = withSwappedDraws(engine, ids, 1);
+
+    long base = engine.getDrawHash(2);
+    assertEquals(engine.getHash(), farther.getHash());
+    assertEquals(base, farther.getDrawHash(2));
+    assertNotEquals(base, nearer.getDrawHash(2));
+    assertNotEquals(base, engine.getDrawHash(3));
+    assertEquals(0, engine.getDrawHash(0));
+  }
+
+  private BitboardEngine withSwappedDraws(BitboardEngine engine, int[] ids, int index) {
+    BitboardEngine copy = engine.copy();
+    int[] swapped = ids.clone();
+    swapped[index] = ids[index + 1];
+    swapped[index + 1] = ids[index];
+    copy.setDeck(PlayerColor.RED, swapped, 0, swapped.length);
+    return copy;
+  }
+
+  private void playRandomMove(BitboardEngine engine, Random random) {
+    BoardGeometry geometry = engine.getGeometry();
+    PlayerColor mover = engine.getCurrentPlayer();
+    for (int attempt = 0; attempt < 50; attempt++) {
+      int slot = random.nextInt(Math.max(1, engine.getHandSize(mover)));
+      if (engine.place(slot, random.nextInt(geometry.getRows()),
+          random.nextInt(geometry.getCols()))) {
+        return;
+      }
+    }
+    engine.pass();
+  }
+}
@@ -0,0 +1,227 @@
+package sanguine.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.controller.ModelStatusListener;
+
+/**
+ * Tests for the thread-safe Sanguine model.
+ */
+public class ConcurrentSanguineModelTests {
+
+  private ConcurrentSanguineModel model;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    List<Card> deck = MockCard.createSimpleDeck(15);
+    model = new ConcurrentSanguineModel(3, 5, deck, deck, 5);
+  }
+
+  @Test
+  public void testBehavesLikeSequentialModel() {
+    SanguineModelImpl reference = MockModel.createStandardGame();
+
+    assertTrue(model.placeCard(0, 0, 0));
+    assertTrue(reference.placeCard(0, 0, 0));
+    model.pass();
+    reference.pass();
+
+    assertEquals(reference.getCurrentPlayer(), model.getCurrentPlayer());
+    assertEquals(reference.getRowScore(0, PlayerColor.RED),
+        model.getRowScore(0, PlayerColor.RED));
+    assertEquals(reference.getHand(PlayerColor.BLUE).size(),
+        model.getHand(PlayerColor.BLUE).size());
+    assertEquals(reference.getCellContent(0, 0), model.getCellContent(0, 0));
+  }
+
+  @Test
+  public void testBoardAndCellsAreCopies() {
+    assertNotSame(model.getBoard(), model.getBoard());
+    model.getCell(0, 0).convertPawns(PlayerColor.BLUE);
+    assertEquals(PlayerColor.RED, model.getOwnerOfCell(0, 0));
+    assertEquals(2, model.getCell(2, 3).getRow());
+    assertEquals(3, model.getCell(2, 3).getCol());
+  }
+
+  @Test
+  public void testListenersMayQueryModelDuringNotification() {
+    AtomicReference<PlayerColor> seen = new AtomicReference<>();
+    model.addModelStatusListener(new ModelStatusListener() {
+      @Override
+      public void onTurnStart(PlayerColor color) {
+        seen.set(model.getCurrentPlayer());
+      }
+
+      @Override
+      public void onGameOver(PlayerColor winner, int winningScore) {
+        // not needed
+      }
+    });
+
+    model.startGame();
+    assertEquals(PlayerColor.RED, seen.get());
+    model.pass();
+    assertEquals(PlayerColor.BLUE, seen.get());
+  }
+
+  @Test
+  public void testListenersMayMoveDuringNotification() {
+    List<PlayerColor> turns = new ArrayList<>();
+    model.addModelStatusListener(new ModelStatusListener() {
+      @Override
+      public void onTurnStart(PlayerColor color) {
+        turns.add(color);
+        if (color == PlayerColor.BLUE) {
+          model.pass();
+        }
+      }
+
+      @Override
+      public void onGameOver(PlayerColor winner, int winningScore) {
+        turns.add(null);
+      }
+    });
+
+    model.pass();
+    assertTrue(model.isGameOver());
+    assertEquals(2, turns.size());
+    assertEquals(PlayerColor.BLUE, turns.get(0));
+    assertNull(turns.get(1));
+  }
+
+  @Test
+  public void testLaterListenersSeeEventsInCommitOrder() {
+    List<PlayerColor> turns = new ArrayList<>();
+    model.addModelStatusListener(new ModelStatusListener() {
+      @Override
+      public void onTurnStart(PlayerColor color) {
+        if (color == PlayerColor.BLUE) {
+          model.pass();
+        }
+      }
+
+      @Override
+      public void onGameOver(PlayerColor winner, int winningScore) {
+        // not needed
+      }
+    });
+    model.addModelStatusListener(new ModelStatusListener() {
+      @Override
+      public void onTurnStart(PlayerColor color) {
+        turns.add(color);
+      }
+
+      @Override
+      public void onGameOver(PlayerColor winner, int winningScore) {
+        turns.add(null);
+      }
+    });
+
+    model.pass();
+    assertEquals(2, turns.size());
+    assertEquals(PlayerColor.BLUE, turns.get(0));
+    assertNull(turns.get(1));
+  }
+
+  @Test
+  public void testEventsFromRacingWritersArriveInCommitOrder() throws InterruptedException {
+    List<PlayerColor> turns = Collections.synchronizedList(new ArrayList<>());
+    model.addModelStatusListener(new ModelStatusListener() {
+      @Override
+      public void onTurnStart(PlayerColor color) {
+        turns.add(color);
+      }
+
+      @Override
+      public void onGameOver(PlayerColor winner, int winningScore) {
+        turns.add(null);
+      }
+    });
+    List<Thread> players = new ArrayList<>();
+    for (PlayerColor color : PlayerColor.values()) {
+      Thread player = new Thread(() -> {
+        while (!model.isGameOver()) {
+          if (model.getCurrentPlayer() != color) {
+            continue;
+          }
+          boolean placed = false;
+          for (int row = 0; row < model.getRows() && !placed; row++) {
+            for (int col = 0; col < model.getCols() && !placed; col++) {
+              placed = model.placeCard(0, row, col);
+            }
+          }
+          if (!placed && model.getCurrentPlayer() == color) {
+            model.pass();
+          }
+        }
+      });
+      players.add(player);
+      player.start();
+    }
+    for (Thread player : players) {
+      player.join();
+    }
+
+    assertNull(turns.get(turns.size() - 1));
+    for (int i = 1; i < turns.size() - 1; i++) {
+      assertTrue(turns.get(i) != turns.get(i - 1));
+    }
+  }
+
+  @Test
+  public void testSpectatorsReadConsistentlyDuringPlay() throws InterruptedException {
+    AtomicBoolean failed = new AtomicBoolean(false);
+    AtomicBoolean done = new AtomicBoolean(false);
+    List<Thread> spectators = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      Thread spectator = new Thread(() -> {
+        while (!done.get()) {
+          try {
+            int handSize = model.getHand(model.getCurrentPlayer()).size();
+            int total = model.getTotalScore(PlayerColor.RED);
+            Board board = model.getBoard();
+            if (handSize < 0 || total < 0 || board.getRows() != 3) {
+              failed.set(true);
+            }
+          } catch (RuntimeException e) {
+            failed.set(true);
+          }
+        }
+      });
+      spectators.add(spectator);
+      spectator.start();
+    }
+
+    while (!model.isGameOver()) {
+      boolean placed = false;
+      for (int row = 0; row < model.getRows() && !placed; row++) {
+        for (int col = 0; col < model.getCols() && !placed; col++) {
+          placed = model.placeCard(0, row, col);
+        }
+      }
+      if (!placed) {
+        model.pass();
+      }
+    }
+    done.set(true);
+    for (Thread spectator : spectators) {
+      spectator.join();
+    }
+
+    assertFalse("Spectators should never observe a broken state", failed.get());
+  }
+}
@@ -0,0 +1,153 @@
+package sanguine.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.engine.EngineTestDecks;
+
+/**
+ * Tests for the incrementally kept control map.
+ */
+public class ControlMapTest {
+
+  private SanguineModelImpl model;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    model = new SanguineModelImpl(3, 5, EngineTestDecks.randomDeck(15, 6, 21),
+        EngineTestDecks.randomDeck(15, 6, 22), 5);
+  }
+
+  private static int offsetCol(PlayerColor color, int c) {
+    return color == PlayerColor.RED ? c : 4 - c;
+  }
+
+  private int bruteInfluence(int row, int col, PlayerColor color) {
+    int count = 0;
+    for (int r = 0; r < model.getRows(); r++) {
+      for (int c = 0; c < model.getCols(); c++) {
+        if (model.getCellContent(r, c) == CellContent.CARD && model.getOwnerOfCell(r, c) == color
+            && covers(model.getCardAt(r, c), color, r, c, row, col)) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  private int bruteThreats(int row, int col, PlayerColor color) {
+    int count = 0;
+    for (Card card : model.getPlayerHand(color)) {
+      for (int r = 0; r < model.getRows(); r++) {
+        for (int c = 0; c < model.getCols(); c++) {
+          if (model.getCellContent(r, c) == CellContent.PAWNS
+              && model.getOwnerOfCell(r, c) == color
+              && model.getPawnCount(r, c) >= card.getCost()
+              && covers(card, color, r, c, row, col)) {
+            count++;
+          }
+        }
+      }
+    }
+    return count;
+  }
+
+  private static boolean covers(Card card, PlayerColor color, int r, int c, int row, int col) {
+    int dr = row - r + 2;
+    int dc = col - c + 2;
+    return dr >= 0 && dr < 5 && dc >= 0 && dc < 5 && !(dr == 2 && dc == 2)
+        && card.hasInfluenceAt(dr, offsetCol(color, dc));
+  }
+
+  private void assertMatchesBoard(ControlMap map) {
+    for (int row = 0; row < model.getRows(); row++) {
+      for (int col = 0; col < model.getCols(); col++) {
+        for (PlayerColor color : PlayerColor.values()) {
+          assertEquals(bruteInfluence(row, col, color), map.getInfluence(row, col, color));
+          assertEquals(bruteThreats(row, col, color), map.getThreats(row, col, color));
+          boolean reachable = false;
+          List<Card> hand = model.getPlayerHand(color);
+          for (int i = 0; i < hand.size(); i++) {
+            boolean fits = model.getCellContent(row, col) == CellContent.PAWNS
+                && model.getOwnerOfCell(row, col) == color
+                && model.getPawnCount(row, col) >= hand.get(i).getCost();
+            reachable |= fits;
+            assertEquals(fits, (map.getPlaceableCards(row, col, color) & (1L << i)) != 0);
+          }
+          assertEquals(reachable, map.isReachable(row, col, color));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testIncrementalUpdatesMatchBoard() {
+    ControlMap map = new ControlMap(model);
+    assertMatchesBoard(map);
+    Random random = new Random(21);
+    while (!model.isGameOver()) {
+      int handSize = model.getCurrentHandSize();
+      boolean placed = false;
+      for (int tries = 0; tries < 100 && !placed && handSize > 0; tries++) {
+        int card = random.nextInt(handSize);
+        int row = random.nextInt(3);
+        int col = random.nextInt(5);
+        if (model.isLegalMove(card, row, col)) {
+          model.placeCard(card, row, col);
+          placed = true;
+        }
+      }
+      if (!placed) {
+        model.pass();
+      }
+      map.update();
+      assertMatchesBoard(map);
+    }
+  }
+
+  @Test
+  public void testStartingPawnsAreReachableNotAtRisk() {
+    ControlMap map = new ControlMap(model);
+    assertEquals(model.getPlayerHand(PlayerColor.RED).stream().anyMatch(c -> c.getCost() == 1),
+        map.isReachable(0, 0, PlayerColor.RED));
+    assertFalse(map.isReachable(0, 2, PlayerColor.RED));
+    assertFalse(map.isAtRisk(0, 0, PlayerColor.RED));
+    assertEquals(0, map.getInfluence(0, 1, PlayerColor.RED));
+  }
+
+  @Test
+  public void testMapCatchesUpOnTurnStart() {
+    ControlMap map = new ControlMap(model);
+    model.addModelStatusListener(map);
+    model.startGame();
+    boolean placed = false;
+    while (!placed && !model.isGameOver()) {
+      for (int card = 0; card < model.getCurrentHandSize() && !placed; card++) {
+        for (int cell = 0; cell < 15 && !placed; cell++) {
+          if (model.isLegalMove(card, cell / 5, cell % 5)) {
+            model.placeCard(card, cell / 5, cell % 5);
+            placed = true;
+          }
+        }
+      }
+      if (!placed) {
+        model.pass();
+      }
+    }
+    assertTrue(placed);
+    assertMatchesBoard(map);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsCellOffBoard() {
+    new ControlMap(model).getThreats(3, 0, PlayerColor.RED);
+  }
+}
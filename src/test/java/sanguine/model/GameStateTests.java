@@ -0,0 +1,147 @@
+package sanguine.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the immutable game state.
+ */
+public class GameStateTests {
+
+  private List<Card> deck;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    deck = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      deck.add(MockCard.createCrossInfluenceCard());
+      deck.add(MockCard.createRightInfluenceCard());
+      deck.add(MockCard.createDiagonalInfluenceCard());
+      deck.add(MockCard.createPowerCard());
+    }
+  }
+
+  @Test
+  public void testMatchesMutableModelThroughWholeGame() {
+    SanguineModelImpl model = new SanguineModelImpl(3, 5, deck, deck, 5);
+    GameState state = GameState.initial(3, 5, deck, deck, 5);
+
+    while (!model.isGameOver()) {
+      assertSameState(model, state);
+      boolean placed = false;
+      for (int card = 0; card < model.getCurrentHandSize() && !placed; card++) {
+        for (int row = 0; row < 3 && !placed; row++) {
+          for (int col = 0; col < 5 && !placed; col++) {
+            if (model.isLegalMove(card, row, col)) {
+              assertTrue(state.isLegalMove(card, row, col));
+              model.placeCard(card, row, col);
+              state = state.place(card, row, col);
+              placed = true;
+            }
+          }
+        }
+      }
+      if (!placed) {
+        model.pass();
+        state = state.pass();
+      }
+    }
+    assertTrue(state.isGameOver());
+    assertSameState(model, state);
+    assertEquals(model.getWinner(), state.getWinner());
+  }
+
+  @Test
+  public void testMovesDoNotChangeParent() {
+    GameState start = GameState.initial(3, 5, deck, deck, 5);
+    GameState next = start.place(0, 1, 0);
+    assertEquals(CellContent.CARD, next.getCellContent(1, 0));
+
+    assertEquals(PlayerColor.RED, start.getCurrentPlayer());
+    assertEquals(CellContent.PAWNS, start.getCellContent(1, 0));
+    assertEquals(5, start.getHand(PlayerColor.RED).size());
+    assertEquals(PlayerColor.BLUE, next.getCurrentPlayer());
+  }
+
+  @Test
+  public void testUntouchedRowsAreShared() {
+    List<Card> wide = new ArrayList<>();
+    for (int i = 0; i < 35; i++) {
+      wide.add(MockCard.createRightInfluenceCard());
+    }
+    GameState start = GameState.initial(7, 5, wide, wide, 5);
+    GameState next = start.place(0, 0, 0);
+
+    assertFalse(next.sharesRowWith(start, 0));
+    for (int row = 1; row < 7; row++) {
+      assertTrue(next.sharesRowWith(start, row));
+    }
+  }
+
+  @Test
+  public void testPassSharesBoard() {
+    GameState start = GameState.initial(3, 5, deck, deck, 5);
+    GameState passed = start.pass();
+
+    for (int row = 0; row < 3; row++) {
+      assertTrue(passed.sharesRowWith(start, row));
+    }
+    assertEquals(6, passed.getHand(PlayerColor.RED).size());
+    assertTrue(passed.pass().isGameOver());
+  }
+
+  @Test
+  public void testSnapshotOfModel() {
+    SanguineModelImpl model = new SanguineModelImpl(3, 5, deck, deck, 5);
+    model.placeCard(0, 0, 0);
+    model.placeCard(1, 2, 4);
+    GameState snapshot = model.snapshot();
+    assertSameState(model, snapshot);
+    assertSame(snapshot, snapshot.snapshot());
+
+    model.pass();
+    assertEquals(PlayerColor.RED, snapshot.getCurrentPlayer());
+    assertSameState(model, snapshot.pass());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalPlacementRejected() {
+    GameState.initial(3, 5, deck, deck, 5).place(0, 1, 2);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testNoMovesAfterGameOver() {
+    GameState.initial(3, 5, deck, deck, 5).pass().pass().pass();
+  }
+
+  private void assertSameState(SanguineModelImpl model, GameState state) {
+    assertEquals(model.getCurrentPlayer(), state.getCurrentPlayer());
+    assertEquals(model.isGameOver(), state.isGameOver());
+    assertEquals(model.getHand(PlayerColor.RED), state.getHand(PlayerColor.RED));
+    assertEquals(model.getHand(PlayerColor.BLUE), state.getHand(PlayerColor.BLUE));
+    assertEquals(model.getBoard().toString(), state.getBoard().toString());
+    for (int row = 0; row < model.getRows(); row++) {
+      for (PlayerColor color : PlayerColor.values()) {
+        assertEquals(model.getRowScore(row, color), state.getRowScore(row, color));
+      }
+      for (int col = 0; col < model.getCols(); col++) {
+        assertEquals(model.getOwnerOfCell(row, col), state.getOwnerOfCell(row, col));
+        assertEquals(model.getPawnCount(row, col), state.getPawnCount(row, col));
+        assertEquals(model.getCardAt(row, col), state.getCardAt(row, col));
+      }
+    }
+    for (PlayerColor color : PlayerColor.values()) {
+      assertEquals(model.getTotalScore(color), state.getTotalScore(color));
+    }
+  }
+}
@@ -209,6 +209,26 @@ public class MockSanguineModel implements MutableSanguineModel {
     return cols;
   }
 
+  @Override
+  public GameState snapshot() {
+    return null;
+  }
+
+  @Override
+  public PlacementEffect evaluatePlacement(int cardIndex, int row, int col) {
+    return PlacementEffect.preview(this, cardIndex, row, col);
+  }
+
+  @Override
+  public int getDeckSize(PlayerColor player) {
+    return 0;
+  }
+
+  @Override
+  public boolean hasPassed(PlayerColor player) {
+    return false;
+  }
+
   // ========== Helper methods ==========
 
   private void switchPlayer() {
@@ -0,0 +1,118 @@
+package sanguine.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for previewing placements without changing the model.
+ */
+public class PlacementEffectTests {
+
+  private List<Card> deck;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    deck = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      deck.add(MockCard.createCrossInfluenceCard());
+      deck.add(MockCard.createRightInfluenceCard());
+      deck.add(MockCard.createDiagonalInfluenceCard());
+      deck.add(MockCard.createPowerCard());
+    }
+  }
+
+  @Test
+  public void testPreviewMatchesPlayedMoveThroughWholeGame() {
+    SanguineModelImpl model = new SanguineModelImpl(3, 5, deck, deck, 5);
+    while (!model.isGameOver()) {
+      String before = model.getBoard().toString();
+      GameState state = model.snapshot();
+      int firstLegal = -1;
+      for (int card = 0; card < model.getCurrentHandSize(); card++) {
+        for (int row = 0; row < 3; row++) {
+          for (int col = 0; col < 5; col++) {
+            if (model.isLegalMove(card, row, col)) {
+              PlacementEffect effect = model.evaluatePlacement(card, row, col);
+              assertEquals(before, model.getBoard().toString());
+              assertMatches(state, state.place(card, row, col), effect);
+              firstLegal = firstLegal < 0 ? card * 15 + row * 5 + col : firstLegal;
+            }
+          }
+        }
+      }
+      if (firstLegal < 0) {
+        model.pass();
+      } else {
+        model.placeCard(firstLegal / 15, firstLegal % 15 / 5, firstLegal % 5);
+      }
+    }
+  }
+
+  @Test
+  public void testConvertsOpponentPawns() {
+    SanguineModelImpl model = new SanguineModelImpl(3, 5, deck, deck, 5);
+    model.placeCard(0, 1, 0);
+    model.placeCard(0, 1, 4);
+    PlacementEffect effect = model.evaluatePlacement(0, 1, 1);
+
+    assertEquals(PlayerColor.RED, effect.getMover());
+    assertEquals(1, effect.getConvertedCells());
+    assertEquals(-1, effect.getPawnDelta(PlayerColor.BLUE));
+    assertEquals(2, effect.getPawnDelta(PlayerColor.RED));
+    assertEquals(model.getRowScore(1, PlayerColor.RED) + effect.getCard().getValue(),
+        effect.getRowScore(1, PlayerColor.RED));
+    assertEquals(PlayerColor.BLUE, model.getOwnerOfCell(1, 3));
+  }
+
+  @Test
+  public void testNewlyLegalCells() {
+    SanguineModelImpl model = new SanguineModelImpl(3, 5, deck, deck, 5);
+    PlacementEffect effect = model.evaluatePlacement(0, 1, 0);
+    for (Cell cell : effect.getNewlyLegalCells(1)) {
+      assertEquals(1, cell.getNumPawns());
+      assertEquals(PlayerColor.RED, cell.getPlayer());
+    }
+    for (Cell cell : effect.getNewlyLegalCells(2)) {
+      assertEquals(2, cell.getNumPawns());
+      assertEquals(0, cell.getCol());
+    }
+    assertTrue(effect.getNewlyLegalCells(1).size() + effect.getNewlyLegalCells(2).size() > 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalPreviewRejected() {
+    new SanguineModelImpl(3, 5, deck, deck, 5).evaluatePlacement(0, 1, 2);
+  }
+
+  private void assertMatches(GameState before, GameState after, PlacementEffect effect) {
+    int changed = 0;
+    for (int row = 0; row < before.getRows(); row++) {
+      for (PlayerColor color : PlayerColor.values()) {
+        assertEquals(after.getRowScore(row, color), effect.getRowScore(row, color));
+      }
+      for (int col = 0; col < before.getCols(); col++) {
+        boolean differs = before.getOwnerOfCell(row, col) != after.getOwnerOfCell(row, col)
+            || before.getPawnCount(row, col) != after.getPawnCount(row, col);
+        if (differs && after.getCellContent(row, col) != CellContent.CARD) {
+          changed++;
+        }
+      }
+    }
+    assertEquals(changed, effect.getChangedCells().size());
+    for (Cell cell : effect.getChangedCells()) {
+      assertEquals(after.getOwnerOfCell(cell.getRow(), cell.getCol()), cell.getPlayer());
+      assertEquals(after.getPawnCount(cell.getRow(), cell.getCol()), cell.getNumPawns());
+    }
+    for (PlayerColor color : PlayerColor.values()) {
+      assertEquals(after.getTotalScore(color), effect.getTotalScore(color));
+    }
+  }
+}
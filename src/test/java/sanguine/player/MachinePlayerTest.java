@@ -4,12 +4,24 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import org.junit.Before;
 import org.junit.Test;
 import sanguine.controller.PlayerActionListener;
+import sanguine.engine.EngineTestDecks;
+import sanguine.model.Card;
 import sanguine.model.MockSanguineModel;
 import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+import sanguine.model.SanguineModelImpl;
+import sanguine.strategy.AlphaBetaStrategy;
 import sanguine.strategy.FillFirstStrategy;
+import sanguine.strategy.MctsStrategy;
+import sanguine.strategy.Move;
+import sanguine.strategy.PonderingStrategy;
 import sanguine.strategy.SanguineStrategy;
 
 
@@ -85,6 +97,26 @@ public class MachinePlayerTest {
     player.onGameOver(null, 0);
   }
 
+  @Test
+  public void testGameOverShutsDownStrategy() {
+    int[] shutdowns = new int[1];
+    SanguineStrategy strategy = new SanguineStrategy() {
+      @Override
+      public Move chooseMove(ReadOnlySanguineModel position, PlayerColor player) {
+        return null;
+      }
+
+      @Override
+      public void shutdown() {
+        shutdowns[0]++;
+      }
+    };
+    new MachinePlayer(PlayerColor.RED, strategy, model).onGameOver(PlayerColor.RED, 1);
+    new MachinePlayer(PlayerColor.RED, strategy, model, 50).onGameOver(PlayerColor.RED, 1);
+
+    assertEquals(2, shutdowns[0]);
+  }
+
   @Test
   public void testMultipleListeners() {
     MockPlayerActionListener listener2 = new MockPlayerActionListener();
@@ -97,6 +129,200 @@ public class MachinePlayerTest {
   }
 
 
+  @Test
+  public void testSlowStrategyMissesDeadline() {
+    SanguineStrategy slow = (position, player) -> {
+      try {
+        Thread.sleep(60_000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return null;
+    };
+    MachinePlayer timedPlayer = new MachinePlayer(PlayerColor.RED, slow, model, 50);
+    timedPlayer.addPlayerActionListener(listener);
+
+    timedPlayer.onTurnStart(PlayerColor.RED);
+
+    assertTrue(listener.wasConfirmMoveCalled());
+    assertFalse(listener.wasPassTurnCalled());
+    timedPlayer.onGameOver(PlayerColor.RED, 0);
+  }
+
+  @Test
+  public void testPondersDuringOpponentTurn() throws InterruptedException {
+    PonderRecorder strategy = new PonderRecorder();
+    MachinePlayer ponderer = new MachinePlayer(PlayerColor.RED, strategy, model);
+    ponderer.addPlayerActionListener(listener);
+
+    ponderer.onTurnStart(PlayerColor.BLUE);
+    assertTrue(strategy.started.await(5, TimeUnit.SECONDS));
+    assertFalse(listener.wasConfirmMoveCalled());
+
+    ponderer.onTurnStart(PlayerColor.RED);
+    assertTrue(strategy.stoppedBeforeMove);
+    assertTrue(listener.wasConfirmMoveCalled());
+  }
+
+  @Test
+  public void testGameOverStopsPondering() throws InterruptedException {
+    PonderRecorder strategy = new PonderRecorder();
+    MachinePlayer ponderer = new MachinePlayer(PlayerColor.RED, strategy, model);
+
+    ponderer.onTurnStart(PlayerColor.BLUE);
+    assertTrue(strategy.started.await(5, TimeUnit.SECONDS));
+    ponderer.onGameOver(PlayerColor.BLUE, 10);
+    assertTrue(strategy.finished);
+  }
+
+  @Test
+  public void testDeadlineKeepsStrategyBudget() {
+    List<Card> deck = EngineTestDecks.randomDeck(40, 8, 61);
+    SanguineModelImpl game = new SanguineModelImpl(5, 7, deck, deck, 5);
+    AlphaBetaStrategy strategy = new AlphaBetaStrategy(1, 200, 60);
+    MachinePlayer searcher = new MachinePlayer(PlayerColor.RED, strategy, game, 5_000);
+    searcher.addPlayerActionListener(listener);
+
+    long start = System.currentTimeMillis();
+    searcher.onTurnStart(PlayerColor.RED);
+    long elapsed = System.currentTimeMillis() - start;
+    assertTrue(listener.wasConfirmMoveCalled());
+    assertTrue("took " + elapsed + "ms", elapsed < 2_000);
+    searcher.onGameOver(PlayerColor.RED, 0);
+  }
+
+  @Test
+  public void testDeadlineResumesPonderedSearch() throws InterruptedException {
+    List<Card> deck = EngineTestDecks.randomDeck(15, 5, 61);
+    SanguineModelImpl game = new SanguineModelImpl(3, 5, deck, deck, 5);
+    PonderLatch strategy = new PonderLatch();
+    MachinePlayer searcher = new MachinePlayer(PlayerColor.RED, strategy, game, 5_000);
+    searcher.addPlayerActionListener(new MovePlayer(game));
+
+    searcher.onTurnStart(PlayerColor.RED);
+    searcher.onTurnStart(PlayerColor.BLUE);
+    assertTrue(strategy.pondered.await(5, TimeUnit.SECONDS));
+    new MovePlayer(game).play(new AlphaBetaStrategy(1, 10_000, 3)
+        .chooseMove(game, PlayerColor.BLUE));
+
+    long start = System.currentTimeMillis();
+    searcher.onTurnStart(PlayerColor.RED);
+    long elapsed = System.currentTimeMillis() - start;
+    assertTrue(strategy.isLastPonderHit());
+    assertTrue("took " + elapsed + "ms", elapsed < 2_000);
+    searcher.onGameOver(PlayerColor.RED, 0);
+  }
+
+  @Test
+  public void testDeadlineKeepsSearchTree() {
+    SanguineModelImpl game = new SanguineModelImpl(3, 5, EngineTestDecks.randomDeck(15, 5, 61),
+        EngineTestDecks.randomDeck(15, 5, 62), 5);
+    MctsStrategy strategy = new MctsStrategy(20, 1 << 14, 1);
+    MctsStrategy opponent = new MctsStrategy(20, 1 << 14, 2);
+    MachinePlayer searcher = new MachinePlayer(PlayerColor.RED, strategy, game, 5_000);
+    MovePlayer blue = new MovePlayer(game);
+    searcher.addPlayerActionListener(new MovePlayer(game));
+
+    int reused = 0;
+    while (!game.isGameOver()) {
+      if (game.getCurrentPlayer() == PlayerColor.RED) {
+        searcher.onTurnStart(PlayerColor.RED);
+        if (strategy.isLastReused()) {
+          reused++;
+        }
+      } else {
+        blue.play(opponent.chooseMove(game, PlayerColor.BLUE));
+      }
+    }
+    assertTrue(reused > 0);
+    searcher.onGameOver(PlayerColor.RED, 0);
+  }
+
+  /**
+   * Alpha-beta strategy that signals when it has finished pondering.
+   */
+  private static class PonderLatch extends AlphaBetaStrategy {
+    private final CountDownLatch pondered = new CountDownLatch(1);
+
+    PonderLatch() {
+      super(1, 10_000, 3);
+    }
+
+    @Override
+    public void ponder(ReadOnlySanguineModel position, PlayerColor player,
+                       BooleanSupplier stopped) {
+      super.ponder(position, player, stopped);
+      pondered.countDown();
+    }
+  }
+
+  /**
+   * Listener that plays the moves it is told about on a real game.
+   */
+  private static class MovePlayer implements PlayerActionListener {
+    private final SanguineModelImpl game;
+    private int cardIndex;
+    private int row;
+    private int col;
+
+    MovePlayer(SanguineModelImpl game) {
+      this.game = game;
+    }
+
+    void play(Move move) {
+      if (move == null) {
+        passTurn();
+      } else {
+        assertTrue(game.placeCard(move.getCardIndex(), move.getRow(), move.getCol()));
+      }
+    }
+
+    @Override
+    public void cardSelected(int cardIndex) {
+      this.cardIndex = cardIndex;
+    }
+
+    @Override
+    public void cellSelected(int row, int col) {
+      this.row = row;
+      this.col = col;
+    }
+
+    @Override
+    public void confirmMove() {
+      assertTrue(game.placeCard(cardIndex, row, col));
+    }
+
+    @Override
+    public void passTurn() {
+      game.pass();
+    }
+  }
+
+  /**
+   * Strategy that ponders until stopped and records that it was.
+   */
+  private static class PonderRecorder extends FillFirstStrategy implements PonderingStrategy {
+    private final CountDownLatch started = new CountDownLatch(1);
+    private volatile boolean finished;
+    private boolean stoppedBeforeMove;
+
+    @Override
+    public void ponder(ReadOnlySanguineModel position, PlayerColor player,
+                       BooleanSupplier stopped) {
+      started.countDown();
+      while (!stopped.getAsBoolean()) {
+        Thread.onSpinWait();
+      }
+      finished = true;
+    }
+
+    @Override
+    public Move chooseMove(ReadOnlySanguineModel position, PlayerColor player) {
+      stoppedBeforeMove = finished;
+      return super.chooseMove(position, player);
+    }
+  }
 
   // Mock listener
   private static class MockPlayerActionListener implements PlayerActionListener {
@@ -0,0 +1,162 @@
+package sanguine.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.BoardGeometry;
+import sanguine.engine.EngineTestDecks;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+
+/**
+ * Tests for the alpha-beta search.
+ */
+public class AlphaBetaSearchTest {
+
+  @Test
+  public void testFixedDepthMatchesPlainMinimax() {
+    List<Card> deck = EngineTestDecks.randomDeck(15, 5, 3);
+    for (long seed = 0; seed < 4; seed++) {
+      BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 5);
+      playRandomMoves(engine, new Random(seed), 2 + (int) seed);
+      AlphaBetaSearch search = new AlphaBetaSearch(1, new TranspositionTable(1 << 16));
+      SearchResult result = search.search(engine, 3, 60_000);
+      assertEquals(3, result.getDepth());
+      assertEquals(minimax(engine, 3, engine.getCurrentPlayer(), 0), result.getScore());
+    }
+  }
+
+  @Test
+  public void testSearchLeavesRootUnchanged() {
+    List<Card> deck = EngineTestDecks.randomDeck(30, 8, 4);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 5);
+    long hash = engine.getHash();
+    new AlphaBetaSearch(2, new TranspositionTable(1 << 16)).search(engine, 4, 60_000);
+    assertEquals(hash, engine.getHash());
+    assertEquals(0, engine.getPly());
+  }
+
+  @Test
+  public void testSaltedScoreIgnoresOtherEntries() {
+    BitboardEngine engine = BitboardEngine.initial(3, 5, EngineTestDecks.randomDeck(15, 5, 6),
+        EngineTestDecks.randomDeck(15, 5, 7), 5);
+    PlayerColor color = engine.getCurrentPlayer();
+    final int fresh = new AlphaBetaSearch(1, new TranspositionTable(1 << 16))
+        .score(engine, color, 2, Long.MAX_VALUE);
+    TranspositionTable table = new TranspositionTable(1 << 16);
+    for (int slot = 0; slot < engine.getHandSize(color); slot++) {
+      for (int row = 0; row < 3; row++) {
+        for (int col = 0; col < 5; col++) {
+          if (engine.place(slot, row, col)) {
+            table.store(engine.getHash(), 0, 9000, 10, TranspositionTable.EXACT);
+            engine.undo();
+          }
+        }
+      }
+    }
+    engine.pass();
+    table.store(engine.getHash(), 0, 9000, 10, TranspositionTable.EXACT);
+    engine.undo();
+    AlphaBetaSearch search = new AlphaBetaSearch(1, table);
+
+    assertEquals(fresh, search.score(engine, color, 2, Long.MAX_VALUE, 42));
+    assertEquals(-9000, search.score(engine, color, 2, Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testParallelSearchReturnsLegalMove() {
+    List<Card> deck = EngineTestDecks.randomDeck(55, 12, 5);
+    BitboardEngine engine = BitboardEngine.initial(5, 11, deck, deck, 5);
+    AlphaBetaSearch search = new AlphaBetaSearch(4, new TranspositionTable(1 << 18));
+    SearchResult result = search.search(engine, 40, 200);
+    search.shutdown();
+
+    assertTrue(result.getDepth() >= 1);
+    assertTrue(result.getNodes() > 0);
+    if (!result.isPass()) {
+      int slot = engine.findSlot(result.getCard());
+      assertTrue(engine.isLegal(slot, result.getRow(), result.getCol()));
+    }
+  }
+
+  @Test
+  public void testFindsWinningLastMove() {
+    boolean[][] centre = new boolean[5][5];
+    centre[2][2] = true;
+    Card low = new Card("Low", 1, 1, centre);
+    Card high = new Card("High", 1, 9, centre);
+    List<Card> deck = new ArrayList<>();
+    for (int i = 0; i < 15; i++) {
+      deck.add(i % 2 == 0 ? low : high);
+    }
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 2);
+    engine.setDeck(PlayerColor.RED, new ArrayList<>());
+    engine.setDeck(PlayerColor.BLUE, new ArrayList<>());
+    engine.setHand(PlayerColor.RED, List.of(low, high));
+    engine.setHand(PlayerColor.BLUE, List.of(low));
+
+    SearchResult result = new AlphaBetaSearch(1, new TranspositionTable(1024))
+        .search(engine, 4, 60_000);
+    assertTrue(result.getScore() > AlphaBetaSearch.WIN - 1000);
+    assertEquals(engine.getCardTable().idOf(high), result.getCard());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testFinishedGameRejected() {
+    List<Card> deck = EngineTestDecks.randomDeck(15, 5, 3);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 5);
+    engine.pass();
+    engine.pass();
+    new AlphaBetaSearch(1, new TranspositionTable(16)).search(engine, 2, 10);
+  }
+
+  /**
+   * Plain negamax with the search's evaluation, as a reference.
+   */
+  private int minimax(BitboardEngine engine, int depth, PlayerColor color, int ply) {
+    PlayerColor other = color.opposite();
+    int diff = engine.getTotalScore(color) - engine.getTotalScore(other);
+    if (engine.isGameOver()) {
+      if (diff == 0) {
+        return 0;
+      }
+      return diff > 0 ? AlphaBetaSearch.WIN + Math.min(diff, 500) - ply
+          : -AlphaBetaSearch.WIN + Math.max(diff, -500) + ply;
+    }
+    if (depth == 0) {
+      return 16 * diff + engine.getPawnTotal(color) - engine.getPawnTotal(other);
+    }
+    BoardGeometry geometry = engine.getGeometry();
+    engine.pass();
+    int best = -minimax(engine, depth - 1, other, ply + 1);
+    engine.undo();
+    for (int slot = 0; slot < engine.getHandSize(color); slot++) {
+      for (int row = 0; row < geometry.getRows(); row++) {
+        for (int col = 0; col < geometry.getCols(); col++) {
+          if (engine.place(slot, row, col)) {
+            best = Math.max(best, -minimax(engine, depth - 1, other, ply + 1));
+            engine.undo();
+          }
+        }
+      }
+    }
+    return best;
+  }
+
+  private void playRandomMoves(BitboardEngine engine, Random random, int count) {
+    BoardGeometry geometry = engine.getGeometry();
+    for (int i = 0; i < count; i++) {
+      boolean placed = false;
+      for (int attempt = 0; attempt < 50 && !placed; attempt++) {
+        int slot = random.nextInt(engine.getHandSize(engine.getCurrentPlayer()));
+        placed = engine.place(slot, random.nextInt(geometry.getRows()),
+            random.nextInt(geometry.getCols()));
+      }
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package sanguine.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.EngineTestDecks;
+import sanguine.model.Card;
+import sanguine.model.CellContent;
+import sanguine.model.PlayerColor;
+import sanguine.model.SanguineModelImpl;
+
+/**
+ * Tests for tracking the opponent's unseen cards.
+ */
+public class BeliefTrackerTest {
+
+  private List<Card> redDeck;
+  private List<Card> blueDeck;
+  private SanguineModelImpl model;
+  private Determinizer determinizer;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    redDeck = EngineTestDecks.randomDeck(15, 6, 11);
+    blueDeck = EngineTestDecks.randomDeck(15, 6, 12);
+    model = new SanguineModelImpl(3, 5, redDeck, blueDeck, 5);
+    determinizer = new Determinizer(redDeck, blueDeck, true);
+  }
+
+  private void playFirstLegalMove() {
+    for (int card = 0; card < model.getCurrentHandSize(); card++) {
+      for (int row = 0; row < 3; row++) {
+        for (int col = 0; col < 5; col++) {
+          if (model.isLegalMove(card, row, col)) {
+            model.placeCard(card, row, col);
+            return;
+          }
+        }
+      }
+    }
+    model.pass();
+  }
+
+  private int countOnBoard(Card card, PlayerColor color) {
+    int count = 0;
+    for (int row = 0; row < 3; row++) {
+      for (int col = 0; col < 5; col++) {
+        if (model.getCellContent(row, col) == CellContent.CARD
+            && model.getOwnerOfCell(row, col) == color
+            && model.getCardAt(row, col).equals(card)) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  @Test
+  public void testFollowsPlacedCards() {
+    BeliefTracker tracker = determinizer.newTracker(model, PlayerColor.RED);
+    model.addModelStatusListener(tracker);
+    assertEquals(15, tracker.getUnseenTotal());
+    assertEquals(5, tracker.getHandSize());
+    for (int turn = 0; turn < 8 && !model.isGameOver(); turn++) {
+      playFirstLegalMove();
+      assertEquals(model.getPlayerHand(PlayerColor.BLUE).size()
+          + model.getDeckSize(PlayerColor.BLUE), tracker.getUnseenTotal());
+      assertEquals(model.getPlayerHand(PlayerColor.BLUE).size(), tracker.getHandSize());
+      for (Card card : blueDeck) {
+        int copies = 0;
+        for (Card other : blueDeck) {
+          copies += other.equals(card) ? 1 : 0;
+        }
+        assertEquals(copies - countOnBoard(card, PlayerColor.BLUE),
+            tracker.getUnseenCount(card));
+      }
+    }
+  }
+
+  @Test
+  public void testFollowsSnapshotsOfSameGame() {
+    BeliefTracker tracker = determinizer.newTracker(model.snapshot(), PlayerColor.RED);
+    for (int turn = 0; turn < 6 && !model.isGameOver(); turn++) {
+      playFirstLegalMove();
+      assertTrue(tracker.follows(model.snapshot()));
+      tracker.update(model.snapshot());
+    }
+    BeliefTracker fresh = determinizer.newTracker(model, PlayerColor.RED);
+    assertEquals(fresh.getUnseenTotal(), tracker.getUnseenTotal());
+    for (Card card : blueDeck) {
+      assertEquals(fresh.getUnseenCount(card), tracker.getUnseenCount(card));
+    }
+    if (tracker.getUnseenTotal() < 15) {
+      assertFalse(tracker.follows(new SanguineModelImpl(3, 5, redDeck, blueDeck, 5)));
+    }
+  }
+
+  @Test
+  public void testProbabilityInHand() {
+    BeliefTracker tracker = determinizer.newTracker(model, PlayerColor.RED);
+    Card redOnly = redDeck.get(0);
+    assertEquals(0.0, tracker.probabilityInHand(redOnly), 1e-9);
+    Card card = blueDeck.get(0);
+    int copies = tracker.getUnseenCount(card);
+    double none = 1.0;
+    for (int i = 0; i < 5; i++) {
+      none *= (15.0 - copies - i) / (15.0 - i);
+    }
+    assertEquals(1.0 - none, tracker.probabilityInHand(card), 1e-9);
+  }
+
+  @Test
+  public void testDealDrawsFromUnseenCards() {
+    BeliefTracker tracker = determinizer.newTracker(model, PlayerColor.RED);
+    int[] hand = new int[tracker.getHandSize()];
+    int[] deck = new int[tracker.getUnseenTotal() - hand.length];
+    SplittableRandom random = new SplittableRandom(13);
+    for (int round = 0; round < 20; round++) {
+      assertEquals(hand.length, tracker.deal(random, hand, deck));
+      int[] counts = new int[determinizer.getCardTable().size()];
+      for (int id : hand) {
+        counts[id]++;
+      }
+      for (int id : deck) {
+        counts[id]++;
+      }
+      for (Card card : blueDeck) {
+        assertEquals(tracker.getUnseenCount(card),
+            counts[determinizer.getCardTable().idOf(card)]);
+      }
+    }
+  }
+
+  @Test
+  public void testSampleWithTrackerMatchesModel() {
+    playFirstLegalMove();
+    playFirstLegalMove();
+    BeliefTracker tracker = determinizer.newTracker(model, PlayerColor.RED);
+    BitboardEngine sample = determinizer.sample(model, PlayerColor.RED,
+        new SplittableRandom(14), tracker);
+    for (PlayerColor color : PlayerColor.values()) {
+      assertEquals(model.getPlayerHand(color).size(), sample.getHandSize(color));
+      assertEquals(model.getDeckSize(color), sample.getDeckSize(color));
+      assertEquals(0, sample.getHiddenCards(color));
+    }
+    assertEquals(sample.computeHash(), sample.getHash());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullModel() {
+    determinizer.newTracker(null, PlayerColor.RED);
+  }
+}
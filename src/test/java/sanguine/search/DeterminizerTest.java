@@ -0,0 +1,154 @@
+package sanguine.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.CardTable;
+import sanguine.engine.EngineTestDecks;
+import sanguine.model.Card;
+import sanguine.model.CellContent;
+import sanguine.model.PlayerColor;
+import sanguine.model.SanguineModelImpl;
+
+/**
+ * Tests for dealing out hidden cards.
+ */
+public class DeterminizerTest {
+
+  private List<Card> redDeck;
+  private List<Card> blueDeck;
+  private SanguineModelImpl model;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    redDeck = EngineTestDecks.randomDeck(15, 6, 1);
+    blueDeck = EngineTestDecks.randomDeck(15, 6, 2);
+    model = new SanguineModelImpl(3, 5, redDeck, blueDeck, 5);
+    playFirstLegalMove();
+    playFirstLegalMove();
+  }
+
+  private void playFirstLegalMove() {
+    for (int card = 0; card < model.getCurrentHandSize(); card++) {
+      for (int row = 0; row < 3; row++) {
+        for (int col = 0; col < 5; col++) {
+          if (model.isLegalMove(card, row, col)) {
+            model.placeCard(card, row, col);
+            return;
+          }
+        }
+      }
+    }
+    model.pass();
+  }
+
+  private List<Card> boardCards(PlayerColor color) {
+    List<Card> cards = new ArrayList<>();
+    for (int row = 0; row < 3; row++) {
+      for (int col = 0; col < 5; col++) {
+        if (model.getCellContent(row, col) == CellContent.CARD
+            && model.getOwnerOfCell(row, col) == color) {
+          cards.add(model.getCardAt(row, col));
+        }
+      }
+    }
+    return cards;
+  }
+
+  @Test
+  public void testSampleKeepsVisiblePosition() {
+    Determinizer determinizer = new Determinizer(redDeck, blueDeck, true);
+    BitboardEngine sample = determinizer.sample(model, PlayerColor.RED, new SplittableRandom(3));
+    CardTable table = sample.getCardTable();
+
+    assertEquals(model.getCurrentPlayer(), sample.getCurrentPlayer());
+    for (int row = 0; row < 3; row++) {
+      for (int col = 0; col < 5; col++) {
+        if (model.getCellContent(row, col) == CellContent.CARD) {
+          assertEquals(table.idOf(model.getCardAt(row, col)), sample.getCardId(row, col));
+        } else {
+          assertEquals(model.getPawnCount(row, col), sample.getPawnCount(row, col));
+        }
+      }
+    }
+    for (PlayerColor color : PlayerColor.values()) {
+      assertEquals(model.getPlayerHand(color).size(), sample.getHandSize(color));
+      assertEquals(model.getDeckSize(color), sample.getDeckSize(color));
+      assertEquals(0, sample.getHiddenCards(color));
+    }
+    List<Card> hand = model.getPlayerHand(PlayerColor.RED);
+    for (int slot = 0; slot < hand.size(); slot++) {
+      assertEquals(table.idOf(hand.get(slot)), sample.getHandCard(PlayerColor.RED, slot));
+    }
+  }
+
+  @Test
+  public void testHiddenHandComesFromUnseenCards() {
+    Determinizer determinizer = new Determinizer(redDeck, blueDeck, true);
+    List<Card> unseen = new ArrayList<>(blueDeck);
+    for (Card card : boardCards(PlayerColor.BLUE)) {
+      unseen.remove(card);
+    }
+    for (int seed = 0; seed < 20; seed++) {
+      BitboardEngine sample = determinizer.sample(model, PlayerColor.RED,
+          new SplittableRandom(seed));
+      List<Card> remaining = new ArrayList<>(unseen);
+      for (int slot = 0; slot < sample.getHandSize(PlayerColor.BLUE); slot++) {
+        Card card = sample.getCardTable().card(sample.getHandCard(PlayerColor.BLUE, slot));
+        assertTrue(remaining.remove(card));
+      }
+    }
+  }
+
+  @Test
+  public void testVisibleOpponentHandIsKept() {
+    Determinizer determinizer = new Determinizer(redDeck, blueDeck, false);
+    BitboardEngine sample = determinizer.sample(model, PlayerColor.RED, new SplittableRandom(5));
+    List<Card> hand = model.getPlayerHand(PlayerColor.BLUE);
+    for (int slot = 0; slot < hand.size(); slot++) {
+      assertEquals(sample.getCardTable().idOf(hand.get(slot)),
+          sample.getHandCard(PlayerColor.BLUE, slot));
+    }
+  }
+
+  @Test
+  public void testDealerMatchesVisiblePosition() {
+    Determinizer determinizer = new Determinizer(redDeck, blueDeck, true);
+    BeliefTracker tracker = determinizer.newTracker(model, PlayerColor.RED);
+    Dealer dealer = determinizer.dealer(model, PlayerColor.RED, tracker, 2);
+    SplittableRandom random = new SplittableRandom(7);
+    for (int round = 0; round < 10; round++) {
+      BitboardEngine deal = dealer.deal(random);
+      for (PlayerColor color : PlayerColor.values()) {
+        assertEquals(model.getPlayerHand(color).size(), deal.getHandSize(color));
+        assertEquals(model.getDeckSize(color), deal.getDeckSize(color));
+      }
+      int[] counts = new int[determinizer.getCardTable().size()];
+      for (int slot = 0; slot < deal.getHandSize(PlayerColor.BLUE); slot++) {
+        counts[deal.getHandCard(PlayerColor.BLUE, slot)]++;
+      }
+      for (int i = 0; i < deal.getDeckSize(PlayerColor.BLUE); i++) {
+        counts[deal.getDeckCard(PlayerColor.BLUE, i)]++;
+      }
+      for (Card card : blueDeck) {
+        assertEquals(tracker.getUnseenCount(card),
+            counts[determinizer.getCardTable().idOf(card)]);
+      }
+      assertEquals(deal.computeHash(), deal.getHash());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullDeck() {
+    new Determinizer(redDeck, null, true);
+  }
+}
@@ -0,0 +1,145 @@
+package sanguine.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.BoardGeometry;
+import sanguine.engine.EngineTestDecks;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+
+/**
+ * Tests for the exact endgame solver.
+ */
+public class EndgameSolverTest {
+
+  @Test
+  public void testMatchesFullMinimax() {
+    for (long seed = 0; seed < 6; seed++) {
+      BitboardEngine engine = shortGame(seed);
+      playRandomMoves(engine, new Random(seed), 6);
+      if (engine.isGameOver()) {
+        continue;
+      }
+      EndgameSolver solver = new EndgameSolver(20, new TranspositionTable(1 << 16));
+      SearchResult result = solver.solve(engine);
+      assertEquals(minimax(engine), result.getScore());
+      assertEquals(result.getScore(), scoreAfter(engine, result));
+    }
+  }
+
+  @Test
+  public void testLeavesPositionUnchanged() {
+    BitboardEngine engine = shortGame(4);
+    playRandomMoves(engine, new Random(4), 4);
+    long hash = engine.getHash();
+    int ply = engine.getPly();
+    new EndgameSolver(20, new TranspositionTable(1 << 12)).solve(engine);
+    assertEquals(hash, engine.getHash());
+    assertEquals(ply, engine.getPly());
+  }
+
+  @Test
+  public void testThreshold() {
+    List<Card> deck = EngineTestDecks.randomDeck(15, 5, 5);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 5);
+    assertEquals(15, EndgameSolver.remainingMoves(engine));
+    assertFalse(new EndgameSolver(14, new TranspositionTable(16)).isEndgame(engine));
+    assertTrue(new EndgameSolver(15, new TranspositionTable(16)).isEndgame(engine));
+  }
+
+  @Test
+  public void testSolveStopsWhenTold() {
+    List<Card> deck = EngineTestDecks.randomDeck(15, 5, 5);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 5);
+    long hash = engine.getHash();
+    long start = System.nanoTime();
+    long end = start + 50_000_000L;
+    SearchResult result = new EndgameSolver(15, new TranspositionTable(1 << 16))
+        .solve(engine, () -> System.nanoTime() > end);
+    assertTrue(System.nanoTime() - start < 5_000_000_000L);
+    assertTrue(result.getDepth() <= 1);
+    assertEquals(hash, engine.getHash());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testFinishedGameRejected() {
+    List<Card> deck = EngineTestDecks.randomDeck(15, 5, 3);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 5);
+    engine.pass();
+    engine.pass();
+    new EndgameSolver(10, new TranspositionTable(16)).solve(engine);
+  }
+
+  /**
+   * A game where each player holds three cards and has three more to draw.
+   */
+  private BitboardEngine shortGame(long seed) {
+    List<Card> deck = EngineTestDecks.randomDeck(15, 4, seed);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 3);
+    engine.setDeck(PlayerColor.RED, deck.subList(3, 6));
+    engine.setDeck(PlayerColor.BLUE, deck.subList(6, 9));
+    return engine;
+  }
+
+  /**
+   * Final score difference for the player to move under perfect play, by brute force.
+   */
+  private int minimax(BitboardEngine engine) {
+    PlayerColor color = engine.getCurrentPlayer();
+    BoardGeometry geometry = engine.getGeometry();
+    engine.pass();
+    int best = valueFor(engine, color);
+    engine.undo();
+    for (int slot = 0; slot < engine.getHandSize(color); slot++) {
+      for (int row = 0; row < geometry.getRows(); row++) {
+        for (int col = 0; col < geometry.getCols(); col++) {
+          if (engine.place(slot, row, col)) {
+            best = Math.max(best, valueFor(engine, color));
+            engine.undo();
+          }
+        }
+      }
+    }
+    return best;
+  }
+
+  private int valueFor(BitboardEngine engine, PlayerColor color) {
+    if (engine.isGameOver()) {
+      return engine.getTotalScore(color) - engine.getTotalScore(color.opposite());
+    }
+    return -minimax(engine);
+  }
+
+  private int scoreAfter(BitboardEngine engine, SearchResult result) {
+    PlayerColor color = engine.getCurrentPlayer();
+    if (result.isPass()) {
+      engine.pass();
+    } else {
+      engine.place(engine.findSlot(result.getCard()), result.getRow(), result.getCol());
+    }
+    int score = valueFor(engine, color);
+    engine.undo();
+    return score;
+  }
+
+  private void playRandomMoves(BitboardEngine engine, Random random, int count) {
+    BoardGeometry geometry = engine.getGeometry();
+    for (int i = 0; i < count && !engine.isGameOver(); i++) {
+      boolean placed = false;
+      for (int attempt = 0; attempt < 50 && !placed; attempt++) {
+        int slot = random.nextInt(engine.getHandSize(engine.getCurrentPlayer()));
+        placed = engine.place(slot, random.nextInt(geometry.getRows()),
+            random.nextInt(geometry.getCols()));
+      }
+      if (!placed) {
+        engine.pass();
+      }
+    }
+  }
+}
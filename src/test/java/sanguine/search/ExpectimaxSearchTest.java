@@ -0,0 +1,99 @@
+package sanguine.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.engine.EngineTestDecks;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+import sanguine.model.SanguineModelImpl;
+import sanguine.strategy.ExpectimaxStrategy;
+import sanguine.strategy.Move;
+
+/**
+ * Tests for the sampling expectimax search and the strategy built on it.
+ */
+public class ExpectimaxSearchTest {
+
+  private List<Card> redDeck;
+  private List<Card> blueDeck;
+  private SanguineModelImpl model;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    redDeck = EngineTestDecks.randomDeck(15, 6, 7);
+    blueDeck = EngineTestDecks.randomDeck(15, 6, 8);
+    model = new SanguineModelImpl(3, 5, redDeck, blueDeck, 5);
+  }
+
+  private ExpectimaxSearch newSearch() {
+    return new ExpectimaxSearch(new Determinizer(redDeck, blueDeck, true),
+        new TranspositionTable(1 << 16));
+  }
+
+  @Test
+  public void testUsesWholeSampleBudget() {
+    SearchResult result = newSearch().search(model, 6, 2, 60_000, new SplittableRandom(1));
+    assertEquals(6, result.getNodes());
+    assertEquals(2, result.getDepth());
+    if (!result.isPass()) {
+      int slot = model.getPlayerHand(PlayerColor.RED)
+          .indexOf(newSearch().getCardTable().card(result.getCard()));
+      assertTrue(model.isLegalMove(slot, result.getRow(), result.getCol()));
+    }
+  }
+
+  @Test
+  public void testStopsAtTimeBudget() {
+    long start = System.nanoTime();
+    SearchResult result = newSearch().search(model, 1_000_000, 3, 50,
+        new SplittableRandom(2));
+    assertTrue(result.getNodes() >= 1);
+    assertTrue(result.getNodes() < 1_000_000);
+    assertTrue(System.nanoTime() - start < 5_000_000_000L);
+  }
+
+  @Test
+  public void testReportsEachSample() {
+    List<SearchResult> reports = new ArrayList<>();
+    SearchResult result = newSearch().search(model, null, 4, 2, 60_000,
+        new SplittableRandom(4), () -> false, reports::add);
+    assertEquals(4, reports.size());
+    for (int i = 0; i < reports.size(); i++) {
+      assertEquals(i + 1, reports.get(i).getNodes());
+    }
+    assertEquals(result.getMove(), reports.get(3).getMove());
+    assertEquals(result.getScore(), reports.get(3).getScore());
+  }
+
+  @Test
+  public void testSameSeedSameMove() {
+    SearchResult first = newSearch().search(model, 4, 2, 60_000, new SplittableRandom(3));
+    SearchResult second = newSearch().search(model, 4, 2, 60_000, new SplittableRandom(3));
+    assertEquals(first.getMove(), second.getMove());
+    assertEquals(first.getScore(), second.getScore());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsNonPositiveSamples() {
+    newSearch().search(model, 0, 2, 100, new SplittableRandom(4));
+  }
+
+  @Test
+  public void testStrategyPlaysLegalMove() {
+    ExpectimaxStrategy strategy = new ExpectimaxStrategy(redDeck, blueDeck, 4, 2, 60_000, 5);
+    Move move = strategy.chooseMove(model, PlayerColor.RED);
+    assertTrue(move == null
+        || model.isLegalMove(move.getCardIndex(), move.getRow(), move.getCol()));
+    assertNull(strategy.chooseMove(model, PlayerColor.BLUE));
+  }
+}
@@ -0,0 +1,142 @@
+package sanguine.search;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.EngineTestDecks;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+
+/**
+ * Tests for the weighted feature evaluation.
+ */
+public class FeatureEvaluatorTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static int[] measure(BitboardEngine engine, PlayerColor color) {
+    int[] features = new int[Feature.values().length];
+    FeatureEvaluator.features(engine, color, features);
+    return features;
+  }
+
+  private static boolean playRandomMove(BitboardEngine engine, Random random) {
+    PlayerColor color = engine.getCurrentPlayer();
+    int handSize = engine.getHandSize(color);
+    int rows = engine.getGeometry().getRows();
+    int cols = engine.getGeometry().getCols();
+    for (int tries = 0; tries < 200 && handSize > 0; tries++) {
+      if (engine.place(random.nextInt(handSize), random.nextInt(rows), random.nextInt(cols))) {
+        return true;
+      }
+    }
+    engine.pass();
+    return false;
+  }
+
+  @Test
+  public void testIncrementalFeaturesMatchFreshEngine() {
+    List<Card> deck = EngineTestDecks.randomDeck(30, 8, 5);
+    BitboardEngine engine = BitboardEngine.initial(3, 7, deck, deck, 5);
+    Random random = new Random(5);
+    int steps = 0;
+    while (!engine.isGameOver()) {
+      playRandomMove(engine, random);
+      steps++;
+      if (steps % 3 == 0 && engine.getPly() > 1) {
+        engine.undo();
+      }
+      for (PlayerColor color : PlayerColor.values()) {
+        for (int count = 1; count <= 3; count++) {
+          assertEquals(engine.computePawnCells(color, count), engine.getPawnCells(color, count));
+        }
+        assertArrayEquals(measure(engine.copy(), color), measure(engine, color));
+      }
+    }
+    while (engine.getPly() > 0) {
+      engine.undo();
+    }
+    BitboardEngine start = BitboardEngine.initial(3, 7, deck, deck, 5);
+    assertArrayEquals(measure(start, PlayerColor.RED), measure(engine, PlayerColor.RED));
+  }
+
+  @Test
+  public void testFeaturesAreAntisymmetric() {
+    List<Card> deck = EngineTestDecks.randomDeck(30, 8, 6);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 5);
+    Random random = new Random(6);
+    for (int i = 0; i < 6; i++) {
+      playRandomMove(engine, random);
+    }
+    int[] red = measure(engine, PlayerColor.RED);
+    int[] blue = measure(engine, PlayerColor.BLUE);
+    for (int i = 0; i < red.length; i++) {
+      assertEquals(-red[i], blue[i]);
+    }
+  }
+
+  @Test
+  public void testStartingPositionFeatures() {
+    List<Card> deck = EngineTestDecks.randomDeck(30, 8, 7);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 5);
+    int[] features = measure(engine, PlayerColor.RED);
+    assertEquals(0, features[Feature.PAWNS.ordinal()]);
+    assertEquals(0, features[Feature.PAWN_CELLS.ordinal()]);
+    assertEquals(0, features[Feature.MOBILITY.ordinal()]);
+    assertEquals(3, engine.getPawnCells(PlayerColor.RED, 1));
+  }
+
+  @Test
+  public void testDefaultsMatchScoreAndPawns() {
+    List<Card> deck = EngineTestDecks.randomDeck(30, 8, 8);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 5);
+    Random random = new Random(8);
+    for (int i = 0; i < 7; i++) {
+      playRandomMove(engine, random);
+    }
+    int scores = engine.getTotalScore(PlayerColor.RED) - engine.getTotalScore(PlayerColor.BLUE);
+    int pawns = engine.getPawnTotal(PlayerColor.RED) - engine.getPawnTotal(PlayerColor.BLUE);
+    assertEquals(16 * scores + pawns,
+        FeatureEvaluator.defaults().evaluate(engine, PlayerColor.RED));
+  }
+
+  @Test
+  public void testWeightsFileRoundTrip() throws IOException {
+    int[] weights = {5, 1, 3, -2, 1, 2, 4, 1};
+    Path file = folder.getRoot().toPath().resolve("weights.txt");
+    new FeatureEvaluator(weights).save(file);
+    assertArrayEquals(weights, FeatureEvaluator.load(file).getWeights());
+  }
+
+  @Test
+  public void testMissingWeightsKeepDefaults() throws IOException {
+    Path file = folder.getRoot().toPath().resolve("weights.txt");
+    Files.write(file, List.of("# only mobility", "MOBILITY = 2"));
+    FeatureEvaluator evaluator = FeatureEvaluator.load(file);
+    assertEquals(2, evaluator.getWeight(Feature.MOBILITY));
+    assertEquals(16, evaluator.getWeight(Feature.SCORE));
+    assertEquals(0, evaluator.getWeight(Feature.ROWS_WON));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownFeatureRejected() throws IOException {
+    Path file = folder.getRoot().toPath().resolve("weights.txt");
+    Files.write(file, List.of("TEMPO=3"));
+    FeatureEvaluator.load(file);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWrongNumberOfWeightsRejected() {
+    new FeatureEvaluator(new int[3]);
+  }
+}
@@ -0,0 +1,111 @@
+package sanguine.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.EngineTestDecks;
+import sanguine.engine.MoveList;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+
+/**
+ * Tests for Monte Carlo tree search in a node pool.
+ */
+public class MctsSearchTest {
+
+  @Test
+  public void testSearchReturnsLegalMove() {
+    List<Card> deck = EngineTestDecks.randomDeck(20, 6, 3);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 5);
+    long hash = engine.getHash();
+    SearchResult result = new MctsSearch(1 << 14, 1).search(engine, 500, 60_000);
+
+    assertEquals(500, result.getNodes());
+    assertEquals(hash, engine.getHash());
+    assertTrue(result.isPass() || engine.isLegal(engine.findSlot(result.getCard()),
+        result.getRow(), result.getCol()));
+  }
+
+  @Test
+  public void testReportsAtEachCheck() {
+    List<Card> deck = EngineTestDecks.randomDeck(20, 6, 5);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 5);
+    List<SearchResult> reports = new ArrayList<>();
+    SearchResult result = new MctsSearch(1 << 14, 3).search(engine, 640, 60_000, () -> false,
+        reports::add);
+
+    assertEquals(10, reports.size());
+    assertEquals(result.getMove(), reports.get(9).getMove());
+    assertEquals(64, reports.get(0).getNodes());
+    assertEquals(640, reports.get(9).getNodes());
+  }
+
+  @Test
+  public void testSmallPoolNeverGrows() {
+    List<Card> deck = EngineTestDecks.randomDeck(20, 6, 4);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 5);
+    MctsSearch search = new MctsSearch(2000, 2);
+    search.search(engine, 5000, 60_000);
+
+    NodePool pool = search.getPool();
+    assertTrue(pool.size() <= 2000);
+    assertEquals(5000, pool.getVisits(search.getRoot()));
+  }
+
+  @Test
+  public void testAdvanceKeepsChosenSubtree() {
+    List<Card> deck = EngineTestDecks.randomDeck(20, 6, 5);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 5);
+    MctsSearch search = new MctsSearch(1 << 14, 3);
+    SearchResult result = search.search(engine, 2000, 60_000);
+    final int before = search.getPool().size();
+    int child = -1;
+    for (int node = search.getPool().getFirstChild(search.getRoot()); node >= 0;
+         node = search.getPool().getNextSibling(node)) {
+      if (search.getPool().getMove(node) == result.getMove()) {
+        child = node;
+      }
+    }
+    int visits = search.getPool().getVisits(child);
+
+    assertTrue(search.advance(result.getMove()));
+    assertEquals(child, search.getRoot());
+    assertEquals(visits, search.getPool().getVisits(search.getRoot()));
+    assertTrue(search.getPool().size() < before);
+    if (result.isPass()) {
+      engine.pass();
+    } else {
+      engine.place(engine.findSlot(result.getCard()), result.getRow(), result.getCol());
+    }
+    search.search(engine, 100, 60_000);
+    assertEquals(visits + 100, search.getPool().getVisits(search.getRoot()));
+    assertFalse(search.advance(MoveList.encode(99, 14)));
+    assertEquals(-1, search.getRoot());
+    assertEquals(0, search.getPool().size());
+  }
+
+  @Test
+  public void testFindsWinningLastMove() {
+    boolean[][] centre = new boolean[5][5];
+    centre[2][2] = true;
+    Card low = new Card("Low", 1, 1, centre);
+    Card high = new Card("High", 1, 9, centre);
+    List<Card> deck = new ArrayList<>();
+    for (int i = 0; i < 15; i++) {
+      deck.add(i % 2 == 0 ? low : high);
+    }
+    BitboardEngine engine = BitboardEngine.initial(3, 5, deck, deck, 2);
+    engine.setDeck(PlayerColor.RED, new ArrayList<>());
+    engine.setDeck(PlayerColor.BLUE, new ArrayList<>());
+    engine.setHand(PlayerColor.RED, List.of(low, high));
+    engine.setHand(PlayerColor.BLUE, List.of(low));
+
+    SearchResult result = new MctsSearch(1 << 12, 4).search(engine, 3000, 60_000);
+    assertEquals(engine.getCardTable().idOf(high), result.getCard());
+  }
+}
@@ -0,0 +1,89 @@
+package sanguine.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the tree node pool.
+ */
+public class NodePoolTest {
+
+  private NodePool pool;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    pool = new NodePool(8);
+  }
+
+  @Test
+  public void testAllocatesUntilFull() {
+    int root = pool.allocate(-1, 0);
+    for (int i = 1; i < 8; i++) {
+      int child = pool.allocate(root, i);
+      assertEquals(root, pool.getParent(child));
+      assertEquals(child, pool.getFirstChild(root));
+    }
+    assertEquals(8, pool.size());
+    assertEquals(-1, pool.allocate(root, 9));
+    pool.freeChildren(root);
+    assertEquals(1, pool.size());
+    assertEquals(-1, pool.getFirstChild(root));
+    assertFalse(pool.isExpanded(root));
+  }
+
+  @Test
+  public void testRerootKeepsOnlyTheSubtree() {
+    int root = pool.allocate(-1, 0);
+    final int kept = pool.allocate(root, 1);
+    int dropped = pool.allocate(root, 2);
+    pool.allocate(dropped, 3);
+    final int grandchild = pool.allocate(kept, 4);
+    pool.record(kept, 2);
+
+    pool.reroot(root, kept);
+    assertEquals(2, pool.size());
+    assertEquals(-1, pool.getParent(kept));
+    assertEquals(grandchild, pool.getFirstChild(kept));
+    assertEquals(1, pool.getVisits(kept));
+    assertEquals(2, pool.getPoints(kept));
+    assertFalse(pool.isLive(root));
+    assertFalse(pool.isLive(dropped));
+    assertEquals(6, pool.available());
+  }
+
+  @Test
+  public void testEvictsLeastVisitedSubtreesFirst() {
+    int root = pool.allocate(-1, 0);
+    final int busy = pool.allocate(root, 1);
+    final int quiet = pool.allocate(root, 2);
+    for (int i = 0; i < 100; i++) {
+      pool.record(busy, 1);
+    }
+    pool.record(quiet, 1);
+    pool.allocate(busy, 3);
+    pool.allocate(busy, 4);
+    pool.allocate(quiet, 5);
+    pool.allocate(quiet, 6);
+    pool.allocate(quiet, 7);
+    assertEquals(0, pool.available());
+
+    assertEquals(3, pool.evict(root, 2));
+    assertTrue(pool.isLive(quiet));
+    assertEquals(-1, pool.getFirstChild(quiet));
+    assertEquals(1, pool.getVisits(quiet));
+    assertTrue(pool.getFirstChild(busy) >= 0);
+    assertEquals(5, pool.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsTinyPool() {
+    new NodePool(1);
+  }
+}
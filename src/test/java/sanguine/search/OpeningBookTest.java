@@ -0,0 +1,144 @@
+package sanguine.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.CardTable;
+import sanguine.engine.EngineTestDecks;
+import sanguine.engine.Symmetry;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+import sanguine.model.SanguineModelImpl;
+import sanguine.strategy.Move;
+import sanguine.strategy.OpeningBookStrategy;
+
+/**
+ * Tests for building, mapping and playing from an opening book.
+ */
+public class OpeningBookTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private List<Card> redDeck;
+  private List<Card> blueDeck;
+  private Path file;
+  private OpeningBook book;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() throws IOException {
+    redDeck = EngineTestDecks.randomDeck(15, 5, 41);
+    blueDeck = EngineTestDecks.randomDeck(15, 5, 42);
+    OpeningBookBuilder builder = new OpeningBookBuilder(4, 0.3, 1);
+    builder.play(40, 3, 5, redDeck, blueDeck, 5);
+    file = folder.getRoot().toPath().resolve("test.book");
+    builder.write(file);
+    book = OpeningBook.open(file);
+    assertEquals(builder.size(), book.size());
+  }
+
+  @Test
+  public void testEntriesSortedByKey() {
+    assertEquals(OpeningBook.HEADER_BYTES + (long) book.size() * OpeningBook.ENTRY_BYTES,
+        file.toFile().length());
+    for (int i = 1; i < book.size(); i++) {
+      assertTrue(book.key(i - 1) <= book.key(i));
+    }
+  }
+
+  @Test
+  public void testEveryGameStartsFromTheSamePosition() {
+    long key = book.keyOf(new SanguineModelImpl(3, 5, redDeck, blueDeck, 5));
+    int plays = 0;
+    for (int i = 0; i < book.size(); i++) {
+      if (book.key(i) == key) {
+        plays += book.plays(i);
+      }
+    }
+    assertEquals(40, plays);
+    assertTrue(book.best(key, 1) >= 0);
+    assertEquals(-1, book.best(key, 41));
+  }
+
+  @Test
+  public void testBestPlacementSkipsPasses() {
+    for (int i = 0; i < book.size(); i++) {
+      int best = book.best(book.key(i), 1, true);
+      assertTrue(best >= 0 || book.cell(i) < 0);
+      if (best >= 0 && book.cell(i) >= 0) {
+        assertTrue(book.cell(best) >= 0);
+        assertTrue((long) book.points(best) * book.plays(i)
+            >= (long) book.points(i) * book.plays(best));
+      }
+    }
+  }
+
+  @Test
+  public void testStrategyPlaysBookMove() {
+    SanguineModelImpl model = new SanguineModelImpl(3, 5, redDeck, blueDeck, 5);
+    int entry = book.best(book.keyOf(model), 1, true);
+    Move move = new OpeningBookStrategy(book, 1, (m, p) -> null)
+        .chooseMove(model, PlayerColor.RED);
+    assertNotNull(move);
+    Symmetry symmetry = book.symmetryOf(BitboardEngine.fromModel(model));
+    assertEquals(book.cell(entry), symmetry.cell(move.getRow() * 5 + move.getCol(), 3, 5));
+    assertTrue(model.isLegalMove(move.getCardIndex(), move.getRow(), move.getCol()));
+  }
+
+  @Test
+  public void testSymmetriesFollowWholeDecks() {
+    // the decks differ but are the same size, which a position alone cannot tell apart
+    assertFalse(book.getSymmetries().contains(Symmetry.COLOR_MIRROR));
+    assertFalse(book.getSymmetries().contains(Symmetry.ROTATION));
+    assertEquals(CardTable.of(redDeck, blueDeck).isVerticallySymmetric(),
+        book.getSymmetries().contains(Symmetry.ROW_FLIP));
+    assertTrue(book.getSymmetries().contains(Symmetry.IDENTITY));
+  }
+
+  @Test
+  public void testSymmetricDecksUseEverySymmetry() throws IOException {
+    List<Card> deck = EngineTestDecks.symmetricDeck(15, 5, 7);
+    OpeningBookBuilder builder = new OpeningBookBuilder(4, 0.3, 1);
+    builder.play(10, 3, 5, deck, deck, 5);
+    builder.write(file);
+    assertEquals(EnumSet.allOf(Symmetry.class), OpeningBook.open(file).getSymmetries());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsDecksBreakingRecordedSymmetries() {
+    List<Card> deck = EngineTestDecks.symmetricDeck(15, 5, 7);
+    OpeningBookBuilder builder = new OpeningBookBuilder(4, 0.3, 1);
+    builder.play(1, 3, 5, deck, deck, 5);
+    builder.play(1, 3, 5, redDeck, blueDeck, 5);
+  }
+
+  @Test
+  public void testStrategyFallsBackOutsideBook() {
+    SanguineModelImpl model = new SanguineModelImpl(3, 5, blueDeck, redDeck, 5);
+    Move fallback = new Move(0, 0, 0);
+    assertEquals(fallback, new OpeningBookStrategy(book, 1, (m, p) -> fallback)
+        .chooseMove(model, PlayerColor.RED));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsOtherFiles() throws IOException {
+    Path other = folder.newFile("other.book").toPath();
+    Files.write(other, new byte[64]);
+    OpeningBook.open(other);
+  }
+}
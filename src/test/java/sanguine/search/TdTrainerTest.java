@@ -0,0 +1,79 @@
+package sanguine.search;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.EngineTestDecks;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+
+/**
+ * Tests for learning evaluation weights from self-play.
+ */
+public class TdTrainerTest {
+
+  private List<Card> redDeck;
+  private List<Card> blueDeck;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    redDeck = EngineTestDecks.randomDeck(15, 5, 51);
+    blueDeck = EngineTestDecks.randomDeck(15, 5, 52);
+  }
+
+  private TdTrainer newTrainer(long seed) {
+    return new TdTrainer(3, 5, redDeck, blueDeck, 5, 0.7, seed);
+  }
+
+  @Test
+  public void testTrainingIsReproducible() {
+    TdTrainer first = newTrainer(3);
+    TdTrainer second = newTrainer(3);
+    first.train(20, 0.01, 0.1);
+    second.train(20, 0.01, 0.1);
+    assertEquals(20, first.getGames());
+    assertArrayEquals(first.getWeights(), second.getWeights(), 0.0);
+  }
+
+  @Test
+  public void testLearnsThatScoreWins() {
+    TdTrainer trainer = newTrainer(4);
+    trainer.train(300, 0.01, 0.1);
+    assertTrue(trainer.getWeights()[Feature.SCORE.ordinal()] > 0);
+  }
+
+  @Test
+  public void testValueIsAntisymmetric() {
+    TdTrainer trainer = newTrainer(5);
+    trainer.train(10, 0.01, 0.1);
+    BitboardEngine engine = BitboardEngine.initial(3, 5, redDeck, blueDeck, 5);
+    engine.place(0, 0, 0);
+    double red = trainer.value(engine, PlayerColor.RED);
+    assertEquals(-red, trainer.value(engine, PlayerColor.BLUE), 1e-12);
+    assertTrue(Math.abs(red) < 1);
+  }
+
+  @Test
+  public void testEvaluatorScalesLargestWeight() {
+    TdTrainer trainer = newTrainer(6);
+    trainer.train(10, 0.01, 0.1);
+    int largest = 0;
+    for (int weight : trainer.toEvaluator().getWeights()) {
+      largest = Math.max(largest, Math.abs(weight));
+    }
+    assertEquals(64, largest);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsLambdaAboveOne() {
+    new TdTrainer(3, 5, redDeck, blueDeck, 5, 1.5, 1);
+  }
+}
@@ -0,0 +1,84 @@
+package sanguine.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+
+/**
+ * Tests for the lock-free transposition table.
+ */
+public class TranspositionTableTest {
+
+  @Test
+  public void testStoreAndProbe() {
+    TranspositionTable table = new TranspositionTable(1000);
+    assertEquals(1024, table.capacity());
+    table.store(12345L, 77, -321, 6, TranspositionTable.LOWER);
+
+    long data = table.probe(12345L);
+    assertEquals(77, TranspositionTable.move(data));
+    assertEquals(-321, TranspositionTable.score(data));
+    assertEquals(6, TranspositionTable.depth(data));
+    assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+    assertEquals(0L, table.probe(12345L + 1024));
+  }
+
+  @Test
+  public void testDeeperEntryKeptUntilNextSearch() {
+    TranspositionTable table = new TranspositionTable(16);
+    table.store(3L, 5, 10, 8, TranspositionTable.EXACT);
+    table.store(3L + 16, 6, 20, 2, TranspositionTable.EXACT);
+    assertEquals(8, TranspositionTable.depth(table.probe(3L)));
+    assertEquals(0L, table.probe(3L + 16));
+
+    table.newSearch();
+    table.store(3L + 16, 6, 20, 2, TranspositionTable.EXACT);
+    assertEquals(20, TranspositionTable.score(table.probe(3L + 16)));
+  }
+
+  @Test
+  public void testSamePositionKeepsMoveWhenNoneGiven() {
+    TranspositionTable table = new TranspositionTable(16);
+    table.store(9L, 42, 1, 1, TranspositionTable.EXACT);
+    table.store(9L, 0, 2, 3, TranspositionTable.UPPER);
+    assertEquals(42, TranspositionTable.move(table.probe(9L)));
+    assertEquals(3, TranspositionTable.depth(table.probe(9L)));
+  }
+
+  @Test
+  public void testConcurrentWritersNeverYieldMismatchedEntries() throws InterruptedException {
+    TranspositionTable table = new TranspositionTable(64);
+    AtomicBoolean mismatch = new AtomicBoolean();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      SplittableRandom random = new SplittableRandom(t);
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < 200_000; i++) {
+          long key = random.nextLong();
+          table.newSearch();
+          table.store(key, (int) (key >>> 40) & 0xFFFFFF, (short) key, 1,
+              TranspositionTable.EXACT);
+          long probe = random.nextInt(64) | (key & ~63L);
+          long data = table.probe(probe);
+          if (data != 0 && TranspositionTable.score(data) != (short) probe) {
+            mismatch.set(true);
+          }
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertFalse(mismatch.get());
+    assertTrue(table.capacity() > 0);
+  }
+}
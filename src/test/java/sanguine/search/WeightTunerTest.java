@@ -0,0 +1,98 @@
+package sanguine.search;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import sanguine.engine.EngineTestDecks;
+import sanguine.model.Card;
+
+/**
+ * Tests for tuning evaluation weights by self-play.
+ */
+public class WeightTunerTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private List<Card> redDeck;
+  private List<Card> blueDeck;
+  private WeightTuner tuner;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    redDeck = EngineTestDecks.randomDeck(15, 5, 31);
+    blueDeck = EngineTestDecks.randomDeck(15, 5, 32);
+    tuner = newTuner();
+  }
+
+  /**
+   * Stops the game threads after each test.
+   */
+  @After
+  public void tearDown() {
+    tuner.shutdown();
+  }
+
+  private WeightTuner newTuner() {
+    return new WeightTuner(3, 5, redDeck, blueDeck, 5, 1, 2, 99);
+  }
+
+  @Test
+  public void testEqualEvaluatorsSplitThePoints() {
+    FeatureEvaluator evaluator = FeatureEvaluator.defaults();
+    assertEquals(12, tuner.playMatch(evaluator, evaluator, 6, 5));
+  }
+
+  @Test
+  public void testMatchesAreReproducible() {
+    FeatureEvaluator pawns = new FeatureEvaluator(new int[] {16, 0, 0, 0, 8, 0, 0, 0});
+    FeatureEvaluator defaults = FeatureEvaluator.defaults();
+    assertEquals(tuner.playMatch(pawns, defaults, 4, 3), tuner.playMatch(pawns, defaults, 4, 3));
+  }
+
+  @Test
+  public void testStepKeepsScoreWeightFixed() {
+    double result = tuner.step(2);
+    assertTrue(result >= -1 && result <= 1);
+    assertEquals(1, tuner.getIteration());
+    assertEquals(16.0, tuner.getWeights()[Feature.SCORE.ordinal()], 0.0);
+  }
+
+  @Test
+  public void testResumedRunMatchesUninterruptedRun() throws IOException {
+    tuner.step(2);
+    tuner.step(2);
+    tuner.step(2);
+
+    Path checkpoint = folder.getRoot().toPath().resolve("tuner.properties");
+    WeightTuner first = newTuner();
+    first.step(2);
+    first.saveCheckpoint(checkpoint);
+    first.shutdown();
+    WeightTuner resumed = new WeightTuner(3, 5, redDeck, blueDeck, 5, 1, 2, 12345);
+    resumed.resume(checkpoint);
+    assertEquals(1, resumed.getIteration());
+    resumed.step(2);
+    resumed.step(2);
+    resumed.shutdown();
+
+    assertArrayEquals(tuner.getWeights(), resumed.getWeights(), 1e-9);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsZeroDepth() {
+    new WeightTuner(3, 5, redDeck, blueDeck, 5, 0, 2, 1);
+  }
+}
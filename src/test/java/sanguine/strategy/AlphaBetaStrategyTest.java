@@ -0,0 +1,76 @@
+package sanguine.strategy;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.engine.EngineTestDecks;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+import sanguine.model.SanguineModelImpl;
+
+/**
+ * Tests for the alpha-beta strategy's pondering.
+ */
+public class AlphaBetaStrategyTest {
+
+  private SanguineModelImpl model;
+  private AlphaBetaStrategy red;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    List<Card> deck = EngineTestDecks.randomDeck(15, 5, 61);
+    model = new SanguineModelImpl(3, 5, deck, deck, 5);
+    red = new AlphaBetaStrategy(1, 10_000, 3);
+    play(red.chooseMove(model, PlayerColor.RED));
+  }
+
+  private void play(Move move) {
+    if (move == null) {
+      model.pass();
+    } else {
+      assertTrue(model.placeCard(move.getCardIndex(), move.getRow(), move.getCol()));
+    }
+  }
+
+  private void assertLegal(Move move) {
+    assertTrue(move == null
+        || model.isLegalMove(move.getCardIndex(), move.getRow(), move.getCol()));
+  }
+
+  @Test
+  public void testPonderHitResumesSearch() {
+    red.ponder(model.snapshot(), PlayerColor.RED, () -> false);
+    play(new AlphaBetaStrategy(1, 10_000, 3).chooseMove(model, PlayerColor.BLUE));
+
+    Move move = red.chooseMove(model, PlayerColor.RED);
+    assertTrue(red.isLastPonderHit());
+    assertLegal(move);
+  }
+
+  @Test
+  public void testPonderMissSearchesAfresh() {
+    red.ponder(model.snapshot(), PlayerColor.RED, () -> false);
+    Move guess = new AlphaBetaStrategy(1, 10_000, 3).chooseMove(model, PlayerColor.BLUE);
+    play(guess == null ? new FillFirstStrategy().chooseMove(model, PlayerColor.BLUE) : null);
+
+    Move move = red.chooseMove(model, PlayerColor.RED);
+    assertFalse(red.isLastPonderHit());
+    assertLegal(move);
+  }
+
+  @Test
+  public void testStoppedPonderLeavesNothingBehind() {
+    red.ponder(model.snapshot(), PlayerColor.RED, () -> true);
+    play(new AlphaBetaStrategy(1, 10_000, 3).chooseMove(model, PlayerColor.BLUE));
+
+    Move move = red.chooseMove(model, PlayerColor.RED);
+    assertFalse(red.isLastPonderHit());
+    assertLegal(move);
+  }
+}
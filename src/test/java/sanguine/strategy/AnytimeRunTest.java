@@ -0,0 +1,135 @@
+package sanguine.strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.engine.EngineTestDecks;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+import sanguine.model.SanguineModelImpl;
+
+/**
+ * Tests for running anytime strategies and reading their progress.
+ */
+public class AnytimeRunTest {
+
+  private SanguineModelImpl model;
+  private ExecutorService executor;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    List<Card> deck = EngineTestDecks.randomDeck(15, 5, 41);
+    model = new SanguineModelImpl(3, 5, deck, deck, 5);
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  /**
+   * Stops the executor after each test.
+   */
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testSearchReportsDeeperCandidates() {
+    List<MoveCandidate> reported = Collections.synchronizedList(new ArrayList<>());
+    AnytimeRun run = AnytimeRun.start(executor, new AlphaBetaStrategy(1, 1_000, 4),
+        model.snapshot(), PlayerColor.RED, reported::add);
+    MoveCandidate best = run.awaitOrStop(60_000);
+
+    assertTrue(run.isDone());
+    assertNotNull(best);
+    assertEquals(4, best.getDepth());
+    assertFalse(reported.isEmpty());
+    for (int i = 1; i < reported.size(); i++) {
+      assertTrue(reported.get(i).getDepth() >= reported.get(i - 1).getDepth());
+    }
+    assertEquals(best.getDepth(), reported.get(reported.size() - 1).getDepth());
+    Move move = best.getMove();
+    assertTrue(move == null
+        || model.isLegalMove(move.getCardIndex(), move.getRow(), move.getCol()));
+  }
+
+  @Test
+  public void testStopReturnsBestSoFar() throws InterruptedException {
+    AnytimeRun run = AnytimeRun.start(executor,
+        new AlphaBetaStrategy(1, 1_000, 60), model.snapshot(), PlayerColor.RED,
+        candidate -> {});
+    while (run.getBest() == null) {
+      Thread.sleep(1);
+    }
+    MoveCandidate best = run.stop();
+    assertTrue(run.isDone());
+    assertNotNull(best);
+    assertTrue(best.getDepth() >= 1);
+  }
+
+  @Test
+  public void testStopDoesNotWaitForStubbornStrategy() throws InterruptedException {
+    MoveCandidate reported = new MoveCandidate(null, 0, 1);
+    AnytimeStrategy stubborn = new AnytimeStrategy() {
+      @Override
+      public MoveCandidate search(ReadOnlySanguineModel position, PlayerColor player,
+                                  CandidateListener listener, BooleanSupplier stopped) {
+        listener.onCandidate(reported);
+        long end = System.nanoTime() + 1_000_000_000L;
+        while (System.nanoTime() < end) {
+          Thread.onSpinWait();
+        }
+        return reported;
+      }
+
+      @Override
+      public Move chooseMove(ReadOnlySanguineModel position, PlayerColor player) {
+        return null;
+      }
+    };
+    AnytimeRun run = AnytimeRun.start(executor, stubborn, model.snapshot(), PlayerColor.RED,
+        candidate -> {});
+    while (run.getBest() == null) {
+      Thread.sleep(1);
+    }
+    long start = System.nanoTime();
+    assertEquals(reported, run.stop());
+    assertTrue(System.nanoTime() - start < 800_000_000L);
+    assertFalse(run.isDone());
+    while (!run.isDone()) {
+      Thread.sleep(1);
+    }
+  }
+
+  @Test
+  public void testStrategyThatReportsNothing() {
+    AnytimeStrategy silent = new AnytimeStrategy() {
+      @Override
+      public MoveCandidate search(ReadOnlySanguineModel position, PlayerColor player,
+                                  CandidateListener listener, BooleanSupplier stopped) {
+        return null;
+      }
+
+      @Override
+      public Move chooseMove(ReadOnlySanguineModel position, PlayerColor player) {
+        return null;
+      }
+    };
+    assertNull(AnytimeRun.start(executor, silent, model.snapshot(), PlayerColor.RED,
+        candidate -> {}).awaitOrStop(1_000));
+  }
+}
@@ -0,0 +1,73 @@
+package sanguine.strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import sanguine.engine.EngineTestDecks;
+import sanguine.model.PlayerColor;
+import sanguine.model.SanguineModelImpl;
+import sanguine.search.FeatureEvaluator;
+
+/**
+ * Tests for the strategy that searches with learned weights.
+ */
+public class LearnedStrategyTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private SanguineModelImpl model;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    model = new SanguineModelImpl(3, 5, EngineTestDecks.randomDeck(15, 5, 51),
+        EngineTestDecks.randomDeck(15, 5, 52), 5);
+  }
+
+  @Test
+  public void testPlaysLegalMovesToTheEnd() {
+    LearnedStrategy strategy = new LearnedStrategy(FeatureEvaluator.defaults(), 2);
+    while (!model.isGameOver()) {
+      Move move = strategy.chooseMove(model, model.getCurrentPlayer());
+      if (move == null) {
+        model.pass();
+      } else {
+        assertTrue(model.isLegalMove(move.getCardIndex(), move.getRow(), move.getCol()));
+        model.placeCard(move.getCardIndex(), move.getRow(), move.getCol());
+      }
+    }
+    assertNull(strategy.chooseMove(model, PlayerColor.RED));
+  }
+
+  @Test
+  public void testLoadsWeightsFile() throws IOException {
+    Path file = folder.getRoot().toPath().resolve("weights.txt");
+    new FeatureEvaluator(new int[] {16, 0, 2, 0, 1, 0, 0, 1}).save(file);
+    Move loaded = LearnedStrategy.load(file, 2).chooseMove(model, PlayerColor.RED);
+    assertNotNull(loaded);
+    assertEquals(new LearnedStrategy(FeatureEvaluator.load(file), 2)
+        .chooseMove(model, PlayerColor.RED), loaded);
+  }
+
+  @Test
+  public void testWaitsForItsTurn() {
+    assertNull(new LearnedStrategy(FeatureEvaluator.defaults(), 1)
+        .chooseMove(model, PlayerColor.BLUE));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsZeroDepth() {
+    new LearnedStrategy(FeatureEvaluator.defaults(), 0);
+  }
+}
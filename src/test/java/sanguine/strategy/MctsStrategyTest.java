@@ -0,0 +1,176 @@
+package sanguine.strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.CardTable;
+import sanguine.engine.EngineTestDecks;
+import sanguine.engine.MoveList;
+import sanguine.model.PlayerColor;
+import sanguine.model.SanguineModelImpl;
+import sanguine.search.MctsSearch;
+import sanguine.search.NodePool;
+
+/**
+ * Tests for the tree search strategy that keeps its tree between turns.
+ */
+public class MctsStrategyTest {
+
+  @Test
+  public void testReportsCandidatesWhileSearching() {
+    SanguineModelImpl model = new SanguineModelImpl(3, 5, EngineTestDecks.randomDeck(15, 5, 61),
+        EngineTestDecks.randomDeck(15, 5, 62), 5);
+    List<MoveCandidate> found = new ArrayList<>();
+    MoveCandidate last = new MctsStrategy(100, 1 << 14, 3).search(model, PlayerColor.RED,
+        found::add, () -> false);
+
+    assertTrue(found.size() > 1);
+    assertEquals(last, found.get(found.size() - 1));
+    for (MoveCandidate candidate : found) {
+      Move move = candidate.getMove();
+      assertTrue(move == null
+          || model.isLegalMove(move.getCardIndex(), move.getRow(), move.getCol()));
+    }
+  }
+
+  @Test
+  public void testReusesTreeThroughGame() {
+    SanguineModelImpl model = new SanguineModelImpl(3, 5, EngineTestDecks.randomDeck(15, 5, 61),
+        EngineTestDecks.randomDeck(15, 5, 62), 5);
+    MctsStrategy red = new MctsStrategy(20, 1 << 14, 1);
+    MctsStrategy blue = new MctsStrategy(20, 1 << 14, 2);
+    int reused = 0;
+    while (!model.isGameOver()) {
+      MctsStrategy strategy = model.getCurrentPlayer() == PlayerColor.RED ? red : blue;
+      Move move = strategy.chooseMove(model, model.getCurrentPlayer());
+      if (strategy.isLastReused()) {
+        reused++;
+      }
+      assertTrue(strategy.getSearch().getPool().size() <= 1 << 14);
+      if (move == null) {
+        model.pass();
+      } else {
+        assertTrue(model.isLegalMove(move.getCardIndex(), move.getRow(), move.getCol()));
+        model.placeCard(move.getCardIndex(), move.getRow(), move.getCol());
+      }
+    }
+    assertTrue(reused > 0);
+    assertNull(red.chooseMove(model, PlayerColor.RED));
+  }
+
+  @Test
+  public void testReusesTreeAcrossSnapshots() {
+    SanguineModelImpl model = new SanguineModelImpl(3, 5, EngineTestDecks.randomDeck(15, 5, 61),
+        EngineTestDecks.randomDeck(15, 5, 62), 5);
+    MctsStrategy red = new MctsStrategy(20, 1 << 14, 1);
+    MctsStrategy blue = new MctsStrategy(20, 1 << 14, 2);
+    int reused = 0;
+    while (!model.isGameOver()) {
+      MctsStrategy strategy = model.getCurrentPlayer() == PlayerColor.RED ? red : blue;
+      Move move = strategy.chooseMove(model.snapshot(), model.getCurrentPlayer());
+      if (strategy.isLastReused()) {
+        reused++;
+      }
+      if (move == null) {
+        model.pass();
+      } else {
+        model.placeCard(move.getCardIndex(), move.getRow(), move.getCol());
+      }
+    }
+    assertTrue(reused > 0);
+  }
+
+  @Test
+  public void testCarriedNodesGainDrawnCards() {
+    SanguineModelImpl model = new SanguineModelImpl(3, 5, EngineTestDecks.randomDeck(15, 5, 61),
+        EngineTestDecks.randomDeck(15, 5, 62), 5);
+    MctsStrategy red = new MctsStrategy(50, 1 << 16, 1);
+    MctsStrategy blue = new MctsStrategy(50, 1 << 16, 2);
+    int checked = 0;
+    while (!model.isGameOver() && checked < 3) {
+      PlayerColor player = model.getCurrentPlayer();
+      MctsStrategy strategy = player == PlayerColor.RED ? red : blue;
+      Move move = strategy.chooseMove(model, player);
+      if (strategy.isLastReused()) {
+        MctsSearch search = strategy.getSearch();
+        assertComplete(search, BitboardEngine.fromModel(model), search.getRoot(), 3);
+        checked++;
+      }
+      if (move == null) {
+        model.pass();
+      } else {
+        model.placeCard(move.getCardIndex(), move.getRow(), move.getCol());
+      }
+    }
+    assertTrue(checked > 0);
+  }
+
+  /**
+   * Checks that every expanded node down to a depth has a child for each legal placement.
+   */
+  private static void assertComplete(MctsSearch search, BitboardEngine engine, int node,
+                                     int depth) {
+    NodePool pool = search.getPool();
+    CardTable tree = search.getCardTable();
+    CardTable table = engine.getCardTable();
+    int cols = engine.getGeometry().getCols();
+    if (depth == 0 || engine.isGameOver()) {
+      return;
+    }
+    if (pool.isExpanded(node)) {
+      PlayerColor color = engine.getCurrentPlayer();
+      for (int slot = 0; slot < engine.getHandSize(color); slot++) {
+        int card = tree.idOf(table.card(engine.getHandCard(color, slot)));
+        for (int cell = 0; cell < engine.getGeometry().getRows() * cols; cell++) {
+          if (engine.isLegal(slot, cell / cols, cell % cols)) {
+            assertTrue(hasChild(pool, node, MoveList.encode(card, cell)));
+          }
+        }
+      }
+    }
+    for (int child = pool.getFirstChild(node); child >= 0; child = pool.getNextSibling(child)) {
+      int move = pool.getMove(child);
+      if (move == MoveList.PASS) {
+        engine.pass();
+      } else {
+        int cell = MoveList.cellOf(move);
+        int slot = engine.findSlot(table.idOf(tree.card(MoveList.cardOf(move))));
+        if (slot < 0 || !engine.isLegal(slot, cell / cols, cell % cols)) {
+          continue;
+        }
+        engine.place(slot, cell / cols, cell % cols);
+      }
+      assertComplete(search, engine, child, depth - 1);
+      engine.undo();
+    }
+  }
+
+  private static boolean hasChild(NodePool pool, int node, int move) {
+    for (int child = pool.getFirstChild(node); child >= 0; child = pool.getNextSibling(child)) {
+      if (pool.getMove(child) == move) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Test
+  public void testNewGameDropsTree() {
+    MctsStrategy strategy = new MctsStrategy(20, 1 << 12, 3);
+    SanguineModelImpl first = new SanguineModelImpl(3, 5, EngineTestDecks.randomDeck(15, 5, 63),
+        EngineTestDecks.randomDeck(15, 5, 64), 5);
+    strategy.chooseMove(first, PlayerColor.RED);
+    SanguineModelImpl second = new SanguineModelImpl(3, 5,
+        EngineTestDecks.randomDeck(15, 5, 63), EngineTestDecks.randomDeck(15, 5, 64), 5);
+    Move move = strategy.chooseMove(second, PlayerColor.RED);
+    assertFalse(strategy.isLastReused());
+    assertTrue(move == null
+        || second.isLegalMove(move.getCardIndex(), move.getRow(), move.getCol()));
+  }
+}
@@ -5,10 +5,15 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
+import sanguine.engine.EngineTestDecks;
+import sanguine.model.Card;
 import sanguine.model.MockSanguineModel;
 import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+import sanguine.model.SanguineModelImpl;
 
 
 
@@ -78,4 +83,54 @@ public class MinimizeOpponentScoreStrategyTest {
     assertEquals(move1.getRow(), move2.getRow());
     assertEquals(move1.getCol(), move2.getCol());
   }
+
+  @Test
+  public void testKeepsOpponentRowWeightRule() {
+    SanguineModelImpl game = new SanguineModelImpl(3, 5, EngineTestDecks.randomDeck(15, 5, 61),
+        EngineTestDecks.randomDeck(15, 5, 62), 5);
+    int positions = 0;
+    while (!game.isGameOver()) {
+      PlayerColor player = game.getCurrentPlayer();
+      Move move = strategy.chooseMove(game, player);
+      assertEquals(byRowWeight(game, player), move);
+      if (move == null) {
+        game.pass();
+      } else {
+        game.placeCard(move.getCardIndex(), move.getRow(), move.getCol());
+      }
+      positions++;
+    }
+    assertTrue(positions > 5);
+  }
+
+  /**
+   * The rule the strategy has always played: the first placement, by hand index, row and
+   * column, whose row holds the least weight of opponent cards outside its own cell.
+   */
+  private static Move byRowWeight(ReadOnlySanguineModel game, PlayerColor player) {
+    List<Card> hand = game.getPlayerHand(player);
+    Move best = null;
+    int lowest = Integer.MAX_VALUE;
+    for (int card = 0; card < hand.size(); card++) {
+      for (int row = 0; row < game.getRows(); row++) {
+        for (int col = 0; col < game.getCols(); col++) {
+          if (!game.isLegalMove(card, row, col)) {
+            continue;
+          }
+          int weight = 0;
+          for (int c = 0; c < game.getCols(); c++) {
+            if (c != col && game.getOwnerOfCell(row, c) == player.opposite()
+                && game.getCardAt(row, c) != null) {
+              weight += game.getCardAt(row, c).getValue() * (1 + game.getPawnCount(row, c));
+            }
+          }
+          if (weight < lowest) {
+            lowest = weight;
+            best = new Move(card, row, col);
+          }
+        }
+      }
+    }
+    return best;
+  }
 }
\ No newline at end of file
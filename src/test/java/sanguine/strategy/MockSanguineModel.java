@@ -6,6 +6,8 @@ import sanguine.model.Board;
 import sanguine.model.Card;
 import sanguine.model.Cell;
 import sanguine.model.CellContent;
+import sanguine.model.GameState;
+import sanguine.model.PlacementEffect;
 import sanguine.model.PlayerColor;
 import sanguine.model.ReadOnlySanguineModel;
 
@@ -191,5 +193,29 @@ public class MockSanguineModel implements ReadOnlySanguineModel {
     return currentPlayer == PlayerColor.RED ? redHand.size() : blueHand.size();
   }
 
+  @Override
+  public GameState snapshot() {
+    transcript.add("snapshot()");
+    return null;
+  }
+
+  @Override
+  public PlacementEffect evaluatePlacement(int cardIndex, int row, int col) {
+    transcript.add("evaluatePlacement(" + cardIndex + ", " + row + ", " + col + ")");
+    return PlacementEffect.preview(this, cardIndex, row, col);
+  }
+
+  @Override
+  public int getDeckSize(PlayerColor player) {
+    transcript.add("getDeckSize(" + player + ")");
+    return 0;
+  }
+
+  @Override
+  public boolean hasPassed(PlayerColor player) {
+    transcript.add("hasPassed(" + player + ")");
+    return false;
+  }
+
 
 }
@@ -6,8 +6,10 @@ import sanguine.model.Board;
 import sanguine.model.Card;
 import sanguine.model.Cell;
 import sanguine.model.CellContent;
+import sanguine.model.GameState;
 import sanguine.model.MockBoard;
 import sanguine.model.MockCell;
+import sanguine.model.PlacementEffect;
 import sanguine.model.PlayerColor;
 import sanguine.model.ReadOnlySanguineModel;
 
@@ -179,4 +181,29 @@ public class MockStrategyModel implements ReadOnlySanguineModel {
     log.append("getCols\n");
     return cols;
   }
+
+  @Override
+  public GameState snapshot() {
+    log.append("snapshot\n");
+    return null;
+  }
+
+  @Override
+  public PlacementEffect evaluatePlacement(int cardIndex, int row, int col) {
+    log.append("evaluatePlacement ").append(cardIndex)
+        .append(" ").append(row).append(" ").append(col).append("\n");
+    return PlacementEffect.preview(this, cardIndex, row, col);
+  }
+
+  @Override
+  public int getDeckSize(PlayerColor player) {
+    log.append("getDeckSize ").append(player).append("\n");
+    return 0;
+  }
+
+  @Override
+  public boolean hasPassed(PlayerColor player) {
+    log.append("hasPassed ").append(player).append("\n");
+    return false;
+  }
 }
@@ -0,0 +1,58 @@
+package sanguine.strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.EngineTestDecks;
+import sanguine.engine.MoveList;
+import sanguine.model.PlayerColor;
+
+/**
+ * Tests for the Move class.
+ */
+public class MoveTest {
+
+  @Test
+  public void testEqualMovesMatch() {
+    assertEquals(new Move(1, 2, 3), new Move(1, 2, 3));
+    assertEquals(new Move(1, 2, 3).hashCode(), new Move(1, 2, 3).hashCode());
+  }
+
+  @Test
+  public void testMovesOnDifferentRowsDiffer() {
+    assertNotEquals(new Move(0, 0, 0), new Move(0, 1, 0));
+  }
+
+  @Test
+  public void testPackedRoundTrip() {
+    BitboardEngine engine = BitboardEngine.initial(3, 5,
+        EngineTestDecks.randomDeck(15, 5, 71), EngineTestDecks.randomDeck(15, 5, 72), 5);
+    MoveList list = new MoveList();
+    list.generate(engine);
+    for (int i = 0; i < list.size(); i++) {
+      int packed = list.get(i);
+      Move move = Move.decode(packed, engine);
+      assertEquals(MoveList.cardOf(packed),
+          engine.getHandCard(PlayerColor.RED, move.getCardIndex()));
+      assertEquals(packed, Move.encode(move, engine));
+    }
+  }
+
+  @Test
+  public void testPassIsNull() {
+    BitboardEngine engine = BitboardEngine.initial(3, 5,
+        EngineTestDecks.randomDeck(15, 5, 71), EngineTestDecks.randomDeck(15, 5, 72), 5);
+    assertEquals(MoveList.PASS, Move.encode(null, engine));
+    assertNull(Move.decode(MoveList.PASS, engine));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEncodeRejectsCardOutsideHand() {
+    BitboardEngine engine = BitboardEngine.initial(3, 5,
+        EngineTestDecks.randomDeck(15, 5, 71), EngineTestDecks.randomDeck(15, 5, 72), 5);
+    Move.encode(new Move(5, 0, 0), engine);
+  }
+}
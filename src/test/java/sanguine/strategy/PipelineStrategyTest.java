@@ -0,0 +1,137 @@
+package sanguine.strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.engine.EngineTestDecks;
+import sanguine.model.PlacementEffect;
+import sanguine.model.PlayerColor;
+import sanguine.model.SanguineModelImpl;
+
+/**
+ * Tests for strategies built from filter and scorer stages.
+ */
+public class PipelineStrategyTest {
+
+  private SanguineModelImpl model;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    model = new SanguineModelImpl(3, 5, EngineTestDecks.randomDeck(15, 6, 11),
+        EngineTestDecks.randomDeck(15, 6, 12), 5);
+  }
+
+  private void playFirstLegalMove() {
+    Move move = new FillFirstStrategy().chooseMove(model, model.getCurrentPlayer());
+    if (move == null) {
+      model.pass();
+    } else {
+      model.placeCard(move.getCardIndex(), move.getRow(), move.getCol());
+    }
+  }
+
+  @Test
+  public void testMatchesHandWrittenStrategies() {
+    SanguineStrategy maximize = new MaximizeRowScoreStrategy();
+    SanguineStrategy minimize = new MinimizeOpponentScoreStrategy();
+    int positions = 0;
+    while (!model.isGameOver()) {
+      PlayerColor player = model.getCurrentPlayer();
+      assertEquals(maximize.chooseMove(model, player),
+          PipelineStrategy.maximizeRowScore().chooseMove(model, player));
+      assertEquals(minimize.chooseMove(model, player),
+          PipelineStrategy.minimizeOpponentScore().chooseMove(model, player));
+      playFirstLegalMove();
+      positions++;
+    }
+    assertTrue(positions > 5);
+  }
+
+  @Test
+  public void testContextAgreesWithPreviews() {
+    playFirstLegalMove();
+    playFirstLegalMove();
+    PlayerColor player = model.getCurrentPlayer();
+    DecisionContext context = new DecisionContext(model, player);
+    assertTrue(context.size() > 0);
+    for (int i = 0; i < context.size(); i++) {
+      PlacementEffect effect = context.getEffect(i);
+      assertSame(effect, context.getEffect(i));
+      for (PlayerColor color : PlayerColor.values()) {
+        assertEquals(effect.getTotalScore(color), context.getTotalScoreAfter(i, color));
+        assertEquals(effect.getPawnDelta(color), context.getPawnDelta(i, color));
+        for (int row = 0; row < model.getRows(); row++) {
+          assertEquals(effect.getRowScore(row, color), context.getRowScoreAfter(i, row, color));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testChainedStagesShareOneContext() {
+    playFirstLegalMove();
+    playFirstLegalMove();
+    playFirstLegalMove();
+    PlayerColor player = model.getCurrentPlayer();
+    DecisionContext context = new DecisionContext(model, player);
+    PipelineStrategy chained = new PipelineStrategy(List.of(MoveFilter.winsRow()),
+        List.of(MoveScorer.topRowFirst(), MoveScorer.opponentScore()));
+
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < context.size(); i++) {
+      if (MoveFilter.winsRow().accept(context, i)) {
+        expected.add(i);
+      }
+    }
+    Move move = chained.chooseMove(context);
+    if (expected.isEmpty()) {
+      assertNull(move);
+      return;
+    }
+    int topRow = model.getRows();
+    for (int i : expected) {
+      topRow = Math.min(topRow, context.getRow(i));
+    }
+    int lowest = Integer.MAX_VALUE;
+    Move best = null;
+    for (int i : expected) {
+      int opponent = context.getTotalScoreAfter(i, player.opposite());
+      if (context.getRow(i) == topRow && opponent < lowest) {
+        lowest = opponent;
+        best = context.toMove(i);
+      }
+    }
+    assertEquals(best, move);
+  }
+
+  @Test
+  public void testNoSurvivorsMeansPass() {
+    PipelineStrategy none = new PipelineStrategy(List.of((context, i) -> false),
+        List.of(MoveScorer.scoreMargin()));
+    assertNull(none.chooseMove(model, PlayerColor.RED));
+  }
+
+  @Test
+  public void testGameOverHasNoPlacements() {
+    model.pass();
+    model.pass();
+    assertEquals(0, new DecisionContext(model, PlayerColor.RED).size());
+    assertNull(PipelineStrategy.minimizeOpponentScore().chooseMove(model, PlayerColor.RED));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsNullStage() {
+    List<MoveScorer> scorers = new ArrayList<>();
+    scorers.add(null);
+    new PipelineStrategy(List.of(), scorers);
+  }
+}
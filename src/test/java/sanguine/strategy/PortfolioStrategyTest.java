@@ -0,0 +1,122 @@
+package sanguine.strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.engine.BitboardEngine;
+import sanguine.engine.EngineTestDecks;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+import sanguine.model.SanguineModelImpl;
+import sanguine.search.FeatureEvaluator;
+
+/**
+ * Tests for racing a portfolio of strategies.
+ */
+public class PortfolioStrategyTest {
+
+  private SanguineModelImpl model;
+  private PortfolioStrategy portfolio;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    List<Card> deck = EngineTestDecks.randomDeck(15, 5, 61);
+    model = new SanguineModelImpl(3, 5, deck, deck, 5);
+  }
+
+  /**
+   * Stops the worker threads after each test.
+   */
+  @After
+  public void tearDown() {
+    if (portfolio != null) {
+      portfolio.shutdown();
+    }
+  }
+
+  private int value(Move move) {
+    BitboardEngine engine = BitboardEngine.fromModel(model);
+    engine.place(move.getCardIndex(), move.getRow(), move.getCol());
+    return FeatureEvaluator.defaults().evaluate(engine, PlayerColor.RED);
+  }
+
+  @Test
+  public void testPicksBestProposal() {
+    portfolio = new PortfolioStrategy(List.of(new FillFirstStrategy(),
+        new MaximizeRowScoreStrategy()), 5_000);
+    Move fillFirst = new FillFirstStrategy().chooseMove(model, PlayerColor.RED);
+    Move maximize = new MaximizeRowScoreStrategy().chooseMove(model, PlayerColor.RED);
+
+    Move move = portfolio.chooseMove(model, PlayerColor.RED);
+    if (value(maximize) > value(fillFirst)) {
+      assertEquals(maximize, move);
+      assertEquals(1, portfolio.getLastChoice());
+    } else {
+      assertEquals(fillFirst, move);
+      assertEquals(0, portfolio.getLastChoice());
+    }
+  }
+
+  @Test
+  public void testSlowMemberIsLeftOut() {
+    SanguineStrategy slow = (position, player) -> {
+      try {
+        Thread.sleep(60_000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return null;
+    };
+    portfolio = new PortfolioStrategy(List.of(slow, new FillFirstStrategy()), 100);
+    long start = System.nanoTime();
+    Move move = portfolio.chooseMove(model, PlayerColor.RED);
+    assertTrue(System.nanoTime() - start < 5_000_000_000L);
+    assertEquals(new FillFirstStrategy().chooseMove(model, PlayerColor.RED), move);
+    assertEquals(1, portfolio.getLastChoice());
+  }
+
+  @Test
+  public void testMemberStillRunningSitsOut() {
+    AtomicInteger inside = new AtomicInteger();
+    AtomicInteger most = new AtomicInteger();
+    SanguineStrategy stubborn = (position, player) -> {
+      most.accumulateAndGet(inside.incrementAndGet(), Math::max);
+      long end = System.nanoTime() + 300_000_000L;
+      while (System.nanoTime() < end) {
+        Thread.onSpinWait();
+      }
+      inside.decrementAndGet();
+      return null;
+    };
+    portfolio = new PortfolioStrategy(List.of(stubborn, new FillFirstStrategy()), 20);
+    portfolio.chooseMove(model, PlayerColor.RED);
+    Move move = portfolio.chooseMove(model, PlayerColor.RED);
+    assertEquals(new FillFirstStrategy().chooseMove(model, PlayerColor.RED), move);
+    assertEquals(1, portfolio.getLastChoice());
+    assertEquals(1, most.get());
+  }
+
+  @Test
+  public void testAnytimeMemberStoppedAtDeadline() {
+    portfolio = new PortfolioStrategy(List.of(new AlphaBetaStrategy(1, 1_000, 60)), 200);
+    long start = System.nanoTime();
+    Move move = portfolio.chooseMove(model, PlayerColor.RED);
+    assertTrue(System.nanoTime() - start < 5_000_000_000L);
+    assertEquals(0, portfolio.getLastChoice());
+    assertTrue(move == null
+        || model.isLegalMove(move.getCardIndex(), move.getRow(), move.getCol()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsEmptyPortfolio() {
+    new PortfolioStrategy(List.of(), 100);
+  }
+}
@@ -0,0 +1,179 @@
+package sanguine.strategy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import sanguine.engine.EngineTestDecks;
+import sanguine.model.Card;
+import sanguine.model.PlayerColor;
+import sanguine.model.ReadOnlySanguineModel;
+import sanguine.model.SanguineModelImpl;
+
+/**
+ * Tests for running a strategy against a deadline.
+ */
+public class TimedStrategyTest {
+
+  private SanguineModelImpl model;
+  private TimedStrategy timed;
+
+  /**
+   * sets up values before testing.
+   */
+  @Before
+  public void setUp() {
+    List<Card> deck = EngineTestDecks.randomDeck(15, 5, 41);
+    model = new SanguineModelImpl(3, 5, deck, deck, 5);
+  }
+
+  /**
+   * Stops the worker threads after each test.
+   */
+  @After
+  public void tearDown() {
+    if (timed != null) {
+      timed.shutdown();
+    }
+  }
+
+  @Test
+  public void testQuickStrategyIsUsed() {
+    timed = new TimedStrategy(new MaximizeRowScoreStrategy(), 5_000, new FillFirstStrategy());
+    assertEquals(new MaximizeRowScoreStrategy().chooseMove(model, PlayerColor.RED),
+        timed.chooseMove(model, PlayerColor.RED));
+    assertEquals(0, timed.getFallbacks());
+  }
+
+  @Test
+  public void testSlowStrategyFallsBackAndIsInterrupted() throws InterruptedException {
+    AtomicBoolean interrupted = new AtomicBoolean();
+    SanguineStrategy slow = (position, player) -> {
+      try {
+        Thread.sleep(60_000);
+      } catch (InterruptedException e) {
+        interrupted.set(true);
+      }
+      return null;
+    };
+    timed = new TimedStrategy(slow, 50, new FillFirstStrategy());
+    long start = System.nanoTime();
+    Move move = timed.chooseMove(model, PlayerColor.RED);
+    assertTrue(System.nanoTime() - start < 5_000_000_000L);
+    assertEquals(new FillFirstStrategy().chooseMove(model, PlayerColor.RED), move);
+    assertEquals(1, timed.getFallbacks());
+    Thread.sleep(200);
+    assertTrue(interrupted.get());
+  }
+
+  @Test
+  public void testStrategyStillRunningIsNotCalledAgain() {
+    AtomicInteger inside = new AtomicInteger();
+    AtomicInteger most = new AtomicInteger();
+    SanguineStrategy stubborn = (position, player) -> {
+      most.accumulateAndGet(inside.incrementAndGet(), Math::max);
+      long end = System.nanoTime() + 300_000_000L;
+      while (System.nanoTime() < end) {
+        Thread.onSpinWait();
+      }
+      inside.decrementAndGet();
+      return null;
+    };
+    timed = new TimedStrategy(stubborn, 20, new FillFirstStrategy());
+    timed.chooseMove(model, PlayerColor.RED);
+    timed.chooseMove(model, PlayerColor.RED);
+    assertEquals(2, timed.getFallbacks());
+    assertEquals(1, most.get());
+  }
+
+  @Test
+  public void testAnytimeStrategyIgnoringStopKeepsDeadline() {
+    AtomicInteger inside = new AtomicInteger();
+    AtomicInteger most = new AtomicInteger();
+    AnytimeStrategy stubborn = new AnytimeStrategy() {
+      @Override
+      public MoveCandidate search(ReadOnlySanguineModel position, PlayerColor player,
+                                  CandidateListener listener, BooleanSupplier stopped) {
+        most.accumulateAndGet(inside.incrementAndGet(), Math::max);
+        listener.onCandidate(new MoveCandidate(null, 0, 1));
+        long end = System.nanoTime() + 1_000_000_000L;
+        while (System.nanoTime() < end) {
+          Thread.onSpinWait();
+        }
+        inside.decrementAndGet();
+        return null;
+      }
+
+      @Override
+      public Move chooseMove(ReadOnlySanguineModel position, PlayerColor player) {
+        return null;
+      }
+    };
+    timed = new TimedStrategy(stubborn, 200, new FillFirstStrategy());
+    long start = System.nanoTime();
+    timed.chooseMove(model, PlayerColor.RED);
+    assertTrue(System.nanoTime() - start < 600_000_000L);
+    assertEquals(0, timed.getFallbacks());
+    assertEquals(new FillFirstStrategy().chooseMove(model, PlayerColor.RED),
+        timed.chooseMove(model, PlayerColor.RED));
+    assertEquals(1, timed.getFallbacks());
+    assertEquals(1, most.get());
+  }
+
+  @Test
+  public void testSamplingStrategiesStopAtDeadline() {
+    List<Card> deck = EngineTestDecks.randomDeck(15, 5, 41);
+    for (SanguineStrategy strategy : List.of(new MctsStrategy(60_000, 1 << 12, 1),
+        new ExpectimaxStrategy(deck, deck, 1 << 20, 2, 60_000, 1))) {
+      timed = new TimedStrategy(strategy, 100, new FillFirstStrategy());
+      long start = System.nanoTime();
+      Move move = timed.chooseMove(model, PlayerColor.RED);
+      assertTrue(System.nanoTime() - start < 5_000_000_000L);
+      assertEquals(0, timed.getFallbacks());
+      assertTrue(move == null
+          || model.isLegalMove(move.getCardIndex(), move.getRow(), move.getCol()));
+      timed.shutdown();
+    }
+  }
+
+  @Test
+  public void testSearchStopsWhenInterrupted() {
+    timed = new TimedStrategy(new AlphaBetaStrategy(1, 60_000, 60), 100,
+        new FillFirstStrategy());
+    long start = System.nanoTime();
+    Move move = timed.chooseMove(model, PlayerColor.RED);
+    assertTrue(System.nanoTime() - start < 5_000_000_000L);
+    assertTrue(move == null
+        || model.isLegalMove(move.getCardIndex(), move.getRow(), move.getCol()));
+  }
+
+  @Test
+  public void testFailingStrategyFallsBack() {
+    SanguineStrategy failing = (position, player) -> {
+      throw new IllegalStateException("broken");
+    };
+    timed = new TimedStrategy(failing, 1_000, new FillFirstStrategy());
+    assertEquals(new FillFirstStrategy().chooseMove(model, PlayerColor.RED),
+        timed.chooseMove(model, PlayerColor.RED));
+    assertEquals(1, timed.getFallbacks());
+  }
+
+  @Test
+  public void testIllegalMoveFallsBack() {
+    timed = new TimedStrategy((position, player) -> new Move(0, 0, 2), 1_000,
+        new FillFirstStrategy());
+    assertEquals(new FillFirstStrategy().chooseMove(model, PlayerColor.RED),
+        timed.chooseMove(model, PlayerColor.RED));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRejectsNonPositiveDeadline() {
+    new TimedStrategy(new FillFirstStrategy(), 0, new FillFirstStrategy());
+  }
+}